@@ -6,7 +6,6 @@ package com.strixa.gl;
 
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
-import java.util.ArrayList;
 import java.util.List;
 
 import javax.media.opengl.GL2;
@@ -27,9 +26,9 @@ public abstract class Strixa2DCanvas extends StrixaGLCanvas implements MouseMoti
     /** Field needed for the serialization of this object. */
     private static final long serialVersionUID = 7940290686156245285L;
     
-    private final Point2D<Double>       __camera_location = new Point2D<Double>(0.0,0.0);
+    private final Point2D<Double>              __camera_location = new Point2D<Double>(0.0,0.0);
+    private final StrixaScene<Strixa2DElement> __scene = new StrixaScene<Strixa2DElement>();
     
-    private List<Strixa2DElement> __children;
     private double                __x_axis_units;
     private double                __y_axis_units;
     
@@ -62,16 +61,21 @@ public abstract class Strixa2DCanvas extends StrixaGLCanvas implements MouseMoti
     
     /*Begin Getter/Setter Methods*/    
     /**
-     * Gets this object's Strixa2DElement children.
+     * Gets this object's Strixa2DElement children, as of the start of the last frame.  Children added or removed since then aren't included until the next frame begins.
      * 
-     * @return This object's Strixa2DElement children.
+     * @return An unmodifiable list of this object's Strixa2DElement children, which never changes and may be read from any thread.
      */
     public List<Strixa2DElement> getChildren(){
-        if(this.__children==null){
-            this.__children = new ArrayList<Strixa2DElement>();
-        }
-        
-        return this.__children;
+        return this.__scene.getElements();
+    }
+    
+    /**
+     * Gets the scene which holds this canvas' children.  Batches of children may be submitted to the scene to add or remove them together.
+     * 
+     * @return The scene which holds this canvas' children.
+     */
+    public StrixaScene<Strixa2DElement> getScene(){
+        return this.__scene;
     }
     
     /**
@@ -143,21 +147,28 @@ public abstract class Strixa2DCanvas extends StrixaGLCanvas implements MouseMoti
     
     /*Begin Other Essential Methods*/
     /**
-     * Adds a child to this canvas.
+     * Adds a child to this canvas at the start of the next frame.  This never waits on drawing, and may be called from any thread.
      * 
      * @param child Child to be added to the canvas.
      */
     public void addChild(Strixa2DElement child){
-        final List<Strixa2DElement> children = this.getChildren();
-        
+        this.__scene.add(child);
+    }
+    
+    /**
+     * Applies the children added and removed since the last frame, at the start of a frame.
+     * 
+     * @return This canvas' children for the frame.
+     */
+    private List<Strixa2DElement> __applySceneChanges(){
+        this.__scene.applyChanges(null);
         
-        if(!children.contains(child)){
-            children.add(child);
-        }
+        return this.__scene.getElements();
     }
     
     protected void _drawChildren(GL2 gl){
-        final List<Strixa2DElement> children = this.getChildren();
+        final StrixaGLCallCounter   call_counter = StrixaGLCallCounter.getCounter(gl);
+        final List<Strixa2DElement> children = this.__applySceneChanges();
         final int                   child_count = children.size();
         final GLU                   glu = new GLU();
         
@@ -194,12 +205,16 @@ public abstract class Strixa2DCanvas extends StrixaGLCanvas implements MouseMoti
         gl.glMatrixMode(GL2.GL_MODELVIEW);
         
         /*Draw the models!*/
-        synchronized(children){
-            for(int index = 0;index<child_count;index++){
-                if(children.get(index).isVisible(this.getStrixaGLContext())){
-                    gl.glPushMatrix();                    
-                        children.get(index).draw(gl);
-                    gl.glPopMatrix();
+        for(int index = 0;index<child_count;index++){
+            if(children.get(index).isVisible(this.getStrixaGLContext())){
+                if(call_counter != null){
+                    call_counter.beginElement(children.get(index));
+                }
+                gl.glPushMatrix();                    
+                    children.get(index).draw(gl);
+                gl.glPopMatrix();
+                if(call_counter != null){
+                    call_counter.endElement();
                 }
             }
         }
@@ -232,17 +247,12 @@ public abstract class Strixa2DCanvas extends StrixaGLCanvas implements MouseMoti
     }
     
     /**
-     * Removes a child from this canvas.
+     * Removes a child from this canvas at the start of the next frame.  This never waits on drawing, and may be called from any thread.
      * 
      * @param child Child to be removed from the canvas.
      */
     public void removeChild(StrixaGLElement child){
-        final List<Strixa2DElement> children = this.getChildren();
-        
-        
-        if(children.contains(child)){
-            children.remove(child);
-        }
+        this.__scene.remove(child);
     }
     
     /**
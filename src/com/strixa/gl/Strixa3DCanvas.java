@@ -8,7 +8,10 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.media.opengl.GL2;
 import javax.media.opengl.GLAutoDrawable;
@@ -16,6 +19,12 @@ import javax.media.opengl.GLCapabilities;
 import javax.media.opengl.glu.GLU;
 
 import com.strixa.gl.properties.Cuboid;
+import com.strixa.gl.util.BatchStateUpdateListener;
+import com.strixa.gl.util.Frustum;
+import com.strixa.gl.util.OcclusionBuffer;
+import com.strixa.gl.util.Octree;
+import com.strixa.gl.util.Ray;
+import com.strixa.gl.util.RayHit;
 import com.strixa.util.Log;
 import com.strixa.util.Point3D;
 
@@ -26,14 +35,90 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
     /** Field needed for the serialization of this object. */
     private static final long serialVersionUID = 7940290686156245285L;
     
+    /** Vertical field of view of the canvas' perspective projection, in degrees. */
+    public static final double FIELD_OF_VIEW = 45;
+    /** Distance from the camera to the near plane of the canvas' perspective projection. */
+    public static final double NEAR_PLANE_DISTANCE = 0.0001;
+    
     private final Point3D<Double> __camera_location = new Point3D<Double>(0.0,0.0,0.0);
     private final Point3D<Double> __camera_looking_at_point = new Point3D<Double>(0.0,0.0,1.0);
+    private final List<Strixa3DElement> __visible_children = new ArrayList<Strixa3DElement>();
+    private final Map<StrixaMesh,Map<StrixaMaterial,List<StrixaMeshInstance>>> __instance_groups = new HashMap<StrixaMesh,Map<StrixaMaterial,List<StrixaMeshInstance>>>();
+    private final StrixaRenderQueue __render_queue = new StrixaRenderQueue();
+    private final double[] __view_direction = new double[3];
+    private final StrixaCommandRecorder.Visitor __culling_visitor = new StrixaCommandRecorder.Visitor(){
+        public void visit(Strixa3DElement element,StrixaCommandRecorder.CommandBuffer buffer){
+            if(!Strixa3DCanvas.this.__static_geometry.contains(element) && element.isVisible(Strixa3DCanvas.this.getStrixaGLContext())){
+                buffer.record(element,0);
+            }
+        }
+    };
+    private final StrixaCommandRecorder.Replayer __culling_replayer = new StrixaCommandRecorder.Replayer(){
+        public void replay(Strixa3DElement element,double value){
+            Strixa3DCanvas.this.__visible_children.add(element);
+        }
+    };
+    private final StrixaCommandRecorder.Visitor __queueing_visitor = new StrixaCommandRecorder.Visitor(){
+        public void visit(Strixa3DElement element,StrixaCommandRecorder.CommandBuffer buffer){
+            buffer.record(element,Strixa3DCanvas.this.__getDepth(element));
+        }
+    };
+    private final StrixaCommandRecorder.Replayer __queueing_replayer = new StrixaCommandRecorder.Replayer(){
+        public void replay(Strixa3DElement element,double value){
+            Strixa3DCanvas.this.__queueChild(element,value);
+        }
+    };
+    private final ConcurrentLinkedQueue<Strixa3DElement> __batch_state_updates = new ConcurrentLinkedQueue<Strixa3DElement>();
+    private final BatchStateUpdateListener __batch_state_listener = new BatchStateUpdateListener(){
+        public void onBatchStateUpdate(Strixa3DElement element){
+            Strixa3DCanvas.this.__batch_state_updates.add(element);
+        }
+    };
+    private final StrixaScene<Strixa3DElement> __scene = new StrixaScene<Strixa3DElement>();
+    private final StrixaScene.ChangeListener<Strixa3DElement> __scene_listener = new StrixaScene.ChangeListener<Strixa3DElement>(){
+        public void onElementAdded(Strixa3DElement element){
+            final Octree partition = Strixa3DCanvas.this.__scene_partition;
+            
+            
+            element.addBatchStateUpdateListener(Strixa3DCanvas.this.__batch_state_listener);
+            Strixa3DCanvas.this.__static_geometry.update(element);
+            
+            if(partition != null){
+                synchronized(partition){
+                    partition.add(element);
+                }
+            }
+        }
+        
+        public void onElementRemoved(Strixa3DElement element){
+            final Octree partition = Strixa3DCanvas.this.__scene_partition;
+            
+            
+            /*Once the listener is gone, nothing else can be queued for the element, so nothing left in the queue can put it back into a batch.*/
+            element.removeBatchStateUpdateListener(Strixa3DCanvas.this.__batch_state_listener);
+            while(Strixa3DCanvas.this.__batch_state_updates.remove(element));
+            Strixa3DCanvas.this.__static_geometry.remove(element);
+            
+            if(partition != null){
+                synchronized(partition){
+                    partition.remove(element);
+                }
+            }
+        }
+    };
     
-    private double                __camera_pitch;
-    private double                __camera_rotation;
-    private double                __camera_tilt;
-    private List<Strixa3DElement> __children;
-    private double                __render_distance;
+    private double                         __camera_pitch;
+    private double                         __camera_rotation;
+    private double                         __camera_tilt;
+    private int                            __instance_draw_count;
+    private volatile StrixaCommandRecorder __command_recorder;
+    private int                            __occluded_count;
+    private OcclusionBuffer                __occlusion_buffer;
+    private double                         __render_distance;
+    private volatile Octree                __scene_partition;
+    private StrixaStaticGeometry           __static_geometry;
+    private volatile Octree                __requested_scene_partition;
+    private volatile StrixaStaticGeometry  __requested_static_geometry;
  
     
     /*Begin Constructors*/
@@ -49,8 +134,10 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         
         this.addMouseListener(this);
         this.addMouseMotionListener(this);
-        this.setCamera(0,0,0);
+        this.__static_geometry = new StrixaStaticGeometry();
+        this.__requested_static_geometry = this.__static_geometry;
         this.setRenderDistance(100);
+        this.setCamera(0,0,0);
         
         this.invalidate();
     }
@@ -116,6 +203,54 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         return this.__camera_tilt;
     }
     
+    /**
+     * Gets the ray which starts at the camera and passes through the given point on this canvas, using the same projection the canvas draws with.
+     * 
+     * @param x X coordinate of the point on this canvas, in pixels from the left edge.
+     * @param y Y coordinate of the point on this canvas, in pixels from the top edge.
+     * 
+     * @return The ray passing through the given point.
+     */
+    public Ray getPickRay(int x,int y){
+        final double tangent = Math.tan(Math.toRadians(Strixa3DCanvas.FIELD_OF_VIEW/2));
+        final double screen_x = (2.0*x/Math.max(this.getWidth(),1) - 1)*tangent*this.getAspectRatio();
+        final double screen_y = (1 - 2.0*y/Math.max(this.getHeight(),1))*tangent;
+        
+        double forward_x = this.__camera_looking_at_point.getX() - this.__camera_location.getX();
+        double forward_y = this.__camera_looking_at_point.getY() - this.__camera_location.getY();
+        double forward_z = this.__camera_looking_at_point.getZ() - this.__camera_location.getZ();
+        double side_x = 0;
+        double side_y = 0;
+        double side_z = 0;
+        double length = 0;
+        
+        
+        /*Rebuild the camera's basis the same way gluLookAt does, with (0,1,0) as up.*/
+        length = Math.sqrt(forward_x*forward_x + forward_y*forward_y + forward_z*forward_z);
+        forward_x /= length;
+        forward_y /= length;
+        forward_z /= length;
+        
+        side_x = -forward_z;
+        side_z = forward_x;
+        length = Math.sqrt(side_x*side_x + side_z*side_z);
+        if(length == 0){
+            side_x = 1;
+        }else{
+            side_x /= length;
+            side_z /= length;
+        }
+        
+        return new Ray(
+            this.__camera_location.getX(),
+            this.__camera_location.getY(),
+            this.__camera_location.getZ(),
+            forward_x + side_x*screen_x + (side_y*forward_z - side_z*forward_y)*screen_y,
+            forward_y + side_y*screen_x + (side_z*forward_x - side_x*forward_z)*screen_y,
+            forward_z + side_z*screen_x + (side_x*forward_y - side_y*forward_x)*screen_y
+        );
+    }
+    
     /**
      * Gets the number of units in the z direction that the canvas will render elements.
      * 
@@ -126,16 +261,84 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
     }
     
     /**
-     * Gets this object's Strixa3DElement children.
+     * Gets the recorder this canvas prepares its frames' draw commands with.
+     * 
+     * @return The recorder this canvas prepares its frames' draw commands with, or null if they're prepared entirely on the thread which draws.
+     */
+    public StrixaCommandRecorder getCommandRecorder(){
+        return this.__command_recorder;
+    }
+    
+    /**
+     * Gets the number of draw calls which were issued for {@link StrixaMeshInstance} children while the last frame was drawn.  When instanced drawing is supported, this is one for every group of up to {@link StrixaMesh#MAX_INSTANCES_PER_DRAW} visible instances sharing a mesh and material.
+     * 
+     * @return The number of draw calls issued for mesh instances during the last frame.
+     */
+    public int getInstanceDrawCount(){
+        return this.__instance_draw_count;
+    }
+    
+    /**
+     * Gets the buffer this canvas' children are tested against for occlusion.
+     * 
+     * @return The buffer this canvas' children are tested against for occlusion, or null if occlusion culling is disabled.
+     */
+    public OcclusionBuffer getOcclusionBuffer(){
+        return this.__occlusion_buffer;
+    }
+    
+    /**
+     * Gets the number of children which were inside of the view frustum, but were not drawn during the last frame because they were hidden behind occluders.
+     * 
+     * @return The number of children hidden by occlusion culling during the last frame.
+     */
+    public int getOccludedCount(){
+        return this.__occluded_count;
+    }
+    
+    /**
+     * Gets the number of texture binds, texture parameter changes, and material changes which were made while this canvas' children were drawn during the last frame.  Children are sorted to keep this low, and changes to state which is already current are skipped.
+     * 
+     * @return The number of state changes made during the last frame.
+     */
+    public int getStateChangeCount(){
+        return this.__render_queue.getStateChangeCount();
+    }
+    
+    /**
+     * Gets the octree this canvas' children are partitioned with.
+     * 
+     * @return The octree this canvas' children are partitioned with, or null if this canvas draws its children without partitioning them.
+     */
+    public Octree getScenePartition(){
+        return this.__requested_scene_partition;
+    }
+    
+    /**
+     * Gets the batches this canvas' static children are merged into.
      * 
-     * @return This object's Strixa3DElement children.
+     * @return The batches this canvas' static children are merged into.
+     */
+    public StrixaStaticGeometry getStaticGeometry(){
+        return this.__requested_static_geometry;
+    }
+    
+    /**
+     * Gets this object's Strixa3DElement children, as of the start of the last frame.  Children added or removed since then aren't included until the next frame begins.
+     * 
+     * @return An unmodifiable list of this object's Strixa3DElement children, which never changes and may be read from any thread.
      */
     public List<Strixa3DElement> getChildren(){
-        if(this.__children==null){
-            this.__children = new ArrayList<Strixa3DElement>();
-        }
-        
-        return this.__children;
+        return this.__scene.getElements();
+    }
+    
+    /**
+     * Gets the scene which holds this canvas' children.  Batches of children may be submitted to the scene to add or remove them together.
+     * 
+     * @return The scene which holds this canvas' children.
+     */
+    public StrixaScene<Strixa3DElement> getScene(){
+        return this.__scene;
     }
     
     /**
@@ -203,32 +406,78 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         this.setCamera(this.getCameraPitch(),this.getCameraRotation(),tilt);
     }
     
+    /**
+     * Sets the recorder this canvas should prepare its frames' draw commands with, starting with the next frame.<br />
+     * While a recorder is set, culling children against the view frustum, and working out the order they're drawn in, is spread across the recorder's threads.  Children found by an octree still have the octree searched on the thread which draws, and the occlusion buffer and static batches are unaffected.  The elements' {@link Strixa3DElement#isVisible(StrixaGLContext)} must therefore be safe to call for several elements at once.
+     * 
+     * @param command_recorder Recorder to prepare draw commands with, or null to prepare them entirely on the thread which draws.
+     */
+    public void setCommandRecorder(StrixaCommandRecorder command_recorder){
+        this.__command_recorder = command_recorder;
+    }
+    
+    /**
+     * Sets the buffer this canvas' children should be tested against for occlusion.<br />
+     * While a buffer is set, every visible child marked with {@link Strixa3DElement#setOccluder(boolean)} is drawn into the buffer at the start of each frame, and any other child whose bounding box is entirely hidden behind them isn't drawn.
+     * 
+     * @param buffer Buffer to test this canvas' children against, or null to disable occlusion culling.  The buffer's aspect ratio should match this canvas'.
+     */
+    public void setOcclusionBuffer(OcclusionBuffer buffer){
+        this.__occlusion_buffer = buffer;
+    }
+    
+    /**
+     * Sets the octree this canvas' children should be partitioned with, starting with the next frame.  Every child is added to the octree, and children added or removed later are kept in sync with it.<br />
+     * While an octree is set, only the children the octree finds within the view frustum are considered for drawing, so the cost of culling grows with the number of visible children rather than with the total number of children.
+     * 
+     * @param partition Octree to partition this canvas' children with, or null to draw every child without partitioning.  The octree should be empty.
+     */
+    public void setScenePartition(Octree partition){
+        this.__requested_scene_partition = partition;
+    }
+    
     /**
      * Sets the number of units to allow rendering in any given direction.
      * 
      * @param num_units The number of units to allow rendering in any given direction.
+     * 
+     * @throws IllegalArgumentException Thrown if argument 'num_units' is not greater than {@link Strixa3DCanvas#NEAR_PLANE_DISTANCE}.
      */
     public void setRenderDistance(double num_units){
+        if(num_units <= Strixa3DCanvas.NEAR_PLANE_DISTANCE){
+            throw new IllegalArgumentException("Argument 'num_units' must be greater than " + Strixa3DCanvas.NEAR_PLANE_DISTANCE + ".");
+        }
+        
         this.__render_distance = num_units;
         
         this._refreshViewableArea();
     }
+    
+    /**
+     * Sets the batches this canvas' static children should be merged into, such as one with a different cell size.  The current batches are emptied, and static children are merged into the new ones, the next time this canvas is drawn.
+     * 
+     * @param static_geometry Batches static children should be merged into.
+     */
+    public void setStaticGeometry(StrixaStaticGeometry static_geometry){
+        /*Begin Parameter Verification*/
+        if(static_geometry == null){
+            throw new IllegalArgumentException("Argument 'static_geometry' must not be null.");
+        }
+        /*End Parameter Verification*/
+        
+        this.__requested_static_geometry = static_geometry;
+    }
     /*End Getter/Setter Methods*/
     
     /*Begin Other Essential Methods*/
     /**
-     * Adds a child to this canvas.<br />
+     * Adds a child to this canvas at the start of the next frame.  This never waits on drawing, and may be called from any thread.<br />
      * <strong>Note:</strong>  A child may not be added to the canvas more than once.
      * 
      * @param child Child to be added to the canvas.
      */
     public void addChild(Strixa3DElement child){
-        final List<Strixa3DElement> children = this.getChildren();
-        
-        
-        if(!children.contains(child)){
-            children.add(child);
-        }
+        this.__scene.add(child);
     }
     
     /**
@@ -248,25 +497,82 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         );
     }
 
+    /**
+     * Applies the children added and removed since the last frame, along with any new octree or static batches, at the start of a frame.  Only children whose static flag, material, occluder setting, or visibility has changed are checked against the static batches.
+     * 
+     * @return This canvas' children for the frame.
+     */
+    private List<Strixa3DElement> __applySceneChanges(){
+        final List<Strixa3DElement> children = this.__scene.getElements();
+        final Octree                partition = this.__requested_scene_partition;
+        final StrixaStaticGeometry  static_geometry = this.__requested_static_geometry;
+        
+        Strixa3DElement             element = null;
+        
+        
+        if(static_geometry != this.__static_geometry){
+            this.__static_geometry.clear();
+            this.__static_geometry = static_geometry;
+            for(int index = 0,end_index = children.size() - 1;index <= end_index;index++){
+                this.__static_geometry.update(children.get(index));
+            }
+        }
+        
+        if(partition != this.__scene_partition){
+            if(this.__scene_partition != null){
+                synchronized(this.__scene_partition){
+                    for(int index = 0,end_index = children.size() - 1;index <= end_index;index++){
+                        this.__scene_partition.remove(children.get(index));
+                    }
+                }
+            }
+            
+            if(partition != null){
+                synchronized(partition){
+                    for(int index = 0,end_index = children.size() - 1;index <= end_index;index++){
+                        partition.add(children.get(index));
+                    }
+                }
+            }
+            this.__scene_partition = partition;
+        }
+        
+        this.__scene.applyChanges(this.__scene_listener);
+        
+        while((element = this.__batch_state_updates.poll()) != null){
+            this.__static_geometry.update(element);
+        }
+        
+        return this.__scene.getElements();
+    }
+
     protected void _drawChildren(GL2 gl){
-        final List<Strixa3DElement> children = this.getChildren();      
+        final List<Strixa3DElement> children = this.__applySceneChanges();
         final int                   child_count = children.size();
         final GLU                   glu = new GLU(); 
+        final StrixaCommandRecorder command_recorder = this.__command_recorder;
         
-        int gl_error = 0;
+        Frustum frustum = null;
+        int     gl_error = 0;
+        double  length = 0;
         
                 
+        this.__instance_draw_count = 0;
         if(child_count == 0){
             return;
         }              
         
+        /*The aspect ratio may have changed since the frustum was last built, so rebuild it to match the projection below.*/
+        this._refreshViewableArea();
+        frustum = this.getStrixaGLContext().getViewFrustum();
+        
         gl.glMatrixMode(GL2.GL_PROJECTION);
         gl.glLoadIdentity();
         
         glu.gluPerspective(
-            45,
+            Strixa3DCanvas.FIELD_OF_VIEW,
             this.getAspectRatio(),
-            0.0001f,  //In other words, don't stop drawing until you are essentially at the viewer.  Note:  Can't set this value to zero or severe polygon "glitching" occurs.  TODO:  Find out why.
+            Strixa3DCanvas.NEAR_PLANE_DISTANCE,  //In other words, don't stop drawing until you are essentially at the viewer.  Note:  Can't set this value to zero or severe polygon "glitching" occurs.  TODO:  Find out why.
             this.getRenderDistance()
         );
 
@@ -292,16 +598,56 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         
         
         /*Draw the models!*/
-        synchronized(children){
+        this._beginPhase(StrixaFrameProfiler.Phase.CULLING);
+        
+        this.__visible_children.clear();
+        if(this.__scene_partition == null && command_recorder != null){
+            command_recorder.record(children,this.__culling_visitor,this.__culling_replayer);
+        }else if(this.__scene_partition == null){
             for(int index = 0;index<child_count;index++){
-                if(children.get(index).isVisible(this.getStrixaGLContext())){
-                    gl.glPushMatrix();                    
-                        children.get(index).draw(gl);
-                    gl.glPopMatrix();
+                if(!this.__static_geometry.contains(children.get(index)) && children.get(index).isVisible(this.getStrixaGLContext())){
+                    this.__visible_children.add(children.get(index));
                 }
             }
+        }else{
+            /*The octree tests each of these against the frustum, so only whether they've been hidden needs to be checked.*/
+            synchronized(this.__scene_partition){
+                this.__scene_partition.query(frustum,this.__visible_children);
+            }
+            for(int index = this.__visible_children.size() - 1;index >= 0;index--){
+                if(!this.__visible_children.get(index).isVisible() || this.__static_geometry.contains(this.__visible_children.get(index))){
+                    this.__visible_children.remove(index);
+                }
+            }
+        }
+        this.__static_geometry.getVisibleBatches(this.getStrixaGLContext(),this.__visible_children);
+        
+        this.__occluded_count = 0;
+        if(this.__occlusion_buffer != null){
+            this.__removeOccludedChildren(this.__occlusion_buffer);
         }
         
+        this.__view_direction[0] = this.__camera_looking_at_point.getX() - this.__camera_location.getX();
+        this.__view_direction[1] = this.__camera_looking_at_point.getY() - this.__camera_location.getY();
+        this.__view_direction[2] = this.__camera_looking_at_point.getZ() - this.__camera_location.getZ();
+        length = Math.sqrt(this.__view_direction[0]*this.__view_direction[0] + this.__view_direction[1]*this.__view_direction[1] + this.__view_direction[2]*this.__view_direction[2]);
+        for(int index = 0;index < 3;index++){
+            this.__view_direction[index] /= length;
+        }
+        
+        if(command_recorder != null){
+            command_recorder.record(this.__visible_children,this.__queueing_visitor,this.__queueing_replayer);
+        }else{
+            for(int index = 0,end_index = this.__visible_children.size() - 1;index <= end_index;index++){
+                this.__queueChild(this.__visible_children.get(index),this.__getDepth(this.__visible_children.get(index)));
+            }
+        }
+        
+        this._endPhase(StrixaFrameProfiler.Phase.CULLING);
+        
+        this.__render_queue.submit(gl);
+        this.__drawInstanceGroups(gl);
+        
         gl_error = gl.glGetError();
         if(gl_error != GL2.GL_NO_ERROR){
             Log.logEvent(Log.Type.NOTICE,"A GL error has occured.  Error details:");
@@ -319,6 +665,48 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         }
     }
     
+    /**
+     * Draws each group of mesh instances collected while visiting this canvas' children, and then empties the groups.
+     */
+    private void __drawInstanceGroups(GL2 gl){
+        final StrixaGLCallCounter call_counter = StrixaGLCallCounter.getCounter(gl);
+        
+        
+        for(Map.Entry<StrixaMesh,Map<StrixaMaterial,List<StrixaMeshInstance>>> mesh_entry : this.__instance_groups.entrySet()){
+            for(List<StrixaMeshInstance> group : mesh_entry.getValue().values()){
+                if(call_counter != null){
+                    call_counter.beginElement(mesh_entry.getKey());
+                }
+                this.__instance_draw_count += mesh_entry.getKey().drawInstances(gl,group);
+                if(call_counter != null){
+                    call_counter.endElement();
+                }
+            }
+        }
+        
+        this.__instance_groups.clear();
+    }
+    
+    /**
+     * Gets the distance from the camera to the centre of the given child's bounding box along the view direction, as a fraction of the render distance.  Mesh instances are grouped rather than sorted, so their depth is always 0.  This may be called from a recording thread.
+     */
+    private double __getDepth(Strixa3DElement child){
+        final Cuboid bounding_box;
+        
+        
+        if(child instanceof StrixaMeshInstance){
+            return 0;
+        }
+        
+        bounding_box = child.getBoundingBox();
+        
+        return (
+            (bounding_box.getCoordinates().getX() + bounding_box.getWidth()/2 - this.__camera_location.getX())*this.__view_direction[0]
+            + (bounding_box.getCoordinates().getY() + bounding_box.getHeight()/2 - this.__camera_location.getY())*this.__view_direction[1]
+            + (bounding_box.getCoordinates().getZ() + bounding_box.getDepth()/2 - this.__camera_location.getZ())*this.__view_direction[2]
+        )/this.getRenderDistance();
+    }
+    
     public void mouseClicked(MouseEvent event){}
     
     public void mouseDragged(MouseEvent event){}
@@ -333,19 +721,120 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
     
     public void mouseReleased(MouseEvent event){}
     
+    /**
+     * Finds the child which is drawn at the given point on this canvas.  This is cheap enough to be called on every mouse movement.<br />
+     * Like {@link Strixa3DCanvas#raycast(Ray,double)}, this must be called on the thread which draws this canvas.  Input listeners, which run on the AWT event thread, should pass the pick to {@link Strixa3DCanvas#invoke(boolean,javax.media.opengl.GLRunnable)}.
+     * 
+     * @param x X coordinate of the point on this canvas, in pixels from the left edge.
+     * @param y Y coordinate of the point on this canvas, in pixels from the top edge.
+     * 
+     * @return A description of the closest visible child under the given point, or null if there is none within the render distance.
+     */
+    public RayHit pick(int x,int y){
+        return this.raycast(this.getPickRay(x,y),this.getRenderDistance());
+    }
+    
+    /**
+     * Adds the given child to the render queue, unless it's an instance of a mesh, in which case it's added to the group of instances sharing its mesh and material, to be drawn together once every child has been visited.
+     * 
+     * @param depth Depth of the child along the view direction, as a fraction of the render distance.
+     */
+    private void __queueChild(Strixa3DElement child,double depth){
+        Map<StrixaMaterial,List<StrixaMeshInstance>> material_groups = null;
+        List<StrixaMeshInstance>                     group = null;
+        StrixaMeshInstance                           instance = null;
+        
+        
+        if(child instanceof StrixaMeshInstance){
+            instance = (StrixaMeshInstance)child;
+            
+            material_groups = this.__instance_groups.get(instance.getMesh());
+            if(material_groups == null){
+                material_groups = new HashMap<StrixaMaterial,List<StrixaMeshInstance>>();
+                this.__instance_groups.put(instance.getMesh(),material_groups);
+            }
+            
+            group = material_groups.get(instance.getMaterial());
+            if(group == null){
+                group = new ArrayList<StrixaMeshInstance>();
+                material_groups.put(instance.getMaterial(),group);
+            }
+            
+            group.add(instance);
+        }else{
+            this.__render_queue.add(child,depth);
+        }
+    }
+    
+    /**
+     * Finds where the given ray first hits any visible child of this canvas.<br />
+     * If a scene partition is set, only the children along the ray are tested.  Each child is tested against its triangle hierarchy, so only the triangles near the ray are examined.<br />
+     * This must be called on the thread which draws this canvas, such as from {@link StrixaGLCanvas#_performGameLogic(StrixaGLContext)} or a {@link javax.media.opengl.GLRunnable} given to {@link Strixa3DCanvas#invoke(boolean,javax.media.opengl.GLRunnable)}.  Testing a child builds its triangle hierarchy and bounding box the first time they're needed after it changes, and drawing builds them as well, so the two mustn't happen at once.
+     * 
+     * @param ray Ray to cast, in world coordinates.
+     * @param max_distance Furthest distance along the ray which should be considered.
+     * 
+     * @return A description of the closest hit, or null if the ray doesn't hit any visible child within 'max_distance'.
+     */
+    public RayHit raycast(Ray ray,double max_distance){
+        final List<Strixa3DElement> children = this.getChildren();
+        final Octree                partition = this.__scene_partition;
+        
+        RayHit best = null;
+        RayHit hit = null;
+        
+        
+        if(partition != null){
+            /*The octree is only otherwise used while it's being updated and queried at the start of a frame.*/
+            synchronized(partition){
+                return partition.raycast(ray,max_distance,this.getStrixaGLContext());
+            }
+        }
+        
+        for(int index = 0,end_index = children.size() - 1;index <= end_index;index++){
+            hit = children.get(index).raycast(ray,best == null ? max_distance : best.getDistance());
+            
+            if(hit != null && children.get(index).isVisible(this.getStrixaGLContext())){
+                best = hit;
+            }
+        }
+        
+        return best;
+    }
+    
+    /**
+     * Rebuilds the view frustum from the current camera, aspect ratio, and render distance, and sets the viewable area to the box enclosing it.
+     */
     protected void _refreshViewableArea(){        
-        final double half_render_distance = this.__render_distance/2;
+        final StrixaGLContext context = this.getStrixaGLContext();
+        final Frustum         frustum = new Frustum();
         
+        double[] bounds = null;
         
-        this.getStrixaGLContext().setViewableArea(new Cuboid(
-            new Point3D<Double>(
-                this.__camera_location.getX() - half_render_distance,
-                this.__camera_location.getY() - half_render_distance,
-                this.__camera_location.getZ() - half_render_distance
-            ),
-            this.__render_distance,
+        
+        frustum.setPerspective(
+            Strixa3DCanvas.FIELD_OF_VIEW,
+            this.getAspectRatio(),
+            Strixa3DCanvas.NEAR_PLANE_DISTANCE,
             this.__render_distance,
-            this.__render_distance
+            this.__camera_location.getX(),
+            this.__camera_location.getY(),
+            this.__camera_location.getZ(),
+            this.__camera_looking_at_point.getX(),
+            this.__camera_looking_at_point.getY(),
+            this.__camera_looking_at_point.getZ(),
+            0,
+            1,
+            0
+        );
+        bounds = frustum.getBounds();
+        
+        context.setViewFrustum(frustum);
+        context.setViewableArea(new Cuboid(
+            new Point3D<Double>(bounds[0],bounds[1],bounds[2]),
+            bounds[3] - bounds[0],
+            bounds[4] - bounds[1],
+            bounds[5] - bounds[2]
         ));
     }
     
@@ -362,20 +851,62 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         this.__camera_looking_at_point.setY(this.__camera_location.getY()+Math.sin((this.getCameraPitch()*Math.PI)/180));
         this.__camera_looking_at_point.setZ(this.__camera_location.getZ()+Math.cos((Math.abs(this.getCameraPitch())*Math.PI)/180));
         */
+        
+        this._refreshViewableArea();
     }
     
     /**
-     * Removes a child from this canvas.
-     * 
-     * @param child Child to be removed from the canvas.
+     * Draws the visible occluders into the given buffer, and then removes every visible child which is hidden behind them.  Occluders themselves are always kept.
      */
-    public void removeChild(Strixa3DElement child){
-        final List<Strixa3DElement> children = this.getChildren();
+    private void __removeOccludedChildren(OcclusionBuffer buffer){
+        final List<Strixa3DElement> visible_children = this.__visible_children;
+        
+        Strixa3DElement child = null;
+        int             kept_count = 0;
         
         
-        if(children.contains(child)){
-            children.remove(child);
+        buffer.clear();
+        buffer.setPerspective(
+            Strixa3DCanvas.FIELD_OF_VIEW,
+            this.getAspectRatio(),
+            Strixa3DCanvas.NEAR_PLANE_DISTANCE,
+            this.__camera_location.getX(),
+            this.__camera_location.getY(),
+            this.__camera_location.getZ(),
+            this.__camera_looking_at_point.getX(),
+            this.__camera_looking_at_point.getY(),
+            this.__camera_looking_at_point.getZ(),
+            0,
+            1,
+            0
+        );
+        for(int index = 0,end_index = visible_children.size() - 1;index <= end_index;index++){
+            if(visible_children.get(index).isOccluder()){
+                buffer.addOccluder(visible_children.get(index));
+            }
         }
+        buffer.rasterize();
+        
+        for(int index = 0,end_index = visible_children.size() - 1;index <= end_index;index++){
+            child = visible_children.get(index);
+            
+            if(child.isOccluder() || buffer.isVisible(child)){
+                visible_children.set(kept_count,child);
+                kept_count++;
+            }
+        }
+        
+        this.__occluded_count = visible_children.size() - kept_count;
+        visible_children.subList(kept_count,visible_children.size()).clear();
+    }
+    
+    /**
+     * Removes a child from this canvas at the start of the next frame.  This never waits on drawing, and may be called from any thread.
+     * 
+     * @param child Child to be removed from the canvas.
+     */
+    public void removeChild(Strixa3DElement child){
+        this.__scene.remove(child);
     }
     
     /**
@@ -390,7 +921,6 @@ public abstract class Strixa3DCanvas extends StrixaGLCanvas implements MouseMoti
         this.__camera_location.setY(this.__camera_location.getY() + y_modification);
         this.__camera_location.setZ(this.__camera_location.getZ() + z_modification);
         
-        this._refreshViewableArea();
         this._refreshCamera();
     }
     
@@ -7,16 +7,28 @@ package com.strixa.gl;
 import java.io.IOException;
 import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import javax.media.opengl.GL2;
 import javax.media.opengl.GLContext;
 import javax.media.opengl.GLException;
 
+import com.strixa.gl.collision.ConvexHull;
+import com.strixa.gl.collision.GJK;
+import com.strixa.gl.collision.PointIndex;
+import com.strixa.gl.collision.TriangleBVH;
 import com.strixa.gl.properties.Cuboid;
 import com.strixa.gl.shapes.RectangularPrism;
+import com.strixa.gl.util.BatchStateUpdateListener;
+import com.strixa.gl.util.BoundingBoxUpdateListener;
+import com.strixa.gl.util.Frustum;
+import com.strixa.gl.util.Ray;
+import com.strixa.gl.util.RayHit;
+import com.strixa.gl.util.Transform;
 import com.strixa.gl.util.Vertex;
-import com.strixa.math.StrixaMath;
 import com.strixa.util.Dimension3D;
 import com.strixa.util.Log;
 import com.strixa.util.Point2D;
@@ -40,18 +52,62 @@ public class Strixa3DElement extends StrixaGLElement{
          */
         BOUNDING_BOX,
         
+        /**
+         * Determines collision by testing the convex hulls of both objects' points against one another.  This is exact for convex objects, and conservative for concave ones.
+         */
+        CONVEX_HULL,
+        
         /**
          * Determines collision by comparing the individual points of an object with the current instance of the object's bounding box.
          */
-        POINT
+        POINT,
+        
+        /**
+         * Determines collision by testing the triangles of both objects' polygons against one another.  This is exact, but is the most expensive method.
+         */
+        TRIANGLE
+    }
+    
+    /**
+     * Ways in which an element's components can be sent to GL.
+     *
+     * @author Nicholas Rog
+     */
+    public enum RenderPath{
+        /**
+         * Compiles the components into a display list with immediate mode calls.  This works on any context, but the whole list must be compiled again whenever any component changes.
+         */
+        DISPLAY_LIST,
+        
+        /**
+         * Packs the components into a {@link StrixaVertexBuffer}, so that changing a single component only uploads that component's vertices again.  Contexts without buffer objects fall back to {@link RenderPath#DISPLAY_LIST}.
+         */
+        VERTEX_BUFFER
     }
     
-    private final List<StrixaPolygon>   __components = new ArrayList<StrixaPolygon>();
+    private final List<BatchStateUpdateListener>  __batch_state_listeners = new ArrayList<BatchStateUpdateListener>();
+    private final List<BoundingBoxUpdateListener> __bounding_box_listeners = new ArrayList<BoundingBoxUpdateListener>();
+    private final List<StrixaPolygon>             __components = new ArrayList<StrixaPolygon>();
+    private final Point3D<Double>                 __coordinates = new Point3D<Double>(0.0,0.0,0.0);
+    private final double[]                        __local_dimensions = new double[3];
+    private final Transform                       __transform = new Transform();
     
-    private Cuboid         __bounding_box;
-    private boolean        __bounding_box_visible;
-    private Integer        __list_index;
-    private StrixaMaterial __material;
+    private Cuboid                __bounding_box;
+    private boolean               __bounding_box_visible;
+    private ConvexHull            __convex_hull;
+    private int                   __culling_plane;
+    private Integer               __list_index;
+    private StrixaResourceManager __list_resource_manager;
+    private boolean               __local_dimensions_dirty;
+    private StrixaMaterial        __material;
+    private boolean               __occluder;
+    private PointIndex            __point_index;
+    private RenderPath            __render_path;
+    private boolean               __static;
+    private TriangleBVH           __triangle_bvh;
+    private int                   __update_depth;
+    private boolean               __update_pending;
+    private StrixaVertexBuffer    __vertex_buffer;
     
     
     /*Begin Constructor*/
@@ -60,10 +116,8 @@ public class Strixa3DElement extends StrixaGLElement{
      */
     public Strixa3DElement(){
         this.__material = new StrixaMaterial();
-        this.__bounding_box = new Cuboid(
-            new Point3D<Double>(0.0,0.0,0.0),
-            0,0,0
-        );
+        this.__local_dimensions_dirty = true;
+        this.__render_path = RenderPath.VERTEX_BUFFER;
         
         this.setBoundingBoxVisible(false);
     }
@@ -71,12 +125,36 @@ public class Strixa3DElement extends StrixaGLElement{
     
     /*Begin Getter/Setter Methods*/
     /**
-     * Gets the box which completely and exactly encloses all of this element.
+     * Gets the box which completely encloses all of this element, including any rotation or scaling which hasn't been baked into its vertices.<br />
+     * The box is composed from this element's coordinates, transform, and untransformed dimensions the first time it's requested after any of them have changed.
      * 
-     * @return The box which completely and exactly encloses all of this element.
+     * @return The box which completely encloses all of this element.
      */
     public Cuboid getBoundingBox(){
-       return this.__bounding_box; 
+        Cuboid   bounding_box = this.__bounding_box;
+        double[] bounds = null;
+        
+        
+        if(bounding_box == null){
+            this.__updateLocalDimensions();
+            
+            bounds = new double[6];
+            this.__transform.transformBox(0,0,0,this.__local_dimensions[0],this.__local_dimensions[1],this.__local_dimensions[2],bounds);
+            
+            bounding_box = new Cuboid(
+                new Point3D<Double>(
+                    this.__coordinates.getX() + bounds[0],
+                    this.__coordinates.getY() + bounds[1],
+                    this.__coordinates.getZ() + bounds[2]
+                ),
+                bounds[3] - bounds[0],
+                bounds[4] - bounds[1],
+                bounds[5] - bounds[2]
+            );
+            this.__bounding_box = bounding_box;
+        }
+        
+        return bounding_box;
     }
     
     /**
@@ -88,12 +166,37 @@ public class Strixa3DElement extends StrixaGLElement{
         return this.__components;
     }
     
+    /**
+     * Gets the convex hull of this element's points, computing it if this element has been invalidated since it was last computed.<br />
+     * The hull is relative to this element's coordinates and includes this element's transform, so moving the element doesn't require it to be recomputed, but rotating or scaling it does.
+     * 
+     * @return The convex hull of this element's points.
+     */
+    public ConvexHull getConvexHull(){
+        ConvexHull convex_hull = this.__convex_hull;
+        
+        
+        if(convex_hull == null){
+            this.__updateLocalDimensions();
+            
+            convex_hull = new ConvexHull(this.getComponents(),this.__transform.isIdentity() ? null : this.__transform);
+            this.__convex_hull = convex_hull;
+        }
+        
+        return convex_hull;
+    }
+    
+    /**
+     * Gets the point this element's vertices are positioned relative to.  This element's transform is applied before these coordinates, so once the element has been rotated or scaled, they may no longer be the corner of its bounding box.
+     * 
+     * @return This element's coordinates.
+     */
     public Point3D<Double> getCoordinates(){        
-        return this.getBoundingBox().getCoordinates();
+        return this.__coordinates;
     }
     
     public Dimension3D<Double> getDimensions(){
-        return this.__bounding_box.getDimensions();
+        return this.getBoundingBox().getDimensions();
     }
     
     /**
@@ -105,6 +208,83 @@ public class Strixa3DElement extends StrixaGLElement{
         return this.__material;
     }
     
+    /**
+     * Gets the matrix which takes points from this element's own space into the world, combining its coordinates with its transform.
+     * 
+     * @param matrix Sixteen element array which will be filled with the matrix, in the column-major order expected by glMultMatrixd.
+     */
+    protected void _getModelMatrix(double[] matrix){
+        final Point3D<Double> coordinates = this.getCoordinates();
+        
+        
+        this.__updateLocalDimensions();
+        this.__transform.getMatrix(matrix);
+        
+        matrix[12] += coordinates.getX();
+        matrix[13] += coordinates.getY();
+        matrix[14] += coordinates.getZ();
+    }
+    
+    /**
+     * Gets the index over this element's distinct vertices, building it if this element has been invalidated since it was last built.<br />
+     * The index is relative to this element's coordinates and includes this element's transform, so moving the element doesn't require it to be rebuilt, but rotating or scaling it does.
+     * 
+     * @return The index over this element's distinct vertices.
+     */
+    public PointIndex getPointIndex(){
+        PointIndex point_index = this.__point_index;
+        
+        
+        if(point_index == null){
+            this.__updateLocalDimensions();
+            
+            point_index = new PointIndex(this.getComponents(),this.__transform.isIdentity() ? null : this.__transform);
+            this.__point_index = point_index;
+        }
+        
+        return point_index;
+    }
+    
+    /**
+     * Gets the way in which this element's components are sent to GL.
+     * 
+     * @return The way in which this element's components are sent to GL.
+     */
+    public RenderPath getRenderPath(){
+        return this.__render_path;
+    }
+    
+    /**
+     * Gets the rotation and scale which are applied to this element's vertices when it's drawn.
+     * 
+     * @return A copy of this element's transform.
+     */
+    public Transform getTransform(){
+        this.__updateLocalDimensions();
+        
+        return new Transform(this.__transform);
+    }
+    
+    /**
+     * Gets the bounding volume hierarchy over this element's triangles, building it if this element has been invalidated since it was last built.<br />
+     * The hierarchy is relative to this element's coordinates and includes this element's transform, so moving the element doesn't require it to be rebuilt, but rotating or scaling it does.
+     * 
+     * @return The bounding volume hierarchy over this element's triangles.
+     */
+    public TriangleBVH getTriangleBVH(){
+        TriangleBVH triangle_bvh = this.__triangle_bvh;
+        
+        
+        if(triangle_bvh == null){
+            this.__updateLocalDimensions();
+            
+            triangle_bvh = new TriangleBVH(this.getComponents(),this.__transform.isIdentity() ? null : this.__transform);
+            this.__triangle_bvh = triangle_bvh;
+        }
+        
+        return triangle_bvh;
+    }
+    
     /**
      * Returns whether the bounding box is visible or not.
      * 
@@ -114,6 +294,24 @@ public class Strixa3DElement extends StrixaGLElement{
         return this.__bounding_box_visible;
     }
     
+    /**
+     * Returns whether this element should hide the elements behind it from a canvas' occlusion culling.
+     * 
+     * @return Returns true if this element is an occluder, and false, otherwise.
+     */
+    public boolean isOccluder(){
+        return this.__occluder;
+    }
+    
+    /**
+     * Returns whether this element has been marked as static level geometry.
+     * 
+     * @return Returns true if this element is static, and false, otherwise.
+     */
+    public boolean isStatic(){
+        return this.__static;
+    }
+    
     /**
      * Determines whether the bounding box should be displayed on this object or not.
      * 
@@ -121,8 +319,6 @@ public class Strixa3DElement extends StrixaGLElement{
      */
     public void setBoundingBoxVisible(boolean visible){
         this.__bounding_box_visible = visible;
-        
-        this.invalidate();
     }
     
     /**
@@ -135,7 +331,12 @@ public class Strixa3DElement extends StrixaGLElement{
     public void setCoordinates(double x,double y,double z){
         this.getCoordinates().setPoint(x,y,z);
         
-        this.invalidate();
+        /*
+         * This element's coordinates are applied outside of the display list, and everything else derived from the
+         * components is relative to this element, so only the bounding box needs to be composed again.
+         */
+        this.__bounding_box = null;
+        this._alertBoundingBoxUpdateListeners();
     }
     
     /**
@@ -144,11 +345,86 @@ public class Strixa3DElement extends StrixaGLElement{
      * @param material Material to be used.
      */
     public void setMaterial(StrixaMaterial material){
-        this.__material = material;
+        if(this.__material != material){
+            this.__material = material;
+            this._alertBatchStateUpdateListeners();
+        }
+    }
+    
+    /**
+     * Determines whether this element should hide the elements behind it from a canvas' occlusion culling.  Occluders are always drawn, and should be large, solid elements with few polygons, such as walls and floors.
+     * 
+     * @param occluder This should be true if this element is an occluder, and false, otherwise.
+     */
+    public void setOccluder(boolean occluder){
+        if(this.__occluder != occluder){
+            this.__occluder = occluder;
+            this._alertBatchStateUpdateListeners();
+        }
+    }
+    
+    /**
+     * Sets the way in which this element's components are sent to GL.  Elements use {@link RenderPath#VERTEX_BUFFER} by default.
+     * 
+     * @param render_path The way in which this element's components should be sent to GL.
+     */
+    public void setRenderPath(RenderPath render_path){
+        /*Begin Parameter Verification*/
+        if(render_path == null){
+            throw new IllegalArgumentException("Argument 'render_path' must not be null.");
+        }
+        /*End Parameter Verification*/
+        
+        this.__render_path = render_path;
+    }
+    
+    /**
+     * Marks this element as static level geometry, which a {@link Strixa3DCanvas} merges with nearby static elements sharing its material, rather than drawing it on its own.  Static elements can still be moved and edited, but each change rebuilds the batch they belong to.
+     * 
+     * @param is_static This should be true if this element is static, and false, otherwise.
+     */
+    public void setStatic(boolean is_static){
+        if(this.__static != is_static){
+            this.__static = is_static;
+            this._alertBatchStateUpdateListeners();
+        }
+    }
+    
+    public void setVisible(boolean visible){
+        if(this.isVisible() != visible){
+            super.setVisible(visible);
+            this._alertBatchStateUpdateListeners();
+        }
     }
     /*End Getter/Setter Methods*/
     
     /*Begin Other Methods*/
+    /**
+     * Adds a {@link BatchStateUpdateListener} to be notified whenever this element's static flag, material, occluder setting, or visibility changes.
+     * 
+     * @param listener Listener requesting to be notified.
+     */
+    public void addBatchStateUpdateListener(BatchStateUpdateListener listener){
+        synchronized(this.__batch_state_listeners){
+            if(!this.__batch_state_listeners.contains(listener)){
+                this.__batch_state_listeners.add(listener);
+            }
+        }
+    }
+    
+    /**
+     * Adds a {@link BoundingBoxUpdateListener} to be notified whenever this element's bounding box is regenerated.
+     * 
+     * @param listener Listener requesting to be notified.
+     */
+    public void addBoundingBoxUpdateListener(BoundingBoxUpdateListener listener){
+        synchronized(this.__bounding_box_listeners){
+            if(!this.__bounding_box_listeners.contains(listener)){
+                this.__bounding_box_listeners.add(listener);
+            }
+        }
+    }
+    
     /**
      * Adds a polygon to this element.  If the polygon already exists within this element, it will not be added again.<br />
      * <strong>Note:</strong>  The {@link Strixa3DElement#addComponents(List)} method is the preferred method to use when adding multiple components to this element. 
@@ -156,7 +432,7 @@ public class Strixa3DElement extends StrixaGLElement{
      * @param polygon Polygon to add to this element.
      */
     public void addComponent(StrixaPolygon polygon){
-        if(!this.__components.contains(polygon)){
+        if(polygon.getParent() != this){
             polygon.setParent(this);
             this.__components.add(polygon);
         }
@@ -171,7 +447,7 @@ public class Strixa3DElement extends StrixaGLElement{
      */
     public void addComponents(List<StrixaPolygon> polygons){
         for(int index = 0,end_index = polygons.size() - 1;index <= end_index;index++){
-            if(!this.__components.contains(polygons)){
+            if(polygons.get(index).getParent() != this){
                 polygons.get(index).setParent(this);
                 this.__components.add(polygons.get(index));
             }
@@ -180,6 +456,155 @@ public class Strixa3DElement extends StrixaGLElement{
         this.invalidate();
     }
    
+    /**
+     * Lets each {@link BatchStateUpdateListener} know that this element's static flag, material, occluder setting, or visibility has changed.
+     */
+    protected void _alertBatchStateUpdateListeners(){
+        synchronized(this.__batch_state_listeners){
+            for(int index = 0,end_index = this.__batch_state_listeners.size() - 1;index <= end_index;index++){
+                this.__batch_state_listeners.get(index).onBatchStateUpdate(this);
+            }
+        }
+    }
+    
+    /**
+     * Lets each {@link BoundingBoxUpdateListener} know that this element's bounding box has changed.  If a bulk edit is in progress, the listeners are instead alerted once, when the edit ends.
+     */
+    protected void _alertBoundingBoxUpdateListeners(){
+        if(this.__update_depth > 0){
+            this.__update_pending = true;
+            
+            return;
+        }
+        
+        synchronized(this.__bounding_box_listeners){
+            for(int index = 0,end_index = this.__bounding_box_listeners.size() - 1;index <= end_index;index++){
+                this.__bounding_box_listeners.get(index).onBoundingBoxUpdate(this);
+            }
+        }
+    }
+    
+    /**
+     * Applies this element's rotation and scale directly to its vertices and their normals, and then resets its transform.<br />
+     * This is the only method which rewrites vertices, so it should be reserved for when a transform is meant to become permanent, such as after posing a model.  Once the vertices have been transformed, they're shifted so that the smallest is at the origin, and this element's coordinates are moved to compensate, so the element doesn't appear to move.
+     */
+    public void bake(){
+        final Set<Point3D<Double>> baked_normals = Collections.newSetFromMap(new IdentityHashMap<Point3D<Double>,Boolean>());
+        final Set<Vertex>          baked_points = Collections.newSetFromMap(new IdentityHashMap<Vertex,Boolean>());
+        final double[]             minimum = new double[]{Double.POSITIVE_INFINITY,Double.POSITIVE_INFINITY,Double.POSITIVE_INFINITY};
+        final Transform            transform = this.__transform;
+        final double[]             transformed = new double[3];
+        
+        Point3D<Double> normal = null;
+        Vertex          point = null;
+        Point3D<Double> polygon_coordinates = null;
+        List<Vertex>    points = null;
+        
+        
+        if(transform.isIdentity()){
+            return;
+        }
+        this.__updateLocalDimensions();
+        
+        /*First Pass:  Transform each distinct point, along with its normal*/
+        for(int component_index = 0,component_end_index = this.__components.size() - 1;component_index <= component_end_index;component_index++){
+            points = this.__components.get(component_index).getPoints();
+            polygon_coordinates = this.__components.get(component_index).getCoordinates();
+            
+            for(int point_index = 0,point_end_index = points.size() - 1;point_index <= point_end_index;point_index++){
+                point = points.get(point_index);
+                if(!baked_points.add(point)){
+                    continue;
+                }
+                
+                transform.transformPoint(
+                    point.getX() + polygon_coordinates.getX(),
+                    point.getY() + polygon_coordinates.getY(),
+                    point.getZ() + polygon_coordinates.getZ(),
+                    transformed
+                );
+                point.setPoint(
+                    transformed[0] - polygon_coordinates.getX(),
+                    transformed[1] - polygon_coordinates.getY(),
+                    transformed[2] - polygon_coordinates.getZ()
+                );
+                minimum[0] = Math.min(minimum[0],point.getX());
+                minimum[1] = Math.min(minimum[1],point.getY());
+                minimum[2] = Math.min(minimum[2],point.getZ());
+                
+                normal = point.getNormal();
+                if(normal != null && baked_normals.add(normal)){
+                    transform.transformDirection(normal.getX(),normal.getY(),normal.getZ(),transformed);
+                    normal.setPoint(transformed[0],transformed[1],transformed[2]);
+                }
+            }
+        }
+        
+        /*Second Pass:  Make all the points relative to the origin*/
+        if(!baked_points.isEmpty()){
+            for(Vertex baked_point : baked_points){
+                baked_point.setPoint(
+                    baked_point.getX() - minimum[0],
+                    baked_point.getY() - minimum[1],
+                    baked_point.getZ() - minimum[2]
+                );
+            }
+            
+            this.__coordinates.setPoint(
+                this.__coordinates.getX() + minimum[0],
+                this.__coordinates.getY() + minimum[1],
+                this.__coordinates.getZ() + minimum[2]
+            );
+        }
+        
+        transform.reset();
+        this.invalidate();
+    }
+    
+    /**
+     * Starts a bulk edit of this element.  Until the matching call to {@link Strixa3DElement#endUpdate()}, changes to this element or its components only mark what they affect as changed, and bounding box listeners are alerted once, when the edit ends.<br />
+     * Calls may be nested, in which case the listeners are alerted when the outermost edit ends.
+     */
+    public void beginUpdate(){
+        this.__update_depth++;
+    }
+    
+    /**
+     * Makes the given material's texture and colors current.  The material's texture should already have been loaded with {@link Strixa3DElement#_loadTexture(StrixaMaterial)}.<br />
+     * While a {@link StrixaRenderQueue} is being submitted, the queue binds the material instead, skipping whatever part of it is already current.
+     * 
+     * @param gl GL instance to bind the material with.
+     * @param material Material to be bound.
+     */
+    protected void _bindMaterial(GL2 gl,StrixaMaterial material){
+        final StrixaRenderQueue queue = StrixaRenderQueue.getSubmittingQueue();
+        
+        
+        if(queue != null){
+            queue.bindMaterial(gl,material);
+            
+            return;
+        }
+        
+        if(material.isTextureLoaded()){  //We're adding a second if here to make sure that if the material for some reason couldn't be loaded, we don't try to bind to it still.
+            StrixaTextureCache.getInstance(gl.getContext()).markUsed(material.getTexture());
+            material.getTexture().bind(gl);
+            material.getTexture().enable(gl);
+            
+            gl.glTexEnvf(GL2.GL_TEXTURE_ENV,GL2.GL_TEXTURE_ENV_MODE,GL2.GL_MODULATE);
+            gl.glTexParameterf(GL2.GL_TEXTURE_2D,GL2.GL_TEXTURE_WRAP_S,GL2.GL_REPEAT);
+            gl.glTexParameterf(GL2.GL_TEXTURE_2D,GL2.GL_TEXTURE_WRAP_T,GL2.GL_REPEAT);
+        }
+        
+        if(gl.glIsEnabled(GL2.GL_LIGHTING)){
+            gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_AMBIENT,material.getAmbientColor(),0);
+            gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_DIFFUSE,material.getDiffuseColor(),0);
+            gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_EMISSION,material.getEmissionColor(),0);
+            gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_SPECULAR,material.getSpecularColor(),0);
+            gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_SHININESS,new float[]{material.getSpecularCoefficient()},0);
+        }
+    }
+    
     /**
      * Check to determine if the given point is within the objects parimeters.  This method only checks the X and Y dimensions.
      * 
@@ -188,10 +613,11 @@ public class Strixa3DElement extends StrixaGLElement{
      * @return Returns true, if the point is inside the object, and false, otherwise.
      */
     public boolean containsPoint(Point2D<Double> point){
-        final double max_x = this.getCoordinates().getX() + this.getBoundingBox().getWidth();
-        final double max_y = this.getCoordinates().getY() + this.getBoundingBox().getHeight();
-        final double min_x = this.getCoordinates().getX();
-        final double min_y = this.getCoordinates().getY();
+        final Cuboid bounding_box = this.getBoundingBox();
+        final double max_x = bounding_box.getCoordinates().getX() + bounding_box.getWidth();
+        final double max_y = bounding_box.getCoordinates().getY() + bounding_box.getHeight();
+        final double min_x = bounding_box.getCoordinates().getX();
+        final double min_y = bounding_box.getCoordinates().getY();
         
         
         if(
@@ -213,12 +639,13 @@ public class Strixa3DElement extends StrixaGLElement{
      * @return Returns true, if the point is inside the object, and false, otherwise.
      */
     public boolean containsPoint(Point3D<Double> point){
-        final double max_x = this.getCoordinates().getX() + this.getBoundingBox().getWidth();
-        final double max_y = this.getCoordinates().getY() + this.getBoundingBox().getHeight();
-        final double max_z = this.getCoordinates().getZ() + this.getBoundingBox().getDepth();
-        final double min_x = this.getCoordinates().getX();
-        final double min_y = this.getCoordinates().getY();
-        final double min_z = this.getCoordinates().getZ();
+        final Cuboid bounding_box = this.getBoundingBox();
+        final double max_x = bounding_box.getCoordinates().getX() + bounding_box.getWidth();
+        final double max_y = bounding_box.getCoordinates().getY() + bounding_box.getHeight();
+        final double max_z = bounding_box.getCoordinates().getZ() + bounding_box.getDepth();
+        final double min_x = bounding_box.getCoordinates().getX();
+        final double min_y = bounding_box.getCoordinates().getY();
+        final double min_z = bounding_box.getCoordinates().getZ();
         
         
         if(
@@ -234,35 +661,92 @@ public class Strixa3DElement extends StrixaGLElement{
         }
     }
     
-    public void draw(GL2 gl){        
-        if(this.__material.hasTexture()){
-            if(!this.__material.isTextureLoaded()){
-                try{
-                    this.__material.loadTexture();
-                }catch(IOException e){
-                    Log.logEvent(Log.Type.WARNING,"Texture could not be loaded, and will not be displayed.");
-                }
-            }
+    /**
+     * Releases the GL resources this element has created to the {@link StrixaResourceManager} of the context they were created in, which deletes them at the start of the next frame.  This may be called from any thread, and should be called once an element won't be drawn again.  If the element is drawn afterwards, the resources are simply created again.
+     */
+    public void dispose(){
+        final StrixaVertexBuffer vertex_buffer = this.__vertex_buffer;
+        
+        
+        this.__releaseList();
+        if(vertex_buffer != null){
+            vertex_buffer.release();
         }
+    }
+    
+    /**
+     * Draws this element.  The components are packed into a vertex buffer, or compiled into a display list, in this element's own space, and this element's coordinates and transform are applied around them, so moving, rotating, or scaling the element never requires them to be packed or compiled again.  The material is bound around the components rather than being compiled into them, so that a {@link StrixaRenderQueue} can skip binding it again.
+     * 
+     * @param gl GL instance to draw with.
+     */
+    public void draw(GL2 gl){        
+        final List<StrixaPolygon> components = this.getComponents();
+        final Point3D<Double>     coordinates = this.getCoordinates();
+        final Transform           transform = this.__transform;
+        final double[]            transform_matrix = new double[16];
+        final boolean             use_vertex_buffer = this.__render_path == RenderPath.VERTEX_BUFFER && StrixaVertexBuffer.isSupported(gl);
         
-        if(this.__list_index == null){
+        int     point_count = 0;
+        boolean rescale_normals = false;
+        
+        
+        this._loadTexture(this.__material);
+        
+        if(use_vertex_buffer){
+            if(this.__vertex_buffer == null){
+                this.__vertex_buffer = new StrixaVertexBuffer(components);
+            }
+        }else if(this.__list_index == null){
+            this.__list_resource_manager = StrixaResourceManager.getInstance(gl.getContext());
             this.__list_index = gl.glGenLists(1);
             gl.glNewList(this.__list_index,GL2.GL_COMPILE);
             
-            this._drawComponents(gl,this.getComponents(),this.__material);
-            if(this.isBoundingBoxVisible()){
-                this._drawBoundingBox(gl);
+            for(int component_index = 0,component_end_index = components.size() - 1;component_index <= component_end_index;component_index++){
+                this._drawComponent(gl,components.get(component_index));
+                point_count += components.get(component_index).getPoints().size();
             }
             
             gl.glEndList();
+            
+            /*The driver decides how a list is stored, so it's sized as if it held the same data as a vertex buffer.*/
+            this.__list_resource_manager.register(StrixaResourceManager.ResourceType.DISPLAY_LIST,this.__list_index,this);
+            this.__list_resource_manager.setSize(StrixaResourceManager.ResourceType.DISPLAY_LIST,this.__list_index,point_count*StrixaVertexBuffer.VERTEX_SIZE*4L);
+        }
+        
+        gl.glPushMatrix();
+        gl.glTranslated(coordinates.getX(),coordinates.getY(),coordinates.getZ());
+        if(!transform.isIdentity()){
+            this.__updateLocalDimensions();
+            transform.getMatrix(transform_matrix);
+            gl.glMultMatrixd(transform_matrix,0);
+            
+            /*Scaling the modelview matrix scales the normals along with it, which throws off lighting unless they're scaled back.*/
+            if(transform.getScale() != 1 && !gl.glIsEnabled(GL2.GL_RESCALE_NORMAL)){
+                rescale_normals = true;
+                gl.glEnable(GL2.GL_RESCALE_NORMAL);
+            }
         }
         
+        this._bindMaterial(gl,this.__material);
+        if(use_vertex_buffer){
+            this.__vertex_buffer.draw(gl);
+        }else{
+            gl.glCallList(this.__list_index);
+        }
+        this._unbindMaterial(gl,this.__material);
+        
+        if(rescale_normals){
+            gl.glDisable(GL2.GL_RESCALE_NORMAL);
+        }
+        gl.glPopMatrix();
         
-        gl.glCallList(this.__list_index);
+        if(this.isBoundingBoxVisible()){
+            this._drawBoundingBox(gl);
+        }
     }  
     
     protected void _drawBoundingBox(GL2 gl){
-        final Point3D<Double>     coordinates = this.getCoordinates();
+        final Point3D<Double>     coordinates = this.getBoundingBox().getCoordinates();
         final Dimension3D<Double> dimensions = this.getBoundingBox().getDimensions();
         final IntBuffer           old_mode = IntBuffer.allocate(1);
         
@@ -277,7 +761,10 @@ public class Strixa3DElement extends StrixaGLElement{
         
         //Draw it
         gl.glPolygonMode(GL2.GL_FRONT_AND_BACK,GL2.GL_LINE);
+        gl.glPushMatrix();
+        gl.glTranslated(coordinates.getX(),coordinates.getY(),coordinates.getZ());
         bounding_box._drawComponents(gl,bounding_box.getComponents(),bounding_box.getMaterial());
+        gl.glPopMatrix();
         gl.glPolygonMode(GL2.GL_FRONT_AND_BACK,old_mode.get(0));
     }
     
@@ -362,51 +849,80 @@ public class Strixa3DElement extends StrixaGLElement{
     }
     
     /**
-     * Draws the requested components.
+     * Draws the requested components, relative to the current modelview matrix.  This element's coordinates and transform are not applied.
      * 
      * @param components Components to be drawn.
      */
     protected void _drawComponents(GL2 gl,List<StrixaPolygon> components,StrixaMaterial material){
-        final Point3D<Double> this_coordinates = this.getCoordinates();
-        
+        this._bindMaterial(gl,material);
         
-        gl.glPushMatrix();
-        gl.glTranslated(this_coordinates.getX(),this_coordinates.getY(),this_coordinates.getZ());     
+        for(int component_index = 0,component_end_index = components.size();component_index < component_end_index;component_index++){
+            this._drawComponent(gl,components.get(component_index));
+        }
         
-        if(material.isTextureLoaded()){  //We're adding a second if here to make sure that if the material for some reason couldn't be loaded, we don't try to bind to it still.
-            material.getTexture().bind(gl);
-            material.getTexture().enable(gl);
-            
-            gl.glTexEnvf(GL2.GL_TEXTURE_ENV,GL2.GL_TEXTURE_ENV_MODE,GL2.GL_MODULATE);
-            gl.glTexParameterf(GL2.GL_TEXTURE_2D,GL2.GL_TEXTURE_WRAP_S,GL2.GL_REPEAT);
-            gl.glTexParameterf(GL2.GL_TEXTURE_2D,GL2.GL_TEXTURE_WRAP_T,GL2.GL_REPEAT);
+        this._unbindMaterial(gl,material);
+    }
+    
+    /**
+     * Ends a bulk edit of this element which was started with {@link Strixa3DElement#beginUpdate()}.  If this element changed during the edit, and this ends the outermost edit, its bounding box listeners are alerted.
+     * 
+     * @throws IllegalStateException Thrown if there is no bulk edit to end.
+     */
+    public void endUpdate(){
+        if(this.__update_depth == 0){
+            throw new IllegalStateException("endUpdate() was called without a matching call to beginUpdate().");
         }
         
-        if(gl.glIsEnabled(GL2.GL_LIGHTING)){
-            gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_AMBIENT,material.getAmbientColor(),0);
-            gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_DIFFUSE,material.getDiffuseColor(),0);
-            gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_EMISSION,material.getEmissionColor(),0);
-            gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_SPECULAR,material.getSpecularColor(),0);
-            gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_SHININESS,new float[]{material.getSpecularCoefficient()},0);
+        this.__update_depth--;
+        if(this.__update_depth == 0 && this.__update_pending){
+            this.__update_pending = false;
+            this._alertBoundingBoxUpdateListeners();
         }
+    }
+    
+    /**
+     * Indicates that something about this element has changed, and that it should be recreated.<br />
+     * Nothing is recreated here.  Everything derived from the components is only discarded or marked as changed, and is regenerated the next time it's needed, so invalidating an element many times in a row costs no more than invalidating it once.
+     */
+    public void invalidate(){
+        final StrixaVertexBuffer vertex_buffer = this.__vertex_buffer;
         
-        for(int component_index = 0,component_end_index = components.size();component_index < component_end_index;component_index++){
-            this._drawComponent(gl,components.get(component_index));
+        
+        if(vertex_buffer != null){
+            vertex_buffer.invalidate();
         }
         
-        if(material.isTextureLoaded()){
-            material.getTexture().disable(gl);
+        this.__invalidateDerived();
+    }
+    
+    /**
+     * Indicates that a single one of this element's components has changed.  This is the same as {@link Strixa3DElement#invalidate()}, except that only the changed component's vertices are uploaded again when drawing with {@link RenderPath#VERTEX_BUFFER}.
+     * 
+     * @param component Component which has changed.
+     */
+    protected void _invalidateComponent(StrixaPolygon component){
+        final StrixaVertexBuffer vertex_buffer = this.__vertex_buffer;
+        
+        
+        if(vertex_buffer != null){
+            vertex_buffer.invalidatePolygon(component);
         }
         
-        gl.glPopMatrix();
+        this.__invalidateDerived();
     }
     
     /**
-     * Indicates that something about this element has changed, and that it should be recreated.
+     * Discards everything derived from the components other than the vertex buffer, and alerts the bounding box listeners.
      */
-    public void invalidate(){
-        this.__list_index = null;
-        this._regenerateBoundingBox();
+    private void __invalidateDerived(){
+        this.__releaseList();
+        this.__convex_hull = null;
+        this.__point_index = null;
+        this.__triangle_bvh = null;
+        this.__bounding_box = null;
+        this.__local_dimensions_dirty = true;
+        
+        this._alertBoundingBoxUpdateListeners();
     }
     
     /**
@@ -429,10 +945,6 @@ public class Strixa3DElement extends StrixaGLElement{
      * @return Returns true if this object is colliding with the given object, and false, otherwise. 
      */
     public boolean isColliding(Strixa3DElement element,CollisionDetectionMethod method){        
-        List<StrixaPolygon> element_components = element.getComponents();
-        List<StrixaPolygon> this_components = this.getComponents(); 
-        
-        
         if(!this.isCollisionDetectionEnabled() || !element.isCollisionDetectionEnabled()){
             return false;
         }
@@ -476,56 +988,88 @@ public class Strixa3DElement extends StrixaGLElement{
                 }else{
                     return false;
                 }
+            case CONVEX_HULL:
+                if(!this.isColliding(element,CollisionDetectionMethod.BOUNDING_BOX)){
+                    return false;
+                }
+                
+                return GJK.isIntersecting(
+                    this.getConvexHull(),
+                    element.getConvexHull(),
+                    element.getCoordinates().getX() - this.getCoordinates().getX(),
+                    element.getCoordinates().getY() - this.getCoordinates().getY(),
+                    element.getCoordinates().getZ() - this.getCoordinates().getZ()
+                );
             case POINT:
                 {
-                    final ArrayList<Vertex> adjusted_vertices = new ArrayList<Vertex>();
+                    final Cuboid          bounding_box = this.getBoundingBox();
+                    final Point3D<Double> coordinates = bounding_box.getCoordinates();
                     final Point3D<Double> element_coordinates = element.getCoordinates();
                     
-                    boolean collision = false;
-                    List<Vertex> component_vertices = null;
-                    Vertex       vertex = null;
-                    
                     
-                    for(int component_index = 0,component_end_index = element_components.size() - 1;component_index <= component_end_index;component_index++){
-                        component_vertices = element_components.get(component_index).getPoints();
-                        
-                        for(int point_index = 0,point_end_index = component_vertices.size() - 1;point_index <= point_end_index;point_index++){
-                            vertex = component_vertices.get(point_index);
-                            
-                            if(!adjusted_vertices.contains(vertex)){
-                                adjusted_vertices.add(new Vertex(
-                                    vertex.getX() + element_coordinates.getX(),
-                                    vertex.getY() + element_coordinates.getY(),
-                                    vertex.getZ() + element_coordinates.getZ(),
-                                    vertex.getWeight() //This really should matter.
-                                ));
-                            }
-                        }
-                    }
-                    
-                    for(int point_index = 0,point_end_index = adjusted_vertices.size() - 1;point_index <= point_end_index;point_index++){
-                        if(this.containsPoint(adjusted_vertices.get(point_index))){
-                            collision = true;
-                            
-                            break;
-                        }
-                    }
-                    
-                    return collision;
+                    /*Equivalent to calling containsPoint on each of the element's vertices, offset by the element's coordinates.*/
+                    return element.getPointIndex().isAnyPointInside(
+                        element_coordinates.getX(),
+                        element_coordinates.getY(),
+                        element_coordinates.getZ(),
+                        coordinates.getX(),
+                        coordinates.getY(),
+                        coordinates.getZ(),
+                        coordinates.getX() + bounding_box.getWidth(),
+                        coordinates.getY() + bounding_box.getHeight(),
+                        coordinates.getZ() + bounding_box.getDepth()
+                    );
                 }
+            case TRIANGLE:
             default:
-                for(int this_index = 0,this_end_index = this_components.size() - 1;this_index <= this_end_index;this_index++){
-                    for(int element_index = 0,element_end_index = element_components.size() - 1;element_index <= element_end_index;element_index++){
-                        if(this.__components.get(this_index).isColliding(element_components.get(element_index))){
-                            return true;
-                        }
-                    }
+                {
+                    final TriangleBVH element_bvh = element.getTriangleBVH();
+                    final TriangleBVH this_bvh = this.getTriangleBVH();
+                    
+                    
+                    return this_bvh.isColliding(
+                        element_bvh,
+                        element.getCoordinates().getX() - this.getCoordinates().getX(),
+                        element.getCoordinates().getY() - this.getCoordinates().getY(),
+                        element.getCoordinates().getZ() - this.getCoordinates().getZ()
+                    );
                 }
-                
-                return false;
         }
     }
     
+    /**
+     * Boolean check to determine whether any part of this element's bounding box may be inside of the given frustum.<br />
+     * The plane which last rejected this element is remembered and tested first, as it will usually reject the element again while the camera moves smoothly.
+     * 
+     * @param frustum Frustum to test against.
+     * @param plane_mask Mask of the frustum's planes to test.  If this element lies within a larger box which has already been tested, this should be the mask returned by {@link Frustum#cullBox} for that box, as the planes the box is entirely inside of need not be tested again.
+     * 
+     * @return Returns true if this element's bounding box isn't outside of any of the tested planes, and false, otherwise.
+     */
+    public boolean isInFrustum(Frustum frustum,int plane_mask){
+        final Cuboid          bounding_box = this.getBoundingBox();
+        final Point3D<Double> coordinates = bounding_box.getCoordinates();
+        final int             result = frustum.cullBox(
+            coordinates.getX(),
+            coordinates.getY(),
+            coordinates.getZ(),
+            coordinates.getX() + bounding_box.getWidth(),
+            coordinates.getY() + bounding_box.getHeight(),
+            coordinates.getZ() + bounding_box.getDepth(),
+            plane_mask,
+            this.__culling_plane
+        );
+        
+        
+        if(result < 0){
+            this.__culling_plane = -result - 1;
+            
+            return false;
+        }
+        
+        return true;
+    }
+    
     /**
      * Simple check to determine whether this element is visible in the current context.
      * 
@@ -538,67 +1082,96 @@ public class Strixa3DElement extends StrixaGLElement{
             return false;
         }
         
-        final Cuboid          bounding_box = this.getBoundingBox();
-        final Point3D<Double> bounding_box_coordinates = bounding_box.getCoordinates();
-        final Cuboid          viewable_area = context.getViewableArea();
+        final Frustum frustum = context.getViewFrustum();
         
         
-        if(viewable_area.isPointInside(bounding_box_coordinates)){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY(),
-            bounding_box_coordinates.getZ()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX(),
-            bounding_box_coordinates.getY(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else{        
-            return false;
+        if(frustum == null){
+            return context.getViewableArea().intersects(this.getBoundingBox());
         }
+        
+        return this.isInFrustum(frustum,Frustum.ALL_PLANES);
     }
     
     /**
-     * Regenerates the element's bounding box.
+     * Loads the given material's texture, if it has one which hasn't been loaded yet.  This must not be called while a display list is being compiled.
+     * 
+     * @param material Material whose texture should be loaded.
+     */
+    protected void _loadTexture(StrixaMaterial material){
+        if(material.hasTexture()){
+            if(!material.isTextureLoaded()){
+                try{
+                    material.loadTexture();
+                }catch(IOException e){
+                    Log.logEvent(Log.Type.WARNING,"Texture could not be loaded, and will not be displayed.");
+                }
+            }
+        }
+    }
+    
+    /**
+     * Discards everything derived from this element's transform, and lets listeners know that its bounding box has changed.  The display list is kept, since the transform is applied outside of it.
+     */
+    private void __onTransformChange(){
+        this.__bounding_box = null;
+        this.__convex_hull = null;
+        this.__point_index = null;
+        this.__triangle_bvh = null;
+        
+        this._alertBoundingBoxUpdateListeners();
+    }
+    
+    /**
+     * Finds where the given ray first hits one of this element's polygons, using this element's triangle hierarchy.  Polygons are hit from either side.
+     * 
+     * @param ray Ray to cast, in world coordinates.
+     * @param max_distance Furthest distance along the ray which should be considered.
+     * 
+     * @return A description of the closest hit, or null if the ray doesn't hit this element within 'max_distance'.
+     */
+    public RayHit raycast(Ray ray,double max_distance){
+        final Point3D<Double> coordinates = this.getCoordinates();
+        final TriangleBVH     triangle_bvh = this.getTriangleBVH();
+        final double[]        hit = new double[3];
+        final int[]           point_indices = new int[3];
+        
+        int triangle_index = 0;
+        
+        
+        triangle_index = triangle_bvh.raycast(
+            new Ray(
+                ray.getOriginX() - coordinates.getX(),
+                ray.getOriginY() - coordinates.getY(),
+                ray.getOriginZ() - coordinates.getZ(),
+                ray.getDirectionX(),
+                ray.getDirectionY(),
+                ray.getDirectionZ()
+            ),
+            max_distance,
+            hit
+        );
+        if(triangle_index == -1){
+            return null;
+        }
+        
+        triangle_bvh.getPointIndices(triangle_index,point_indices);
+        
+        return new RayHit(
+            this,
+            triangle_bvh.getPolygon(triangle_index),
+            point_indices,
+            new double[]{1 - hit[1] - hit[2],hit[1],hit[2]},
+            hit[0],
+            ray.getPoint(hit[0])
+        );
+    }
+    
+    /**
+     * Regenerates the element's untransformed dimensions, and centers its transform's pivot within them while the transform is still the identity.  Once the element has been rotated or scaled, the pivot is left where it was, since moving it would make the whole element jump.  The bounding box itself is composed again the next time it's requested.
      */
     protected void _regenerateBoundingBox(){
         final List<StrixaPolygon> polygons = this.getComponents();
         final int                 polygon_count = polygons.size();
-        final Point3D<Double>     this_coordinates = this.getCoordinates();
         
         double            depth = 0.0;
         double            height = 0.0;
@@ -610,7 +1183,7 @@ public class Strixa3DElement extends StrixaGLElement{
             for(int polygon_index = 0;polygon_index < polygon_count;polygon_index++){
                 points = polygons.get(polygon_index).getPoints();
                 
-                for(int index = 0,end_index = points.size() - 1;index < end_index;index++){
+                for(int index = 0,end_index = points.size() - 1;index <= end_index;index++){
                     width = Math.max(width,points.get(index).getX());
                     height = Math.max(height,points.get(index).getY());
                     depth = Math.max(depth,points.get(index).getZ());
@@ -618,141 +1191,114 @@ public class Strixa3DElement extends StrixaGLElement{
             }
         }
         
-        this.__bounding_box = new Cuboid(
-            new Point3D<Double>(this_coordinates),
-            width,
-            height,
-            depth
-        );
+        this.__local_dimensions[0] = width;
+        this.__local_dimensions[1] = height;
+        this.__local_dimensions[2] = depth;
+        if(this.__transform.isIdentity()){
+            this.__transform.setPivot(width/2,height/2,depth/2);
+        }
+    }
+    
+    /**
+     * Releases this element's display list, if it has one, so that it's compiled again the next time it's needed.
+     */
+    private void __releaseList(){
+        final Integer list_index = this.__list_index;
+        
+        
+        this.__list_index = null;
+        if(list_index != null){
+            this.__list_resource_manager.release(StrixaResourceManager.ResourceType.DISPLAY_LIST,list_index);
+        }
     }
     
     /**
-     * Rotates the object a certain number of degrees on the given axis.
+     * Removes the given listener from the batch state update list.
+     * 
+     * @param listener Listener to be removed.
+     */
+    public void removeBatchStateUpdateListener(BatchStateUpdateListener listener){
+        synchronized(this.__batch_state_listeners){
+            this.__batch_state_listeners.remove(listener);
+        }
+    }
+    
+    /**
+     * Removes the given listener from the update list.
+     * 
+     * @param listener Listener to be removed.
+     */
+    public void removeBoundingBoxUpdateListener(BoundingBoxUpdateListener listener){
+        synchronized(this.__bounding_box_listeners){
+            this.__bounding_box_listeners.remove(listener);
+        }
+    }
+    
+    /**
+     * Discards any rotation and scaling which hasn't been baked into this element's vertices.  The pivot is centered within the element's current untransformed dimensions again, ready for the next rotation or scaling.
+     */
+    public void resetTransform(){
+        this.__transform.reset();
+        this.__local_dimensions_dirty = true;
+        this.__onTransformChange();
+    }
+    
+    /**
+     * Rotates the object a certain number of degrees on the given axis, about the center of its untransformed bounding box.<br />
+     * The center is found when the object is first rotated or scaled, and is kept as the pivot until {@link Strixa3DElement#resetTransform()} or {@link Strixa3DElement#bake()} is called, so adding or editing components afterwards doesn't move the object.<br />
+     * Only this element's transform is changed.  Its vertices, coordinates, and display list are left alone until {@link Strixa3DElement#bake()} is called.
      * 
      * @param degrees Number of degrees to rotate the object.
      * 
      * @param axis Axis around which the object should be rotated.
      */
     public void rotate(double degrees,int axis){
-        final Point3D<Double> rotational_origin = new Point3D<Double>(
-            this.getBoundingBox().getWidth()/2,
-            this.getBoundingBox().getHeight()/2,
-            this.getBoundingBox().getDepth()/2
-        );
-        final ArrayList<Vertex> unique_points = new ArrayList<Vertex>();
-        
-        Double          coordinate_modification_x = 0.0;
-        Double          coordinate_modification_y = 0.0;
-        Double          coordinate_modification_z = 0.0;
-        Point3D<Double> rotated_point = null;
-        Vertex          point = null;
-        List<Vertex>    points = null;
-                
-        
-        
-        //Now for the fun part.
-        /*First Pass:  Rotate the points*/
-        for(int component_index = 0,component_end_index = this.__components.size() - 1;component_index <= component_end_index;component_index++){
-            points = this.__components.get(component_index).getPoints();
-            for(int point_index = 0,point_end_index = points.size() - 1;point_index <= point_end_index;point_index++){
-                if(!unique_points.contains(points.get(point_index))){
-                    unique_points.add(points.get(point_index));
-                }
-            }
-        }
-        for(int point_index = 0,point_end_index = unique_points.size() - 1;point_index <= point_end_index;point_index++){
-            point = unique_points.get(point_index);
-                    
-            rotated_point = StrixaMath.rotate(point,rotational_origin,degrees,axis);
-            point.setPoint(rotated_point.getX(),rotated_point.getY(),rotated_point.getZ());
-            
-            if(point_index == 0){
-                coordinate_modification_x = point.getX();
-                coordinate_modification_y = point.getY();
-                coordinate_modification_z = point.getZ();
-            }else{
-                coordinate_modification_x = Math.min(coordinate_modification_x,point.getX());
-                coordinate_modification_y = Math.min(coordinate_modification_y,point.getY());
-                coordinate_modification_z = Math.min(coordinate_modification_z,point.getZ());
-            }
+        if(this.__transform.isIdentity()){
+            this.__updateLocalDimensions();
         }
         
-        this.setCoordinates(coordinate_modification_x + this.getCoordinates().getX(),coordinate_modification_y + this.getCoordinates().getY(),coordinate_modification_z + this.getCoordinates().getZ());
-        
-        /*Second Pass:  Make all the points relative to the origin*/
-        for(int point_index = 0,point_end_index = unique_points.size() - 1;point_index <= point_end_index;point_index++){
-            point = unique_points.get(point_index);
-                
-            point.setPoint(
-                point.getX() - coordinate_modification_x,
-                point.getY() - coordinate_modification_y,
-                point.getZ() - coordinate_modification_z
-            );
-        }
-        
-        //Woo hoo!  We're done.
-        this.invalidate();
+        this.__transform.rotate(degrees,axis);
+        this.__onTransformChange();
     }
     
     /**
-     * Scales this object by a certain percentage.
+     * Scales this object by a certain amount, about the center of its untransformed bounding box.<br />
+     * The center is found when the object is first rotated or scaled, and is kept as the pivot until {@link Strixa3DElement#resetTransform()} or {@link Strixa3DElement#bake()} is called, so adding or editing components afterwards doesn't move the object.<br />
+     * Only this element's transform is changed.  Its vertices, coordinates, and display list are left alone until {@link Strixa3DElement#bake()} is called.
      * 
-     * @param scaling_amount Amount to scale object, where 0 indicates no scaling, and 1 indicates that the object should become infinitely small.
+     * @param scaling_amount Amount to scale object, where 1 indicates no scaling, values between 0 and 1 shrink the object, and values greater than 1 enlarge it.
+     * 
+     * @throws IllegalArgumentException Thrown if argument 'scaling_amount' is not greater than 0.
      */
     public void scale(double scaling_amount){
-        final ArrayList<Vertex> unique_points = new ArrayList<Vertex>();
-        
-        double          coordinate_modification_x = 0.0;
-        double          coordinate_modification_y = 0.0;
-        double          coordinate_modification_z = 0.0;
-        Point3D<Double> scaled_point = null;
-        Vertex          point = null;
-        List<Vertex>    points = null;
-                
-        
-        
-        //Now for the fun part.
-        /*First Pass:  Scale the points*/
-        for(int component_index = 0,component_end_index = this.__components.size() - 1;component_index <= component_end_index;component_index++){
-            points = this.__components.get(component_index).getPoints();
-            for(int point_index = 0,point_end_index = points.size() - 1;point_index <= point_end_index;point_index++){
-                if(!unique_points.contains(points.get(point_index))){
-                    unique_points.add(points.get(point_index));
-                }
-            }
-        }
-        for(int point_index = 0,point_end_index = unique_points.size() - 1;point_index <= point_end_index;point_index++){
-            point = unique_points.get(point_index);
-                    
-            scaled_point = StrixaMath.scale(point,scaling_amount);
-            point.setPoint(scaled_point.getX(),scaled_point.getY(),scaled_point.getZ());
-            
-            if(point_index == 0){
-                coordinate_modification_x = point.getX();
-                coordinate_modification_y = point.getY();
-                coordinate_modification_z = point.getZ();
-            }else{
-                coordinate_modification_x = Math.min(coordinate_modification_x,point.getX());
-                coordinate_modification_y = Math.min(coordinate_modification_y,point.getY());
-                coordinate_modification_z = Math.min(coordinate_modification_z,point.getZ());
-            }
+        if(this.__transform.isIdentity()){
+            this.__updateLocalDimensions();
         }
         
-        this.setCoordinates(coordinate_modification_x + this.getCoordinates().getX(),coordinate_modification_y + this.getCoordinates().getY(),coordinate_modification_z + this.getCoordinates().getZ());
-        
-        /*Second Pass:  Make all the points relative to the origin*/
-        for(int point_index = 0,point_end_index = unique_points.size() - 1;point_index <= point_end_index;point_index++){
-            point = unique_points.get(point_index);
-                
-            point.setPoint(
-                point.getX() - coordinate_modification_x,
-                point.getY() - coordinate_modification_y,
-                point.getZ() - coordinate_modification_z
-            );
+        this.__transform.scale(scaling_amount);
+        this.__onTransformChange();
+    }
+    
+    /**
+     * Undoes anything {@link Strixa3DElement#_bindMaterial(GL2,StrixaMaterial)} changed which would otherwise affect elements drawn afterwards.  While a {@link StrixaRenderQueue} is being submitted, nothing is undone, as the queue leaves the material current for the next element.
+     * 
+     * @param gl GL instance the material was bound with.
+     * @param material Material which was bound.
+     */
+    protected void _unbindMaterial(GL2 gl,StrixaMaterial material){
+        if(material.isTextureLoaded() && StrixaRenderQueue.getSubmittingQueue() == null){
+            material.getTexture().disable(gl);
+        }
+    }
+    
+    /**
+     * Regenerates this element's untransformed dimensions if it has been invalidated since they were last generated.
+     */
+    private void __updateLocalDimensions(){
+        if(this.__local_dimensions_dirty){
+            this.__local_dimensions_dirty = false;
+            this._regenerateBoundingBox();
         }
-        
-        //Woo hoo!  We're done.
-        this.invalidate();
     }
     /*End Other Methods*/
 }
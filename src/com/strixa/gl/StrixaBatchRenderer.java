@@ -0,0 +1,803 @@
+/**
+ * File:  StrixaBatchRenderer.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+import javax.media.opengl.GL2;
+import javax.media.opengl.GLCapabilities;
+import javax.media.opengl.GLContext;
+import javax.media.opengl.GLDrawableFactory;
+import javax.media.opengl.GLException;
+import javax.media.opengl.GLOffscreenAutoDrawable;
+import javax.media.opengl.GLProfile;
+import javax.media.opengl.glu.GLU;
+
+import com.strixa.gl.properties.Cuboid;
+import com.strixa.util.Point3D;
+
+/**
+ * Renders scenes to image files without a display, such as thumbnails or turntable previews of many models on a server.<br />
+ * Scenes are drawn into an offscreen drawable, a pbuffer where one is available, which works with software implementations such as Mesa.  They're drawn the same way a {@link Strixa3DCanvas} draws its children, through a {@link StrixaRenderQueue}.  Jobs are queued from any thread and rendered one after another on this renderer's own thread, all in the same GL context.<br />
+ * That context shares no objects with any canvas, or with any other renderer, so it's given a {@link StrixaResourceManager} and a {@link StrixaTextureCache} of its own.  Before a job is drawn, anything its elements and materials created in another context is released back to that context, and is created again in this one.  Once its last view has been drawn and read back, everything it created in this context is released too, so that rendering thousands of jobs doesn't keep their objects and textures alive.  Textures given to {@link StrixaMaterial#setTexture(com.jogamp.opengl.util.texture.Texture)} can't be, so they must have been created in this renderer's context.<br />
+ * Each rendered view is read back through one of two pixel buffer objects.  The copy from the frame buffer is only started when a view is rendered, and the pixels are collected once the next view has been rendered, so the GL thread never waits for a copy to finish.  Images are encoded and written on separate threads, so the GL thread never waits for them either.  Where pixel buffer objects aren't supported, views are read back directly instead.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaBatchRenderer{
+    /**
+     * A scene to render, along with the views to render it from and the files to write each view to.
+     *
+     * @author Nicholas Rog
+     */
+    public static class Job{
+        private final CountDownLatch        __finished = new CountDownLatch(1);
+        private final AtomicInteger         __remaining_view_count = new AtomicInteger();
+        private final List<Strixa3DElement> __elements;
+        private final List<View>            __views = new ArrayList<View>();
+
+        private volatile Throwable __failure;
+
+
+        /*Begin Constructors*/
+        /**
+         * Constructs a job which renders the given elements.
+         *
+         * @param elements Elements making up the scene.  They mustn't be changed, or drawn anywhere else, until the job has finished.  Once the job's views have been rendered, the elements, their meshes, and their materials are disposed of on the renderer's thread.  They can still be drawn afterwards, and simply create their resources again.
+         *
+         * @throws IllegalArgumentException Thrown if 'elements' is null.
+         */
+        public Job(List<? extends Strixa3DElement> elements){
+            /*Begin Parameter Verification*/
+            if(elements == null){
+                throw new IllegalArgumentException("Argument 'elements' must not be null.");
+            }
+            /*End Parameter Verification*/
+
+            this.__elements = new ArrayList<Strixa3DElement>(elements);
+        }
+        /*End Constructors*/
+
+        /*Begin Getter/Setter Methods*/
+        /**
+         * Gets the first error which stopped any of this job's views from being rendered or written.
+         *
+         * @return The first error, or null if there hasn't been one.
+         */
+        public Throwable getFailure(){
+            return this.__failure;
+        }
+
+        /**
+         * Gets the number of views this job renders.
+         *
+         * @return The number of views this job renders.
+         */
+        public int getViewCount(){
+            return this.__views.size();
+        }
+
+        /**
+         * Gets whether or not every view has been written, or has failed.
+         *
+         * @return True if this job has finished.
+         */
+        public boolean isFinished(){
+            return this.__finished.getCount() == 0;
+        }
+        /*End Getter/Setter Methods*/
+
+        /*Begin Other Methods*/
+        /**
+         * Adds a turntable of views, evenly spaced around the vertical axis through the centre of the scene's bounding box, each looking at the centre.
+         *
+         * @param view_count Number of views to add.
+         * @param distance Horizontal distance from the centre to the camera.
+         * @param height Height of the camera above the centre.
+         * @param directory Directory to write the views to.  They're named after 'name', followed by the view's number, and are written as PNG images.
+         * @param name Name to give the views' files.
+         *
+         * @return This job.
+         *
+         * @throws IllegalArgumentException Thrown if 'view_count' is less than 1, if 'distance' is not positive, or if 'directory' or 'name' are null.
+         */
+        public Job addTurntable(int view_count,double distance,double height,File directory,String name){
+            final double[] centre = new double[3];
+
+            Cuboid bounding_box = null;
+            double angle = 0;
+
+
+            /*Begin Parameter Verification*/
+            if(view_count < 1){
+                throw new IllegalArgumentException("Argument 'view_count' must be greater than 0.");
+            }
+
+            if(!(distance > 0)){
+                throw new IllegalArgumentException("Argument 'distance' must be greater than 0.");
+            }
+
+            if(directory == null || name == null){
+                throw new IllegalArgumentException("Arguments 'directory' and 'name' must not be null.");
+            }
+            /*End Parameter Verification*/
+
+            bounding_box = StrixaBatchRenderer.__getBoundingBox(this.__elements);
+            if(bounding_box != null){
+                centre[0] = bounding_box.getCoordinates().getX() + bounding_box.getWidth()/2;
+                centre[1] = bounding_box.getCoordinates().getY() + bounding_box.getHeight()/2;
+                centre[2] = bounding_box.getCoordinates().getZ() + bounding_box.getDepth()/2;
+            }
+
+            for(int index = 0,end_index = view_count - 1;index <= end_index;index++){
+                angle = 2*Math.PI*index/view_count;
+
+                this.addView(
+                    centre[0] + Math.sin(angle)*distance,
+                    centre[1] + height,
+                    centre[2] + Math.cos(angle)*distance,
+                    centre[0],
+                    centre[1],
+                    centre[2],
+                    new File(directory,String.format("%s_%03d.png",name,index))
+                );
+            }
+
+            return this;
+        }
+
+        /**
+         * Adds a view of the scene.
+         *
+         * @param camera_x X coordinate of the camera.
+         * @param camera_y Y coordinate of the camera.
+         * @param camera_z Z coordinate of the camera.
+         * @param target_x X coordinate of the point the camera looks at.
+         * @param target_y Y coordinate of the point the camera looks at.
+         * @param target_z Z coordinate of the point the camera looks at.
+         * @param output File to write the view to.  The image format is chosen from the file's extension, such as "png" or "jpg".
+         *
+         * @return This job.
+         *
+         * @throws IllegalArgumentException Thrown if 'output' is null.
+         */
+        public Job addView(double camera_x,double camera_y,double camera_z,double target_x,double target_y,double target_z,File output){
+            /*Begin Parameter Verification*/
+            if(output == null){
+                throw new IllegalArgumentException("Argument 'output' must not be null.");
+            }
+            /*End Parameter Verification*/
+
+            this.__views.add(new View(camera_x,camera_y,camera_z,target_x,target_y,target_z,output));
+
+            return this;
+        }
+
+        /**
+         * Waits until every view has been written, or has failed.
+         *
+         * @throws InterruptedException Thrown if the calling thread is interrupted while waiting.
+         */
+        public void await() throws InterruptedException{
+            this.__finished.await();
+        }
+
+        private void __fail(Throwable failure,int view_count){
+            if(this.__failure == null){
+                this.__failure = failure;
+            }
+
+            this.__finishViews(view_count);
+        }
+
+        private void __finishViews(int view_count){
+            if(view_count > 0 && this.__remaining_view_count.addAndGet(-view_count) <= 0){
+                this.__finished.countDown();
+            }
+        }
+        /*End Other Methods*/
+    }
+
+    /**
+     * A view whose pixels are being copied into a pixel buffer object.
+     */
+    private static class Readback{
+        public final int  pixel_buffer_index;
+        public final Job  job;
+        public final View view;
+
+
+        /*Begin Constructors*/
+        public Readback(Job job,View view,int pixel_buffer_index){
+            this.job = job;
+            this.view = view;
+            this.pixel_buffer_index = pixel_buffer_index;
+        }
+        /*End Constructors*/
+    }
+
+    /**
+     * Single camera position, along with the file its image is written to.
+     */
+    private static class View{
+        public final double camera_x;
+        public final double camera_y;
+        public final double camera_z;
+        public final File   output;
+        public final double target_x;
+        public final double target_y;
+        public final double target_z;
+
+
+        /*Begin Constructors*/
+        public View(double camera_x,double camera_y,double camera_z,double target_x,double target_y,double target_z,File output){
+            this.camera_x = camera_x;
+            this.camera_y = camera_y;
+            this.camera_z = camera_z;
+            this.target_x = target_x;
+            this.target_y = target_y;
+            this.target_z = target_z;
+            this.output = output;
+        }
+        /*End Constructors*/
+    }
+
+    /** Queued to tell the GL thread that no more jobs will follow. */
+    private static final Job __STOP = new Job(Collections.<Strixa3DElement>emptyList());
+
+    private final GLOffscreenAutoDrawable  __drawable;
+    private final int                      __height;
+    private final LinkedBlockingQueue<Job> __jobs = new LinkedBlockingQueue<Job>();
+    private final int[]                    __pixel_buffers = new int[2];
+    private final StrixaRenderQueue        __render_queue = new StrixaRenderQueue();
+    private final StrixaResourceManager    __resource_manager = new StrixaResourceManager();
+    private final StrixaTextureCache       __texture_cache = new StrixaTextureCache(this.__resource_manager);
+    private final int                      __width;
+    private final ExecutorService          __writer;
+
+    private boolean   __disposed;
+    private boolean   __failed;
+    private int       __next_pixel_buffer;
+    private Readback  __pending_readback;
+    private boolean   __pixel_buffers_supported;
+    private Thread    __thread;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs a renderer which renders images of the given size.
+     *
+     * @param width Width of the rendered images, in pixels.
+     * @param height Height of the rendered images, in pixels.
+     *
+     * @throws IllegalArgumentException Thrown if 'width' or 'height' is less than 1.
+     * @throws GLException Thrown if no offscreen drawable supporting GL2 could be created.
+     */
+    public StrixaBatchRenderer(int width,int height){
+        final GLCapabilities capabilities;
+
+
+        /*Begin Parameter Verification*/
+        if(width < 1 || height < 1){
+            throw new IllegalArgumentException("Arguments 'width' and 'height' must be greater than 0.");
+        }
+        /*End Parameter Verification*/
+
+        capabilities = new GLCapabilities(GLProfile.get(GLProfile.GL2));
+        capabilities.setOnscreen(false);
+        capabilities.setPBuffer(true);
+        capabilities.setDoubleBuffered(false);
+        capabilities.setAlphaBits(8);
+        capabilities.setDepthBits(24);
+
+        this.__width = width;
+        this.__height = height;
+        this.__drawable = GLDrawableFactory.getFactory(capabilities.getGLProfile()).createOffscreenAutoDrawable(null,capabilities,null,width,height,null);
+        this.__drawable.display();  //Realizes the drawable and creates its context.
+
+        this.__writer = Executors.newFixedThreadPool(Math.max(1,Runtime.getRuntime().availableProcessors() - 1),new ThreadFactory(){
+            public Thread newThread(Runnable runnable){
+                final Thread thread = new Thread(runnable,"StrixaBatchRenderer writer thread");
+
+
+                thread.setDaemon(true);
+
+                return thread;
+            }
+        });
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the height of the rendered images.
+     *
+     * @return The height of the rendered images, in pixels.
+     */
+    public int getHeight(){
+        return this.__height;
+    }
+
+    /**
+     * Gets the number of jobs waiting to be rendered, not counting the one being rendered.
+     *
+     * @return The number of jobs waiting to be rendered.
+     */
+    public int getQueuedJobCount(){
+        return this.__jobs.size();
+    }
+
+    /**
+     * Gets the width of the rendered images.
+     *
+     * @return The width of the rendered images, in pixels.
+     */
+    public int getWidth(){
+        return this.__width;
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Collects the pixels of the view whose readback was started last, if there is one, and hands them to the writer threads.
+     */
+    private void __collectReadback(GL2 gl){
+        final Readback readback = this.__pending_readback;
+        final int[]    pixels;
+
+        ByteBuffer data = null;
+
+
+        if(readback == null){
+            return;
+        }
+        this.__pending_readback = null;
+
+        pixels = new int[this.__width*this.__height];
+        gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER,this.__pixel_buffers[readback.pixel_buffer_index]);
+        try{
+            data = gl.glMapBuffer(GL2.GL_PIXEL_PACK_BUFFER,GL2.GL_READ_ONLY);
+            if(data == null){
+                readback.job.__fail(new GLException("A pixel buffer object could not be mapped."),1);
+
+                return;
+            }
+            data.order(ByteOrder.nativeOrder()).asIntBuffer().get(pixels);
+            gl.glUnmapBuffer(GL2.GL_PIXEL_PACK_BUFFER);
+        }finally{
+            gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER,0);
+        }
+
+        this.__write(readback.job,readback.view,pixels);
+    }
+
+    /**
+     * Renders every job already queued, waits for their images to be written, and then releases this renderer's drawable and threads.  No more jobs may be submitted afterwards.
+     *
+     * @throws InterruptedException Thrown if the calling thread is interrupted while waiting.
+     */
+    public void dispose() throws InterruptedException{
+        final Thread thread;
+
+
+        synchronized(this){
+            if(this.__disposed){
+                return;
+            }
+            this.__disposed = true;
+
+            thread = this.__thread;
+            if(thread != null){
+                this.__jobs.add(StrixaBatchRenderer.__STOP);
+            }
+        }
+
+        if(thread != null){
+            thread.join();
+        }
+
+        this.__writer.shutdown();
+        this.__writer.awaitTermination(Long.MAX_VALUE,TimeUnit.NANOSECONDS);
+        this.__texture_cache.shutdown();
+
+        this.__drawable.destroy();
+    }
+
+    /**
+     * Draws a single view of the given job.
+     */
+    private void __drawView(GL2 gl,Job job,View view){
+        final GLU    glu = new GLU();
+        final Cuboid bounding_box = StrixaBatchRenderer.__getBoundingBox(job.__elements);
+        final double view_x = view.target_x - view.camera_x;
+        final double view_y = view.target_y - view.camera_y;
+        final double view_z = view.target_z - view.camera_z;
+        final double length = Math.sqrt(view_x*view_x + view_y*view_y + view_z*view_z);
+
+        double               far_distance = 1;
+        double               depth = 0;
+        double               radius = 0;
+        double               centre_distance = 0;
+        Cuboid               element_box = null;
+        Strixa3DElement      element = null;
+
+
+        /*The depth range is fitted to the scene, so that none of it is clipped and the depth buffer's precision isn't wasted.*/
+        if(bounding_box != null){
+            radius = Math.sqrt(
+                bounding_box.getWidth()*bounding_box.getWidth()
+                + bounding_box.getHeight()*bounding_box.getHeight()
+                + bounding_box.getDepth()*bounding_box.getDepth()
+            )/2;
+            centre_distance = Math.sqrt(
+                Math.pow(bounding_box.getCoordinates().getX() + bounding_box.getWidth()/2 - view.camera_x,2)
+                + Math.pow(bounding_box.getCoordinates().getY() + bounding_box.getHeight()/2 - view.camera_y,2)
+                + Math.pow(bounding_box.getCoordinates().getZ() + bounding_box.getDepth()/2 - view.camera_z,2)
+            );
+            far_distance = Math.max(centre_distance + radius,Strixa3DCanvas.NEAR_PLANE_DISTANCE*2);
+        }
+
+        gl.glViewport(0,0,this.__width,this.__height);
+        gl.glClear(GL2.GL_COLOR_BUFFER_BIT | GL2.GL_DEPTH_BUFFER_BIT);
+
+        gl.glMatrixMode(GL2.GL_PROJECTION);
+        gl.glLoadIdentity();
+        glu.gluPerspective(
+            Strixa3DCanvas.FIELD_OF_VIEW,
+            (double)this.__width/(double)this.__height,
+            Math.max(centre_distance - radius,far_distance/10000),
+            far_distance
+        );
+
+        gl.glMatrixMode(GL2.GL_MODELVIEW);
+        gl.glLoadIdentity();
+        glu.gluLookAt(
+            view.camera_x,
+            view.camera_y,
+            view.camera_z,
+            view.target_x,
+            view.target_y,
+            view.target_z,
+            0,
+            1,
+            0
+        );
+
+        gl.glLightfv(GL2.GL_LIGHT0,GL2.GL_POSITION,new float[]{50f,50f,50f,1},0);
+
+        for(int index = 0,end_index = job.__elements.size() - 1;index <= end_index;index++){
+            element = job.__elements.get(index);
+            if(!element.isVisible()){
+                continue;
+            }
+
+            element_box = element.getBoundingBox();
+            depth = (
+                (element_box.getCoordinates().getX() + element_box.getWidth()/2 - view.camera_x)*view_x
+                + (element_box.getCoordinates().getY() + element_box.getHeight()/2 - view.camera_y)*view_y
+                + (element_box.getCoordinates().getZ() + element_box.getDepth()/2 - view.camera_z)*view_z
+            )/(length*far_distance);
+
+            this.__render_queue.add(element,depth);
+        }
+        this.__render_queue.submit(gl);
+    }
+
+    /**
+     * Sets up the GL state every view is drawn with, the same as a {@link Strixa3DCanvas}'s, with depth testing enabled.
+     */
+    private void __initialize(GL2 gl){
+        gl.glClearColor(0,0,0,0);
+        gl.glClearDepth(1);
+        gl.glEnable(GL2.GL_DEPTH_TEST);
+        gl.glDepthFunc(GL2.GL_LEQUAL);
+        gl.glShadeModel(GL2.GL_SMOOTH);
+        gl.glHint(GL2.GL_PERSPECTIVE_CORRECTION_HINT,GL2.GL_NICEST);
+        gl.glEnable(GL2.GL_BLEND);
+        gl.glBlendFunc(GL2.GL_SRC_ALPHA,GL2.GL_ONE_MINUS_SRC_ALPHA);
+        gl.glEnable(GL2.GL_LIGHT0);
+        gl.glCullFace(GL2.GL_BACK);
+        gl.glPixelStorei(GL2.GL_PACK_ALIGNMENT,4);
+
+        this.__pixel_buffers_supported = gl.isFunctionAvailable("glMapBuffer") && (gl.isExtensionAvailable("GL_ARB_pixel_buffer_object") || gl.isExtensionAvailable("GL_EXT_pixel_buffer_object"));
+        if(this.__pixel_buffers_supported){
+            gl.glGenBuffers(2,this.__pixel_buffers,0);
+            for(int index = 0;index < 2;index++){
+                gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER,this.__pixel_buffers[index]);
+                gl.glBufferData(GL2.GL_PIXEL_PACK_BUFFER,4L*this.__width*this.__height,null,GL2.GL_STREAM_READ);
+            }
+            gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER,0);
+        }
+    }
+
+    /**
+     * Loads the textures of the given job's elements, and waits until each of them has been uploaded, so that no view is drawn without them.  Textures being loaded for anything else aren't waited for.
+     */
+    private void __loadTextures(GL2 gl,Job job) throws InterruptedException{
+        final StrixaTextureCache texture_cache = this.__texture_cache;
+
+        Strixa3DElement element = null;
+        StrixaMaterial  material = null;
+
+
+        for(int index = 0,end_index = job.__elements.size() - 1;index <= end_index;index++){
+            element = job.__elements.get(index);
+            material = element.getMaterial();
+
+            element._loadTexture(material);
+            if(material.isTextureLoaded()){
+                texture_cache.awaitLoad(material.getTexture());
+            }
+        }
+
+        texture_cache.processUploads(gl);
+    }
+
+    /**
+     * Starts reading back the view which was just drawn.  With pixel buffer objects, the copy is started into the buffer not holding the previous view, and the previous view's pixels are collected while it runs.
+     */
+    private void __readBack(GL2 gl,Job job,View view){
+        final int[] pixels;
+        final ByteBuffer data;
+
+
+        if(this.__pixel_buffers_supported){
+            gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER,this.__pixel_buffers[this.__next_pixel_buffer]);
+            gl.glReadPixels(0,0,this.__width,this.__height,GL2.GL_BGRA,GL2.GL_UNSIGNED_INT_8_8_8_8_REV,0);
+            gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER,0);
+
+            this.__collectReadback(gl);
+            this.__pending_readback = new Readback(job,view,this.__next_pixel_buffer);
+            this.__next_pixel_buffer = 1 - this.__next_pixel_buffer;
+        }else{
+            pixels = new int[this.__width*this.__height];
+            data = ByteBuffer.allocateDirect(4*pixels.length).order(ByteOrder.nativeOrder());
+            gl.glReadPixels(0,0,this.__width,this.__height,GL2.GL_BGRA,GL2.GL_UNSIGNED_INT_8_8_8_8_REV,data);
+            data.asIntBuffer().get(pixels);
+
+            this.__write(job,view,pixels);
+        }
+    }
+
+    /**
+     * Releases the GL resources of the given job's elements, their meshes, and their materials' cached textures, each to the manager or cache of the context they were created in.  Anything the job needs is created again when it's drawn.
+     */
+    private void __releaseResources(Job job){
+        final Set<Object> released = Collections.newSetFromMap(new IdentityHashMap<Object,Boolean>());
+
+        Strixa3DElement element = null;
+
+
+        for(int index = 0,end_index = job.__elements.size() - 1;index <= end_index;index++){
+            element = job.__elements.get(index);
+
+            element.dispose();
+            if(element instanceof StrixaMeshInstance && released.add(((StrixaMeshInstance)element).getMesh())){
+                ((StrixaMeshInstance)element).getMesh().release();
+            }
+            if(released.add(element.getMaterial())){
+                element.getMaterial().dispose();
+            }
+        }
+    }
+
+    /**
+     * Renders every view of the given job.  Anything which has to be done between frames, such as uploading textures, is done before each view, and the job's textures are uploaded before its first view is drawn.  Once every view has been read back, or the job has failed, the job's resources are released.
+     */
+    private void __render(GL2 gl,Job job){
+        int rendered_view_count = 0;
+
+
+        try{
+            this.__releaseResources(job);
+            this.__updateResources(gl);
+            this.__loadTextures(gl,job);
+
+            for(int index = 0,end_index = job.__views.size() - 1;index <= end_index;index++){
+                this.__updateResources(gl);
+                this.__drawView(gl,job,job.__views.get(index));
+                this.__readBack(gl,job,job.__views.get(index));
+                rendered_view_count++;
+            }
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            job.__fail(e,job.__views.size() - rendered_view_count);
+        }catch(RuntimeException e){
+            job.__fail(e,job.__views.size() - rendered_view_count);
+        }finally{
+            /*The last view's readback has already been started, and only needs its pixel buffer, so nothing of the job's is drawn again.*/
+            this.__releaseResources(job);
+        }
+    }
+
+    private void __run(){
+        final GLContext context = this.__drawable.getContext();
+
+        GL2 gl = null;
+        Job job = null;
+
+
+        if(context.makeCurrent() == GLContext.CONTEXT_NOT_CURRENT){
+            /*Every job already queued fails, and no more may be submitted.  The drawable and writer threads are still released by dispose().*/
+            synchronized(this){
+                this.__failed = true;
+            }
+            while((job = this.__jobs.poll()) != null){
+                job.__fail(new GLException("The offscreen context could not be made current."),job.__views.size());
+            }
+
+            return;
+        }
+
+        StrixaResourceManager.setInstance(context,this.__resource_manager);
+        StrixaTextureCache.setInstance(context,this.__texture_cache);
+        try{
+            gl = context.getGL().getGL2();
+            this.__initialize(gl);
+
+            while(true){
+                job = this.__jobs.poll();
+                if(job == null){
+                    /*Nothing else is waiting, so the last view's pixels, and the last job's released resources, would otherwise sit until another job arrives.*/
+                    this.__collectReadback(gl);
+                    this.__resource_manager.processDeletions(gl);
+                    job = this.__jobs.take();
+                }
+                if(job == StrixaBatchRenderer.__STOP){
+                    break;
+                }
+
+                this.__render(gl,job);
+            }
+
+            this.__collectReadback(gl);
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }finally{
+            if(this.__pixel_buffers_supported){
+                gl.glDeleteBuffers(2,this.__pixel_buffers,0);
+            }
+            this.__resource_manager.processDeletions(gl);
+            StrixaResourceManager.setInstance(context,null);
+            StrixaTextureCache.setInstance(context,null);
+            context.release();
+        }
+    }
+
+    /**
+     * Queues a job to be rendered once every job before it has been.  This never waits on rendering, and may be called from any thread.
+     *
+     * @param job Job to render.
+     *
+     * @throws IllegalArgumentException Thrown if 'job' is null, or has no views.
+     * @throws IllegalStateException Thrown if this renderer has been disposed of, or if its offscreen context could not be made current.
+     */
+    public synchronized void submit(Job job){
+        /*Begin Parameter Verification*/
+        if(job == null || job.__views.isEmpty()){
+            throw new IllegalArgumentException("Argument 'job' must not be null, and must have at least one view.");
+        }
+        /*End Parameter Verification*/
+
+        if(this.__disposed){
+            throw new IllegalStateException("This renderer has been disposed of.");
+        }
+
+        if(this.__failed){
+            throw new IllegalStateException("This renderer's offscreen context could not be made current.");
+        }
+
+        job.__remaining_view_count.set(job.__views.size());
+        this.__jobs.add(job);
+
+        if(this.__thread == null){
+            this.__thread = new Thread(new Runnable(){
+                public void run(){
+                    StrixaBatchRenderer.this.__run();
+                }
+            },"StrixaBatchRenderer thread");
+            this.__thread.setDaemon(true);
+            this.__thread.start();
+        }
+    }
+
+    /**
+     * Does what a canvas does at the start of each frame, with this renderer's own manager and cache: deletes released resources, uploads loaded textures, and evicts textures over the budget.
+     */
+    private void __updateResources(GL2 gl){
+        this.__resource_manager.processDeletions(gl);
+        this.__texture_cache.processUploads(gl);
+        this.__texture_cache.processResidency(gl);
+    }
+
+    /**
+     * Hands a view's pixels, as read back from the bottom row up, to the writer threads to be turned into an image and written to the view's file.
+     */
+    private void __write(final Job job,final View view,final int[] pixels){
+        final int width = this.__width;
+        final int height = this.__height;
+
+
+        this.__writer.execute(new Runnable(){
+            public void run(){
+                final String        name = view.output.getName();
+                final String        format = name.lastIndexOf('.') < 0 ? "png" : name.substring(name.lastIndexOf('.') + 1).toLowerCase();
+                final boolean       alpha = !format.equals("jpg") && !format.equals("jpeg") && !format.equals("bmp");
+                final BufferedImage image = new BufferedImage(width,height,alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+
+
+                try{
+                    for(int row = 0,end_row = height - 1;row <= end_row;row++){
+                        image.setRGB(0,end_row - row,width,1,pixels,row*width,width);
+                    }
+
+                    if(!ImageIO.write(image,format,view.output)){
+                        throw new IOException("No writer is available for images of format '" + format + "'.");
+                    }
+
+                    job.__finishViews(1);
+                }catch(IOException e){
+                    job.__fail(e,1);
+                }catch(RuntimeException e){
+                    job.__fail(e,1);
+                }
+            }
+        });
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Gets the box enclosing every visible element of the given list.
+     *
+     * @return The box enclosing every visible element, or null if none are visible.
+     */
+    private static Cuboid __getBoundingBox(List<Strixa3DElement> elements){
+        final double[] bounds = new double[]{Double.MAX_VALUE,Double.MAX_VALUE,Double.MAX_VALUE,-Double.MAX_VALUE,-Double.MAX_VALUE,-Double.MAX_VALUE};
+
+        Cuboid  element_box = null;
+        boolean found = false;
+
+
+        for(int index = 0,end_index = elements.size() - 1;index <= end_index;index++){
+            if(!elements.get(index).isVisible()){
+                continue;
+            }
+
+            element_box = elements.get(index).getBoundingBox();
+            bounds[0] = Math.min(bounds[0],element_box.getCoordinates().getX());
+            bounds[1] = Math.min(bounds[1],element_box.getCoordinates().getY());
+            bounds[2] = Math.min(bounds[2],element_box.getCoordinates().getZ());
+            bounds[3] = Math.max(bounds[3],element_box.getCoordinates().getX() + element_box.getWidth());
+            bounds[4] = Math.max(bounds[4],element_box.getCoordinates().getY() + element_box.getHeight());
+            bounds[5] = Math.max(bounds[5],element_box.getCoordinates().getZ() + element_box.getDepth());
+            found = true;
+        }
+
+        if(!found){
+            return null;
+        }
+
+        return new Cuboid(new Point3D<Double>(bounds[0],bounds[1],bounds[2]),bounds[3] - bounds[0],bounds[4] - bounds[1],bounds[5] - bounds[2]);
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,298 @@
+/**
+ * File:  StrixaCommandRecorder.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Prepares a frame's draw commands on several threads at once.<br />
+ * A list of elements is split into contiguous ranges, one for each thread, and each element is passed to a {@link Visitor} along with the command buffer of the thread visiting it.  The visitor culls the element and records a command for it if it should be drawn, computing whatever the command needs, such as the element's depth.  Each thread records into its own buffer, so nothing is shared between them while recording.  Once every thread has finished, the buffers are replayed on the calling thread, in the order of the ranges, so the commands come out in the same order the elements went in, however many threads recorded them.<br />
+ * Visitors must only change the element they're given, as other elements are being visited at the same time.  Anything they only read, such as the view frustum, mustn't be changed until recording has finished.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaCommandRecorder{
+    /**
+     * Commands recorded by a single thread.  Each command is an element along with a value, such as the element's depth, which the visitor which recorded it chooses the meaning of.
+     *
+     * @author Nicholas Rog
+     */
+    public static class CommandBuffer{
+        private Strixa3DElement[] __elements = new Strixa3DElement[64];
+        private int               __size;
+        private double[]          __values = new double[64];
+
+
+        /*Begin Getter/Setter Methods*/
+        /**
+         * Gets the element of the given command.
+         *
+         * @param index Index of the command.
+         *
+         * @return The element of the command.
+         */
+        public Strixa3DElement getElement(int index){
+            return this.__elements[index];
+        }
+
+        /**
+         * Gets the number of commands recorded.
+         *
+         * @return The number of commands recorded.
+         */
+        public int getSize(){
+            return this.__size;
+        }
+
+        /**
+         * Gets the value of the given command.
+         *
+         * @param index Index of the command.
+         *
+         * @return The value of the command.
+         */
+        public double getValue(int index){
+            return this.__values[index];
+        }
+        /*End Getter/Setter Methods*/
+
+        /*Begin Other Methods*/
+        private void __clear(){
+            Arrays.fill(this.__elements,0,this.__size,null);
+            this.__size = 0;
+        }
+
+        /**
+         * Records a command.
+         *
+         * @param element Element the command is for.
+         * @param value Value to record with the element.
+         */
+        public void record(Strixa3DElement element,double value){
+            if(this.__size == this.__elements.length){
+                this.__elements = Arrays.copyOf(this.__elements,this.__size*2);
+                this.__values = Arrays.copyOf(this.__values,this.__size*2);
+            }
+
+            this.__elements[this.__size] = element;
+            this.__values[this.__size] = value;
+            this.__size++;
+        }
+        /*End Other Methods*/
+    }
+
+    /**
+     * Replays recorded commands on the thread which recorded them.
+     *
+     * @author Nicholas Rog
+     */
+    public interface Replayer{
+        /**
+         * Called once for each recorded command, in order.
+         *
+         * @param element Element the command is for.
+         * @param value Value recorded with the element.
+         */
+        public void replay(Strixa3DElement element,double value);
+    }
+
+    /**
+     * Visits elements on the recording threads.
+     *
+     * @author Nicholas Rog
+     */
+    public interface Visitor{
+        /**
+         * Called once for each element, on whichever recording thread its range was given to.
+         *
+         * @param element Element to visit.
+         * @param buffer Buffer to record the element's commands into, if it has any.
+         */
+        public void visit(Strixa3DElement element,CommandBuffer buffer);
+    }
+
+    /** Fewest elements worth giving a thread of its own.  Lists too short to give more than one thread this many elements are recorded entirely on the calling thread. */
+    public static final int MINIMUM_ELEMENTS_PER_THREAD = 256;
+
+    private final CommandBuffer[] __buffers;
+    private final int             __thread_count;
+
+    private ExecutorService __executor;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs a recorder which records with the given number of threads, one of which is always the calling thread.
+     *
+     * @param thread_count Number of threads to record with.  If this is 1, recording is done entirely on the calling thread.
+     *
+     * @throws IllegalArgumentException Thrown if 'thread_count' is less than 1.
+     */
+    public StrixaCommandRecorder(int thread_count){
+        /*Begin Parameter Verification*/
+        if(thread_count < 1){
+            throw new IllegalArgumentException("Argument 'thread_count' must be greater than 0.");
+        }
+        /*End Parameter Verification*/
+
+        this.__thread_count = thread_count;
+        this.__buffers = new CommandBuffer[thread_count];
+        for(int index = 0,end_index = thread_count - 1;index <= end_index;index++){
+            this.__buffers[index] = new CommandBuffer();
+        }
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the number of threads this recorder records with.
+     *
+     * @return The number of threads this recorder records with.
+     */
+    public int getThreadCount(){
+        return this.__thread_count;
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Stops this recorder's threads.  The recorder may still be used afterwards, and will start new threads if it needs them.
+     */
+    public synchronized void dispose(){
+        if(this.__executor != null){
+            this.__executor.shutdown();
+            this.__executor = null;
+        }
+    }
+
+    /**
+     * Gets the pool of threads commands are recorded with, starting it if necessary.  The calling thread records a range of its own, so the pool has one thread fewer than this recorder.  The threads are daemons, so a recorder which is never disposed of won't keep the application running.
+     */
+    private synchronized ExecutorService __getExecutor(){
+        if(this.__executor == null){
+            this.__executor = Executors.newFixedThreadPool(this.__thread_count - 1,new ThreadFactory(){
+                public Thread newThread(Runnable runnable){
+                    final Thread thread = new Thread(runnable,"StrixaCommandRecorder thread");
+
+
+                    thread.setDaemon(true);
+
+                    return thread;
+                }
+            });
+        }
+
+        return this.__executor;
+    }
+
+    /**
+     * Visits every element of the given list, spread across this recorder's threads, and then replays the recorded commands on the calling thread.  This may only be called from one thread at a time.
+     *
+     * @param elements Elements to visit.  The list mustn't change until this returns.
+     * @param visitor Visitor to cull each element and record its commands.
+     * @param replayer Replayer to pass each recorded command to, in the order of the elements they were recorded for.
+     */
+    public void record(final List<? extends Strixa3DElement> elements,final Visitor visitor,Replayer replayer){
+        final List<Callable<Object>> workers = new ArrayList<Callable<Object>>();
+        final int                    element_count = elements.size();
+        final int                    range_count = Math.max(1,Math.min(this.__thread_count,element_count/StrixaCommandRecorder.MINIMUM_ELEMENTS_PER_THREAD));
+
+        List<Future<Object>> results = null;
+        CommandBuffer        buffer = null;
+        boolean              finished = false;
+        boolean              interrupted = false;
+
+
+        for(int index = 1,end_index = range_count - 1;index <= end_index;index++){
+            final CommandBuffer range_buffer = this.__buffers[index];
+            final int           range_start = (int)((long)element_count*index/range_count);
+            final int           range_end = (int)((long)element_count*(index + 1)/range_count);
+
+
+            workers.add(new Callable<Object>(){
+                public Object call(){
+                    StrixaCommandRecorder.__visit(elements,range_start,range_end,visitor,range_buffer);
+
+                    return null;
+                }
+            });
+        }
+
+        try{
+            if(!workers.isEmpty()){
+                results = new ArrayList<Future<Object>>(workers.size());
+                for(int index = 0,end_index = workers.size() - 1;index <= end_index;index++){
+                    results.add(this.__getExecutor().submit(workers.get(index)));
+                }
+            }
+
+            /*The calling thread takes the first range rather than waiting idly for the others.*/
+            StrixaCommandRecorder.__visit(elements,0,(int)((long)element_count/range_count),visitor,this.__buffers[0]);
+
+            if(results != null){
+                for(int index = 0,end_index = results.size() - 1;index <= end_index;index++){
+                    results.get(index).get();
+                }
+            }
+
+            for(int buffer_index = 0,buffer_end_index = range_count - 1;buffer_index <= buffer_end_index;buffer_index++){
+                buffer = this.__buffers[buffer_index];
+                for(int index = 0,end_index = buffer.getSize() - 1;index <= end_index;index++){
+                    replayer.replay(buffer.getElement(index),buffer.getValue(index));
+                }
+            }
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Command recording was interrupted.",e);
+        }catch(ExecutionException e){
+            throw new RuntimeException("Command recording failed.",e.getCause());
+        }finally{
+            /*
+             * A failed or interrupted range leaves the others running, and they must finish before their buffers are
+             * cleared.  They're waited for with the interrupt flag cleared, and the flag is restored once they're done.
+             */
+            interrupted = Thread.interrupted();
+            if(results != null){
+                for(int index = 0,end_index = results.size() - 1;index <= end_index;index++){
+                    finished = false;
+                    while(!finished){
+                        try{
+                            results.get(index).get();
+                            finished = true;
+                        }catch(InterruptedException e){
+                            interrupted = true;
+                        }catch(ExecutionException e){
+                            /*Already reported above, or hidden by the error which is being reported.*/
+                            finished = true;
+                        }
+                    }
+                }
+            }
+            for(int index = 0,end_index = range_count - 1;index <= end_index;index++){
+                this.__buffers[index].__clear();
+            }
+            if(interrupted){
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    private static void __visit(List<? extends Strixa3DElement> elements,int start,int end,Visitor visitor,CommandBuffer buffer){
+        for(int index = start;index < end;index++){
+            visitor.visit(elements.get(index),buffer);
+        }
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,381 @@
+/**
+ * File:  StrixaFrameProfiler.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.util.Arrays;
+
+import javax.media.opengl.GL2;
+
+import com.jogamp.opengl.util.gl2.GLUT;
+
+/**
+ * Measures how long each phase of a frame takes, and keeps the measurements of the most recent frames so that their percentiles can be found.<br />
+ * A {@link StrixaGLCanvas} which has been given a profiler marks the start and end of each frame and of each of its phases.  Phases may be nested, in which case time spent in the inner phase isn't counted towards the outer one.  Where the context supports timer queries, the time the GPU spends on each frame is measured as well.  GPU measurements are read a few frames late, once they're ready, so that measuring them never stalls the CPU.<br />
+ * Measurements may be read from any thread, and can be drawn over the top of the canvas by turning on the overlay.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaFrameProfiler{
+    /**
+     * Parts of a frame which are measured.
+     *
+     * @author Nicholas Rog
+     */
+    public enum Phase{
+        /** Time spent in {@link StrixaGLCanvas#_performGameLogic(StrixaGLContext)}, or presenting the canvas' {@link StrixaSimulation}. */
+        LOGIC,
+        /** Time spent deciding which children are visible, and sorting them into the order they're drawn in. */
+        CULLING,
+        /** Time spent sending the visible children to GL. */
+        SUBMISSION,
+        /** Time spent swapping the buffers, which includes any time spent waiting for the GPU to catch up or for the display to refresh. */
+        SWAP,
+        /** Time from the start of a frame to its end on the CPU, including the time spent in every other phase.  This can't be marked, as it's measured automatically. */
+        FRAME,
+        /** Time the GPU spends on everything a frame sends to it.  This can't be marked, as it's measured automatically, and is only measured if timer queries are available. */
+        GPU
+    }
+
+    /** Default number of frames whose measurements are kept. */
+    public static final int DEFAULT_WINDOW_SIZE = 600;
+
+    private static final int __QUERY_COUNT = 4;
+
+    private final Phase[]   __active_phases = new Phase[Phase.values().length];
+    private final long[]    __frame_times = new long[Phase.values().length];
+    private final boolean[] __measured = new boolean[Phase.values().length];
+    private final int[]     __next_samples = new int[Phase.values().length];
+    private final int[]     __query_names = new int[StrixaFrameProfiler.__QUERY_COUNT];
+    private final boolean[] __query_pending = new boolean[StrixaFrameProfiler.__QUERY_COUNT];
+    private final int[]     __sample_counts = new int[Phase.values().length];
+    private final long[][]  __samples;
+
+    private int                   __active_phase_count;
+    private boolean               __frame_started;
+    private long                  __frame_start;
+    private GLUT                  __glut;
+    private int                   __next_query;
+    private boolean               __overlay_visible;
+    private long                  __phase_start;
+    private boolean               __queries_checked;
+    private boolean               __queries_supported;
+    private StrixaResourceManager __resource_manager;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs a profiler which keeps the measurements of the default number of frames.
+     */
+    public StrixaFrameProfiler(){
+        this(StrixaFrameProfiler.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructs a profiler.
+     *
+     * @param window_size Number of frames whose measurements are kept.  At 60 frames per second, the default keeps the last ten seconds.
+     *
+     * @throws IllegalArgumentException Thrown if 'window_size' is less than 1.
+     */
+    public StrixaFrameProfiler(int window_size){
+        /*Begin Parameter Verification*/
+        if(window_size < 1){
+            throw new IllegalArgumentException("Argument 'window_size' must be greater than 0.");
+        }
+        /*End Parameter Verification*/
+
+        this.__samples = new long[Phase.values().length][window_size];
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the longest a phase took in any of the kept frames.
+     *
+     * @param phase Phase whose longest measurement should be retrieved.
+     *
+     * @return The longest measurement, in milliseconds, or 0 if the phase hasn't been measured.
+     */
+    public synchronized double getMaximum(Phase phase){
+        final long[] samples = this.__samples[phase.ordinal()];
+
+        long maximum = 0;
+
+
+        for(int index = 0,end_index = this.__sample_counts[phase.ordinal()] - 1;index <= end_index;index++){
+            maximum = Math.max(maximum,samples[index]);
+        }
+
+        return maximum/1e6;
+    }
+
+    /**
+     * Gets the time within which a phase finished in the given percentage of the kept frames.
+     *
+     * @param phase Phase whose percentile should be retrieved.
+     * @param percentile Percentage of frames, such as 50 for the median, or 99 for all but the slowest one in every hundred.
+     *
+     * @return The percentile, in milliseconds, or 0 if the phase hasn't been measured.
+     *
+     * @throws IllegalArgumentException Thrown if 'percentile' is less than 0 or greater than 100.
+     */
+    public synchronized double getPercentile(Phase phase,double percentile){
+        final int sample_count = this.__sample_counts[phase.ordinal()];
+
+        long[] sorted = null;
+
+
+        /*Begin Parameter Verification*/
+        if(!(percentile >= 0 && percentile <= 100)){
+            throw new IllegalArgumentException("Argument 'percentile' must be between 0 and 100.");
+        }
+        /*End Parameter Verification*/
+
+        if(sample_count == 0){
+            return 0;
+        }
+
+        sorted = Arrays.copyOf(this.__samples[phase.ordinal()],sample_count);
+        Arrays.sort(sorted);
+
+        return sorted[Math.max(0,(int)Math.ceil(percentile/100*sample_count) - 1)]/1e6;
+    }
+
+    /**
+     * Gets the number of frames in which a phase was measured, up to the window size.
+     *
+     * @param phase Phase whose measurements should be counted.
+     *
+     * @return The number of kept measurements of the phase.
+     */
+    public synchronized int getSampleCount(Phase phase){
+        return this.__sample_counts[phase.ordinal()];
+    }
+
+    /**
+     * Checks whether the time the GPU spends on each frame is being measured.  This is only known once the first frame has started.
+     *
+     * @return True if timer queries are available, and false, otherwise.
+     */
+    public synchronized boolean isGPUTimingAvailable(){
+        return this.__queries_supported;
+    }
+
+    /**
+     * Checks whether the measurements are drawn over the top of the canvas.
+     *
+     * @return True if the overlay is visible, and false, otherwise.
+     */
+    public boolean isOverlayVisible(){
+        return this.__overlay_visible;
+    }
+
+    /**
+     * Sets whether the 50th, 95th and 99th percentile and the longest time of each measured phase are drawn in the top left corner of the canvas.
+     *
+     * @param overlay_visible True if the overlay should be visible, and false, otherwise.
+     */
+    public void setOverlayVisible(boolean overlay_visible){
+        this.__overlay_visible = overlay_visible;
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Adds a measurement to a phase's window, replacing its oldest measurement once the window is full.
+     */
+    private void __addSample(Phase phase,long nanoseconds){
+        final int    ordinal = phase.ordinal();
+        final long[] samples = this.__samples[ordinal];
+
+
+        samples[this.__next_samples[ordinal]] = nanoseconds;
+        this.__next_samples[ordinal] = (this.__next_samples[ordinal] + 1)%samples.length;
+        this.__sample_counts[ordinal] = Math.min(this.__sample_counts[ordinal] + 1,samples.length);
+    }
+
+    /**
+     * Starts measuring a frame.  If timer queries are available, a query is started to measure the GPU's time on it, and the results of any earlier queries which are ready are collected.  This must be called from the thread which owns the given GL instance.
+     *
+     * @param gl GL instance the frame is drawn with.
+     */
+    public synchronized void beginFrame(GL2 gl){
+        final long[] result = new long[1];
+        final int[]  available = new int[1];
+        final int    query = this.__next_query;
+
+
+        if(!this.__queries_checked){
+            this.__queries_checked = true;
+            this.__queries_supported = gl.isExtensionAvailable("GL_EXT_timer_query") || gl.isExtensionAvailable("GL_ARB_timer_query");
+            if(this.__queries_supported){
+                this.__resource_manager = StrixaResourceManager.getInstance(gl.getContext());
+                gl.glGenQueries(StrixaFrameProfiler.__QUERY_COUNT,this.__query_names,0);
+                for(int index = 0,end_index = StrixaFrameProfiler.__QUERY_COUNT - 1;index <= end_index;index++){
+                    this.__resource_manager.register(StrixaResourceManager.ResourceType.QUERY,this.__query_names[index],this);
+                }
+            }
+        }
+
+        if(this.__queries_supported){
+            /*The query about to be reused was started several frames ago.  If its result still isn't ready, it's dropped rather than waited on.*/
+            if(this.__query_pending[query]){
+                gl.glGetQueryObjectiv(this.__query_names[query],GL2.GL_QUERY_RESULT_AVAILABLE,available,0);
+                if(available[0] != 0){
+                    gl.glGetQueryObjectui64vEXT(this.__query_names[query],GL2.GL_QUERY_RESULT,result,0);
+                    this.__addSample(Phase.GPU,result[0]);
+                }
+                this.__query_pending[query] = false;
+            }
+
+            gl.glBeginQuery(GL2.GL_TIME_ELAPSED_EXT,this.__query_names[query]);
+        }
+
+        Arrays.fill(this.__frame_times,0);
+        Arrays.fill(this.__measured,false);
+        this.__active_phase_count = 0;
+        this.__frame_started = true;
+        this.__frame_start = System.nanoTime();
+    }
+
+    /**
+     * Starts measuring a phase of the current frame.  If another phase is being measured, it's paused until this one ends.  A phase may be measured more than once in a frame, in which case its times are added together.
+     *
+     * @param phase Phase to start measuring.
+     *
+     * @throws IllegalArgumentException Thrown if 'phase' is {@link Phase#FRAME} or {@link Phase#GPU}, which are measured automatically.
+     */
+    public synchronized void beginPhase(Phase phase){
+        final long now = System.nanoTime();
+
+
+        /*Begin Parameter Verification*/
+        if(phase == Phase.FRAME || phase == Phase.GPU){
+            throw new IllegalArgumentException("Argument 'phase' must not be " + phase + ", as it's measured automatically.");
+        }
+        /*End Parameter Verification*/
+
+        if(this.__active_phase_count > 0){
+            this.__frame_times[this.__active_phases[this.__active_phase_count - 1].ordinal()] += now - this.__phase_start;
+        }
+        this.__active_phases[this.__active_phase_count] = phase;
+        this.__active_phase_count++;
+        this.__measured[phase.ordinal()] = true;
+        this.__phase_start = now;
+    }
+
+    /**
+     * Releases this profiler's timer queries to the {@link StrixaResourceManager} of the context they were created in.  This may be called from any thread.  If this profiler is used afterwards, new queries are created.
+     */
+    public synchronized void dispose(){
+        if(this.__resource_manager != null){
+            this.__resource_manager.release(this);
+        }
+
+        Arrays.fill(this.__query_pending,false);
+        this.__queries_checked = false;
+        this.__queries_supported = false;
+    }
+
+    /**
+     * Draws the 50th, 95th and 99th percentile and the longest time of each measured phase, in milliseconds, in the top left corner of the viewport.  This must be called from the thread which owns the given GL instance.
+     *
+     * @param gl GL instance to draw with.
+     * @param height Height of the viewport, in pixels.
+     */
+    public void drawOverlay(GL2 gl,int height){
+        int line_index = 0;
+
+
+        if(this.__glut == null){
+            this.__glut = new GLUT();
+        }
+
+        gl.glPushAttrib(GL2.GL_ENABLE_BIT | GL2.GL_CURRENT_BIT);
+        gl.glDisable(GL2.GL_DEPTH_TEST);
+        gl.glDisable(GL2.GL_LIGHTING);
+        gl.glDisable(GL2.GL_TEXTURE_2D);
+        gl.glColor3f(1f,1f,0f);
+
+        for(Phase phase : Phase.values()){
+            if(this.getSampleCount(phase) == 0){
+                continue;
+            }
+
+            line_index++;
+            gl.glWindowPos2i(8,height - 8 - line_index*14);
+            this.__glut.glutBitmapString(GLUT.BITMAP_8_BY_13,String.format(
+                "%-10s p50 %6.2f  p95 %6.2f  p99 %6.2f  max %6.2f",
+                phase,
+                this.getPercentile(phase,50),
+                this.getPercentile(phase,95),
+                this.getPercentile(phase,99),
+                this.getMaximum(phase)
+            ));
+        }
+
+        gl.glPopAttrib();
+    }
+
+    /**
+     * Finishes measuring the current frame, and adds the measurement of each phase measured during it to its window.  Phases which weren't measured during the frame are left alone.  This must be called from the thread which owns the given GL instance, and should be called once the buffers have been swapped.
+     *
+     * @param gl GL instance the frame was drawn with.
+     *
+     * @throws IllegalStateException Thrown if a phase is still being measured, or if no frame has been started.
+     */
+    public synchronized void endFrame(GL2 gl){
+        if(!this.__frame_started){
+            throw new IllegalStateException("endFrame() was called without a matching call to beginFrame().");
+        }
+
+        if(this.__active_phase_count > 0){
+            throw new IllegalStateException("Phase " + this.__active_phases[this.__active_phase_count - 1] + " is still being measured.");
+        }
+
+        this.__frame_started = false;
+        this.__addSample(Phase.FRAME,System.nanoTime() - this.__frame_start);
+        for(Phase phase : Phase.values()){
+            if(this.__measured[phase.ordinal()]){
+                this.__addSample(phase,this.__frame_times[phase.ordinal()]);
+            }
+        }
+
+        if(this.__queries_supported){
+            gl.glEndQuery(GL2.GL_TIME_ELAPSED_EXT);
+            this.__query_pending[this.__next_query] = true;
+            this.__next_query = (this.__next_query + 1)%StrixaFrameProfiler.__QUERY_COUNT;
+        }
+    }
+
+    /**
+     * Stops measuring a phase of the current frame, and resumes measuring the phase it interrupted, if any.
+     *
+     * @param phase Phase to stop measuring.
+     *
+     * @throws IllegalStateException Thrown if the given phase isn't the phase most recently started.
+     */
+    public synchronized void endPhase(Phase phase){
+        final long now = System.nanoTime();
+
+
+        if(this.__active_phase_count == 0 || this.__active_phases[this.__active_phase_count - 1] != phase){
+            throw new IllegalStateException("Phase " + phase + " is not the phase most recently started.");
+        }
+
+        this.__frame_times[phase.ordinal()] += now - this.__phase_start;
+        this.__active_phase_count--;
+        this.__phase_start = now;
+    }
+
+    /**
+     * Discards every kept measurement.
+     */
+    public synchronized void reset(){
+        Arrays.fill(this.__next_samples,0);
+        Arrays.fill(this.__sample_counts,0);
+    }
+    /*End Other Methods*/
+}
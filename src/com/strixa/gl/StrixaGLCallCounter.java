@@ -0,0 +1,398 @@
+/**
+ * File:  StrixaGLCallCounter.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.media.opengl.GL2;
+import javax.media.opengl.GL4bc;
+import javax.media.opengl.TraceGL2;
+
+/**
+ * Counts the GL calls made while drawing each frame, by the kind of call and by the element which made them.<br />
+ * Counting is opt in.  A {@link StrixaGLCanvas} which has been given a counter draws each frame with a GL instance which counts every call before passing it on, while a canvas without one draws with its GL instance directly, and so pays nothing.  Frames are noticeably slower while they're being counted, so the counts are best compared with each other rather than with uncounted frames' timings.<br />
+ * Calls are counted towards the element being drawn when they're made, which is the innermost element marked with {@link StrixaGLCallCounter#beginElement(Object)}.  The canvases and {@link StrixaRenderQueue} mark each element they draw.  Counts from the most recently finished frame may be read from any thread.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaGLCallCounter{
+    /**
+     * Kinds of calls which are counted.  A single call may count towards more than one kind, such as a draw call, which also counts towards {@link Category#CALL} and {@link Category#VERTEX}.
+     *
+     * @author Nicholas Rog
+     */
+    public enum Category{
+        /** Every call. */
+        CALL,
+        /** Calls which draw, such as glDrawElements, glCallList, and glBegin.  Multi-draw and indirect draw calls aren't counted. */
+        DRAW_CALL,
+        /** Vertices sent by draw calls and by the scalar forms of glVertex.  Vertices drawn by display lists can't be seen, and aren't counted. */
+        VERTEX,
+        /** Calls to glBindTexture. */
+        TEXTURE_BIND,
+        /** Calls to glPushMatrix. */
+        MATRIX_PUSH,
+        /** Calls which change GL state, other than texture binds, such as glEnable, glMaterial, and glBindBuffer. */
+        STATE_CHANGE,
+        /** Calls which upload buffer or texture data. */
+        UPLOAD
+    }
+
+    /**
+     * The counts of a single element during a frame.
+     *
+     * @author Nicholas Rog
+     */
+    public static class ElementCounts{
+        private final long[] __counts = new long[Category.values().length];
+        private final Object __element;
+
+
+        /*Begin Constructors*/
+        private ElementCounts(Object element){
+            this.__element = element;
+        }
+        /*End Constructors*/
+
+        /*Begin Getter/Setter Methods*/
+        /**
+         * Gets the number of calls of the given kind made while drawing the element.
+         *
+         * @param category Kind of call.
+         *
+         * @return The number of calls.
+         */
+        public long getCount(Category category){
+            return this.__counts[category.ordinal()];
+        }
+
+        /**
+         * Gets the element these counts belong to.
+         *
+         * @return The element, which is typically a {@link StrixaGLElement} or a {@link StrixaMesh}.
+         */
+        public Object getElement(){
+            return this.__element;
+        }
+        /*End Getter/Setter Methods*/
+    }
+
+    /**
+     * GL instance which counts each call made through it before passing it on.  JOGL's generated {@link TraceGL2} already forwards every call, and calls {@link TraceGL2#printIndent()} once for each of them, which is where every call is counted.  The calls which count towards the other categories are overridden here.
+     */
+    private class CountingGL2 extends TraceGL2{
+        /*Begin Constructors*/
+        public CountingGL2(GL2 gl){
+            super(gl,null);
+        }
+        /*End Constructors*/
+
+        /*Begin Getter/Setter Methods*/
+        public StrixaGLCallCounter getCounter(){
+            return StrixaGLCallCounter.this;
+        }
+        /*End Getter/Setter Methods*/
+
+        /*Begin Other Methods*/
+        @Override public void glBegin(int mode){StrixaGLCallCounter.this.__count(Category.DRAW_CALL,0);super.glBegin(mode);}
+        @Override public void glBindBuffer(int target,int buffer){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glBindBuffer(target,buffer);}
+        @Override public void glBindTexture(int target,int texture){StrixaGLCallCounter.this.__count(Category.TEXTURE_BIND,0);super.glBindTexture(target,texture);}
+        @Override public void glBindVertexArray(int array){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glBindVertexArray(array);}
+        @Override public void glBlendFunc(int source_factor,int destination_factor){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glBlendFunc(source_factor,destination_factor);}
+        @Override public void glBufferData(int target,long size,Buffer data,int usage){StrixaGLCallCounter.this.__count(Category.UPLOAD,0);super.glBufferData(target,size,data,usage);}
+        @Override public void glBufferSubData(int target,long offset,long size,Buffer data){StrixaGLCallCounter.this.__count(Category.UPLOAD,0);super.glBufferSubData(target,offset,size,data);}
+        @Override public void glCallList(int list){StrixaGLCallCounter.this.__count(Category.DRAW_CALL,0);super.glCallList(list);}
+        @Override public void glCallLists(int count,int type,Buffer lists){StrixaGLCallCounter.this.__count(Category.DRAW_CALL,0);super.glCallLists(count,type,lists);}
+        @Override public void glCullFace(int mode){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glCullFace(mode);}
+        @Override public void glDepthFunc(int function){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glDepthFunc(function);}
+        @Override public void glDisable(int capability){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glDisable(capability);}
+        @Override public void glDisableClientState(int array){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glDisableClientState(array);}
+        @Override public void glDrawArrays(int mode,int first,int count){StrixaGLCallCounter.this.__count(Category.DRAW_CALL,count);super.glDrawArrays(mode,first,count);}
+        @Override public void glDrawArraysInstanced(int mode,int first,int count,int instance_count){StrixaGLCallCounter.this.__count(Category.DRAW_CALL,(long)count * instance_count);super.glDrawArraysInstanced(mode,first,count,instance_count);}
+        @Override public void glDrawElements(int mode,int count,int type,Buffer indices){StrixaGLCallCounter.this.__count(Category.DRAW_CALL,count);super.glDrawElements(mode,count,type,indices);}
+        @Override public void glDrawElements(int mode,int count,int type,long offset){StrixaGLCallCounter.this.__count(Category.DRAW_CALL,count);super.glDrawElements(mode,count,type,offset);}
+        @Override public void glDrawElementsInstanced(int mode,int count,int type,Buffer indices,int instance_count){StrixaGLCallCounter.this.__count(Category.DRAW_CALL,(long)count * instance_count);super.glDrawElementsInstanced(mode,count,type,indices,instance_count);}
+        @Override public void glDrawElementsInstanced(int mode,int count,int type,long offset,int instance_count){StrixaGLCallCounter.this.__count(Category.DRAW_CALL,(long)count * instance_count);super.glDrawElementsInstanced(mode,count,type,offset,instance_count);}
+        @Override public void glDrawRangeElements(int mode,int start,int end,int count,int type,Buffer indices){StrixaGLCallCounter.this.__count(Category.DRAW_CALL,count);super.glDrawRangeElements(mode,start,end,count,type,indices);}
+        @Override public void glDrawRangeElements(int mode,int start,int end,int count,int type,long offset){StrixaGLCallCounter.this.__count(Category.DRAW_CALL,count);super.glDrawRangeElements(mode,start,end,count,type,offset);}
+        @Override public void glEnable(int capability){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glEnable(capability);}
+        @Override public void glEnableClientState(int array){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glEnableClientState(array);}
+        @Override public void glLightf(int light,int name,float parameter){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glLightf(light,name,parameter);}
+        @Override public void glLightfv(int light,int name,float[] parameters,int offset){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glLightfv(light,name,parameters,offset);}
+        @Override public void glLightfv(int light,int name,FloatBuffer parameters){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glLightfv(light,name,parameters);}
+        @Override public void glMaterialf(int face,int name,float parameter){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glMaterialf(face,name,parameter);}
+        @Override public void glMaterialfv(int face,int name,float[] parameters,int offset){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glMaterialfv(face,name,parameters,offset);}
+        @Override public void glMaterialfv(int face,int name,FloatBuffer parameters){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glMaterialfv(face,name,parameters);}
+        @Override public void glPolygonMode(int face,int mode){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glPolygonMode(face,mode);}
+        @Override public void glPushMatrix(){StrixaGLCallCounter.this.__count(Category.MATRIX_PUSH,0);super.glPushMatrix();}
+        @Override public void glShadeModel(int mode){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glShadeModel(mode);}
+        @Override public void glTexEnvf(int target,int name,float parameter){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glTexEnvf(target,name,parameter);}
+        @Override public void glTexEnvi(int target,int name,int parameter){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glTexEnvi(target,name,parameter);}
+        @Override public void glTexImage2D(int target,int level,int internal_format,int width,int height,int border,int format,int type,Buffer pixels){StrixaGLCallCounter.this.__count(Category.UPLOAD,0);super.glTexImage2D(target,level,internal_format,width,height,border,format,type,pixels);}
+        @Override public void glTexImage2D(int target,int level,int internal_format,int width,int height,int border,int format,int type,long offset){StrixaGLCallCounter.this.__count(Category.UPLOAD,0);super.glTexImage2D(target,level,internal_format,width,height,border,format,type,offset);}
+        @Override public void glTexParameterf(int target,int name,float parameter){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glTexParameterf(target,name,parameter);}
+        @Override public void glTexParameteri(int target,int name,int parameter){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glTexParameteri(target,name,parameter);}
+        @Override public void glTexSubImage2D(int target,int level,int x,int y,int width,int height,int format,int type,Buffer pixels){StrixaGLCallCounter.this.__count(Category.UPLOAD,0);super.glTexSubImage2D(target,level,x,y,width,height,format,type,pixels);}
+        @Override public void glTexSubImage2D(int target,int level,int x,int y,int width,int height,int format,int type,long offset){StrixaGLCallCounter.this.__count(Category.UPLOAD,0);super.glTexSubImage2D(target,level,x,y,width,height,format,type,offset);}
+        @Override public void glUseProgram(int program){StrixaGLCallCounter.this.__count(Category.STATE_CHANGE,0);super.glUseProgram(program);}
+        @Override public void glVertex2d(double x,double y){StrixaGLCallCounter.this.__count(Category.VERTEX,0);super.glVertex2d(x,y);}
+        @Override public void glVertex2f(float x,float y){StrixaGLCallCounter.this.__count(Category.VERTEX,0);super.glVertex2f(x,y);}
+        @Override public void glVertex2i(int x,int y){StrixaGLCallCounter.this.__count(Category.VERTEX,0);super.glVertex2i(x,y);}
+        @Override public void glVertex3d(double x,double y,double z){StrixaGLCallCounter.this.__count(Category.VERTEX,0);super.glVertex3d(x,y,z);}
+        @Override public void glVertex3f(float x,float y,float z){StrixaGLCallCounter.this.__count(Category.VERTEX,0);super.glVertex3f(x,y,z);}
+        @Override public void glVertex3i(int x,int y,int z){StrixaGLCallCounter.this.__count(Category.VERTEX,0);super.glVertex3i(x,y,z);}
+        @Override public void glVertex4d(double x,double y,double z,double w){StrixaGLCallCounter.this.__count(Category.VERTEX,0);super.glVertex4d(x,y,z,w);}
+        @Override public void glVertex4f(float x,float y,float z,float w){StrixaGLCallCounter.this.__count(Category.VERTEX,0);super.glVertex4f(x,y,z,w);}
+        @Override public void glVertex4i(int x,int y,int z,int w){StrixaGLCallCounter.this.__count(Category.VERTEX,0);super.glVertex4i(x,y,z,w);}
+
+        @Override protected void print(String text){
+            /*Nothing is traced.*/
+        }
+
+        @Override protected void printIndent(){
+            StrixaGLCallCounter.this.__count(Category.CALL,0);
+        }
+
+        @Override protected void println(String text){
+            /*Nothing is traced.*/
+        }
+        /*End Other Methods*/
+    }
+
+    private final Object[] __element_stack = new Object[64];
+
+    private CountingGL2                __counting_gl;
+    private int                        __element_depth;
+    private ElementCounts              __element_counts;
+    private Map<Object,ElementCounts>  __elements = new IdentityHashMap<Object,ElementCounts>();
+    private long[]                     __frame_counts = new long[Category.values().length];
+    private Map<Object,ElementCounts>  __last_elements = new IdentityHashMap<Object,ElementCounts>();
+    private long[]                     __last_frame_counts = new long[Category.values().length];
+    private GL2                        __wrapped_gl;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs a counter.
+     */
+    public StrixaGLCallCounter(){
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the number of calls of the given kind made during the most recently finished frame.
+     *
+     * @param category Kind of call.
+     *
+     * @return The number of calls.
+     */
+    public synchronized long getCount(Category category){
+        return this.__last_frame_counts[category.ordinal()];
+    }
+
+    /**
+     * Gets the counts of the given element during the most recently finished frame.
+     *
+     * @param element Element whose counts should be retrieved.
+     *
+     * @return The element's counts, or null if it wasn't drawn during the frame.
+     */
+    public synchronized ElementCounts getElementCounts(Object element){
+        return this.__last_elements.get(element);
+    }
+
+    /**
+     * Gets the elements which made the most calls of the given kind during the most recently finished frame.
+     *
+     * @param count Most elements to return.
+     * @param category Kind of call to rank the elements by.
+     *
+     * @return The counts of up to 'count' elements, ordered from the most calls to the fewest.
+     *
+     * @throws IllegalArgumentException Thrown if 'count' is negative, or if 'category' is null.
+     */
+    public synchronized List<ElementCounts> getMostExpensiveElements(int count,final Category category){
+        final List<ElementCounts> elements = new ArrayList<ElementCounts>(this.__last_elements.values());
+
+
+        /*Begin Parameter Verification*/
+        if(count < 0){
+            throw new IllegalArgumentException("Argument 'count' must not be negative.");
+        }
+
+        if(category == null){
+            throw new IllegalArgumentException("Argument 'category' must not be null.");
+        }
+        /*End Parameter Verification*/
+
+        Collections.sort(elements,new Comparator<ElementCounts>(){
+            public int compare(ElementCounts counts_one,ElementCounts counts_two){
+                final long count_one = counts_one.getCount(category);
+                final long count_two = counts_two.getCount(category);
+
+
+                return count_one > count_two ? -1 : (count_one == count_two ? 0 : 1);
+            }
+        });
+
+        return elements.subList(0,Math.min(count,elements.size()));
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Starts counting calls towards the given element, until the matching call to {@link StrixaGLCallCounter#endElement()}.  Elements may be nested, in which case calls are counted towards the innermost one.  This must be called from the thread which is drawing.
+     *
+     * @param element Element about to be drawn.
+     */
+    public void beginElement(Object element){
+        if(this.__element_depth < this.__element_stack.length){
+            this.__element_stack[this.__element_depth] = element;
+        }
+        this.__element_depth++;
+
+        this.__element_counts = this.__getElementCounts(element);
+    }
+
+    /**
+     * Starts counting a new frame.  This must be called from the thread which is drawing.
+     */
+    public void beginFrame(){
+        this.__element_depth = 0;
+        this.__element_counts = null;
+    }
+
+    /**
+     * Adds a call to the current frame's counts, and to the current element's counts.
+     */
+    private void __count(Category category,long vertex_count){
+        this.__frame_counts[category.ordinal()]++;
+        this.__frame_counts[Category.VERTEX.ordinal()] += vertex_count;
+        if(this.__element_counts != null){
+            this.__element_counts.__counts[category.ordinal()]++;
+            this.__element_counts.__counts[Category.VERTEX.ordinal()] += vertex_count;
+        }
+    }
+
+    /**
+     * Stops counting calls towards the element most recently given to {@link StrixaGLCallCounter#beginElement(Object)}, and resumes counting them towards the element it interrupted, if any.
+     */
+    public void endElement(){
+        if(this.__element_depth == 0){
+            return;
+        }
+
+        this.__element_depth--;
+        if(this.__element_depth == 0){
+            this.__element_counts = null;
+        }else{
+            this.__element_counts = this.__getElementCounts(this.__element_stack[Math.min(this.__element_depth,this.__element_stack.length) - 1]);
+        }
+    }
+
+    /**
+     * Finishes counting the current frame, making its counts available to the getters, and starts the next frame's counts from zero.  This must be called from the thread which is drawing.
+     */
+    public void endFrame(){
+        synchronized(this){
+            this.__last_frame_counts = this.__frame_counts;
+            this.__last_elements = this.__elements;
+        }
+
+        this.__frame_counts = new long[Category.values().length];
+        this.__elements = new IdentityHashMap<Object,ElementCounts>();
+        this.__element_depth = 0;
+        this.__element_counts = null;
+    }
+
+    private ElementCounts __getElementCounts(Object element){
+        ElementCounts counts = this.__elements.get(element);
+
+
+        if(counts == null){
+            counts = new ElementCounts(element);
+            this.__elements.put(element,counts);
+        }
+
+        return counts;
+    }
+
+    /**
+     * Gets a summary of the most recently finished frame's counts, and of the elements which made the most calls, suitable for logging.
+     *
+     * @param element_count Most elements to list.
+     *
+     * @return The summary.
+     */
+    public String getReport(int element_count){
+        final StringBuilder       report = new StringBuilder();
+        final List<ElementCounts> elements = this.getMostExpensiveElements(element_count,Category.CALL);
+
+        ElementCounts counts = null;
+
+
+        for(Category category : Category.values()){
+            report.append(category).append(": ").append(this.getCount(category)).append(category.ordinal() < Category.values().length - 1 ? ", " : "\n");
+        }
+
+        for(int index = 0,end_index = elements.size() - 1;index <= end_index;index++){
+            counts = elements.get(index);
+
+            report.append(index + 1).append(". ").append(counts.getElement().getClass().getSimpleName()).append('@').append(Integer.toHexString(System.identityHashCode(counts.getElement())));
+            for(Category category : Category.values()){
+                report.append(' ').append(category).append('=').append(counts.getCount(category));
+            }
+            report.append('\n');
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * Gets a GL instance which counts every call made through it before passing it on to the given instance.  The same instance is returned for as long as the given instance stays the same.  Counting relies on JOGL's desktop GL implementation, so an instance which isn't one, such as an OpenGL ES instance, is returned as it is, and its calls aren't counted.
+     *
+     * @param gl GL instance to wrap.
+     *
+     * @return The counting GL instance.
+     */
+    public synchronized GL2 wrap(GL2 gl){
+        if(!(gl instanceof GL4bc)){
+            return gl;
+        }
+
+        if(gl != this.__wrapped_gl){
+            this.__wrapped_gl = gl;
+            this.__counting_gl = new CountingGL2(gl);
+        }
+
+        return this.__counting_gl;
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Gets the counter which is counting the calls made through the given GL instance.
+     *
+     * @param gl GL instance which may have been wrapped by {@link StrixaGLCallCounter#wrap(GL2)}.
+     *
+     * @return The counter which wrapped the instance, or null if the instance isn't being counted.
+     */
+    public static StrixaGLCallCounter getCounter(GL2 gl){
+        if(gl instanceof CountingGL2){
+            return ((CountingGL2)gl).getCounter();
+        }
+
+        return null;
+    }
+    /*End Static Methods*/
+}
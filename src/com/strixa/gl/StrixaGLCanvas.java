@@ -25,7 +25,12 @@ public abstract class StrixaGLCanvas extends GLCanvas implements GLEventListener
     private final FPSAnimator     __animator = new FPSAnimator(this,60);
     private final StrixaGLContext __context = new StrixaGLContext();
    
-    private double  __aspect_ratio;
+    private double                       __aspect_ratio;
+    private volatile StrixaGLCallCounter __call_counter;
+    private StrixaFrameProfiler          __current_frame_profiler;
+    private volatile StrixaFrameProfiler __frame_profiler;
+    private volatile StrixaSimulation<?> __simulation;
+    private boolean                      __swapping_buffers;
     
     
     /*Begin Constructors*/
@@ -59,6 +64,33 @@ public abstract class StrixaGLCanvas extends GLCanvas implements GLEventListener
         return this.__aspect_ratio;
     }
     
+    /**
+     * Gets the counter which counts the GL calls made while drawing this canvas' frames.
+     * 
+     * @return The counter which counts this canvas' GL calls, or null if they aren't being counted.
+     */
+    public StrixaGLCallCounter getCallCounter(){
+        return this.__call_counter;
+    }
+    
+    /**
+     * Gets the profiler which measures this canvas' frames.
+     * 
+     * @return The profiler which measures this canvas' frames, or null if they aren't being measured.
+     */
+    public StrixaFrameProfiler getFrameProfiler(){
+        return this.__frame_profiler;
+    }
+    
+    /**
+     * Gets the simulation which runs this canvas' game logic.
+     * 
+     * @return The simulation which runs this canvas' game logic, or null if the game logic is run by {@link StrixaGLCanvas#_performGameLogic(StrixaGLContext)}.
+     */
+    public StrixaSimulation<?> getSimulation(){
+        return this.__simulation;
+    }
+    
     /**
      * Gets the canvas' current context.
      * 
@@ -76,20 +108,120 @@ public abstract class StrixaGLCanvas extends GLCanvas implements GLEventListener
     public void setAspectRatio(double aspect_ratio){
         this.__aspect_ratio = aspect_ratio;
     }
+    
+    /**
+     * Sets the counter which counts the GL calls made while drawing this canvas' frames, starting with the next frame.  This may be called from any thread.
+     * 
+     * @param call_counter Counter which should count this canvas' GL calls, or null if they shouldn't be counted.
+     */
+    public void setCallCounter(StrixaGLCallCounter call_counter){
+        this.__call_counter = call_counter;
+    }
+    
+    /**
+     * Sets the profiler which measures this canvas' frames, starting with the next frame.  While a profiler is set, this canvas swaps its own buffers, so that the swap can be measured.  This may be called from any thread.
+     * 
+     * @param frame_profiler Profiler which should measure this canvas' frames, or null if they shouldn't be measured.
+     */
+    public void setFrameProfiler(StrixaFrameProfiler frame_profiler){
+        this.__frame_profiler = frame_profiler;
+    }
+    
+    /**
+     * Sets the simulation which runs this canvas' game logic, starting with the next frame.  While a simulation is set, it's presented before each frame is drawn, in place of calling {@link StrixaGLCanvas#_performGameLogic(StrixaGLContext)}.  Setting a simulation neither starts nor stops it.  This may be called from any thread.
+     * 
+     * @param simulation Simulation which should run this canvas' game logic, or null if the game logic should be run by {@link StrixaGLCanvas#_performGameLogic(StrixaGLContext)}.
+     */
+    public void setSimulation(StrixaSimulation<?> simulation){
+        this.__simulation = simulation;
+    }
     /*End Getter/Setter Methods*/
     
     /*Begin Other Methods*/
+    /**
+     * Starts measuring a phase of the current frame, if this canvas' frames are being measured.
+     * 
+     * @param phase Phase to start measuring.
+     */
+    protected void _beginPhase(StrixaFrameProfiler.Phase phase){
+        if(this.__current_frame_profiler != null){
+            this.__current_frame_profiler.beginPhase(phase);
+        }
+    }
+    
     public void display(GLAutoDrawable drawable){   
-        this._performGameLogic(this.getStrixaGLContext());
+        final StrixaGLCallCounter call_counter = this.__call_counter;
+        final StrixaFrameProfiler frame_profiler = this.__frame_profiler;
+        final StrixaSimulation<?> simulation = this.__simulation;
+        
+        
+        this.__current_frame_profiler = frame_profiler;
+        if(frame_profiler != null){
+            frame_profiler.beginFrame(drawable.getGL().getGL2());
+        }else if(this.__swapping_buffers){
+            drawable.setAutoSwapBufferMode(true);
+            this.__swapping_buffers = false;
+        }
+        
+        /*Anything released since the last frame, from any thread, can only be deleted here, where the context is current.*/
+        StrixaResourceManager.getInstance().processDeletions(drawable.getGL().getGL2());
+        /*Likewise, textures read on worker threads can only be uploaded here, and textures over the budget can only be evicted here.*/
+        StrixaTextureCache.getInstance().processUploads(drawable.getGL().getGL2());
+        StrixaTextureCache.getInstance().processResidency(drawable.getGL().getGL2());
+        
+        this._beginPhase(StrixaFrameProfiler.Phase.LOGIC);
+        if(simulation != null){
+            simulation.present();
+        }else{
+            this._performGameLogic(this.getStrixaGLContext());
+        }
+        this._endPhase(StrixaFrameProfiler.Phase.LOGIC);
         
         /*Clear everything up.*/
         drawable.getGL().glClear(GL2.GL_COLOR_BUFFER_BIT | GL2.GL_DEPTH_BUFFER_BIT);
         
         /*Draw everything that needs to be drawn.*/
-        this._drawChildren(drawable.getGL().getGL2());
+        this._beginPhase(StrixaFrameProfiler.Phase.SUBMISSION);
+        if(call_counter != null){
+            call_counter.beginFrame();
+            this._drawChildren(call_counter.wrap(drawable.getGL().getGL2()));
+            call_counter.endFrame();
+        }else{
+            this._drawChildren(drawable.getGL().getGL2());
+        }
+        this._endPhase(StrixaFrameProfiler.Phase.SUBMISSION);
+        
+        if(frame_profiler != null){
+            if(frame_profiler.isOverlayVisible()){
+                frame_profiler.drawOverlay(drawable.getGL().getGL2(),drawable.getHeight());
+            }
+            
+            /*JOGL would otherwise swap the buffers once this method returns, where the swap can't be measured.*/
+            if(drawable.getAutoSwapBufferMode()){
+                drawable.setAutoSwapBufferMode(false);
+                this.__swapping_buffers = true;
+            }
+            this._beginPhase(StrixaFrameProfiler.Phase.SWAP);
+            drawable.swapBuffers();
+            this._endPhase(StrixaFrameProfiler.Phase.SWAP);
+            
+            frame_profiler.endFrame(drawable.getGL().getGL2());
+        }
     }
     
     public void dispose(GLAutoDrawable drawable){
+        StrixaResourceManager.getInstance().processDeletions(drawable.getGL().getGL2());
+    }
+    
+    /**
+     * Stops measuring a phase of the current frame, if this canvas' frames are being measured.
+     * 
+     * @param phase Phase to stop measuring.
+     */
+    protected void _endPhase(StrixaFrameProfiler.Phase phase){
+        if(this.__current_frame_profiler != null){
+            this.__current_frame_profiler.endPhase(phase);
+        }
     }
     
     public void init(GLAutoDrawable drawable){
@@ -5,6 +5,7 @@
 package com.strixa.gl;
 
 import com.strixa.gl.properties.Cuboid;
+import com.strixa.gl.util.Frustum;
 
 /**
  * Describes the current context of a running StrixaGL application.
@@ -12,9 +13,19 @@ import com.strixa.gl.properties.Cuboid;
  * @author Nicholas Rog
  */
 public class StrixaGLContext{
-    private Cuboid __viewable_area;
+    private Frustum __view_frustum;
+    private Cuboid  __viewable_area;
     
     
+    /**
+     * Gets the frustum which describes the volume the camera can currently see.
+     * 
+     * @return The frustum which describes the volume the camera can currently see, or null if only the viewable area is known.
+     */
+    public Frustum getViewFrustum(){
+        return this.__view_frustum;
+    }
+    
     /**
      * Returns a {@link Cuboid} which represents the maximum viewable area.
      * 
@@ -32,5 +43,14 @@ public class StrixaGLContext{
     public void setViewableArea(Cuboid viewable_area){
         this.__viewable_area = viewable_area;
     }
+    
+    /**
+     * Sets the frustum which describes the volume the camera can currently see.  The frustum should not be modified after it has been set, as it may be in use by another thread.
+     * 
+     * @param view_frustum Frustum which describes the volume the camera can currently see, or null if only the viewable area is known.
+     */
+    public void setViewFrustum(Frustum view_frustum){
+        this.__view_frustum = view_frustum;
+    }
 }
 //TODO:  Look at renaming the "viewable_area" portions of this class, as that's a bit of a misnomer.  Rather, these methods actually represent the total renderable area of the canvas.
\ No newline at end of file
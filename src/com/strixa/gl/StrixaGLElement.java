@@ -49,6 +49,15 @@ public abstract class StrixaGLElement{
         this.__collision_detection_enabled = enabled;
     }
     
+    /**
+     * Gets whether this object has been allowed to be displayed, regardless of whether it's within view.
+     * 
+     * @return Returns the value last passed to {@link StrixaGLElement#setVisible(boolean)}.
+     */
+    public boolean isVisible(){
+        return this.__visible;
+    }
+    
     /**
      * Sets the visibility of this object.
      * 
@@ -4,7 +4,6 @@
  */
 package com.strixa.gl;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -14,7 +13,6 @@ import javax.media.opengl.GLContext;
 import javax.media.opengl.GLException;
 
 import com.jogamp.opengl.util.texture.Texture;
-import com.jogamp.opengl.util.texture.TextureIO;
 
 /**
  * Describes the material a StrixaElement is made of.
@@ -22,24 +20,64 @@ import com.jogamp.opengl.util.texture.TextureIO;
  * @author Nicholas Rog
  */
 public class StrixaMaterial{
+    /**
+     * Ways in which a material's texture can be sampled.
+     *
+     * @author Nicholas Rog
+     */
+    public enum Filtering{
+        /**
+         * Uses the single texel nearest to each sample, without mipmaps.  Textures keep hard edges up close, but shimmer and alias once they're smaller on screen than they are in memory.
+         */
+        NEAREST(GL2.GL_NEAREST,GL2.GL_NEAREST,false),
+        
+        /**
+         * Blends the four texels nearest to each sample, without mipmaps.  This smooths textures which are larger on screen than in memory, but aliases as badly as {@link Filtering#NEAREST} on textures which are smaller.
+         */
+        BILINEAR(GL2.GL_LINEAR,GL2.GL_LINEAR,false),
+        
+        /**
+         * Blends the four texels nearest to each sample in the two mipmap levels closest in size to the texture on screen.  Distant surfaces sample from small levels, which neither alias nor waste texture cache.
+         */
+        TRILINEAR(GL2.GL_LINEAR_MIPMAP_LINEAR,GL2.GL_LINEAR,true);
+        
+        final int     __mag_filter;
+        final int     __min_filter;
+        final boolean __mipmapped;
+        
+        
+        /*Begin Constructors*/
+        private Filtering(int min_filter,int mag_filter,boolean mipmapped){
+            this.__min_filter = min_filter;
+            this.__mag_filter = mag_filter;
+            this.__mipmapped = mipmapped;
+        }
+        /*End Constructors*/
+    }
+    
 	private static final Map<String,StrixaMaterial> __material_map = new HashMap<String,StrixaMaterial>(); 
 	
     Float                 __alpha;
     float[]               __ambient_color;
+    float                 __anisotropy;
     float[]               __diffuse_color;
     float[]               __emission_color;
+    Filtering             __filtering;
     String                __name;
     float[]               __specular_color;
     float                 __specular_coefficient;
     Texture               __texture;
+    StrixaTextureCache    __texture_cache;
     String                __texture_file_location;
     
     
     {
         this.__alpha = 1f;
         this.__ambient_color = new float[]{0f,0f,0f,1f};
+        this.__anisotropy = 1f;
         this.__diffuse_color = new float[]{1f,1f,1f,1f};
         this.__emission_color = new float[]{0f,0f,0f,1f};
+        this.__filtering = Filtering.TRILINEAR;
         this.__specular_color = new float[]{1f,1f,1f,1f};
         this.__specular_coefficient = 0f;
         this.__texture = null;
@@ -68,6 +106,27 @@ public class StrixaMaterial{
         	System.out.println("Could not register material.  A material with that name already exists.");
         }
     }
+    
+    /**
+     * Constructs an anonymous copy of the given material.  Like a material constructed with {@link StrixaMaterial#StrixaMaterial()}, the copy has no name, and isn't registered.  A texture the given material loaded from the {@link StrixaTextureCache} isn't shared, but is acquired again from the cache when the copy is first drawn.  A texture given to {@link StrixaMaterial#setTexture(Texture)} is shared.
+     * 
+     * @param copy Material to copy.
+     */
+    public StrixaMaterial(StrixaMaterial copy){
+        this.__name = "";
+        this.__alpha = copy.__alpha;
+        this.__ambient_color = copy.__ambient_color.clone();
+        this.__anisotropy = copy.__anisotropy;
+        this.__diffuse_color = copy.__diffuse_color.clone();
+        this.__emission_color = copy.__emission_color.clone();
+        this.__filtering = copy.__filtering;
+        this.__specular_color = copy.__specular_color.clone();
+        this.__specular_coefficient = copy.__specular_coefficient;
+        this.__texture_file_location = copy.__texture_file_location;
+        if(copy.__texture_cache == null){
+            this.__texture = copy.__texture;
+        }
+    }
     /*End Constructors*/
     
     /*Begin Getter/Setter Methods*/
@@ -89,6 +148,15 @@ public class StrixaMaterial{
         return this.__alpha;
     }
     
+    /**
+     * Gets the most samples this material's texture may take along the direction in which it's most compressed on screen.
+     * 
+     * @return The material's anisotropy, where 1 indicates that anisotropic filtering is disabled.
+     */
+    public float getAnisotropy(){
+        return this.__anisotropy;
+    }
+    
     /**
      * Gets the material's diffuse color. 
      * 
@@ -107,6 +175,15 @@ public class StrixaMaterial{
         return this.__emission_color;
     }
     
+    /**
+     * Gets the way in which this material's texture is sampled.
+     * 
+     * @return The way in which this material's texture is sampled.
+     */
+    public Filtering getFiltering(){
+        return this.__filtering;
+    }
+    
     /**
      * Gets this material's name.
      * 
@@ -208,6 +285,25 @@ public class StrixaMaterial{
         this.__specular_color[3] = alpha;
     }
     
+    /**
+     * Sets the most samples this material's texture may take along the direction in which it's most compressed on screen, which keeps textures seen at a steep angle, such as floors, sharp into the distance.  This is limited to what the context supports, and is ignored if anisotropic filtering isn't available.<br />
+     * If the texture has already been loaded, it's loaded again the next time this material is drawn.
+     * 
+     * @param anisotropy The material's anisotropy, where 1 disables anisotropic filtering.  Values between 4 and 16 are typical.
+     * 
+     * @throws IllegalArgumentException Thrown if 'anisotropy' is less than 1.
+     */
+    public void setAnisotropy(float anisotropy){
+        if(!(anisotropy >= 1)){
+            throw new IllegalArgumentException("Argument 'anisotropy' must be at least 1.");
+        }
+        
+        if(anisotropy != this.__anisotropy){
+            this.__anisotropy = anisotropy;
+            this.dispose();
+        }
+    }
+    
     /**
      * Sets the material's diffuse color. 
      * 
@@ -298,6 +394,25 @@ public class StrixaMaterial{
         this.__emission_color[2] = blue;
     }
     
+    /**
+     * Sets the way in which this material's texture is sampled.  Materials use {@link Filtering#TRILINEAR} by default.<br />
+     * If the texture has already been loaded, it's loaded again the next time this material is drawn.
+     * 
+     * @param filtering The way in which this material's texture should be sampled.
+     * 
+     * @throws IllegalArgumentException Thrown if 'filtering' is null.
+     */
+    public void setFiltering(Filtering filtering){
+        if(filtering == null){
+            throw new IllegalArgumentException("Argument 'filtering' must not be null.");
+        }
+        
+        if(filtering != this.__filtering){
+            this.__filtering = filtering;
+            this.dispose();
+        }
+    }
+    
     /**
      * Sets the material's specular color. 
      * 
@@ -367,11 +482,23 @@ public class StrixaMaterial{
      * @param texture Texture the material should take on.
      */
     public void setTexture(Texture texture){
+        this.__releaseTexture();
+        
         this.__texture = texture;
     }
     /*End Getter/Setter Methods*/
     
     /*Begin Other Methods*/
+    /**
+     * Releases this material's reference to the texture it loaded from the {@link StrixaTextureCache}.  The texture is deleted at the start of the next frame once no other material uses it.  This may be called from any thread.  If this material is used afterwards, its texture is loaded again.  Textures given to {@link StrixaMaterial#setTexture(Texture)} aren't released, as they may be shared with other materials.
+     */
+    public void dispose(){
+        if(this.__texture_cache != null){
+            this.__releaseTexture();
+            this.__texture = null;
+        }
+    }
+    
     /**
      * Check to determine whether this material has a texture or not.
      * <strong>Note:</strong>  Just because an this method returns true does not necessarily mean the texture has been loaded into memory.
@@ -400,10 +527,12 @@ public class StrixaMaterial{
     }
     
     /**
-     * Loads the requested texture into memory.
+     * Loads the requested texture into memory.  Materials which use the same image and sampling share a single texture through the {@link StrixaTextureCache}.<br />
+     * Mipmapped textures have their levels built on worker threads, and are empty, so the material is drawn untextured, until they're uploaded at the start of a later frame.
      */
     public void loadTexture() throws IOException{
-        GL2 gl = null;
+        StrixaTextureCache texture_cache = null;
+        GL2                gl = null;
         
         
         if(this.__texture_file_location == null){
@@ -417,12 +546,21 @@ public class StrixaMaterial{
             throw new RuntimeException("This method must be called from a thread with an active GLContext.");
         }
         
-        if(this.__texture != null){
+        if(this.__texture_cache != null){
+            this.__releaseTexture();
+        }else if(this.__texture != null){
             this.__texture.destroy(gl);
         }
-        this.__texture = TextureIO.newTexture(new File(this.__texture_file_location),false);
-        this.__texture.setTexParameteri(gl,GL2.GL_TEXTURE_MAG_FILTER, GL2.GL_NEAREST);
-        this.__texture.setTexParameteri(gl,GL2.GL_TEXTURE_MIN_FILTER, GL2.GL_NEAREST);
+        texture_cache = StrixaTextureCache.getInstance(gl.getContext());
+        this.__texture = texture_cache.acquire(
+            gl,
+            this.__texture_file_location,
+            this.__filtering.__mipmapped,
+            this.__filtering.__min_filter,
+            this.__filtering.__mag_filter,
+            this.__anisotropy
+        );
+        this.__texture_cache = texture_cache;
     }
     
     /**
@@ -435,6 +573,16 @@ public class StrixaMaterial{
         
         this.loadTexture();
     }
+    
+    /**
+     * Releases the texture this material loaded, if it loaded one.
+     */
+    private void __releaseTexture(){
+        if(this.__texture_cache != null){
+            this.__texture_cache.release(this.__texture);
+            this.__texture_cache = null;
+        }
+    }
     /*End Other Methods*/
     
     /*Begin Static Methods*/
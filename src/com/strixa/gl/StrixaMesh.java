@@ -0,0 +1,500 @@
+/**
+ * File:  StrixaMesh.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.media.opengl.GL2;
+import javax.media.opengl.GLContext;
+
+import com.strixa.gl.collision.ConvexHull;
+import com.strixa.gl.collision.PointIndex;
+import com.strixa.gl.collision.TriangleBVH;
+import com.strixa.gl.util.Vertex;
+import com.strixa.util.Log;
+import com.strixa.util.Point3D;
+
+/**
+ * Geometry which can be shared between any number of {@link StrixaMeshInstance}s.<br />
+ * A mesh copies the polygons it's constructed from and never changes afterwards, so its vertex data, display list, and collision structures are built once and used by every instance.  The polygons returned by {@link StrixaMesh#getPolygons()} must not be modified.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaMesh{
+    /**
+     * Largest number of instances drawn by a single instanced draw call.  Each instance takes three vec4 uniforms, which keeps a full batch well within the 1024 vertex uniform components every GL 3 implementation provides.
+     */
+    public static final int MAX_INSTANCES_PER_DRAW = 64;
+
+    private static final String FRAGMENT_SHADER =
+        "#version 120\n" +
+        "uniform sampler2D texture_unit;\n" +
+        "uniform bool texture_enabled;\n" +
+        "varying vec4 color;\n" +
+        "varying vec2 texture_coordinates;\n" +
+        "void main(){\n" +
+        "    gl_FragColor = texture_enabled ? color*texture2D(texture_unit,texture_coordinates) : color;\n" +
+        "}\n";
+
+    /*
+     * Each instance's model matrix is passed as its top three rows.  Lighting follows the fixed function pipeline for
+     * GL_LIGHT0, which is the only light the canvas sets up, without attenuation or spotlights.
+     */
+    private static final String VERTEX_SHADER =
+        "#version 120\n" +
+        "#extension GL_ARB_draw_instanced : require\n" +
+        "uniform vec4 instance_rows[" + StrixaMesh.MAX_INSTANCES_PER_DRAW*3 + "];\n" +
+        "uniform bool lighting_enabled;\n" +
+        "varying vec4 color;\n" +
+        "varying vec2 texture_coordinates;\n" +
+        "void main(){\n" +
+        "    int row = gl_InstanceIDARB*3;\n" +
+        "    vec4 position = vec4(dot(instance_rows[row],gl_Vertex),dot(instance_rows[row + 1],gl_Vertex),dot(instance_rows[row + 2],gl_Vertex),gl_Vertex.w);\n" +
+        "    vec4 eye_position = gl_ModelViewMatrix*position;\n" +
+        "    gl_Position = gl_ProjectionMatrix*eye_position;\n" +
+        "    texture_coordinates = gl_MultiTexCoord0.xy;\n" +
+        "    if(lighting_enabled){\n" +
+        "        vec3 normal = normalize(gl_NormalMatrix*vec3(dot(instance_rows[row].xyz,gl_Normal),dot(instance_rows[row + 1].xyz,gl_Normal),dot(instance_rows[row + 2].xyz,gl_Normal)));\n" +
+        "        vec3 light_direction = normalize(gl_LightSource[0].position.w == 0.0 ? gl_LightSource[0].position.xyz : gl_LightSource[0].position.xyz - eye_position.xyz);\n" +
+        "        float diffuse = max(dot(normal,light_direction),0.0);\n" +
+        "        float specular = diffuse > 0.0 ? pow(max(dot(normal,normalize(light_direction + vec3(0.0,0.0,1.0))),0.0),gl_FrontMaterial.shininess) : 0.0;\n" +
+        "        color = gl_FrontMaterial.emission + gl_FrontMaterial.ambient*(gl_LightModel.ambient + gl_LightSource[0].ambient) + gl_FrontMaterial.diffuse*gl_LightSource[0].diffuse*diffuse + gl_FrontMaterial.specular*gl_LightSource[0].specular*specular;\n" +
+        "        color.a = gl_FrontMaterial.diffuse.a;\n" +
+        "    }else{\n" +
+        "        color = gl_Color;\n" +
+        "    }\n" +
+        "}\n";
+
+    /**
+     * The instancing program built for a single context, along with the locations of its uniforms.
+     */
+    private static class InstanceProgram{
+        public final int instance_rows_location;
+        public final int lighting_enabled_location;
+        public final int program;
+        public final int texture_enabled_location;
+        public final int texture_unit_location;
+
+
+        /*Begin Constructors*/
+        public InstanceProgram(GL2 gl,int program){
+            this.program = program;
+            if(program == 0){
+                this.instance_rows_location = -1;
+                this.lighting_enabled_location = -1;
+                this.texture_enabled_location = -1;
+                this.texture_unit_location = -1;
+            }else{
+                this.instance_rows_location = gl.glGetUniformLocation(program,"instance_rows");
+                this.lighting_enabled_location = gl.glGetUniformLocation(program,"lighting_enabled");
+                this.texture_enabled_location = gl.glGetUniformLocation(program,"texture_enabled");
+                this.texture_unit_location = gl.glGetUniformLocation(program,"texture_unit");
+            }
+        }
+        /*End Constructors*/
+    }
+
+    /** Program names are only valid in the context which created them, so each context gets its own program.  Contexts which can't draw instances are given a program of 0. */
+    private static final Map<GLContext,InstanceProgram> __instance_programs = new WeakHashMap<GLContext,InstanceProgram>();
+
+    private final StrixaMaterial      __material;
+    private final List<StrixaPolygon> __polygons;
+    private final StrixaVertexBuffer  __vertex_buffer;
+
+    private ConvexHull            __convex_hull;
+    private Integer               __list_index;
+    private StrixaResourceManager __list_resource_manager;
+    private PointIndex            __point_index;
+    private TriangleBVH           __triangle_bvh;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs a mesh from a copy of the given element's components, using the element's material as the default material for instances.
+     *
+     * @param element Element whose components should be copied.
+     */
+    public StrixaMesh(Strixa3DElement element){
+        this(element.getComponents(),element.getMaterial());
+    }
+
+    /**
+     * Constructs a mesh from a copy of the given polygons.  Vertices shared between polygons remain shared in the copy.
+     *
+     * @param polygons Polygons making up the mesh.
+     * @param material Material instances should be drawn with when they don't override it.
+     */
+    public StrixaMesh(List<StrixaPolygon> polygons,StrixaMaterial material){
+        final Map<Vertex,Vertex>  copied_points = new IdentityHashMap<Vertex,Vertex>();
+        final List<StrixaPolygon> copies = new ArrayList<StrixaPolygon>(polygons.size());
+
+        float[]       color = null;
+        StrixaPolygon copy = null;
+        Vertex        copied_point = null;
+        Vertex        point = null;
+        StrixaPolygon polygon = null;
+        List<Vertex>  points = null;
+
+
+        if(material == null){
+            throw new IllegalArgumentException("Argument 'material' must not be null.");
+        }
+
+        for(int polygon_index = 0,polygon_end_index = polygons.size() - 1;polygon_index <= polygon_end_index;polygon_index++){
+            polygon = polygons.get(polygon_index);
+            points = polygon.getPoints();
+            copy = new StrixaPolygon();
+
+            copy.beginUpdate();
+            copy.setCoordinates(polygon.getCoordinates());
+            for(int point_index = 0,point_end_index = points.size() - 1;point_index <= point_end_index;point_index++){
+                point = points.get(point_index);
+                copied_point = copied_points.get(point);
+                if(copied_point == null){
+                    copied_point = new Vertex(point);
+                    color = point.getColor();
+                    copied_point.setColor(color[0],color[1],color[2]);
+                    if(point.getNormal() != null){
+                        copied_point.setNormal(new Point3D<Double>(point.getNormal()));
+                    }
+
+                    copied_points.put(point,copied_point);
+                }
+
+                copy.addPoint(copied_point);
+            }
+            for(int point_index = 0,point_end_index = polygon.getTexturePoints().size() - 1;point_index <= point_end_index;point_index++){
+                copy.addTexturePoint(new Vertex(polygon.getTexturePoints().get(point_index)));
+            }
+            copy.endUpdate();
+
+            copies.add(copy);
+        }
+
+        this.__material = material;
+        this.__polygons = Collections.unmodifiableList(copies);
+        this.__vertex_buffer = new StrixaVertexBuffer(this.__polygons);
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the convex hull of this mesh's points, computing it the first time it's requested.
+     *
+     * @return The convex hull of this mesh's points, in this mesh's own space.
+     */
+    public ConvexHull getConvexHull(){
+        ConvexHull convex_hull = this.__convex_hull;
+
+
+        if(convex_hull == null){
+            convex_hull = new ConvexHull(this.__polygons);
+            this.__convex_hull = convex_hull;
+        }
+
+        return convex_hull;
+    }
+
+    /**
+     * Gets the material instances of this mesh are drawn with when they don't override it.
+     *
+     * @return This mesh's default material.
+     */
+    public StrixaMaterial getMaterial(){
+        return this.__material;
+    }
+
+    /**
+     * Gets the index over this mesh's distinct vertices, building it the first time it's requested.
+     *
+     * @return The index over this mesh's distinct vertices, in this mesh's own space.
+     */
+    public PointIndex getPointIndex(){
+        PointIndex point_index = this.__point_index;
+
+
+        if(point_index == null){
+            point_index = new PointIndex(this.__polygons);
+            this.__point_index = point_index;
+        }
+
+        return point_index;
+    }
+
+    /**
+     * Gets the polygons making up this mesh.
+     *
+     * @return An unmodifiable list of this mesh's polygons.  Neither the polygons nor their points may be modified.
+     */
+    public List<StrixaPolygon> getPolygons(){
+        return this.__polygons;
+    }
+
+    /**
+     * Gets the bounding volume hierarchy over this mesh's triangles, building it the first time it's requested.
+     *
+     * @return The bounding volume hierarchy over this mesh's triangles, in this mesh's own space.
+     */
+    public TriangleBVH getTriangleBVH(){
+        TriangleBVH triangle_bvh = this.__triangle_bvh;
+
+
+        if(triangle_bvh == null){
+            triangle_bvh = new TriangleBVH(this.__polygons);
+            this.__triangle_bvh = triangle_bvh;
+        }
+
+        return triangle_bvh;
+    }
+
+    /**
+     * Gets the number of vertices drawn for each instance of this mesh.  Polygons are split into triangle fans, so each contributes three vertices for each of its triangles.
+     *
+     * @return The number of vertices drawn for each instance.
+     */
+    public int getVertexCount(){
+        return this.__vertex_buffer.getIndexCount();
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Frees the GL resources this mesh has created, right away.  They will be created again if this mesh is drawn afterwards.
+     *
+     * @param gl GL instance the resources were created with.
+     */
+    public void dispose(GL2 gl){
+        this.release();
+        StrixaResourceManager.getInstance(gl.getContext()).processDeletions(gl);
+    }
+
+    /**
+     * Draws a single copy of this mesh relative to the current modelview matrix, using its display list.  No material is bound.
+     *
+     * @param gl GL instance to draw with.
+     */
+    public void draw(GL2 gl){
+        if(this.__list_index == null){
+            this.__list_resource_manager = StrixaResourceManager.getInstance(gl.getContext());
+            this.__list_index = gl.glGenLists(1);
+            gl.glNewList(this.__list_index,GL2.GL_COMPILE);
+
+            this.__vertex_buffer.drawImmediate(gl);
+
+            gl.glEndList();
+
+            this.__list_resource_manager.register(StrixaResourceManager.ResourceType.DISPLAY_LIST,this.__list_index,this);
+            this.__list_resource_manager.setSize(StrixaResourceManager.ResourceType.DISPLAY_LIST,this.__list_index,this.__vertex_buffer.getIndexCount()*StrixaVertexBuffer.VERTEX_SIZE*4L);
+        }
+
+        gl.glCallList(this.__list_index);
+    }
+
+    /**
+     * Draws every given instance of this mesh.  When the current context supports it, instances are drawn with one instanced draw call for every {@link StrixaMesh#MAX_INSTANCES_PER_DRAW} instances.  Otherwise, each instance is drawn using this mesh's display list.<br />
+     * Every instance is drawn with the material of the first instance, so instances should be grouped by material before being passed in.
+     *
+     * @param gl GL instance to draw with.
+     * @param instances Instances of this mesh to be drawn.
+     *
+     * @return The number of draw calls which were issued.
+     */
+    public int drawInstances(GL2 gl,List<StrixaMeshInstance> instances){
+        final int             instance_count = instances.size();
+        final double[]        model_matrix = new double[16];
+        final InstanceProgram program = StrixaMesh.__getInstanceProgram(gl);
+
+        int            batch_size = 0;
+        int            draw_count = 0;
+        float[]        instance_rows = null;
+        StrixaMaterial material = null;
+
+
+        if(instance_count == 0){
+            return 0;
+        }
+
+        material = instances.get(0).getMaterial();
+        instances.get(0)._loadTexture(material);
+        instances.get(0)._bindMaterial(gl,material);
+
+        if(program.program == 0 || this.__vertex_buffer.getIndexCount() == 0){
+            for(int index = 0;index < instance_count;index++){
+                instances.get(index)._getModelMatrix(model_matrix);
+
+                gl.glPushMatrix();
+                gl.glMultMatrixd(model_matrix,0);
+                this.draw(gl);
+                gl.glPopMatrix();
+            }
+
+            draw_count = instance_count;
+        }else{
+            instance_rows = new float[Math.min(instance_count,StrixaMesh.MAX_INSTANCES_PER_DRAW)*12];
+
+            gl.glUseProgram(program.program);
+            gl.glUniform1i(program.lighting_enabled_location,gl.glIsEnabled(GL2.GL_LIGHTING) ? 1 : 0);
+            gl.glUniform1i(program.texture_enabled_location,material.isTextureLoaded() ? 1 : 0);
+            gl.glUniform1i(program.texture_unit_location,0);
+            this.__vertex_buffer.bind(gl);
+
+            for(int first_index = 0;first_index < instance_count;first_index += batch_size){
+                batch_size = Math.min(instance_count - first_index,StrixaMesh.MAX_INSTANCES_PER_DRAW);
+
+                for(int index = 0;index < batch_size;index++){
+                    instances.get(first_index + index)._getModelMatrix(model_matrix);
+
+                    for(int row = 0;row < 3;row++){
+                        instance_rows[index*12 + row*4] = (float)model_matrix[row];
+                        instance_rows[index*12 + row*4 + 1] = (float)model_matrix[4 + row];
+                        instance_rows[index*12 + row*4 + 2] = (float)model_matrix[8 + row];
+                        instance_rows[index*12 + row*4 + 3] = (float)model_matrix[12 + row];
+                    }
+                }
+
+                gl.glUniform4fv(program.instance_rows_location,batch_size*3,instance_rows,0);
+                this.__vertex_buffer.drawInstanced(gl,batch_size);
+                draw_count++;
+            }
+
+            this.__vertex_buffer.unbind(gl);
+            gl.glUseProgram(0);
+        }
+
+        instances.get(0)._unbindMaterial(gl,material);
+
+        return draw_count;
+    }
+
+    /**
+     * Releases the GL resources this mesh has created to the {@link StrixaResourceManager} of the context they were created in, which deletes them at the start of the next frame.  This may be called from any thread.  The resources will be created again if this mesh is drawn afterwards.
+     */
+    public void release(){
+        final Integer list_index = this.__list_index;
+
+
+        this.__list_index = null;
+        if(list_index != null){
+            this.__list_resource_manager.release(StrixaResourceManager.ResourceType.DISPLAY_LIST,list_index);
+        }
+        this.__vertex_buffer.release();
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Builds the program used to draw instances in the current context.  Returns 0 if the context can't draw instances.
+     */
+    private static int __buildInstanceProgram(GL2 gl){
+        final int[] status = new int[1];
+
+        int fragment_shader = 0;
+        int program = 0;
+        int vertex_shader = 0;
+
+
+        if(
+            !gl.hasGLSL()
+            ||
+            !gl.isExtensionAvailable("GL_ARB_draw_instanced")
+            ||
+            !gl.isFunctionAvailable("glDrawElementsInstanced")
+            ||
+            !StrixaVertexBuffer.isSupported(gl)
+        ){
+            return 0;
+        }
+
+        vertex_shader = StrixaMesh.__compileShader(gl,GL2.GL_VERTEX_SHADER,StrixaMesh.VERTEX_SHADER);
+        fragment_shader = StrixaMesh.__compileShader(gl,GL2.GL_FRAGMENT_SHADER,StrixaMesh.FRAGMENT_SHADER);
+        if(vertex_shader == 0 || fragment_shader == 0){
+            if(vertex_shader != 0){
+                gl.glDeleteShader(vertex_shader);
+            }
+            if(fragment_shader != 0){
+                gl.glDeleteShader(fragment_shader);
+            }
+
+            return 0;
+        }
+
+        program = gl.glCreateProgram();
+        gl.glAttachShader(program,vertex_shader);
+        gl.glAttachShader(program,fragment_shader);
+        gl.glLinkProgram(program);
+        gl.glDeleteShader(vertex_shader);
+        gl.glDeleteShader(fragment_shader);
+        gl.glGetProgramiv(program,GL2.GL_LINK_STATUS,status,0);
+        if(status[0] == GL2.GL_FALSE){
+            Log.logEvent(Log.Type.NOTICE,"Instancing shader could not be linked, so instances will be drawn one at a time.");
+            gl.glDeleteProgram(program);
+
+            return 0;
+        }
+
+        return program;
+    }
+
+    /**
+     * Compiles one stage of the instancing program, returning 0 and logging the reason if it couldn't be compiled.
+     */
+    private static int __compileShader(GL2 gl,int type,String source){
+        final int[] status = new int[1];
+        final int   shader = gl.glCreateShader(type);
+
+        byte[] log = null;
+
+
+        gl.glShaderSource(shader,1,new String[]{source},null,0);
+        gl.glCompileShader(shader);
+        gl.glGetShaderiv(shader,GL2.GL_COMPILE_STATUS,status,0);
+        if(status[0] == GL2.GL_FALSE){
+            gl.glGetShaderiv(shader,GL2.GL_INFO_LOG_LENGTH,status,0);
+            log = new byte[Math.max(status[0],1)];
+            gl.glGetShaderInfoLog(shader,log.length,null,0,log,0);
+            Log.logEvent(Log.Type.NOTICE,"Instancing shader could not be compiled, so instances will be drawn one at a time:  " + new String(log).trim());
+
+            gl.glDeleteShader(shader);
+
+            return 0;
+        }
+
+        return shader;
+    }
+
+    /**
+     * Gets the program used to draw instances in the given GL instance's context, building it the first time it's requested for that context.
+     */
+    private static synchronized InstanceProgram __getInstanceProgram(GL2 gl){
+        final GLContext context = gl.getContext();
+
+        InstanceProgram instance_program = StrixaMesh.__instance_programs.get(context);
+
+
+        if(instance_program == null){
+            instance_program = new InstanceProgram(gl,StrixaMesh.__buildInstanceProgram(gl));
+            StrixaMesh.__instance_programs.put(context,instance_program);
+        }
+
+        return instance_program;
+    }
+
+    /**
+     * Boolean check to determine whether the current GL context can draw instances with a single instanced draw call.  If it can't, instances are drawn one at a time using this mesh's display list.
+     *
+     * @param gl GL instance to check.
+     *
+     * @return Returns true if instanced drawing is available, and false, otherwise.
+     */
+    public static boolean isInstancingSupported(GL2 gl){
+        return StrixaMesh.__getInstanceProgram(gl).program != 0;
+    }
+    /*End Static Methods*/
+}
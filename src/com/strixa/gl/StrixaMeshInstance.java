@@ -0,0 +1,179 @@
+/**
+ * File:  StrixaMeshInstance.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.util.List;
+
+import javax.media.opengl.GL2;
+
+import com.strixa.gl.collision.ConvexHull;
+import com.strixa.gl.collision.PointIndex;
+import com.strixa.gl.collision.TriangleBVH;
+
+/**
+ * Element which draws a shared {@link StrixaMesh} rather than owning its own polygons.<br />
+ * An instance holds only its coordinates, its transform, and an optional material override, so any number of instances of the same mesh cost little more than one.  {@link Strixa3DCanvas} groups visible instances by mesh and material, and draws each group with as few instanced draw calls as it can.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaMeshInstance extends Strixa3DElement{
+    private final StrixaMesh __mesh;
+
+    private StrixaMaterial __material_override;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs an instance of the given mesh.
+     *
+     * @param mesh Mesh this instance should draw.
+     */
+    public StrixaMeshInstance(StrixaMesh mesh){
+        if(mesh == null){
+            throw new IllegalArgumentException("Argument 'mesh' must not be null.");
+        }
+
+        this.__mesh = mesh;
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the mesh's polygons.  These are shared with every other instance of the mesh, and must not be modified.
+     *
+     * @return An unmodifiable list of the mesh's polygons.
+     */
+    public List<StrixaPolygon> getComponents(){
+        return this.__mesh.getPolygons();
+    }
+
+    /**
+     * Gets the convex hull of this instance's points.  While this instance hasn't been rotated or scaled, the mesh's hull is shared.
+     *
+     * @return The convex hull of this instance's points.
+     */
+    public ConvexHull getConvexHull(){
+        if(this.getTransform().isIdentity()){
+            return this.__mesh.getConvexHull();
+        }
+
+        return super.getConvexHull();
+    }
+
+    /**
+     * Gets the material this instance is drawn with, which is its override if one has been set, and the mesh's material, otherwise.
+     *
+     * @return The material this instance is drawn with.
+     */
+    public StrixaMaterial getMaterial(){
+        if(this.__material_override != null){
+            return this.__material_override;
+        }
+
+        return this.__mesh.getMaterial();
+    }
+
+    /**
+     * Sets the material this instance should be drawn with in place of the mesh's material.
+     *
+     * @param material Material to be used, or null to go back to using the mesh's material.
+     */
+    public void setMaterial(StrixaMaterial material){
+        if(this.__material_override != material){
+            this.__material_override = material;
+            this._alertBatchStateUpdateListeners();
+        }
+    }
+
+    /**
+     * Gets the mesh this instance draws.
+     *
+     * @return The mesh this instance draws.
+     */
+    public StrixaMesh getMesh(){
+        return this.__mesh;
+    }
+
+    /**
+     * Gets the index over this instance's distinct vertices.  While this instance hasn't been rotated or scaled, the mesh's index is shared.
+     *
+     * @return The index over this instance's distinct vertices.
+     */
+    public PointIndex getPointIndex(){
+        if(this.getTransform().isIdentity()){
+            return this.__mesh.getPointIndex();
+        }
+
+        return super.getPointIndex();
+    }
+
+    /**
+     * Gets the bounding volume hierarchy over this instance's triangles.  While this instance hasn't been rotated or scaled, the mesh's hierarchy is shared.
+     *
+     * @return The bounding volume hierarchy over this instance's triangles.
+     */
+    public TriangleBVH getTriangleBVH(){
+        if(this.getTransform().isIdentity()){
+            return this.__mesh.getTriangleBVH();
+        }
+
+        return super.getTriangleBVH();
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Meshes can't be changed once they've been built, so polygons can't be added to an instance.
+     *
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    public void addComponent(StrixaPolygon polygon){
+        throw new UnsupportedOperationException("Polygons can't be added to an instance of a mesh.");
+    }
+
+    /**
+     * Meshes can't be changed once they've been built, so polygons can't be added to an instance.
+     *
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    public void addComponents(List<StrixaPolygon> polygons){
+        throw new UnsupportedOperationException("Polygons can't be added to an instance of a mesh.");
+    }
+
+    /**
+     * Meshes can't be changed once they've been built, so an instance can't be baked.  Use {@link Strixa3DElement#resetTransform()}, or build a new mesh from a baked element, instead.
+     *
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    public void bake(){
+        throw new UnsupportedOperationException("An instance of a mesh can't be baked.");
+    }
+
+    /**
+     * Draws this instance on its own.  {@link Strixa3DCanvas} draws instances in groups instead, using {@link StrixaMesh#drawInstances(GL2,List)}.
+     *
+     * @param gl GL instance to draw with.
+     */
+    public void draw(GL2 gl){
+        final StrixaMaterial material = this.getMaterial();
+        final double[]       model_matrix = new double[16];
+
+
+        this._loadTexture(material);
+        this._getModelMatrix(model_matrix);
+
+        gl.glPushMatrix();
+        gl.glMultMatrixd(model_matrix,0);
+        this._bindMaterial(gl,material);
+        this.__mesh.draw(gl);
+        this._unbindMaterial(gl,material);
+        gl.glPopMatrix();
+
+        if(this.isBoundingBoxVisible()){
+            this._drawBoundingBox(gl);
+        }
+    }
+    /*End Other Methods*/
+}
@@ -5,9 +5,12 @@
 package com.strixa.gl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import com.strixa.gl.collision.TriangleIntersection;
 import com.strixa.gl.properties.Cuboid;
+import com.strixa.gl.util.Frustum;
 import com.strixa.gl.util.Vertex;
 import com.strixa.util.Point3D;
 
@@ -20,9 +23,13 @@ public class StrixaPolygon{
     private final List<Vertex>          __normal_points = new ArrayList<Vertex>();
     private final List<Vertex>          __points = new ArrayList<Vertex>();
     private final List<Vertex>          __texture_points = new ArrayList<Vertex>();
+    private final Point3D<Double>       __coordinates = new Point3D<Double>(0.0,0.0,0.0);
     
     private Cuboid          __bounding_box;
+    private boolean         __bounding_box_dirty;
     private Strixa3DElement __parent;
+    private int             __update_depth;
+    private boolean         __update_pending;
     
     
     /*Begin Constructors*/
@@ -30,20 +37,22 @@ public class StrixaPolygon{
      * Constructs the polygon.
      */
     public StrixaPolygon(){
-        this.__bounding_box = new Cuboid(
-            new Vertex(0,0,0,0),
-            0,0,0
-        );
+        this.__bounding_box_dirty = true;
     }
     /*End Constructors*/
     
     /*Begin Getter/Setter Methods*/    
     /**
-     * Gets the box which completely and exactly encloses all of this polygon.
+     * Gets the box which completely and exactly encloses all of this polygon, regenerating it if this polygon has been invalidated since it was last generated.
      * 
      * @return The box which completely and exactly encloses all of this polygon.
      */
     public Cuboid getBoundingBox(){
+        if(this.__bounding_box_dirty){
+            this.__bounding_box_dirty = false;
+            this._regenerateBoundingBox();
+        }
+        
         return this.__bounding_box;
     }
     
@@ -82,7 +91,7 @@ public class StrixaPolygon{
      * @return This polygons's current location.
      */
     public Point3D<Double> getCoordinates(){
-        return this.getBoundingBox().getCoordinates();
+        return this.__coordinates;
     }
     
     /**
@@ -112,6 +121,8 @@ public class StrixaPolygon{
      */
     public void setCoordinates(double x,double y,double z){
         this.getCoordinates().setPoint(x,y,z);
+        
+        this.invalidate();
     }
     
     /**
@@ -187,13 +198,87 @@ public class StrixaPolygon{
     }
     
     /**
-     * Indicates that something about this element has changed, and that it should be recreated.
+     * Starts a bulk edit of this polygon.  Until the matching call to {@link StrixaPolygon#endUpdate()}, invalidating this polygon only marks it as changed, and its parent is told about the change once, when the edit ends.<br />
+     * Calls may be nested, in which case the parent is told when the outermost edit ends.
      */
-    public void invalidate(){
-        this._regenerateBoundingBox();
+    public void beginUpdate(){
+        this.__update_depth++;
+    }
+    
+    /**
+     * Ends a bulk edit of this polygon which was started with {@link StrixaPolygon#beginUpdate()}.  If this polygon was invalidated during the edit, and this ends the outermost edit, its parent is invalidated.
+     * 
+     * @throws IllegalStateException Thrown if there is no bulk edit to end.
+     */
+    public void endUpdate(){
+        if(this.__update_depth == 0){
+            throw new IllegalStateException("endUpdate() was called without a matching call to beginUpdate().");
+        }
+        
+        this.__update_depth--;
+        if(this.__update_depth == 0 && this.__update_pending){
+            this.__update_pending = false;
+            this.invalidate();
+        }
+    }
+    
+    /**
+     * Gets the amount this polygon's points are offset by when drawn, which is the sum of this polygon's coordinates and its parent's coordinates.  The parent's rotation and scale aren't included, so use {@link StrixaPolygon#_getModelMatrix(double[])} to find where the points are in the world.
+     * 
+     * @return The offset as a three element array containing the X, Y and Z offsets.
+     */
+    protected double[] _getAbsoluteOffset(){
+        final Point3D<Double> coordinates = this.getCoordinates();
+        final double[]        offset = new double[]{coordinates.getX(),coordinates.getY(),coordinates.getZ()};
+        
         
         if(this.__parent != null){
-            this.__parent.invalidate();
+            offset[0] += this.__parent.getCoordinates().getX();
+            offset[1] += this.__parent.getCoordinates().getY();
+            offset[2] += this.__parent.getCoordinates().getZ();
+        }
+        
+        return offset;
+    }
+    
+    /**
+     * Gets the matrix which takes this polygon's points into the world, offsetting them by this polygon's coordinates and then applying its parent's transform and coordinates.
+     * 
+     * @param matrix Sixteen element array which will be filled with the matrix, in the column-major order expected by glMultMatrixd.
+     */
+    protected void _getModelMatrix(double[] matrix){
+        final Point3D<Double> coordinates = this.getCoordinates();
+        final double          x = coordinates.getX();
+        final double          y = coordinates.getY();
+        final double          z = coordinates.getZ();
+        
+        
+        if(this.__parent == null){
+            Arrays.fill(matrix,0,16,0);
+            matrix[0] = 1;
+            matrix[5] = 1;
+            matrix[10] = 1;
+            matrix[15] = 1;
+        }else{
+            this.__parent._getModelMatrix(matrix);
+        }
+        
+        matrix[12] += matrix[0]*x + matrix[4]*y + matrix[8]*z;
+        matrix[13] += matrix[1]*x + matrix[5]*y + matrix[9]*z;
+        matrix[14] += matrix[2]*x + matrix[6]*y + matrix[10]*z;
+    }
+    
+    /**
+     * Indicates that something about this element has changed, and that it should be recreated.<br />
+     * The bounding box is only marked as changed, and is regenerated the next time it's requested.  The parent is told that this component has changed, unless a bulk edit is in progress, so that only this polygon's part of its vertex buffer is uploaded again.
+     */
+    public void invalidate(){
+        this.__bounding_box_dirty = true;
+        
+        if(this.__update_depth > 0){
+            this.__update_pending = true;
+        }else if(this.__parent != null){
+            this.__parent._invalidateComponent(this);
         }
     }
     
@@ -205,58 +290,14 @@ public class StrixaPolygon{
      * @return Returns true if this polygon is visible and should be drawn, and false, otherwise.
      */
     public boolean isVisible(StrixaGLContext context){
-        final Cuboid          bounding_box = this.getBoundingBox();
-        final Point3D<Double> bounding_box_coordinates = bounding_box.getCoordinates();
-        final Cuboid          viewable_area = context.getViewableArea();
+        final Frustum frustum = context.getViewFrustum();
         
         
-        if(viewable_area.isPointInside(bounding_box_coordinates)){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY(),
-            bounding_box_coordinates.getZ()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX(),
-            bounding_box_coordinates.getY(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else if(viewable_area.isPointInside(new Point3D<Double>(
-            bounding_box_coordinates.getX() + bounding_box.getWidth(),
-            bounding_box_coordinates.getY() + bounding_box.getHeight(),
-            bounding_box_coordinates.getZ() + bounding_box.getDepth()
-        ))){
-            return true;
-        }else{        
-            return false;
+        if(frustum == null){
+            return context.getViewableArea().intersects(this.getBoundingBox());
         }
+        
+        return frustum.isBoxVisible(this.getBoundingBox());
     }
     
     /**
@@ -283,7 +324,7 @@ public class StrixaPolygon{
         }
         
         this.__bounding_box = new Cuboid(
-            new Point3D<Double>(this.getCoordinates()),
+            new Point3D<Double>(this.__coordinates),
             width,
             height,
             depth
@@ -311,22 +352,66 @@ public class StrixaPolygon{
     protected void _setPoints(List<Vertex> points){
         this.__points.clear();
         this.__points.addAll(points);
+        
+        this.invalidate();
     }
     /*End Abstract Methods*/
     
     /*Begin Static Methods*/
     /**
-     * By checking to see if any of this polygon's lines are intersecting with the second polygon's lines, this method determines if the given element is colliding with this one.<br />
+     * By checking to see if any of this polygon's triangles are intersecting with the second polygon's triangles, this method determines if the given element is colliding with this one.  Polygons are split into triangle fans for this test, and each polygon's triangles are placed in the world with {@link StrixaPolygon#_getModelMatrix(double[])}, so their parents' rotation and scale are taken into account.<br />
      * <strong>Note:</strong>  An element whose entire being is within this element is not considered to be colliding.
      * 
      * @param element Element who you're trying to detect if this object is colliding with.
      * 
      * @return Returns true if this object is colliding with the given object, and false, otherwise. 
      */
-    public boolean isColliding(StrixaPolygon element){  //TODO_HIGH:  This method needs heavy optimization.  Rather than creating a bunch of new objects, a list could be created, for example.        
-        //TODO_HIGH:  Code temporarily removed from this method
+    public boolean isColliding(StrixaPolygon element){
+        final double[]        element_matrix = new double[16];
+        final List<Vertex>    element_points = element.getPoints();
+        final double[]        element_triangle = new double[9];
+        final double[]        this_matrix = new double[16];
+        final List<Vertex>    this_points = this.getPoints();
+        final double[]        this_triangle = new double[9];
+        
+        
+        if(this_points.size() < 3 || element_points.size() < 3){
+            return false;
+        }
+        
+        this._getModelMatrix(this_matrix);
+        element._getModelMatrix(element_matrix);
+        
+        for(int this_index = 1,this_end_index = this_points.size() - 2;this_index <= this_end_index;this_index++){
+            StrixaPolygon.__setTriangle(this_triangle,this_points.get(0),this_points.get(this_index),this_points.get(this_index + 1),this_matrix);
+            
+            for(int element_index = 1,element_end_index = element_points.size() - 2;element_index <= element_end_index;element_index++){
+                StrixaPolygon.__setTriangle(element_triangle,element_points.get(0),element_points.get(element_index),element_points.get(element_index + 1),element_matrix);
+                
+                if(TriangleIntersection.isIntersecting(this_triangle,element_triangle)){
+                    return true;
+                }
+            }
+        }
         
         return false;
     }
+    
+    private static void __setCorner(double[] triangle,int offset,Vertex corner,double[] matrix){
+        final double x = corner.getX();
+        final double y = corner.getY();
+        final double z = corner.getZ();
+        
+        
+        triangle[offset] = matrix[0]*x + matrix[4]*y + matrix[8]*z + matrix[12];
+        triangle[offset + 1] = matrix[1]*x + matrix[5]*y + matrix[9]*z + matrix[13];
+        triangle[offset + 2] = matrix[2]*x + matrix[6]*y + matrix[10]*z + matrix[14];
+    }
+    
+    private static void __setTriangle(double[] triangle,Vertex corner_one,Vertex corner_two,Vertex corner_three,double[] matrix){
+        StrixaPolygon.__setCorner(triangle,0,corner_one,matrix);
+        StrixaPolygon.__setCorner(triangle,3,corner_two,matrix);
+        StrixaPolygon.__setCorner(triangle,6,corner_three,matrix);
+    }
     /*End Static Methods*/
 }
@@ -0,0 +1,331 @@
+/**
+ * File:  StrixaRenderQueue.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.media.opengl.GL2;
+
+import com.jogamp.opengl.util.texture.Texture;
+
+/**
+ * Collects the elements to be drawn during a frame and draws them in an order which minimizes changes to GL state.<br />
+ * Each element is given a 64 bit sort key made up of its pass, its texture, its material, and its depth, and the keys are sorted with a radix sort.  Opaque elements are grouped by texture and then by material, and are drawn front to back within each group.  Transparent elements are drawn after every opaque element, back to front, so that they blend correctly.<br />
+ * While the queue is being submitted, {@link Strixa3DElement#_bindMaterial(GL2,StrixaMaterial)} is routed through the queue, which skips any texture binds, texture parameters, and material colors that are already current.  Elements which change texture or material state themselves, rather than through their material, should restore it before returning.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaRenderQueue{
+    /** Bits of the sort key used for depth. */
+    private static final int DEPTH_BITS = 24;
+    /** Bits of the sort key used for each of the texture and material. */
+    private static final int ID_BITS = 16;
+
+    private static final long DEPTH_MASK = (1L << StrixaRenderQueue.DEPTH_BITS) - 1;
+    private static final long ID_MASK = (1L << StrixaRenderQueue.ID_BITS) - 1;
+    private static final long TRANSPARENT_PASS = 1L << 63;
+
+    private static final ThreadLocal<StrixaRenderQueue> __submitting_queue = new ThreadLocal<StrixaRenderQueue>();
+
+    private final Set<Texture>                    __configured_textures = Collections.newSetFromMap(new IdentityHashMap<Texture,Boolean>());
+    private final Map<StrixaMaterial,Integer>     __material_ids = new IdentityHashMap<StrixaMaterial,Integer>();
+    private final Map<Texture,Integer>            __texture_ids = new IdentityHashMap<Texture,Integer>();
+
+    private StrixaMaterial    __bound_material;
+    private Texture           __bound_texture;
+    private Strixa3DElement[] __elements;
+    private long[]            __keys;
+    private boolean           __lighting_enabled;
+    private int[]             __order;
+    private int[]             __scratch_order;
+    private int               __size;
+    private int               __skipped_state_change_count;
+    private int               __state_change_count;
+    private boolean           __texture_enabled;
+    private boolean           __texture_environment_set;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs an empty queue.
+     */
+    public StrixaRenderQueue(){
+        this.__elements = new Strixa3DElement[64];
+        this.__keys = new long[64];
+        this.__order = new int[64];
+        this.__scratch_order = new int[64];
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the number of elements currently waiting in this queue.
+     *
+     * @return The number of elements currently waiting in this queue.
+     */
+    public int getSize(){
+        return this.__size;
+    }
+
+    /**
+     * Gets the number of texture binds, texture parameter changes, and material changes which were skipped during the last submission because they were already current.
+     *
+     * @return The number of state changes skipped during the last submission.
+     */
+    public int getSkippedStateChangeCount(){
+        return this.__skipped_state_change_count;
+    }
+
+    /**
+     * Gets the number of texture binds, texture enables and disables, texture parameter changes, and material changes which were made during the last submission.
+     *
+     * @return The number of state changes made during the last submission.
+     */
+    public int getStateChangeCount(){
+        return this.__state_change_count;
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Adds an element to be drawn the next time this queue is submitted.
+     *
+     * @param element Element to be drawn.
+     * @param depth Distance from the viewer to the element along the view direction, as a fraction of the render distance.  Values outside of the range 0 to 1 are clamped to it.
+     */
+    public void add(Strixa3DElement element,double depth){
+        final StrixaMaterial material = element.getMaterial();
+        final long           quantized_depth = (long)(Math.min(Math.max(depth,0),1)*StrixaRenderQueue.DEPTH_MASK);
+        final long           material_id = this.__getId(this.__material_ids,material);
+        final long           texture_id = material.isTextureLoaded() ? this.__getId(this.__texture_ids,material.getTexture()) : 0;
+
+        long key = 0;
+
+
+        if(material.getAlpha() < 1){
+            key = StrixaRenderQueue.TRANSPARENT_PASS
+                | (StrixaRenderQueue.DEPTH_MASK - quantized_depth) << (StrixaRenderQueue.ID_BITS*2)
+                | texture_id << StrixaRenderQueue.ID_BITS
+                | material_id;
+        }else{
+            key = texture_id << (StrixaRenderQueue.ID_BITS + StrixaRenderQueue.DEPTH_BITS)
+                | material_id << StrixaRenderQueue.DEPTH_BITS
+                | quantized_depth;
+        }
+
+        if(this.__size == this.__keys.length){
+            this.__elements = Arrays.copyOf(this.__elements,this.__size*2);
+            this.__keys = Arrays.copyOf(this.__keys,this.__size*2);
+            this.__order = new int[this.__size*2];
+            this.__scratch_order = new int[this.__size*2];
+        }
+        this.__elements[this.__size] = element;
+        this.__keys[this.__size] = key;
+        this.__size++;
+    }
+
+    /**
+     * Makes the given material current, skipping whatever part of it is already current.  This is used in place of {@link Strixa3DElement#_bindMaterial(GL2,StrixaMaterial)} while this queue is being submitted.
+     *
+     * @param gl GL instance to bind the material with.
+     * @param material Material to be bound.
+     */
+    void bindMaterial(GL2 gl,StrixaMaterial material){
+        Texture texture = null;
+
+
+        if(material.isTextureLoaded()){
+            texture = material.getTexture();
+
+            if(texture != this.__bound_texture){
+                StrixaTextureCache.getInstance(gl.getContext()).markUsed(texture);
+                texture.bind(gl);
+                this.__bound_texture = texture;
+                this.__state_change_count++;
+            }else{
+                this.__skipped_state_change_count++;
+            }
+            if(!this.__texture_enabled){
+                texture.enable(gl);
+                this.__texture_enabled = true;
+                this.__state_change_count++;
+            }
+
+            if(!this.__texture_environment_set){
+                gl.glTexEnvf(GL2.GL_TEXTURE_ENV,GL2.GL_TEXTURE_ENV_MODE,GL2.GL_MODULATE);
+                this.__texture_environment_set = true;
+                this.__state_change_count++;
+            }
+
+            /*Texture parameters belong to the texture object, so they only need to be set once for each texture.*/
+            if(this.__configured_textures.add(texture)){
+                gl.glTexParameterf(GL2.GL_TEXTURE_2D,GL2.GL_TEXTURE_WRAP_S,GL2.GL_REPEAT);
+                gl.glTexParameterf(GL2.GL_TEXTURE_2D,GL2.GL_TEXTURE_WRAP_T,GL2.GL_REPEAT);
+                this.__state_change_count++;
+            }else{
+                this.__skipped_state_change_count++;
+            }
+        }else if(this.__texture_enabled){
+            this.__bound_texture.disable(gl);
+            this.__texture_enabled = false;
+            this.__state_change_count++;
+        }
+
+        if(this.__lighting_enabled){
+            if(material != this.__bound_material){
+                gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_AMBIENT,material.getAmbientColor(),0);
+                gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_DIFFUSE,material.getDiffuseColor(),0);
+                gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_EMISSION,material.getEmissionColor(),0);
+                gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_SPECULAR,material.getSpecularColor(),0);
+                gl.glMaterialfv(GL2.GL_FRONT_AND_BACK,GL2.GL_SHININESS,new float[]{material.getSpecularCoefficient()},0);
+                this.__bound_material = material;
+                this.__state_change_count++;
+            }else{
+                this.__skipped_state_change_count++;
+            }
+        }
+    }
+
+    /**
+     * Removes every element from this queue without drawing them.
+     */
+    public void clear(){
+        Arrays.fill(this.__elements,0,this.__size,null);
+        this.__size = 0;
+        this.__material_ids.clear();
+        this.__texture_ids.clear();
+    }
+
+    /**
+     * Gets the id of the given object within the current frame, assigning it the next id if it hasn't been seen yet.  Ids only need to group equal objects together, so they wrap around rather than overflowing into the rest of the key.
+     */
+    private <T> long __getId(Map<T,Integer> ids,T object){
+        Integer id = ids.get(object);
+
+
+        if(id == null){
+            id = ids.size() + 1;
+            ids.put(object,id);
+        }
+
+        return id & StrixaRenderQueue.ID_MASK;
+    }
+
+    /**
+     * Sorts the waiting elements' indices by their keys, using a least significant digit radix sort on each byte of the keys.  Bytes which are the same for every key are skipped.
+     */
+    private void __sort(){
+        final int    size = this.__size;
+        final long[] keys = this.__keys;
+        final int[]  counts = new int[256];
+
+        int[] order = this.__order;
+        int[] sorted_order = this.__scratch_order;
+        int[] swap = null;
+        int   bucket = 0;
+        int   total = 0;
+
+
+        for(int index = 0;index < size;index++){
+            order[index] = index;
+        }
+
+        for(int shift = 0;shift < 64;shift += 8){
+            Arrays.fill(counts,0);
+            for(int index = 0;index < size;index++){
+                counts[(int)(keys[index] >>> shift) & 0xFF]++;
+            }
+            if(counts[(int)(keys[0] >>> shift) & 0xFF] == size){
+                continue;
+            }
+
+            total = 0;
+            for(bucket = 0;bucket < 256;bucket++){
+                total += counts[bucket];
+                counts[bucket] = total - counts[bucket];
+            }
+            for(int index = 0;index < size;index++){
+                bucket = (int)(keys[order[index]] >>> shift) & 0xFF;
+                sorted_order[counts[bucket]] = order[index];
+                counts[bucket]++;
+            }
+
+            swap = order;
+            order = sorted_order;
+            sorted_order = swap;
+        }
+
+        this.__order = order;
+        this.__scratch_order = sorted_order;
+    }
+
+    /**
+     * Draws every waiting element in sorted order, and then empties this queue.  Each element is drawn with {@link Strixa3DElement#draw(GL2)}, inside of its own pushed matrix.
+     *
+     * @param gl GL instance to draw with.
+     */
+    public void submit(GL2 gl){
+        final StrixaGLCallCounter call_counter = StrixaGLCallCounter.getCounter(gl);
+        final StrixaRenderQueue   previous_queue = StrixaRenderQueue.__submitting_queue.get();
+
+
+        this.__state_change_count = 0;
+        this.__skipped_state_change_count = 0;
+        if(this.__size == 0){
+            return;
+        }
+
+        this.__sort();
+
+        this.__bound_material = null;
+        this.__bound_texture = null;
+        this.__configured_textures.clear();
+        this.__lighting_enabled = gl.glIsEnabled(GL2.GL_LIGHTING);
+        this.__texture_enabled = false;
+        this.__texture_environment_set = false;
+
+        StrixaRenderQueue.__submitting_queue.set(this);
+        try{
+            for(int index = 0,end_index = this.__size - 1;index <= end_index;index++){
+                if(call_counter != null){
+                    call_counter.beginElement(this.__elements[this.__order[index]]);
+                }
+                gl.glPushMatrix();
+                    this.__elements[this.__order[index]].draw(gl);
+                gl.glPopMatrix();
+                if(call_counter != null){
+                    call_counter.endElement();
+                }
+            }
+        }finally{
+            StrixaRenderQueue.__submitting_queue.set(previous_queue);
+
+            if(this.__texture_enabled){
+                this.__bound_texture.disable(gl);
+                this.__texture_enabled = false;
+            }
+            this.__bound_material = null;
+            this.__bound_texture = null;
+            this.__configured_textures.clear();
+            this.clear();
+        }
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Gets the queue currently being submitted on the calling thread.
+     *
+     * @return The queue currently being submitted on the calling thread, or null if no queue is being submitted.
+     */
+    static StrixaRenderQueue getSubmittingQueue(){
+        return StrixaRenderQueue.__submitting_queue.get();
+    }
+    /*End Static Methods*/
+}
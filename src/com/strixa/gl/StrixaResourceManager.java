@@ -0,0 +1,386 @@
+/**
+ * File:  StrixaResourceManager.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.media.opengl.GL2;
+import javax.media.opengl.GLContext;
+
+import com.strixa.util.Log;
+
+/**
+ * Keeps track of the GL objects created by this library, and deletes them on the GL thread.<br />
+ * Each object is registered along with the object which owns it, such as an element or a material.  Once an owner is done with an object, it releases it, which may be done from any thread.  Released objects are deleted the next time {@link StrixaResourceManager#processDeletions(GL2)} is called, which every {@link StrixaGLCanvas} does at the start of each frame.<br />
+ * Owners are only referenced weakly.  If an owner is garbage collected without releasing its objects, they are counted as leaked, and are deleted along with the released objects.<br />
+ * GL object names belong to a single context, so this assumes that every canvas shares its objects with one another, as they do when only one canvas is in use.  A context which shares nothing with any canvas, such as a {@link StrixaBatchRenderer}'s, is given a manager of its own, which {@link StrixaResourceManager#getInstance(GLContext)} returns for it.  Owners keep the manager they registered their objects with, and release them to it.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaResourceManager{
+    /**
+     * Kinds of GL objects which are tracked.
+     *
+     * @author Nicholas Rog
+     */
+    public enum ResourceType{
+        /** Buffer objects, created with glGenBuffers. */
+        BUFFER,
+        /** Display lists, created with glGenLists. */
+        DISPLAY_LIST,
+        /** Query objects, created with glGenQueries. */
+        QUERY,
+        /** Texture objects, created with glGenTextures. */
+        TEXTURE,
+        /** Vertex array objects, created with glGenVertexArrays. */
+        VERTEX_ARRAY
+    }
+
+    /**
+     * A single tracked GL object, which weakly references its owner.
+     */
+    private static class Resource extends WeakReference<Object>{
+        public final String       description;
+        public final int          name;
+        public final ResourceType type;
+
+        public long bytes;
+
+
+        public Resource(ResourceType type,int name,Object owner,ReferenceQueue<Object> queue){
+            super(owner,queue);
+
+            this.description = owner.getClass().getName();
+            this.name = name;
+            this.type = type;
+        }
+    }
+
+    private static final Map<GLContext,StrixaResourceManager> __context_instances = new WeakHashMap<GLContext,StrixaResourceManager>();
+    private static final StrixaResourceManager                __instance = new StrixaResourceManager();
+
+    private final ReferenceQueue<Object>               __collected_owners = new ReferenceQueue<Object>();
+    private final long[]                               __live_bytes = new long[ResourceType.values().length];
+    private final int[]                                __live_counts = new int[ResourceType.values().length];
+    private final ConcurrentLinkedQueue<Resource>      __pending_deletions = new ConcurrentLinkedQueue<Resource>();
+    private final Map<Long,Resource>                   __resources = new HashMap<Long,Resource>();
+
+    private int __deleted_count;
+    private int __leaked_count;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs an empty manager.  Use {@link StrixaResourceManager#getInstance()} to get the manager used by this library, or {@link StrixaResourceManager#getInstance(GLContext)} to get the one used by a given context.
+     */
+    protected StrixaResourceManager(){
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the total number of objects this manager has deleted.
+     *
+     * @return The total number of objects deleted.
+     */
+    public synchronized int getDeletedCount(){
+        return this.__deleted_count;
+    }
+
+    /**
+     * Gets the total number of objects whose owners were garbage collected without releasing them.
+     *
+     * @return The total number of leaked objects.
+     */
+    public synchronized int getLeakedCount(){
+        return this.__leaked_count;
+    }
+
+    /**
+     * Gets the approximate number of bytes used by the live objects of the given type, as reported by their owners.
+     *
+     * @param type Type of object to total.
+     *
+     * @return The approximate number of bytes used by live objects of the given type.
+     */
+    public synchronized long getLiveBytes(ResourceType type){
+        return this.__live_bytes[type.ordinal()];
+    }
+
+    /**
+     * Gets the number of live objects of the given type.  Objects which have been released, but not yet deleted, aren't counted.
+     *
+     * @param type Type of object to count.
+     *
+     * @return The number of live objects of the given type.
+     */
+    public synchronized int getLiveCount(ResourceType type){
+        return this.__live_counts[type.ordinal()];
+    }
+
+    /**
+     * Gets the number of live objects owned by the given owner.
+     *
+     * @param owner Owner whose objects should be counted.
+     *
+     * @return The number of live objects owned by the given owner.
+     */
+    public synchronized int getLiveCount(Object owner){
+        int count = 0;
+
+
+        for(Resource resource : this.__resources.values()){
+            if(resource.get() == owner){
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the number of objects which have been released, but not yet deleted.
+     *
+     * @return The number of objects waiting to be deleted.
+     */
+    public int getPendingDeletionCount(){
+        return this.__pending_deletions.size();
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Deletes every object which has been released, or whose owner has been garbage collected, since this was last called.  This must be called on the GL thread.
+     *
+     * @param gl GL instance the objects were created with.
+     *
+     * @return The number of objects which were deleted.
+     */
+    public int processDeletions(GL2 gl){
+        final List<Resource> resources = new ArrayList<Resource>();
+
+        Reference<? extends Object> collected = null;
+        Resource                    resource = null;
+        int                         leaked_count = 0;
+        int[]                       names = null;
+        int                         name_count = 0;
+
+
+        synchronized(this){
+            while((collected = this.__collected_owners.poll()) != null){
+                resource = (Resource)collected;
+                if(this.__unregister(resource)){
+                    this.__pending_deletions.add(resource);
+                    leaked_count++;
+                }
+            }
+            this.__leaked_count += leaked_count;
+        }
+        if(leaked_count > 0){
+            Log.logEvent(Log.Type.WARNING,leaked_count + " GL objects, the last being a " + resource.type + " owned by a " + resource.description + ", were never released, and will be deleted now that their owners have been garbage collected.");
+        }
+
+        while((resource = this.__pending_deletions.poll()) != null){
+            resources.add(resource);
+        }
+        if(resources.isEmpty()){
+            return 0;
+        }
+
+        names = new int[resources.size()];
+        for(ResourceType type : ResourceType.values()){
+            name_count = 0;
+            for(int index = 0,end_index = resources.size() - 1;index <= end_index;index++){
+                if(resources.get(index).type == type){
+                    names[name_count] = resources.get(index).name;
+                    name_count++;
+                }
+            }
+            if(name_count == 0){
+                continue;
+            }
+
+            switch(type){
+                case BUFFER:
+                    gl.glDeleteBuffers(name_count,names,0);
+                    break;
+                case DISPLAY_LIST:
+                    for(int index = 0;index < name_count;index++){
+                        gl.glDeleteLists(names[index],1);
+                    }
+                    break;
+                case QUERY:
+                    gl.glDeleteQueries(name_count,names,0);
+                    break;
+                case TEXTURE:
+                    gl.glDeleteTextures(name_count,names,0);
+                    break;
+                case VERTEX_ARRAY:
+                    gl.glDeleteVertexArrays(name_count,names,0);
+                    break;
+            }
+        }
+
+        synchronized(this){
+            this.__deleted_count += resources.size();
+        }
+
+        return resources.size();
+    }
+
+    /**
+     * Starts tracking a newly created object.
+     *
+     * @param type Type of the object.
+     * @param name Name GL gave the object.
+     * @param owner Object responsible for releasing the GL object.
+     */
+    public synchronized void register(ResourceType type,int name,Object owner){
+        Resource replaced = null;
+
+
+        /*Begin Parameter Verification*/
+        if(owner == null){
+            throw new IllegalArgumentException("Argument 'owner' must not be null.");
+        }
+        /*End Parameter Verification*/
+
+        replaced = this.__resources.put(StrixaResourceManager.__getKey(type,name),new Resource(type,name,owner,this.__collected_owners));
+        if(replaced != null){
+            this.__live_counts[type.ordinal()]--;
+            this.__live_bytes[type.ordinal()] -= replaced.bytes;
+            replaced.clear();
+        }
+        this.__live_counts[type.ordinal()]++;
+    }
+
+    /**
+     * Releases an object, which will be deleted the next time {@link StrixaResourceManager#processDeletions(GL2)} is called.  This may be called from any thread.  Objects which aren't being tracked are ignored.
+     *
+     * @param type Type of the object.
+     * @param name Name GL gave the object.
+     */
+    public synchronized void release(ResourceType type,int name){
+        final Resource resource = this.__resources.get(StrixaResourceManager.__getKey(type,name));
+
+
+        if(resource != null && this.__unregister(resource)){
+            resource.clear();
+            this.__pending_deletions.add(resource);
+        }
+    }
+
+    /**
+     * Releases every object owned by the given owner.
+     *
+     * @param owner Owner whose objects should be released.
+     */
+    public synchronized void release(Object owner){
+        final List<Resource> owned = new ArrayList<Resource>();
+
+
+        for(Resource resource : this.__resources.values()){
+            if(resource.get() == owner){
+                owned.add(resource);
+            }
+        }
+        for(int index = 0,end_index = owned.size() - 1;index <= end_index;index++){
+            this.release(owned.get(index).type,owned.get(index).name);
+        }
+    }
+
+    /**
+     * Sets the approximate number of bytes used by an object, such as after new data has been uploaded to a buffer.
+     *
+     * @param type Type of the object.
+     * @param name Name GL gave the object.
+     * @param bytes Approximate number of bytes the object uses.
+     */
+    public synchronized void setSize(ResourceType type,int name,long bytes){
+        final Resource resource = this.__resources.get(StrixaResourceManager.__getKey(type,name));
+
+
+        if(resource != null){
+            this.__live_bytes[type.ordinal()] += bytes - resource.bytes;
+            resource.bytes = bytes;
+        }
+    }
+
+    /**
+     * Stops tracking the given object, returning false if it had already stopped being tracked.
+     */
+    private boolean __unregister(Resource resource){
+        final long key = StrixaResourceManager.__getKey(resource.type,resource.name);
+
+
+        if(this.__resources.get(key) != resource){
+            return false;
+        }
+
+        this.__resources.remove(key);
+        this.__live_counts[resource.type.ordinal()]--;
+        this.__live_bytes[resource.type.ordinal()] -= resource.bytes;
+
+        return true;
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Gets the manager used by this library.
+     *
+     * @return The manager used by this library.
+     */
+    public static StrixaResourceManager getInstance(){
+        return StrixaResourceManager.__instance;
+    }
+
+    /**
+     * Gets the manager which tracks the objects of the given context.
+     *
+     * @param context Context the objects belong to.
+     *
+     * @return The manager the context has been given, or the manager used by this library if it hasn't been given one, as with every {@link StrixaGLCanvas}.
+     */
+    public static StrixaResourceManager getInstance(GLContext context){
+        StrixaResourceManager manager = null;
+
+
+        synchronized(StrixaResourceManager.__context_instances){
+            manager = StrixaResourceManager.__context_instances.get(context);
+        }
+
+        return manager == null ? StrixaResourceManager.__instance : manager;
+    }
+
+    /**
+     * Gives a context which shares no objects with any canvas a manager of its own.
+     *
+     * @param context Context to give the manager to.
+     * @param manager Manager to track the context's objects with, or null to go back to the manager used by this library.
+     */
+    static void setInstance(GLContext context,StrixaResourceManager manager){
+        synchronized(StrixaResourceManager.__context_instances){
+            if(manager == null){
+                StrixaResourceManager.__context_instances.remove(context);
+            }else{
+                StrixaResourceManager.__context_instances.put(context,manager);
+            }
+        }
+    }
+
+    private static long __getKey(ResourceType type,int name){
+        return (long)type.ordinal() << 32 | (name & 0xFFFFFFFFL);
+    }
+    /*End Static Methods*/
+}
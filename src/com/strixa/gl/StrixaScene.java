@@ -0,0 +1,232 @@
+/**
+ * File:  StrixaScene.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Holds the elements a canvas draws, and lets any thread change them without waiting on the thread which draws.<br />
+ * Changes are collected into batches, which may be built on any thread and are queued without locking when they're submitted.  The thread which draws applies every queued batch at the start of each frame, in the order they were submitted, and then publishes a new immutable list of the elements.  The list it draws from therefore never changes while it's drawing, and a batch is either entirely applied or not applied at all.<br />
+ * An element is only ever held once, and is compared by identity.  Adding an element which is already held, or removing one which isn't, does nothing.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaScene<T>{
+    /**
+     * A set of changes which are applied to a scene together.  A batch may be built on any thread, but shouldn't be changed once it has been submitted.
+     *
+     * @author Nicholas Rog
+     */
+    public static class Batch<T>{
+        private final List<Object>  __elements = new ArrayList<Object>();
+        private final List<Boolean> __removals = new ArrayList<Boolean>();
+
+
+        /*Begin Other Methods*/
+        /**
+         * Adds an element to the scene when this batch is applied.
+         *
+         * @param element Element to add.
+         *
+         * @return This batch.
+         *
+         * @throws IllegalArgumentException Thrown if 'element' is null.
+         */
+        public Batch<T> add(T element){
+            /*Begin Parameter Verification*/
+            if(element == null){
+                throw new IllegalArgumentException("Argument 'element' must not be null.");
+            }
+            /*End Parameter Verification*/
+
+            this.__elements.add(element);
+            this.__removals.add(Boolean.FALSE);
+
+            return this;
+        }
+
+        /**
+         * Removes an element from the scene when this batch is applied.
+         *
+         * @param element Element to remove.
+         *
+         * @return This batch.
+         *
+         * @throws IllegalArgumentException Thrown if 'element' is null.
+         */
+        public Batch<T> remove(Object element){
+            /*Begin Parameter Verification*/
+            if(element == null){
+                throw new IllegalArgumentException("Argument 'element' must not be null.");
+            }
+            /*End Parameter Verification*/
+
+            this.__elements.add(element);
+            this.__removals.add(Boolean.TRUE);
+
+            return this;
+        }
+        /*End Other Methods*/
+    }
+
+    /**
+     * Notified of the elements added to and removed from a scene when its queued batches are applied.
+     *
+     * @author Nicholas Rog
+     */
+    public interface ChangeListener<T>{
+        /**
+         * Called once for each element which was added by the applied batches.
+         *
+         * @param element Element which was added.
+         */
+        public void onElementAdded(T element);
+
+        /**
+         * Called once for each element which was removed by the applied batches, before any elements are added.
+         *
+         * @param element Element which was removed.
+         */
+        public void onElementRemoved(T element);
+    }
+
+    private final Set<Object>                   __elements = Collections.newSetFromMap(new IdentityHashMap<Object,Boolean>());
+    private final ConcurrentLinkedQueue<Batch<T>> __pending_batches = new ConcurrentLinkedQueue<Batch<T>>();
+
+    private volatile List<T> __snapshot = Collections.emptyList();
+
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the elements as of the last time queued batches were applied.  The list never changes, and may be read from any thread.
+     *
+     * @return An unmodifiable list of the elements, in the order they were added.
+     */
+    public List<T> getElements(){
+        return this.__snapshot;
+    }
+
+    /**
+     * Gets whether or not there are batches waiting to be applied.
+     *
+     * @return True if there are batches waiting to be applied.
+     */
+    public boolean hasPendingChanges(){
+        return !this.__pending_batches.isEmpty();
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Queues a single element to be added.
+     *
+     * @param element Element to add.
+     *
+     * @throws IllegalArgumentException Thrown if 'element' is null.
+     */
+    public void add(T element){
+        this.submit(new Batch<T>().add(element));
+    }
+
+    /**
+     * Applies every queued batch, in the order they were submitted, and publishes the resulting list of elements.  This is called by the thread which draws, at the start of each frame.
+     *
+     * @param listener Listener to notify of each element which was added or removed, or null if none should be notified.
+     *
+     * @return True if any elements were added or removed.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized boolean applyChanges(ChangeListener<T> listener){
+        final Map<Object,Boolean> added = new IdentityHashMap<Object,Boolean>();
+        final List<Object>        added_order = new ArrayList<Object>();
+        final List<T>             added_elements = new ArrayList<T>();
+        final Set<Object>         removed = Collections.newSetFromMap(new IdentityHashMap<Object,Boolean>());
+        final List<T>             snapshot = this.__snapshot;
+
+        List<T>  elements = null;
+        Batch<T> batch = null;
+        Object   element = null;
+
+
+        while((batch = this.__pending_batches.poll()) != null){
+            for(int index = 0,end_index = batch.__elements.size() - 1;index <= end_index;index++){
+                element = batch.__elements.get(index);
+                if(batch.__removals.get(index)){
+                    if(this.__elements.remove(element) && added.remove(element) == null){
+                        removed.add(element);
+                    }
+                }else if(this.__elements.add(element)){
+                    added.put(element,Boolean.TRUE);
+                    added_order.add(element);
+                }
+            }
+        }
+
+        if(added.isEmpty() && removed.isEmpty()){
+            return false;
+        }
+
+        elements = new ArrayList<T>(snapshot.size() + added.size());
+        for(int index = 0,end_index = snapshot.size() - 1;index <= end_index;index++){
+            if(!removed.contains(snapshot.get(index))){
+                elements.add(snapshot.get(index));
+            }
+        }
+        for(int index = 0,end_index = added_order.size() - 1;index <= end_index;index++){
+            /*An element added and then removed again within the same frame is skipped entirely, and one added again after that is only added once.*/
+            if(added.remove(added_order.get(index)) != null){
+                added_elements.add((T)added_order.get(index));
+            }
+        }
+        elements.addAll(added_elements);
+        this.__snapshot = Collections.unmodifiableList(elements);
+
+        if(listener != null){
+            for(Object removed_element : removed){
+                listener.onElementRemoved((T)removed_element);
+            }
+            for(int index = 0,end_index = added_elements.size() - 1;index <= end_index;index++){
+                listener.onElementAdded(added_elements.get(index));
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Queues a single element to be removed.
+     *
+     * @param element Element to remove.
+     *
+     * @throws IllegalArgumentException Thrown if 'element' is null.
+     */
+    public void remove(Object element){
+        this.submit(new Batch<T>().remove(element));
+    }
+
+    /**
+     * Queues a batch of changes, to be applied at the start of the next frame.  This never blocks, and may be called from any thread.
+     *
+     * @param batch Batch to apply.
+     *
+     * @throws IllegalArgumentException Thrown if 'batch' is null.
+     */
+    public void submit(Batch<T> batch){
+        /*Begin Parameter Verification*/
+        if(batch == null){
+            throw new IllegalArgumentException("Argument 'batch' must not be null.");
+        }
+        /*End Parameter Verification*/
+
+        this.__pending_batches.add(batch);
+    }
+    /*End Other Methods*/
+}
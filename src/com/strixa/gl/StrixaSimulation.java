@@ -0,0 +1,247 @@
+/**
+ * File:  StrixaSimulation.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.util.concurrent.locks.LockSupport;
+
+import com.strixa.util.Log;
+import com.strixa.util.TripleBuffer;
+
+/**
+ * Runs game logic on its own thread at a fixed tick rate, independently of how quickly frames are drawn.<br />
+ * Each tick takes the state produced by the previous tick and produces the next one.  States are handed to the thread which draws, so they must never be modified once a tick has returned them; a tick should build a new state rather than change the one it was given.  The two most recent states are passed to the drawing thread through a {@link TripleBuffer}, so neither thread ever waits on the other, and each frame presents the scene somewhere between them, according to how far the frame falls between the ticks which produced them.  The scene therefore trails the simulation by up to a tick, in exchange for moving smoothly at any frame rate.<br />
+ * A simulation is presented by a {@link StrixaGLCanvas} it has been given with {@link StrixaGLCanvas#setSimulation(StrixaSimulation)}, in place of the canvas' own game logic.
+ *
+ * @author Nicholas Rog
+ */
+public abstract class StrixaSimulation<S>{
+    /**
+     * The two most recent states, and the time at which the most recent one was due.
+     */
+    private static class Snapshot<S>{
+        public S    current;
+        public long current_time;
+        public S    previous;
+    }
+
+    /** Most ticks which will be run back to back to catch up after the simulation falls behind.  Any further ticks it's behind by are skipped, so the simulation slows down instead of falling further behind. */
+    public static final int MAXIMUM_CATCH_UP_TICKS = 5;
+
+    private final TripleBuffer<Snapshot<S>> __snapshots;
+    private final long                      __tick_length;
+
+    private S                __state;
+    private volatile Thread  __thread;
+    private volatile long    __tick_count;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs a simulation which runs at the given rate.
+     *
+     * @param tick_rate Number of ticks to run each second.
+     * @param initial_state State to present until the first tick, which the first tick is given.
+     *
+     * @throws IllegalArgumentException Thrown if 'tick_rate' is not positive, or if 'initial_state' is null.
+     */
+    public StrixaSimulation(double tick_rate,S initial_state){
+        final Snapshot<S>[] snapshots = this.__createSnapshots(3);
+
+
+        /*Begin Parameter Verification*/
+        if(!(tick_rate > 0)){
+            throw new IllegalArgumentException("Argument 'tick_rate' must be greater than 0.");
+        }
+
+        if(initial_state == null){
+            throw new IllegalArgumentException("Argument 'initial_state' must not be null.");
+        }
+        /*End Parameter Verification*/
+
+        for(int index = 0,end_index = snapshots.length - 1;index <= end_index;index++){
+            snapshots[index] = new Snapshot<S>();
+            snapshots[index].current = initial_state;
+            snapshots[index].previous = initial_state;
+        }
+
+        this.__snapshots = new TripleBuffer<Snapshot<S>>(snapshots[0],snapshots[1],snapshots[2]);
+        this.__state = initial_state;
+        this.__tick_length = Math.max(1,Math.round(1000000000 / tick_rate));
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the number of ticks which have been run.
+     *
+     * @return The number of ticks which have been run.
+     */
+    public long getTickCount(){
+        return this.__tick_count;
+    }
+
+    /**
+     * Gets the amount of simulated time each tick covers.
+     *
+     * @return The amount of simulated time each tick covers, in seconds.
+     */
+    public double getTickLength(){
+        return this.__tick_length / 1000000000.0;
+    }
+
+    /**
+     * Gets whether or not this simulation's thread is running.
+     *
+     * @return True if this simulation's thread is running, or false if it hasn't been started, has been stopped, or stopped after a tick failed.
+     */
+    public boolean isRunning(){
+        return this.__thread != null;
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    @SuppressWarnings("unchecked")
+    private Snapshot<S>[] __createSnapshots(int count){
+        return (Snapshot<S>[])new Snapshot<?>[count];
+    }
+
+    /**
+     * Presents the scene as it should appear between the two given states.  This is called on the thread which draws, once before each frame is drawn, and should move the scene's elements to where they should be drawn.
+     *
+     * @param previous State produced by the tick before the one which produced 'current'.
+     * @param current Most recent state.
+     * @param alpha How far between the states the frame falls, from 0, where the frame should look like 'previous', to 1, where it should look like 'current'.
+     */
+    protected abstract void _present(S previous,S current,double alpha);
+
+    /**
+     * Presents the scene between the two most recent states.  This must be called from the thread which draws, and is called by a {@link StrixaGLCanvas} which has been given this simulation before each frame.
+     */
+    public void present(){
+        final Snapshot<S> snapshot;
+        final long        time = System.nanoTime();
+
+        double alpha = 1;
+
+
+        this.__snapshots.update();
+        snapshot = this.__snapshots.getReadBuffer();
+        if(snapshot.current != snapshot.previous){
+            alpha = Math.max(0,Math.min(1,(double)(time - snapshot.current_time) / this.__tick_length));
+        }
+
+        this._present(snapshot.previous,snapshot.current,alpha);
+    }
+
+    private void __run(){
+        final Thread thread = Thread.currentThread();
+        final double tick_length = this.getTickLength();
+
+        long        next_tick_time = System.nanoTime() + this.__tick_length;
+        S           next_state = null;
+        Snapshot<S> snapshot = null;
+        long        time = 0;
+
+
+        while(this.__thread == thread && !thread.isInterrupted()){
+            time = System.nanoTime();
+            if(time - next_tick_time < 0){
+                LockSupport.parkNanos(next_tick_time - time);
+
+                continue;
+            }
+
+            if(time - next_tick_time > StrixaSimulation.MAXIMUM_CATCH_UP_TICKS * this.__tick_length){
+                next_tick_time = time;
+            }
+
+            try{
+                next_state = this._tick(this.__state,tick_length);
+                if(next_state == null){
+                    throw new IllegalStateException("Ticks must not produce a null state.");
+                }
+            }catch(RuntimeException e){
+                Log.logEvent(Log.Type.ERROR,"Simulation tick " + this.__tick_count + " failed, and the simulation has stopped:  " + e);
+
+                break;
+            }
+
+            snapshot = this.__snapshots.getWriteBuffer();
+            snapshot.current = next_state;
+            snapshot.current_time = next_tick_time;
+            snapshot.previous = this.__state;
+            this.__snapshots.publish();
+
+            this.__state = next_state;
+            this.__tick_count++;
+            next_tick_time += this.__tick_length;
+        }
+
+        synchronized(this){
+            if(this.__thread == thread){
+                this.__thread = null;
+            }
+        }
+    }
+
+    /**
+     * Starts running ticks on this simulation's own thread.  The first tick is run one tick length from now.
+     *
+     * @throws IllegalStateException Thrown if this simulation is already running.
+     */
+    public synchronized void start(){
+        final Thread thread;
+
+
+        if(this.__thread != null){
+            throw new IllegalStateException("This simulation is already running.");
+        }
+
+        thread = new Thread(new Runnable(){
+            public void run(){
+                StrixaSimulation.this.__run();
+            }
+        },"StrixaSimulation thread");
+        thread.setDaemon(true);
+
+        this.__thread = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops running ticks, and waits for the tick in progress, if any, to finish.  The most recent state continues to be presented.  The simulation may be started again afterwards, and carries on from the most recent state.
+     */
+    public void stop(){
+        final Thread thread;
+
+
+        synchronized(this){
+            thread = this.__thread;
+            this.__thread = null;
+        }
+
+        if(thread == null || thread == Thread.currentThread()){
+            return;
+        }
+
+        LockSupport.unpark(thread);
+        try{
+            thread.join();
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs a single tick.  This is called on this simulation's own thread.
+     *
+     * @param state State produced by the previous tick, which must not be modified.
+     * @param tick_length Amount of simulated time the tick covers, in seconds.
+     *
+     * @return The state at the end of the tick.  This must be a new object, unless nothing changed during the tick, and must not be modified once it has been returned.
+     */
+    protected abstract S _tick(S state,double tick_length);
+    /*End Other Methods*/
+}
@@ -0,0 +1,384 @@
+/**
+ * File:  StrixaStaticGeometry.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.strixa.gl.properties.Cuboid;
+import com.strixa.gl.util.BoundingBoxUpdateListener;
+import com.strixa.gl.util.Vertex;
+import com.strixa.util.Point3D;
+
+/**
+ * Merges static elements into a small number of large batches, so that thousands of small pieces of level geometry can be drawn with a handful of draw calls.<br />
+ * Space is divided into a grid of cubic cells.  Each element is assigned to the cell containing the center of its bounding box when it's added, and the elements in a cell which share a {@link StrixaMaterial} are merged into a single batch.  A batch holds world space copies of its members' components, so it's drawn without any per element matrix changes, and is culled as a whole using the bounds of its members.<br />
+ * A batch is only rebuilt when an element joins or leaves it, or when one of its members is invalidated, moved, rotated, or scaled.  Members' components should therefore rarely change.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaStaticGeometry{
+    /** Default length of each side of a cell. */
+    public static final double DEFAULT_CELL_SIZE = 64;
+
+    /**
+     * Element holding the world space copies of every member's components, for a single cell, material, and occluder setting.
+     */
+    private static class Batch extends Strixa3DElement implements BoundingBoxUpdateListener{
+        private final long                  __cell;
+        private final List<Strixa3DElement> __members = new ArrayList<Strixa3DElement>();
+
+        private boolean __dirty;
+
+
+        /*Begin Constructors*/
+        public Batch(long cell,StrixaMaterial material,boolean occluder){
+            this.__cell = cell;
+            this.setMaterial(material);
+            this.setOccluder(occluder);
+        }
+        /*End Constructors*/
+
+        /*Begin Other Methods*/
+        public void addMember(Strixa3DElement member){
+            this.__members.add(member);
+            member.addBoundingBoxUpdateListener(this);
+            this.__dirty = true;
+        }
+
+        public void onBoundingBoxUpdate(Strixa3DElement element){
+            this.__dirty = true;
+        }
+
+        /**
+         * Replaces this batch's components with world space copies of its members' components, if anything has changed since they were last copied.<br />
+         * This batch is moved to the minimum corner of its members' vertices, and the copies are made relative to that corner, so that its bounding box encloses its members wherever they are.
+         */
+        public void rebuild(){
+            final List<StrixaPolygon> copies = new ArrayList<StrixaPolygon>();
+            final double[]            matrix = new double[16];
+            final double[]            corner = new double[]{Double.MAX_VALUE,Double.MAX_VALUE,Double.MAX_VALUE};
+
+            Strixa3DElement     member = null;
+            List<StrixaPolygon> components = null;
+            List<Vertex>        points = null;
+            Vertex              point = null;
+
+
+            if(!this.__dirty){
+                return;
+            }
+            this.__dirty = false;
+
+            for(int member_index = 0,member_end_index = this.__members.size() - 1;member_index <= member_end_index;member_index++){
+                member = this.__members.get(member_index);
+                components = member.getComponents();
+
+                member._getModelMatrix(matrix);
+                for(int component_index = 0,component_end_index = components.size() - 1;component_index <= component_end_index;component_index++){
+                    copies.add(StrixaStaticGeometry.__copyToWorld(components.get(component_index),matrix,corner));
+                }
+            }
+
+            if(copies.isEmpty()){
+                corner[0] = corner[1] = corner[2] = 0;
+            }
+            for(int copy_index = 0,copy_end_index = copies.size() - 1;copy_index <= copy_end_index;copy_index++){
+                points = copies.get(copy_index).getPoints();
+                for(int point_index = 0,point_end_index = points.size() - 1;point_index <= point_end_index;point_index++){
+                    point = points.get(point_index);
+                    point.setData(point.getX() - corner[0],point.getY() - corner[1],point.getZ() - corner[2],point.getWeight());
+                }
+                copies.get(copy_index).invalidate();
+            }
+
+            this.beginUpdate();
+            this.setCoordinates(corner[0],corner[1],corner[2]);
+            this.getComponents().clear();
+            this.addComponents(copies);
+            this.endUpdate();
+        }
+
+        public void removeMember(Strixa3DElement member){
+            this.__members.remove(member);
+            member.removeBoundingBoxUpdateListener(this);
+            this.__dirty = true;
+        }
+        /*End Other Methods*/
+    }
+
+    private final List<Batch>                 __batches = new ArrayList<Batch>();
+    private final Map<Long,List<Batch>>       __cells = new HashMap<Long,List<Batch>>();
+    private final Map<Strixa3DElement,Batch>  __members = new IdentityHashMap<Strixa3DElement,Batch>();
+    private final double                      __cell_size;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs an empty set of static geometry using the default cell size.
+     */
+    public StrixaStaticGeometry(){
+        this(StrixaStaticGeometry.DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructs an empty set of static geometry.
+     *
+     * @param cell_size Length of each side of a cell.  Larger cells mean fewer draw calls, but coarser culling.
+     */
+    public StrixaStaticGeometry(double cell_size){
+        /*Begin Parameter Verification*/
+        if(!(cell_size > 0) || Double.isInfinite(cell_size)){
+            throw new IllegalArgumentException("Argument 'cell_size' must be a finite number greater than 0.");
+        }
+        /*End Parameter Verification*/
+
+        this.__cell_size = cell_size;
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the number of batches the members are currently merged into.  This is the most draw calls the members can take.
+     *
+     * @return The number of batches.
+     */
+    public int getBatchCount(){
+        return this.__batches.size();
+    }
+
+    /**
+     * Gets the length of each side of a cell.
+     *
+     * @return The length of each side of a cell.
+     */
+    public double getCellSize(){
+        return this.__cell_size;
+    }
+
+    /**
+     * Gets the number of elements which are currently merged into batches.
+     *
+     * @return The number of members.
+     */
+    public int getMemberCount(){
+        return this.__members.size();
+    }
+
+    /**
+     * Adds each batch which is visible in the given context to the given list, rebuilding any batch whose members have changed first.  Batches are drawn like any other element, positioned at the minimum corner of their members, but have no transform of their own.
+     *
+     * @param context Context whose view frustum, or viewable area, the batches should be tested against.
+     * @param results List the visible batches will be added to.
+     */
+    public void getVisibleBatches(StrixaGLContext context,List<Strixa3DElement> results){
+        Batch batch = null;
+
+
+        for(int index = 0,end_index = this.__batches.size() - 1;index <= end_index;index++){
+            batch = this.__batches.get(index);
+
+            batch.rebuild();
+            if(batch.isVisible(context)){
+                results.add(batch);
+            }
+        }
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Merges the given element into the batch for its cell and material.  If it's already a member, nothing is changed.
+     *
+     * @param element Element to be merged.
+     */
+    public void add(Strixa3DElement element){
+        final Cuboid          bounding_box = element.getBoundingBox();
+        final Point3D<Double> corner = bounding_box.getCoordinates();
+        final long            cell = StrixaStaticGeometry.__getCellKey(
+            (long)Math.floor((corner.getX() + bounding_box.getWidth()/2)/this.__cell_size),
+            (long)Math.floor((corner.getY() + bounding_box.getHeight()/2)/this.__cell_size),
+            (long)Math.floor((corner.getZ() + bounding_box.getDepth()/2)/this.__cell_size)
+        );
+
+        List<Batch> cell_batches = null;
+        Batch       batch = null;
+
+
+        if(this.__members.containsKey(element)){
+            return;
+        }
+
+        cell_batches = this.__cells.get(cell);
+        if(cell_batches == null){
+            cell_batches = new ArrayList<Batch>();
+            this.__cells.put(cell,cell_batches);
+        }
+        for(int index = 0,end_index = cell_batches.size() - 1;index <= end_index;index++){
+            if(cell_batches.get(index).getMaterial() == element.getMaterial() && cell_batches.get(index).isOccluder() == element.isOccluder()){
+                batch = cell_batches.get(index);
+
+                break;
+            }
+        }
+        if(batch == null){
+            batch = new Batch(cell,element.getMaterial(),element.isOccluder());
+            cell_batches.add(batch);
+            this.__batches.add(batch);
+        }
+
+        batch.addMember(element);
+        this.__members.put(element,batch);
+    }
+
+    /**
+     * Removes every element from its batch, and discards every batch.
+     */
+    public void clear(){
+        for(int index = 0,end_index = this.__batches.size() - 1;index <= end_index;index++){
+            for(int member_index = this.__batches.get(index).__members.size() - 1;member_index >= 0;member_index--){
+                this.__batches.get(index).removeMember(this.__batches.get(index).__members.get(member_index));
+            }
+            this.__batches.get(index).dispose();
+        }
+        
+        this.__batches.clear();
+        this.__cells.clear();
+        this.__members.clear();
+    }
+
+    /**
+     * Boolean check to determine whether the given element is currently merged into a batch.
+     *
+     * @param element Element to check.
+     *
+     * @return Returns true if the element is a member, and false, otherwise.
+     */
+    public boolean contains(Strixa3DElement element){
+        return this.__members.containsKey(element);
+    }
+
+    /**
+     * Removes the given element from its batch.  A batch left without any members is discarded.
+     *
+     * @param element Element to be removed.
+     */
+    public void remove(Strixa3DElement element){
+        final Batch batch = this.__members.remove(element);
+
+        List<Batch> cell_batches = null;
+
+
+        if(batch == null){
+            return;
+        }
+
+        batch.removeMember(element);
+        if(batch.__members.isEmpty()){
+            cell_batches = this.__cells.get(batch.__cell);
+            cell_batches.remove(batch);
+            if(cell_batches.isEmpty()){
+                this.__cells.remove(batch.__cell);
+            }
+            this.__batches.remove(batch);
+            batch.dispose();
+        }
+    }
+
+    /**
+     * Brings the given element's membership up to date with its flags.  The element is merged if it's static and visible, removed if it isn't, and moved to another batch if its material or occluder setting no longer matches its batch's.
+     *
+     * @param element Element to update.
+     */
+    public void update(Strixa3DElement element){
+        final Batch   batch = this.__members.get(element);
+        final boolean batched = element.isStatic() && element.isVisible();
+
+
+        if(batch != null){
+            if(batched && batch.getMaterial() == element.getMaterial() && batch.isOccluder() == element.isOccluder()){
+                return;
+            }
+
+            this.remove(element);
+        }
+
+        if(batched){
+            this.add(element);
+        }
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Copies a polygon into world space, using the model matrix of the element it belongs to.  Normals are rotated with the polygon, and scaled back to unit length.  The given corner is lowered to include every copied point.
+     */
+    private static StrixaPolygon __copyToWorld(StrixaPolygon polygon,double[] matrix,double[] corner){
+        final Point3D<Double> offset = polygon.getCoordinates();
+        final List<Vertex>    points = polygon.getPoints();
+        final List<Vertex>    texture_points = polygon.getTexturePoints();
+        final StrixaPolygon   copy = new StrixaPolygon();
+
+        Vertex          point = null;
+        Vertex          copied_point = null;
+        Point3D<Double> normal = null;
+        float[]         color = null;
+        double          x = 0;
+        double          y = 0;
+        double          z = 0;
+        double          length = 0;
+
+
+        copy.beginUpdate();
+        for(int point_index = 0,point_end_index = points.size() - 1;point_index <= point_end_index;point_index++){
+            point = points.get(point_index);
+            color = point.getColor();
+            x = point.getX() + offset.getX();
+            y = point.getY() + offset.getY();
+            z = point.getZ() + offset.getZ();
+
+            copied_point = new Vertex(
+                matrix[0]*x + matrix[4]*y + matrix[8]*z + matrix[12],
+                matrix[1]*x + matrix[5]*y + matrix[9]*z + matrix[13],
+                matrix[2]*x + matrix[6]*y + matrix[10]*z + matrix[14],
+                point.getWeight()
+            );
+            copied_point.setColor(color[0],color[1],color[2]);
+            corner[0] = Math.min(corner[0],copied_point.getX());
+            corner[1] = Math.min(corner[1],copied_point.getY());
+            corner[2] = Math.min(corner[2],copied_point.getZ());
+
+            normal = point.getNormal();
+            if(normal != null){
+                x = matrix[0]*normal.getX() + matrix[4]*normal.getY() + matrix[8]*normal.getZ();
+                y = matrix[1]*normal.getX() + matrix[5]*normal.getY() + matrix[9]*normal.getZ();
+                z = matrix[2]*normal.getX() + matrix[6]*normal.getY() + matrix[10]*normal.getZ();
+                length = Math.sqrt(x*x + y*y + z*z);
+                if(length > 0){
+                    copied_point.setNormal(new Point3D<Double>(x/length,y/length,z/length));
+                }
+            }
+
+            copy.addPoint(copied_point);
+        }
+        for(int point_index = 0,point_end_index = texture_points.size() - 1;point_index <= point_end_index;point_index++){
+            copy.addTexturePoint(new Vertex(texture_points.get(point_index)));
+        }
+        copy.endUpdate();
+
+        return copy;
+    }
+
+    /**
+     * Packs a cell's coordinates into a single key, using 21 bits for each axis.
+     */
+    private static long __getCellKey(long x,long y,long z){
+        return (x & 0x1FFFFF) << 42 | (y & 0x1FFFFF) << 21 | (z & 0x1FFFFF);
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,564 @@
+/**
+ * File:  StrixaTextureAtlas.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.imageio.ImageIO;
+import javax.media.opengl.GL2;
+import javax.media.opengl.GLContext;
+import javax.media.opengl.GLException;
+
+import com.jogamp.opengl.util.texture.Texture;
+import com.jogamp.opengl.util.texture.awt.AWTTextureIO;
+import com.strixa.gl.util.Vertex;
+import com.strixa.util.Log;
+
+/**
+ * Combines the small textures of many materials into a few large pages, so that elements which use different materials can be drawn without binding a new texture for each one.<br />
+ * Textures are packed into square pages using the skyline bottom-left method.  Each texture is surrounded by a gutter of padding pixels copied from its own edges, and every texture starts on a multiple of four pixels, so neither filtering nor the first few mip levels blend neighbouring textures together.  Each page is sampled the way its materials ask to be, so materials are only packed onto the same page when their {@link StrixaMaterial.Filtering} and anisotropy match.<br />
+ * Once a material's texture has been packed, every element which uses it is given a copy of the material, which has the page as its texture, and its polygons are given copies of their texture coordinates remapped into the material's part of the page.  The original materials and texture coordinates are left alone, so anything else using them is unaffected.  A material is only packed if all of its elements' texture coordinates lie between 0 and 1, as a texture which repeats across a polygon can't share a page.  Instances of a {@link StrixaMesh} are left alone, as their polygons belong to the mesh.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaTextureAtlas{
+    /** Default size of the largest texture which will be packed. */
+    public static final int DEFAULT_MAX_TEXTURE_SIZE = 256;
+    /** Default width of the gutter around each texture. */
+    public static final int DEFAULT_PADDING = 8;
+    /** Default width and height of each page. */
+    public static final int DEFAULT_PAGE_SIZE = 2048;
+
+    private static final int    __ALIGNMENT = 4;
+    private static final double __TEXTURE_COORDINATE_TOLERANCE = .0001;
+
+    /**
+     * A single page of the atlas, along with the skyline describing its free space.  The skyline is stored as a list of {x, y, width} segments ordered from left to right.
+     */
+    private static class Page{
+        public final float                    anisotropy;
+        public final StrixaMaterial.Filtering filtering;
+        public final int[]                    pixels;
+        public final List<int[]>              skyline = new ArrayList<int[]>();
+
+        public int                   height;
+        public StrixaResourceManager resource_manager;
+        public Texture               texture;
+        public int                   texture_name;
+        public int                   used_height;
+
+
+        /*Begin Constructors*/
+        public Page(int size,StrixaMaterial.Filtering filtering,float anisotropy){
+            this.filtering = filtering;
+            this.anisotropy = anisotropy;
+            this.pixels = new int[size*size];
+            this.skyline.add(new int[]{0,0,size});
+        }
+        /*End Constructors*/
+    }
+
+    /**
+     * A material's texture and where it was placed.
+     */
+    private static class Region{
+        public final BufferedImage  image;
+        public final StrixaMaterial material;
+        public final int            packed_height;
+        public final int            packed_width;
+
+        public StrixaMaterial atlas_material;
+        public Page           page;
+        public int            x;
+        public int            y;
+
+
+        /*Begin Constructors*/
+        public Region(StrixaMaterial material,BufferedImage image,int padding){
+            this.material = material;
+            this.image = image;
+            this.packed_width = StrixaTextureAtlas.__align(image.getWidth() + padding*2);
+            this.packed_height = StrixaTextureAtlas.__align(image.getHeight() + padding*2);
+        }
+        /*End Constructors*/
+    }
+
+    private final List<Page>                    __pages = new ArrayList<Page>();
+    private final Map<StrixaMaterial,Region>    __regions = new IdentityHashMap<StrixaMaterial,Region>();
+    private final int                           __max_texture_size;
+    private final int                           __padding;
+    private final int                           __page_size;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs an empty atlas using the default page size, padding, and maximum texture size.
+     */
+    public StrixaTextureAtlas(){
+        this(StrixaTextureAtlas.DEFAULT_PAGE_SIZE,StrixaTextureAtlas.DEFAULT_PADDING,StrixaTextureAtlas.DEFAULT_MAX_TEXTURE_SIZE);
+    }
+
+    /**
+     * Constructs an empty atlas.
+     *
+     * @param page_size Width and height of each page.  This must be a power of two.
+     * @param padding Width of the gutter around each texture.  Textures which will be mipmapped should have a gutter at least as wide as the number of mip levels which should stay clean.
+     * @param max_texture_size Largest width or height a texture may have and still be packed.  Larger textures are left alone.
+     *
+     * @throws IllegalArgumentException Thrown if 'page_size' isn't a power of two, if 'padding' is negative, or if 'max_texture_size' is less than 1.
+     */
+    public StrixaTextureAtlas(int page_size,int padding,int max_texture_size){
+        /*Begin Parameter Verification*/
+        if(page_size < 1 || Integer.bitCount(page_size) != 1){
+            throw new IllegalArgumentException("Argument 'page_size' must be a power of two.");
+        }
+
+        if(padding < 0){
+            throw new IllegalArgumentException("Argument 'padding' must not be negative.");
+        }
+
+        if(max_texture_size < 1){
+            throw new IllegalArgumentException("Argument 'max_texture_size' must be greater than 0.");
+        }
+        /*End Parameter Verification*/
+
+        this.__page_size = page_size;
+        this.__padding = padding;
+        this.__max_texture_size = max_texture_size;
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the copy of the given material which draws from its page, and which the elements using the material were given.
+     *
+     * @param material Material whose copy should be retrieved.
+     *
+     * @return The copy of the material, or null if the material's texture hasn't been packed into this atlas.
+     */
+    public StrixaMaterial getAtlasMaterial(StrixaMaterial material){
+        final Region region = this.__regions.get(material);
+
+
+        return region == null ? null : region.atlas_material;
+    }
+
+    /**
+     * Gets the number of materials whose textures have been packed into this atlas.
+     *
+     * @return The number of packed materials.
+     */
+    public int getMaterialCount(){
+        return this.__regions.size();
+    }
+
+    /**
+     * Gets the number of pages this atlas has.  This is the number of texture binds needed to draw every packed material.
+     *
+     * @return The number of pages.
+     */
+    public int getPageCount(){
+        return this.__pages.size();
+    }
+
+    /**
+     * Gets the part of its page the given material's texture was packed into.
+     *
+     * @param material Material whose part of the page should be retrieved.
+     *
+     * @return The texture coordinates of the part of the page as a four element array containing the U and V coordinates of its corner, followed by its width and height, or null if the material's texture hasn't been packed into this atlas.
+     */
+    public float[] getRegion(StrixaMaterial material){
+        final Region region = this.__regions.get(material);
+
+
+        if(region == null){
+            return null;
+        }
+
+        return new float[]{
+            (float)(region.x + this.__padding)/this.__page_size,
+            (float)(region.y + this.__padding)/region.page.height,
+            (float)region.image.getWidth()/this.__page_size,
+            (float)region.image.getHeight()/region.page.height
+        };
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Packs the textures of the given elements' materials into this atlas, uploads the pages, and gives the elements copies of their materials and remapped texture coordinates.  This must be called from a thread with an active GLContext, and is meant to be called once, while a scene is being loaded.<br />
+     * A material is skipped if its texture is larger than the maximum texture size, if its texture can't be read, or if any of the given elements which use it has a polygon whose texture coordinates are missing or lie outside of 0 to 1.  Elements which aren't given keep drawing with the original material.
+     *
+     * @param elements Elements whose materials should be packed.
+     *
+     * @return The number of materials which were packed.
+     *
+     * @throws IllegalArgumentException Thrown if 'elements' is null.
+     * @throws IllegalStateException Thrown if this atlas has already been built.
+     */
+    public int build(List<Strixa3DElement> elements){
+        final Map<StrixaMaterial,List<Strixa3DElement>> material_elements = new IdentityHashMap<StrixaMaterial,List<Strixa3DElement>>();
+        final List<Region>                              regions = new ArrayList<Region>();
+        final Set<StrixaMaterial>                       rejected_materials = Collections.newSetFromMap(new IdentityHashMap<StrixaMaterial,Boolean>());
+
+        Map<Vertex,Vertex>    remapped_points = null;
+        GL2                   gl = null;
+        Strixa3DElement       element = null;
+        StrixaMaterial        material = null;
+        List<Strixa3DElement> users = null;
+        BufferedImage         image = null;
+        Region                region = null;
+
+
+        /*Begin Parameter Verification*/
+        if(elements == null){
+            throw new IllegalArgumentException("Argument 'elements' must not be null.");
+        }
+        /*End Parameter Verification*/
+
+        if(!this.__pages.isEmpty()){
+            throw new IllegalStateException("This atlas has already been built.");
+        }
+
+        try{
+            gl = GLContext.getCurrentGL().getGL2();
+        }catch(GLException e){
+            throw new RuntimeException("This method must be called from a thread with an active GLContext.");
+        }
+
+        /*Group the elements by material, leaving out any material which can't be packed.*/
+        for(int element_index = 0,element_end_index = elements.size() - 1;element_index <= element_end_index;element_index++){
+            element = elements.get(element_index);
+            material = element.getMaterial();
+            if(element instanceof StrixaMeshInstance || material == null || material.__texture_file_location == null || rejected_materials.contains(material)){
+                continue;
+            }
+
+            if(!StrixaTextureAtlas.__hasUnitTextureCoordinates(element)){
+                rejected_materials.add(material);
+                material_elements.remove(material);
+                continue;
+            }
+
+            users = material_elements.get(material);
+            if(users == null){
+                users = new ArrayList<Strixa3DElement>();
+                material_elements.put(material,users);
+            }
+            users.add(element);
+        }
+
+        for(StrixaMaterial candidate : material_elements.keySet()){
+            try{
+                image = ImageIO.read(new File(candidate.__texture_file_location));
+            }catch(IOException e){
+                image = null;
+            }
+            if(image == null){
+                Log.logEvent(Log.Type.WARNING,"Texture '" + candidate.__texture_file_location + "' could not be read, and will not be added to the atlas.");
+                continue;
+            }
+            if(image.getWidth() > this.__max_texture_size || image.getHeight() > this.__max_texture_size){
+                continue;
+            }
+
+            region = new Region(candidate,image,this.__padding);
+            if(region.packed_width > this.__page_size || region.packed_height > this.__page_size){
+                continue;
+            }
+            regions.add(region);
+        }
+
+        /*Placing the tallest textures first leaves the flattest skyline.*/
+        Collections.sort(regions,new Comparator<Region>(){
+            public int compare(Region region_one,Region region_two){
+                if(region_one.packed_height != region_two.packed_height){
+                    return region_two.packed_height - region_one.packed_height;
+                }
+
+                return region_two.packed_width - region_one.packed_width;
+            }
+        });
+        for(int region_index = 0,region_end_index = regions.size() - 1;region_index <= region_end_index;region_index++){
+            region = regions.get(region_index);
+
+            this.__place(region);
+            this.__copyToPage(region);
+            this.__regions.put(region.material,region);
+        }
+
+        for(int page_index = 0,page_end_index = this.__pages.size() - 1;page_index <= page_end_index;page_index++){
+            this.__upload(gl,this.__pages.get(page_index));
+        }
+
+        for(int region_index = 0,region_end_index = regions.size() - 1;region_index <= region_end_index;region_index++){
+            region = regions.get(region_index);
+            users = material_elements.get(region.material);
+
+            /*The copy mustn't load the original texture over the page, so it's left without a file.*/
+            region.atlas_material = new StrixaMaterial(region.material);
+            region.atlas_material.__texture_file_location = null;
+            region.atlas_material.setTexture(region.page.texture);
+
+            /*Each region has its own remapped points, since a point shared with another region's elements belongs in a different part of the page.*/
+            remapped_points = new IdentityHashMap<Vertex,Vertex>();
+            for(int element_index = 0,element_end_index = users.size() - 1;element_index <= element_end_index;element_index++){
+                this.__remap(users.get(element_index),region,remapped_points);
+                users.get(element_index).setMaterial(region.atlas_material);
+            }
+        }
+
+        return regions.size();
+    }
+
+    /**
+     * Copies the region's texture, and the gutter around it, into its page.
+     */
+    private void __copyToPage(Region region){
+        final BufferedImage image = region.image;
+        final int           width = image.getWidth();
+        final int           height = image.getHeight();
+        final int[]         source = image.getRGB(0,0,width,height,null,0,width);
+        final int[]         pixels = region.page.pixels;
+        final int           padding = this.__padding;
+
+        int row = 0;
+        int row_start = 0;
+
+
+        /*The gutter repeats the texture's outermost pixels, so sampling past its edge gives the same color as sampling the edge itself.*/
+        for(int y = -padding,end_y = height + padding - 1;y <= end_y;y++){
+            row = Math.min(Math.max(y,0),height - 1)*width;
+            row_start = (region.y + padding + y)*this.__page_size + region.x + padding;
+
+            for(int x = -padding,end_x = width + padding - 1;x <= end_x;x++){
+                pixels[row_start + x] = source[row + Math.min(Math.max(x,0),width - 1)];
+            }
+        }
+    }
+
+    /**
+     * Releases this atlas' pages to the {@link StrixaResourceManager} of the context they were uploaded in, which deletes them at the start of the next frame.  This may be called from any thread.  The copies of the materials which were packed keep the page as their texture, so elements using them should no longer be drawn.
+     */
+    public void dispose(){
+        Page page = null;
+
+
+        for(int page_index = 0,page_end_index = this.__pages.size() - 1;page_index <= page_end_index;page_index++){
+            page = this.__pages.get(page_index);
+            if(page.texture_name != 0){
+                page.resource_manager.release(StrixaResourceManager.ResourceType.TEXTURE,page.texture_name);
+                page.texture_name = 0;
+            }
+        }
+    }
+
+    /**
+     * Places the region on the first page which is sampled the same way as its material and has room for it, adding a new page if none has room.
+     */
+    private void __place(Region region){
+        final StrixaMaterial.Filtering filtering = region.material.getFiltering();
+        final float                    anisotropy = region.material.getAnisotropy();
+
+        Page page = null;
+
+
+        for(int page_index = 0,page_end_index = this.__pages.size() - 1;page_index <= page_end_index;page_index++){
+            page = this.__pages.get(page_index);
+            if(page.filtering == filtering && page.anisotropy == anisotropy && this.__place(page,region)){
+                return;
+            }
+        }
+
+        page = new Page(this.__page_size,filtering,anisotropy);
+        this.__pages.add(page);
+        this.__place(page,region);
+    }
+
+    /**
+     * Places the region on the given page at the lowest point the skyline allows, preferring the leftmost of equally low points.
+     *
+     * @return True if the region was placed, and false if the page has no room for it.
+     */
+    private boolean __place(Page page,Region region){
+        final List<int[]> skyline = page.skyline;
+
+        int[] segment = null;
+        int   best_index = -1;
+        int   best_y = Integer.MAX_VALUE;
+        int   x = 0;
+        int   y = 0;
+        int   remaining_width = 0;
+        int   right = 0;
+
+
+        for(int segment_index = 0,segment_end_index = skyline.size() - 1;segment_index <= segment_end_index;segment_index++){
+            x = skyline.get(segment_index)[0];
+            if(x + region.packed_width > this.__page_size){
+                break;
+            }
+
+            /*The region rests on the highest segment it spans.*/
+            y = 0;
+            remaining_width = region.packed_width;
+            for(int span_index = segment_index;remaining_width > 0;span_index++){
+                segment = skyline.get(span_index);
+                y = Math.max(y,segment[1]);
+                remaining_width -= segment[2];
+            }
+
+            if(y + region.packed_height <= this.__page_size && y < best_y){
+                best_index = segment_index;
+                best_y = y;
+            }
+        }
+        if(best_index == -1){
+            return false;
+        }
+
+        region.page = page;
+        region.x = skyline.get(best_index)[0];
+        region.y = best_y;
+        page.used_height = Math.max(page.used_height,best_y + region.packed_height);
+
+        /*Raise the skyline under the region, trimming or removing the segments it now covers.*/
+        right = region.x + region.packed_width;
+        skyline.add(best_index,new int[]{region.x,best_y + region.packed_height,region.packed_width});
+        while(best_index + 1 < skyline.size()){
+            segment = skyline.get(best_index + 1);
+            if(segment[0] >= right){
+                break;
+            }
+
+            if(segment[0] + segment[2] <= right){
+                skyline.remove(best_index + 1);
+            }else{
+                segment[2] -= right - segment[0];
+                segment[0] = right;
+                break;
+            }
+        }
+
+        /*Merge neighbouring segments of the same height.*/
+        for(int segment_index = skyline.size() - 1;segment_index >= 1;segment_index--){
+            if(skyline.get(segment_index)[1] == skyline.get(segment_index - 1)[1]){
+                skyline.get(segment_index - 1)[2] += skyline.get(segment_index)[2];
+                skyline.remove(segment_index);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Replaces the texture coordinates of the element's polygons with copies moved into the region.  The original points aren't changed.  Texture points shared by several polygons are only copied once per region, and stay shared.
+     */
+    private void __remap(Strixa3DElement element,Region region,Map<Vertex,Vertex> remapped_points){
+        final float[]             bounds = this.getRegion(region.material);
+        final List<StrixaPolygon> components = element.getComponents();
+
+        List<Vertex> texture_points = null;
+        Vertex       texture_point = null;
+        Vertex       remapped_point = null;
+
+
+        for(int component_index = 0,component_end_index = components.size() - 1;component_index <= component_end_index;component_index++){
+            texture_points = components.get(component_index).getTexturePoints();
+
+            for(int point_index = 0,point_end_index = texture_points.size() - 1;point_index <= point_end_index;point_index++){
+                texture_point = texture_points.get(point_index);
+
+                remapped_point = remapped_points.get(texture_point);
+                if(remapped_point == null){
+                    remapped_point = new Vertex(
+                        bounds[0] + texture_point.getX()*bounds[2],
+                        bounds[1] + texture_point.getY()*bounds[3],
+                        texture_point.getZ(),
+                        texture_point.getWeight()
+                    );
+                    remapped_points.put(texture_point,remapped_point);
+                }
+                texture_points.set(point_index,remapped_point);
+            }
+        }
+
+        element.invalidate();
+    }
+
+    /**
+     * Uploads the page, trimming any unused rows from its bottom while keeping its height a power of two.  The page is given mipmaps, filters, and anisotropy to match the materials packed onto it.
+     */
+    private void __upload(GL2 gl,Page page){
+        BufferedImage image = null;
+
+
+        page.height = 1;
+        while(page.height < page.used_height){
+            page.height <<= 1;
+        }
+
+        image = new BufferedImage(this.__page_size,page.height,BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0,0,this.__page_size,page.height,page.pixels,0,this.__page_size);
+
+        page.texture = AWTTextureIO.newTexture(gl.getGLProfile(),image,page.filtering.__mipmapped);
+        StrixaTextureCache.applySampling(gl,page.texture,page.filtering.__min_filter,page.filtering.__mag_filter,page.anisotropy);
+
+        page.texture_name = page.texture.getTextureObject(gl);
+        page.resource_manager = StrixaResourceManager.getInstance(gl.getContext());
+        page.resource_manager.register(StrixaResourceManager.ResourceType.TEXTURE,page.texture_name,this);
+        page.resource_manager.setSize(StrixaResourceManager.ResourceType.TEXTURE,page.texture_name,page.texture.getEstimatedMemorySize());
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    private static int __align(int size){
+        return (size + StrixaTextureAtlas.__ALIGNMENT - 1)/StrixaTextureAtlas.__ALIGNMENT*StrixaTextureAtlas.__ALIGNMENT;
+    }
+
+    /**
+     * Checks that every one of the element's polygons has a texture coordinate for each of its points, and that they all lie between 0 and 1.
+     */
+    private static boolean __hasUnitTextureCoordinates(Strixa3DElement element){
+        final List<StrixaPolygon> components = element.getComponents();
+        final double              tolerance = StrixaTextureAtlas.__TEXTURE_COORDINATE_TOLERANCE;
+
+        StrixaPolygon component = null;
+        List<Vertex>  texture_points = null;
+        Vertex        texture_point = null;
+
+
+        for(int component_index = 0,component_end_index = components.size() - 1;component_index <= component_end_index;component_index++){
+            component = components.get(component_index);
+            texture_points = component.getTexturePoints();
+            if(texture_points.size() < component.getPoints().size()){
+                return false;
+            }
+
+            for(int point_index = 0,point_end_index = texture_points.size() - 1;point_index <= point_end_index;point_index++){
+                texture_point = texture_points.get(point_index);
+                if(
+                    texture_point.getX() < -tolerance || texture_point.getX() > 1 + tolerance
+                    ||
+                    texture_point.getY() < -tolerance || texture_point.getY() > 1 + tolerance
+                ){
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,640 @@
+/**
+ * File:  StrixaTextureCache.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+import javax.media.opengl.GL;
+import javax.media.opengl.GL2;
+import javax.media.opengl.GLContext;
+import javax.media.opengl.GLProfile;
+
+import com.jogamp.opengl.util.texture.Texture;
+import com.jogamp.opengl.util.texture.TextureData;
+import com.jogamp.opengl.util.texture.TextureIO;
+import com.strixa.gl.util.MipmapGenerator;
+import com.strixa.util.Log;
+
+/**
+ * Shares textures loaded from the same file between every material which uses them, so that each image is only decoded and uploaded once.<br />
+ * Textures are keyed by the canonical path of their file along with the parameters they were loaded with, as two materials which filter the same image differently can't share a texture object.  Each call to {@link StrixaTextureCache#acquire(GL2,String,boolean,int,int,float)} must be matched by a call to {@link StrixaTextureCache#release(Texture)}.  Once the last reference to a texture is released, it's handed to the {@link StrixaResourceManager} to be deleted.<br />
+ * Mipmapped textures are decoded, and have their levels built by {@link MipmapGenerator}, on worker threads.  Until then they're empty, which GL treats as though texturing were disabled.  The finished levels are uploaded the next time {@link StrixaTextureCache#processUploads(GL2)} is called, which every {@link StrixaGLCanvas} does at the start of each frame.<br />
+ * Like the {@link StrixaResourceManager}, this assumes that every canvas shares its objects.  A context which shares nothing with any canvas is given a cache of its own, which {@link StrixaTextureCache#getInstance(GLContext)} returns for it.<br />
+ * The cache can also be given a budget for the memory its textures use.  Whenever they use more, the textures which have gone longest without being drawn are evicted.  An evicted texture keeps its texture object, so materials can go on using it, but its image is replaced with one of its small mipmap levels, or with a single white texel if it has none.  The next time an evicted texture is drawn, it's loaded again on a worker thread, and its full image is uploaded once it's ready.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaTextureCache{
+    /** Largest width or height an evicted texture keeps. */
+    public static final int EVICTED_SIZE = 16;
+
+    /**
+     * A loaded texture, the number of references to it, and its residency.
+     */
+    private static class Entry{
+        public final float     anisotropy;
+        public final String    file_location;
+        public final String    key;
+        public final int       mag_filter;
+        public final int       min_filter;
+        public final boolean   mipmap;
+        public final int       name;
+        public final GLProfile profile;
+        public final Texture   texture;
+
+        public long           bytes;
+        public TextureData    data;
+        public boolean        evicted;
+        public long           last_used_frame;
+        public CountDownLatch load_latch;
+        public boolean        loading;
+        public TextureData    low_resolution_data;
+        public int            reference_count;
+
+
+        /*Begin Constructors*/
+        public Entry(String key,String file_location,Texture texture,int name,GLProfile profile,boolean mipmap,int min_filter,int mag_filter,float anisotropy){
+            this.key = key;
+            this.file_location = file_location;
+            this.texture = texture;
+            this.name = name;
+            this.profile = profile;
+            this.mipmap = mipmap;
+            this.min_filter = min_filter;
+            this.mag_filter = mag_filter;
+            this.anisotropy = anisotropy;
+        }
+        /*End Constructors*/
+    }
+
+    private static final Map<GLContext,StrixaTextureCache> __context_instances = new WeakHashMap<GLContext,StrixaTextureCache>();
+    private static final StrixaTextureCache                __instance = new StrixaTextureCache();
+
+    private final ConcurrentLinkedQueue<Entry> __completed_loads = new ConcurrentLinkedQueue<Entry>();
+    private final Map<String,Entry>            __entries = new HashMap<String,Entry>();
+    private final Set<GLContext>               __frame_contexts = Collections.newSetFromMap(new WeakHashMap<GLContext,Boolean>());
+    private final AtomicInteger                __pending_load_count = new AtomicInteger();
+    private final StrixaResourceManager        __resource_manager;
+    private final Map<Texture,Entry>           __textures = new IdentityHashMap<Texture,Entry>();
+
+    private long            __budget = Long.MAX_VALUE;
+    private int             __evicted_count;
+    private ExecutorService __executor;
+    private long            __frame;
+    private int             __load_count;
+    private long            __resident_bytes;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs an empty cache, whose textures are tracked by the {@link StrixaResourceManager} used by this library.  Use {@link StrixaTextureCache#getInstance()} to get the cache used by this library, or {@link StrixaTextureCache#getInstance(GLContext)} to get the one used by a given context.
+     */
+    protected StrixaTextureCache(){
+        this(StrixaResourceManager.getInstance());
+    }
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param resource_manager Manager to track this cache's textures with.
+     */
+    StrixaTextureCache(StrixaResourceManager resource_manager){
+        this.__resource_manager = resource_manager;
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the most memory this cache's textures may use before some are evicted.
+     *
+     * @return The budget, in bytes.  This is Long.MAX_VALUE, which means that textures are never evicted, unless it has been changed.
+     */
+    public synchronized long getBudget(){
+        return this.__budget;
+    }
+
+    /**
+     * Gets the number of textures which are currently evicted, and haven't been drawn since.
+     *
+     * @return The number of evicted textures.
+     */
+    public synchronized int getEvictedCount(){
+        return this.__evicted_count;
+    }
+
+    /**
+     * Gets the number of textures currently held by this cache.
+     *
+     * @return The number of textures held.
+     */
+    public synchronized int getEntryCount(){
+        return this.__entries.size();
+    }
+
+    /**
+     * Gets the total number of textures this cache has loaded from files.  Comparing this with the number of calls to {@link StrixaTextureCache#acquire(GL2,String,boolean,int,int,float)} shows how many loads were saved.
+     *
+     * @return The total number of textures loaded.
+     */
+    public synchronized int getLoadCount(){
+        return this.__load_count;
+    }
+
+    /**
+     * Gets the number of mipmapped textures which are still being built on worker threads, or are waiting to be uploaded.
+     *
+     * @return The number of textures which aren't ready yet.
+     */
+    public int getPendingLoadCount(){
+        return this.__pending_load_count.get();
+    }
+
+    /**
+     * Gets the number of unreleased references to the given texture.
+     *
+     * @param texture Texture whose references should be counted.
+     *
+     * @return The number of references, or 0 if the texture isn't held by this cache.
+     */
+    public synchronized int getReferenceCount(Texture texture){
+        final Entry entry = this.__textures.get(texture);
+
+
+        return entry == null ? 0 : entry.reference_count;
+    }
+
+    /**
+     * Gets the approximate amount of memory used by the textures held by this cache, including the small images of evicted textures.
+     *
+     * @return The memory used, in bytes.
+     */
+    public synchronized long getResidentBytes(){
+        return this.__resident_bytes;
+    }
+
+    /**
+     * Sets the most memory this cache's textures may use.  Whenever they use more, the textures which have gone longest without being drawn are evicted at the start of the next frame.  Textures drawn in the previous frame are never evicted, so the budget may be exceeded if a single frame draws more than it allows.
+     *
+     * @param bytes The budget, in bytes.  Long.MAX_VALUE disables eviction.
+     *
+     * @throws IllegalArgumentException Thrown if 'bytes' is negative.
+     */
+    public synchronized void setBudget(long bytes){
+        if(bytes < 0){
+            throw new IllegalArgumentException("Argument 'bytes' must not be negative.");
+        }
+
+        this.__budget = bytes;
+    }
+
+    /**
+     * Sets the approximate amount of memory the entry's texture uses.
+     */
+    private void __setBytes(Entry entry,long bytes){
+        this.__resident_bytes += bytes - entry.bytes;
+        entry.bytes = bytes;
+
+        this.__resource_manager.setSize(StrixaResourceManager.ResourceType.TEXTURE,entry.name,bytes);
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Gets the texture for the given file, loading it if no texture has been loaded from that file with the same parameters.  This must be called from the thread which owns the given GL instance.<br />
+     * A texture without mipmaps is loaded before this returns.  A mipmapped texture is returned straight away, while its levels are built on a worker thread, and is empty until they're uploaded by {@link StrixaTextureCache#processUploads(GL2)}.
+     *
+     * @param gl GL instance to load the texture with.
+     * @param file_location Path to the image for the texture.
+     * @param mipmap Whether the texture should have mipmaps.
+     * @param min_filter Value the texture's GL_TEXTURE_MIN_FILTER should be set to.
+     * @param mag_filter Value the texture's GL_TEXTURE_MAG_FILTER should be set to.
+     * @param anisotropy Most samples the texture may take along the direction in which it's most compressed on screen.  This is limited to what the context supports, and is ignored if anisotropic filtering isn't available.  1 disables anisotropic filtering.
+     *
+     * @return The shared texture.  This must not be destroyed directly, and should be given to {@link StrixaTextureCache#release(Texture)} once it's no longer needed.
+     *
+     * @throws IOException Thrown if the image for a texture without mipmaps could not be read.  Errors reading the image for a mipmapped texture are logged once the worker thread finds them, and the texture is left empty.
+     * @throws IllegalArgumentException Thrown if 'gl' or 'file_location' is null, or if 'anisotropy' is less than 1.
+     */
+    public synchronized Texture acquire(GL2 gl,String file_location,boolean mipmap,int min_filter,int mag_filter,float anisotropy) throws IOException{
+        final File   file;
+        final String key;
+
+        Entry   entry = null;
+        Texture texture = null;
+
+
+        /*Begin Parameter Verification*/
+        if(gl == null){
+            throw new IllegalArgumentException("Argument 'gl' must not be null.");
+        }
+
+        if(file_location == null){
+            throw new IllegalArgumentException("Argument 'file_location' must not be null.");
+        }
+
+        if(!(anisotropy >= 1)){
+            throw new IllegalArgumentException("Argument 'anisotropy' must be at least 1.");
+        }
+        /*End Parameter Verification*/
+
+        file = new File(file_location);
+        key = file.getCanonicalPath() + "|" + mipmap + "|" + min_filter + "|" + mag_filter + "|" + anisotropy;
+
+        entry = this.__entries.get(key);
+        if(entry == null){
+            if(mipmap){
+                texture = new Texture(GL.GL_TEXTURE_2D);
+            }else{
+                texture = TextureIO.newTexture(file,false);
+            }
+            this.__load_count++;
+
+            entry = new Entry(key,file_location,texture,texture.getTextureObject(gl),gl.getGLProfile(),mipmap,min_filter,mag_filter,anisotropy);
+            entry.last_used_frame = this.__frame;
+            this.__entries.put(key,entry);
+            this.__textures.put(texture,entry);
+
+            this.__resource_manager.register(StrixaResourceManager.ResourceType.TEXTURE,entry.name,this);
+            if(mipmap){
+                this.__load(entry);
+            }else{
+                StrixaTextureCache.__applyParameters(gl,entry);
+                this.__setBytes(entry,texture.getEstimatedMemorySize());
+            }
+        }
+        entry.reference_count++;
+
+        return entry.texture;
+    }
+
+    /**
+     * Waits until the given texture's image has been read on a worker thread, and is ready to be uploaded by {@link StrixaTextureCache#processUploads(GL2)}.  This returns straight away if the texture isn't being loaded, or isn't held by this cache.
+     *
+     * @param texture Texture to wait for.
+     *
+     * @throws InterruptedException Thrown if the calling thread is interrupted while waiting.
+     */
+    public void awaitLoad(Texture texture) throws InterruptedException{
+        CountDownLatch load_latch = null;
+        Entry          entry = null;
+
+
+        synchronized(this){
+            entry = this.__textures.get(texture);
+            if(entry == null || !entry.loading){
+                return;
+            }
+            load_latch = entry.load_latch;
+        }
+
+        load_latch.await();
+    }
+
+    private synchronized ExecutorService __getExecutor(){
+        if(this.__executor == null){
+            this.__executor = Executors.newFixedThreadPool(Math.max(1,Runtime.getRuntime().availableProcessors() - 1),new ThreadFactory(){
+                public Thread newThread(Runnable runnable){
+                    final Thread thread = new Thread(runnable,"StrixaTextureCache loader thread");
+
+
+                    thread.setDaemon(true);
+
+                    return thread;
+                }
+            });
+        }
+
+        return this.__executor;
+    }
+
+    /**
+     * Replaces the entry's image with its small image, or with a single white texel if it has none.
+     */
+    private void __evict(GL2 gl,Entry entry){
+        TextureData data = entry.low_resolution_data;
+
+
+        if(data == null){
+            data = StrixaTextureCache.__createTextureData(gl.getGLProfile(),new int[][]{{0xFFFFFFFF}},0,1,1);
+        }
+
+        entry.texture.updateImage(gl,data);
+        StrixaTextureCache.__applyParameters(gl,entry);
+        this.__setBytes(entry,entry.texture.getEstimatedMemorySize());
+
+        entry.evicted = true;
+        this.__evicted_count++;
+    }
+
+    /**
+     * Reads the entry's image, and builds its mipmap levels if it has any, on a worker thread.  Mipmapped entries also keep their first level which is no larger than {@link StrixaTextureCache#EVICTED_SIZE}, along with the levels below it, to fall back on when they're evicted.  Images which ImageIO can't read are handed to TextureIO instead, which leaves their levels to be generated by GL.
+     */
+    private void __load(final Entry entry){
+        final CountDownLatch load_latch = new CountDownLatch(1);
+
+
+        entry.loading = true;
+        entry.load_latch = load_latch;
+
+        this.__pending_load_count.incrementAndGet();
+        this.__getExecutor().execute(new Runnable(){
+            public void run(){
+                final File file = new File(entry.file_location);
+
+                BufferedImage image = null;
+                int[][]       levels = null;
+                int           width = 0;
+                int           height = 0;
+                int           low_resolution_level = 0;
+
+
+                try{
+                    image = ImageIO.read(file);
+                    if(image == null){
+                        entry.data = TextureIO.newTextureData(entry.profile,file,entry.mipmap,null);
+                    }else{
+                        width = image.getWidth();
+                        height = image.getHeight();
+                        levels = new int[][]{image.getRGB(0,0,width,height,null,0,width)};
+                        if(entry.mipmap){
+                            levels = MipmapGenerator.generate(levels[0],width,height);
+                        }
+                        entry.data = StrixaTextureCache.__createTextureData(entry.profile,levels,0,width,height);
+
+                        if(entry.mipmap && entry.low_resolution_data == null){
+                            while(Math.max(width >> low_resolution_level,height >> low_resolution_level) > StrixaTextureCache.EVICTED_SIZE){
+                                low_resolution_level++;
+                            }
+                            entry.low_resolution_data = StrixaTextureCache.__createTextureData(
+                                entry.profile,
+                                levels,
+                                low_resolution_level,
+                                Math.max(1,width >> low_resolution_level),
+                                Math.max(1,height >> low_resolution_level)
+                            );
+                        }
+                    }
+                }catch(Exception e){
+                    Log.logEvent(Log.Type.WARNING,"Texture '" + entry.file_location + "' could not be loaded, and will not be displayed.");
+                }
+                StrixaTextureCache.this.__completed_loads.add(entry);
+                load_latch.countDown();
+            }
+        });
+    }
+
+    /**
+     * Records that the given texture is being drawn in the current frame.  If the texture has been evicted, it starts being loaded again.
+     *
+     * @param texture Texture being drawn.  Textures which aren't held by this cache are ignored.
+     */
+    synchronized void markUsed(Texture texture){
+        final Entry entry = this.__textures.get(texture);
+
+
+        if(entry == null){
+            return;
+        }
+
+        entry.last_used_frame = this.__frame;
+        if(entry.evicted){
+            entry.evicted = false;
+            this.__evicted_count--;
+            this.__load(entry);
+        }
+    }
+
+    /**
+     * Starts a new frame, and evicts the textures which have gone longest without being drawn until this cache's textures fit within its budget.  This must be called from the thread which owns the given GL instance, and every {@link StrixaGLCanvas} calls it at the start of each frame, after {@link StrixaTextureCache#processUploads(GL2)}.<br />
+     * When several contexts use this cache, such as those of several canvases, each calls this once per frame.  A new frame is only started once one of them calls this a second time, so the frame counts real frames, and textures drawn by any of the contexts in the previous frame aren't evicted.
+     *
+     * @param gl GL instance to replace the evicted textures' images with.
+     *
+     * @return The number of textures evicted.
+     */
+    public synchronized int processResidency(GL2 gl){
+        final List<Entry> candidates = new ArrayList<Entry>();
+
+        Entry entry = null;
+        int   eviction_count = 0;
+
+
+        if(this.__frame_contexts.isEmpty() || this.__frame_contexts.contains(gl.getContext())){
+            this.__frame_contexts.clear();
+            this.__frame++;
+        }
+        this.__frame_contexts.add(gl.getContext());
+        if(this.__resident_bytes <= this.__budget){
+            return 0;
+        }
+
+        /*Textures drawn in the previous frame will most likely be drawn in this one too, and textures already at their smallest gain nothing from being evicted.*/
+        for(Entry candidate : this.__entries.values()){
+            if(
+                !candidate.evicted && !candidate.loading
+                &&
+                candidate.last_used_frame < this.__frame - 1
+                &&
+                Math.max(candidate.texture.getWidth(),candidate.texture.getHeight()) > StrixaTextureCache.EVICTED_SIZE
+            ){
+                candidates.add(candidate);
+            }
+        }
+        Collections.sort(candidates,new Comparator<Entry>(){
+            public int compare(Entry entry_one,Entry entry_two){
+                return entry_one.last_used_frame < entry_two.last_used_frame ? -1 : (entry_one.last_used_frame == entry_two.last_used_frame ? 0 : 1);
+            }
+        });
+
+        for(int index = 0,end_index = candidates.size() - 1;index <= end_index && this.__resident_bytes > this.__budget;index++){
+            entry = candidates.get(index);
+
+            this.__evict(gl,entry);
+            eviction_count++;
+        }
+
+        return eviction_count;
+    }
+
+    /**
+     * Uploads the textures whose images have been read on worker threads since this was last called.  This must be called from the thread which owns the given GL instance, and every {@link StrixaGLCanvas} calls it at the start of each frame.
+     *
+     * @param gl GL instance to upload the textures with.
+     *
+     * @return The number of textures uploaded.
+     */
+    public int processUploads(GL2 gl){
+        Entry entry = null;
+        int   upload_count = 0;
+
+
+        while((entry = this.__completed_loads.poll()) != null){
+            this.__pending_load_count.decrementAndGet();
+
+            synchronized(this){
+                entry.loading = false;
+
+                /*Textures released while they were being built have already been handed off for deletion.*/
+                if(entry.data == null || this.__textures.get(entry.texture) != entry){
+                    continue;
+                }
+
+                entry.texture.updateImage(gl,entry.data);
+                StrixaTextureCache.__applyParameters(gl,entry);
+                this.__setBytes(entry,entry.texture.getEstimatedMemorySize());
+                entry.data = null;
+                upload_count++;
+            }
+        }
+
+        return upload_count;
+    }
+
+    /**
+     * Releases a reference to a texture given out by {@link StrixaTextureCache#acquire(GL2,String,boolean,int,int,float)}.  Once its last reference is released, the texture is deleted at the start of the next frame.  This may be called from any thread.  Textures which aren't held by this cache are ignored.
+     *
+     * @param texture Texture to release.
+     */
+    public synchronized void release(Texture texture){
+        final Entry entry = this.__textures.get(texture);
+
+
+        if(entry == null){
+            return;
+        }
+
+        entry.reference_count--;
+        if(entry.reference_count == 0){
+            this.__entries.remove(entry.key);
+            this.__textures.remove(texture);
+            this.__resident_bytes -= entry.bytes;
+            if(entry.evicted){
+                this.__evicted_count--;
+            }
+
+            this.__resource_manager.release(StrixaResourceManager.ResourceType.TEXTURE,entry.name);
+        }
+    }
+
+    /**
+     * Stops this cache's worker threads once the textures they're loading have been read.  Textures which are loaded afterwards start new ones.
+     */
+    synchronized void shutdown(){
+        if(this.__executor != null){
+            this.__executor.shutdown();
+            this.__executor = null;
+        }
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Sets the entry's filters on its texture.  Texture parameters belong to the texture object, so this only needs to be done after it's uploaded.
+     */
+    private static void __applyParameters(GL2 gl,Entry entry){
+        StrixaTextureCache.applySampling(gl,entry.texture,entry.min_filter,entry.mag_filter,entry.anisotropy);
+    }
+
+    /**
+     * Sets the given texture's filters and anisotropy.  The anisotropy is limited to what the context supports, and is ignored if anisotropic filtering isn't available.
+     *
+     * @param gl GL instance the texture belongs to.
+     * @param texture Texture to set the parameters of.
+     * @param min_filter Value the texture's GL_TEXTURE_MIN_FILTER should be set to.
+     * @param mag_filter Value the texture's GL_TEXTURE_MAG_FILTER should be set to.
+     * @param anisotropy Most samples the texture may take along the direction in which it's most compressed on screen.  1 disables anisotropic filtering.
+     */
+    static void applySampling(GL2 gl,Texture texture,int min_filter,int mag_filter,float anisotropy){
+        final float[] max_anisotropy = new float[1];
+
+
+        texture.setTexParameteri(gl,GL2.GL_TEXTURE_MAG_FILTER,mag_filter);
+        texture.setTexParameteri(gl,GL2.GL_TEXTURE_MIN_FILTER,min_filter);
+
+        if(anisotropy > 1 && gl.isExtensionAvailable("GL_EXT_texture_filter_anisotropic")){
+            gl.glGetFloatv(GL.GL_MAX_TEXTURE_MAX_ANISOTROPY_EXT,max_anisotropy,0);
+            texture.setTexParameterf(gl,GL.GL_TEXTURE_MAX_ANISOTROPY_EXT,Math.min(anisotropy,max_anisotropy[0]));
+        }
+    }
+
+    /**
+     * Wraps the given levels, starting from the given one, as texture data.
+     */
+    private static TextureData __createTextureData(GLProfile profile,int[][] levels,int first_level,int width,int height){
+        final Buffer[] buffers = new Buffer[levels.length - first_level];
+
+
+        for(int level = first_level,end_level = levels.length - 1;level <= end_level;level++){
+            buffers[level - first_level] = IntBuffer.wrap(levels[level]);
+        }
+
+        /*ARGB integers are BGRA bytes in GL's reversed packed order, regardless of the platform's byte order.*/
+        return new TextureData(profile,GL.GL_RGBA8,width,height,0,GL.GL_BGRA,GL2.GL_UNSIGNED_INT_8_8_8_8_REV,false,true,buffers,null);
+    }
+
+    /**
+     * Gets the cache used by this library.
+     *
+     * @return The cache used by this library.
+     */
+    public static StrixaTextureCache getInstance(){
+        return StrixaTextureCache.__instance;
+    }
+
+    /**
+     * Gets the cache which holds the textures of the given context.
+     *
+     * @param context Context the textures belong to.
+     *
+     * @return The cache the context has been given, or the cache used by this library if it hasn't been given one, as with every {@link StrixaGLCanvas}.
+     */
+    public static StrixaTextureCache getInstance(GLContext context){
+        StrixaTextureCache cache = null;
+
+
+        synchronized(StrixaTextureCache.__context_instances){
+            cache = StrixaTextureCache.__context_instances.get(context);
+        }
+
+        return cache == null ? StrixaTextureCache.__instance : cache;
+    }
+
+    /**
+     * Gives a context which shares no objects with any canvas a cache of its own.
+     *
+     * @param context Context to give the cache to.
+     * @param cache Cache to hold the context's textures, or null to go back to the cache used by this library.
+     */
+    static void setInstance(GLContext context,StrixaTextureCache cache){
+        synchronized(StrixaTextureCache.__context_instances){
+            if(cache == null){
+                StrixaTextureCache.__context_instances.remove(context);
+            }else{
+                StrixaTextureCache.__context_instances.put(context,cache);
+            }
+        }
+    }
+    /*End Static Methods*/
+}
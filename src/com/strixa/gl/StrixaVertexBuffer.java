@@ -0,0 +1,565 @@
+/**
+ * File:  StrixaVertexBuffer.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.media.opengl.GL2;
+
+import com.strixa.gl.util.Vertex;
+import com.strixa.util.Point3D;
+
+/**
+ * Interleaved vertex buffer and index buffer holding the geometry of a list of {@link StrixaPolygon}s.<br />
+ * Each polygon is given its own contiguous range of vertices, one for each of its points, and is drawn as a triangle fan through the index buffer.  When polygons are invalidated individually, only their ranges are packed and uploaded again with glBufferSubData, and the buffers are only reallocated when polygons or points have been added or removed.<br />
+ * Where vertex array objects are available, the vertex pointers are recorded once in a vertex array object, so binding the buffer is a single call.
+ *
+ * @author Nicholas Rog
+ */
+public class StrixaVertexBuffer{
+    /** Number of floats making up each vertex:  position (4), normal (3), texture coordinates (3), and color (4). */
+    public static final int VERTEX_SIZE = 14;
+
+    private static GL2     __checked_gl;
+    private static boolean __vertex_arrays_supported;
+    private static boolean __vertex_buffers_supported;
+
+    private final Set<StrixaPolygon>        __dirty_polygons = Collections.newSetFromMap(new IdentityHashMap<StrixaPolygon,Boolean>());
+    private final List<int[]>               __dirty_ranges = new ArrayList<int[]>();
+    private final Map<StrixaPolygon,int[]>  __polygon_ranges = new IdentityHashMap<StrixaPolygon,int[]>();
+    private final List<StrixaPolygon>       __polygons;
+
+    private boolean               __contents_dirty;
+    private int                   __index_count;
+    private Integer               __index_buffer_index;
+    private int[]                 __index_data;
+    private boolean               __indices_dirty;
+    private boolean               __layout_dirty;
+    private boolean               __reallocate;
+    private StrixaResourceManager __resource_manager;
+    private Integer               __vertex_array_index;
+    private Integer               __vertex_buffer_index;
+    private int                   __vertex_count;
+    private float[]               __vertex_data;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs a buffer over the given polygons.  Nothing is packed until the buffer is first drawn or measured.
+     *
+     * @param polygons Polygons to draw.  The list is kept, rather than copied, so polygons added to or removed from it are picked up once the buffer is invalidated.
+     */
+    public StrixaVertexBuffer(List<StrixaPolygon> polygons){
+        this.__polygons = polygons;
+        this.__layout_dirty = true;
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the number of indices drawn by this buffer, which is three for each triangle.
+     *
+     * @return The number of indices drawn by this buffer.
+     */
+    public synchronized int getIndexCount(){
+        this.__update();
+
+        return this.__index_count;
+    }
+
+    /**
+     * Gets the number of distinct vertices in this buffer, which is one for each point of each polygon with at least three points.
+     *
+     * @return The number of vertices in this buffer.
+     */
+    public synchronized int getVertexCount(){
+        this.__update();
+
+        return this.__vertex_count;
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Makes this buffer current, packing and uploading anything which has changed since it was last bound.  The fixed function vertex, normal, texture coordinate and color arrays are pointed at this buffer until {@link StrixaVertexBuffer#unbind(GL2)} is called.
+     *
+     * @param gl GL instance to bind this buffer with.
+     */
+    public synchronized void bind(GL2 gl){
+        final int[]   names = new int[2];
+        final boolean vertex_arrays_supported = StrixaVertexBuffer.__isVertexArraySupported(gl);
+
+        StrixaResourceManager resource_manager = this.__resource_manager;
+        boolean               created = false;
+        List<int[]>           dirty_ranges = null;
+
+
+        if(this.__vertex_buffer_index == null && this.__vertex_array_index == null){
+            resource_manager = StrixaResourceManager.getInstance(gl.getContext());
+            this.__resource_manager = resource_manager;
+        }
+
+        if(this.__vertex_buffer_index == null){
+            gl.glGenBuffers(2,names,0);
+            this.__vertex_buffer_index = names[0];
+            this.__index_buffer_index = names[1];
+            this.__reallocate = true;
+            created = true;
+
+            resource_manager.register(StrixaResourceManager.ResourceType.BUFFER,this.__vertex_buffer_index,this);
+            resource_manager.register(StrixaResourceManager.ResourceType.BUFFER,this.__index_buffer_index,this);
+        }
+
+        this.__update();
+        dirty_ranges = this.__takeDirtyRanges();
+
+        gl.glBindBuffer(GL2.GL_ARRAY_BUFFER,this.__vertex_buffer_index);
+        if(this.__reallocate){
+            this.__reallocate = false;
+            this.__indices_dirty = false;
+
+            gl.glBufferData(GL2.GL_ARRAY_BUFFER,this.__vertex_count*StrixaVertexBuffer.VERTEX_SIZE*4L,FloatBuffer.wrap(this.__vertex_data,0,this.__vertex_count*StrixaVertexBuffer.VERTEX_SIZE),GL2.GL_STATIC_DRAW);
+            gl.glBindBuffer(GL2.GL_ELEMENT_ARRAY_BUFFER,this.__index_buffer_index);
+            gl.glBufferData(GL2.GL_ELEMENT_ARRAY_BUFFER,this.__index_count*4L,IntBuffer.wrap(this.__index_data,0,this.__index_count),GL2.GL_STATIC_DRAW);
+            gl.glBindBuffer(GL2.GL_ELEMENT_ARRAY_BUFFER,0);
+
+            resource_manager.setSize(StrixaResourceManager.ResourceType.BUFFER,this.__vertex_buffer_index,this.__vertex_count*StrixaVertexBuffer.VERTEX_SIZE*4L);
+            resource_manager.setSize(StrixaResourceManager.ResourceType.BUFFER,this.__index_buffer_index,this.__index_count*4L);
+        }else{
+            if(this.__indices_dirty){
+                gl.glBindBuffer(GL2.GL_ELEMENT_ARRAY_BUFFER,this.__index_buffer_index);
+                gl.glBufferSubData(GL2.GL_ELEMENT_ARRAY_BUFFER,0L,this.__index_count*4L,IntBuffer.wrap(this.__index_data,0,this.__index_count));
+                gl.glBindBuffer(GL2.GL_ELEMENT_ARRAY_BUFFER,0);
+            }
+            for(int index = 0,end_index = dirty_ranges.size() - 1;index <= end_index;index++){
+                gl.glBufferSubData(
+                    GL2.GL_ARRAY_BUFFER,
+                    dirty_ranges.get(index)[0]*StrixaVertexBuffer.VERTEX_SIZE*4L,
+                    dirty_ranges.get(index)[1]*StrixaVertexBuffer.VERTEX_SIZE*4L,
+                    FloatBuffer.wrap(this.__vertex_data,dirty_ranges.get(index)[0]*StrixaVertexBuffer.VERTEX_SIZE,dirty_ranges.get(index)[1]*StrixaVertexBuffer.VERTEX_SIZE)
+                );
+            }
+            this.__indices_dirty = false;
+        }
+
+        if(vertex_arrays_supported){
+            if(this.__vertex_array_index == null){
+                gl.glGenVertexArrays(1,names,0);
+                this.__vertex_array_index = names[0];
+                created = true;
+
+                resource_manager.register(StrixaResourceManager.ResourceType.VERTEX_ARRAY,this.__vertex_array_index,this);
+            }
+
+            gl.glBindVertexArray(this.__vertex_array_index);
+            if(created){
+                this.__setPointers(gl);
+            }
+        }else{
+            this.__setPointers(gl);
+        }
+    }
+
+    /**
+     * Frees the GL resources this buffer has created, right away.  They will be created again if this buffer is bound afterwards.
+     *
+     * @param gl GL instance the resources were created with.
+     */
+    public void dispose(GL2 gl){
+        this.release();
+        StrixaResourceManager.getInstance(gl.getContext()).processDeletions(gl);
+    }
+
+    /**
+     * Draws this buffer's triangles relative to the current modelview matrix.  No material is bound.
+     *
+     * @param gl GL instance to draw with.
+     */
+    public void draw(GL2 gl){
+        this.bind(gl);
+        gl.glDrawElements(GL2.GL_TRIANGLES,this.__index_count,GL2.GL_UNSIGNED_INT,0L);
+        this.unbind(gl);
+    }
+
+    /**
+     * Draws this buffer's triangles using immediate mode calls, without creating any buffer objects.  This is suitable for compiling into a display list on contexts without buffer objects.
+     *
+     * @param gl GL instance to draw with.
+     */
+    public void drawImmediate(GL2 gl){
+        final float[] vertex_data;
+        final int[]   index_data;
+        final int     index_count;
+
+        int offset = 0;
+
+
+        synchronized(this){
+            this.__update();
+
+            vertex_data = this.__vertex_data;
+            index_data = this.__index_data;
+            index_count = this.__index_count;
+        }
+
+        gl.glBegin(GL2.GL_TRIANGLES);
+        for(int index = 0;index < index_count;index++){
+            offset = index_data[index]*StrixaVertexBuffer.VERTEX_SIZE;
+
+            gl.glTexCoord3f(vertex_data[offset + 7],vertex_data[offset + 8],vertex_data[offset + 9]);
+            gl.glNormal3f(vertex_data[offset + 4],vertex_data[offset + 5],vertex_data[offset + 6]);
+            gl.glColor4f(vertex_data[offset + 10],vertex_data[offset + 11],vertex_data[offset + 12],vertex_data[offset + 13]);
+            gl.glVertex4f(vertex_data[offset],vertex_data[offset + 1],vertex_data[offset + 2],vertex_data[offset + 3]);
+        }
+        gl.glEnd();
+    }
+
+    /**
+     * Draws several instances of this buffer's triangles with a single call.  This buffer must already be bound, and the current program is responsible for placing each instance.
+     *
+     * @param gl GL instance to draw with.
+     * @param instance_count Number of instances to draw.
+     */
+    public void drawInstanced(GL2 gl,int instance_count){
+        gl.glDrawElementsInstanced(GL2.GL_TRIANGLES,this.__index_count,GL2.GL_UNSIGNED_INT,0L,instance_count);
+    }
+
+    /**
+     * Indicates that the polygons have changed in some unknown way.  Every polygon will be packed again the next time this buffer is bound, but the buffers will only be reallocated if polygons or points were added or removed.
+     */
+    public synchronized void invalidate(){
+        this.__contents_dirty = true;
+    }
+
+    /**
+     * Indicates that a single polygon has changed.  Only that polygon's vertices will be packed and uploaded again the next time this buffer is bound, unless its number of points has changed.
+     *
+     * @param polygon Polygon which has changed.
+     */
+    public synchronized void invalidatePolygon(StrixaPolygon polygon){
+        if(this.__polygon_ranges.containsKey(polygon)){
+            this.__dirty_polygons.add(polygon);
+        }else{
+            this.__contents_dirty = true;
+        }
+    }
+
+    /**
+     * Fills a polygon's range of the vertex data.  Points without a normal are given the normal of the polygon's first triangle.
+     */
+    private void __packPolygon(StrixaPolygon polygon,int first_vertex){
+        final float[]         vertex_data = this.__vertex_data;
+        final List<Vertex>    points = polygon.getPoints();
+        final List<Vertex>    texture_points = polygon.getTexturePoints();
+        final Point3D<Double> polygon_coordinates = polygon.getCoordinates();
+        final double[]        face_normal = new double[3];
+
+        Vertex  point = null;
+        Vertex  texture_point = null;
+        float[] color = null;
+        int     offset = first_vertex*StrixaVertexBuffer.VERTEX_SIZE;
+
+
+        StrixaVertexBuffer.__getFaceNormal(points.get(0),points.get(1),points.get(2),face_normal);
+
+        for(int point_index = 0,point_end_index = points.size() - 1;point_index <= point_end_index;point_index++){
+            point = points.get(point_index);
+            color = point.getColor();
+
+            vertex_data[offset] = (float)(point.getX() + polygon_coordinates.getX());
+            vertex_data[offset + 1] = (float)(point.getY() + polygon_coordinates.getY());
+            vertex_data[offset + 2] = (float)(point.getZ() + polygon_coordinates.getZ());
+            vertex_data[offset + 3] = (float)point.getWeight();
+            if(point.getNormal() != null){
+                vertex_data[offset + 4] = point.getNormal().getX().floatValue();
+                vertex_data[offset + 5] = point.getNormal().getY().floatValue();
+                vertex_data[offset + 6] = point.getNormal().getZ().floatValue();
+            }else{
+                vertex_data[offset + 4] = (float)face_normal[0];
+                vertex_data[offset + 5] = (float)face_normal[1];
+                vertex_data[offset + 6] = (float)face_normal[2];
+            }
+            if(point_index < texture_points.size()){
+                texture_point = texture_points.get(point_index);
+
+                vertex_data[offset + 7] = texture_point.getX().floatValue();
+                vertex_data[offset + 8] = texture_point.getY().floatValue();
+                vertex_data[offset + 9] = (float)texture_point.getWeight();
+            }else{
+                vertex_data[offset + 7] = 0;
+                vertex_data[offset + 8] = 0;
+                vertex_data[offset + 9] = 0;
+            }
+            System.arraycopy(color,0,vertex_data,offset + 10,4);
+
+            offset += StrixaVertexBuffer.VERTEX_SIZE;
+        }
+    }
+
+    /**
+     * Lays out every polygon again, filling the vertex and index data from scratch.
+     *
+     * @return Returns true if the number of vertices or indices changed, meaning the buffers must be reallocated, and false, otherwise.
+     */
+    private boolean __packAll(){
+        final List<StrixaPolygon> polygons = this.__polygons;
+
+        int           first_vertex = 0;
+        int           index = 0;
+        int           index_count = 0;
+        int           offset = 0;
+        int           point_count = 0;
+        StrixaPolygon polygon = null;
+        int           vertex_count = 0;
+
+
+        this.__polygon_ranges.clear();
+        this.__dirty_polygons.clear();
+
+        for(int polygon_index = 0,polygon_end_index = polygons.size() - 1;polygon_index <= polygon_end_index;polygon_index++){
+            point_count = polygons.get(polygon_index).getPoints().size();
+            if(point_count >= 3){
+                vertex_count += point_count;
+                index_count += (point_count - 2)*3;
+            }
+        }
+
+        if(this.__vertex_data == null || this.__vertex_count != vertex_count || this.__index_count != index_count){
+            this.__vertex_data = new float[vertex_count*StrixaVertexBuffer.VERTEX_SIZE];
+            this.__index_data = new int[index_count];
+            this.__reallocate = true;
+        }
+        this.__vertex_count = vertex_count;
+        this.__index_count = index_count;
+
+        for(int polygon_index = 0,polygon_end_index = polygons.size() - 1;polygon_index <= polygon_end_index;polygon_index++){
+            polygon = polygons.get(polygon_index);
+            point_count = polygon.getPoints().size();
+            if(point_count < 3){
+                continue;
+            }
+
+            /*A polygon listed more than once can't be updated on its own, as only one of its ranges would be found.*/
+            if(this.__polygon_ranges.put(polygon,new int[]{first_vertex,point_count}) != null){
+                this.__polygon_ranges.remove(polygon);
+            }
+            this.__packPolygon(polygon,first_vertex);
+
+            for(int point_index = 1,point_end_index = point_count - 2;point_index <= point_end_index;point_index++){
+                for(int corner = 0;corner <= 2;corner++){
+                    index = first_vertex + (corner == 0 ? 0 : point_index + corner - 1);
+                    if(this.__index_data[offset] != index){
+                        this.__index_data[offset] = index;
+                        this.__indices_dirty = true;
+                    }
+                    offset++;
+                }
+            }
+
+            first_vertex += point_count;
+        }
+
+        return this.__reallocate;
+    }
+
+    /**
+     * Releases the GL resources this buffer has created to the {@link StrixaResourceManager} of the context they were created in, which deletes them at the start of the next frame.  This may be called from any thread.  The resources will be created again if this buffer is bound afterwards.
+     */
+    public synchronized void release(){
+        final StrixaResourceManager resource_manager = this.__resource_manager;
+
+
+        if(this.__vertex_array_index != null){
+            resource_manager.release(StrixaResourceManager.ResourceType.VERTEX_ARRAY,this.__vertex_array_index);
+            this.__vertex_array_index = null;
+        }
+        if(this.__vertex_buffer_index != null){
+            resource_manager.release(StrixaResourceManager.ResourceType.BUFFER,this.__vertex_buffer_index);
+            resource_manager.release(StrixaResourceManager.ResourceType.BUFFER,this.__index_buffer_index);
+            this.__vertex_buffer_index = null;
+            this.__index_buffer_index = null;
+        }
+    }
+
+    /**
+     * Points the fixed function vertex arrays at this buffer.  When a vertex array object is bound, these pointers are recorded in it.
+     */
+    private void __setPointers(GL2 gl){
+        final int stride = StrixaVertexBuffer.VERTEX_SIZE*4;
+
+
+        gl.glBindBuffer(GL2.GL_ARRAY_BUFFER,this.__vertex_buffer_index);
+        gl.glBindBuffer(GL2.GL_ELEMENT_ARRAY_BUFFER,this.__index_buffer_index);
+        gl.glEnableClientState(GL2.GL_VERTEX_ARRAY);
+        gl.glEnableClientState(GL2.GL_NORMAL_ARRAY);
+        gl.glEnableClientState(GL2.GL_TEXTURE_COORD_ARRAY);
+        gl.glEnableClientState(GL2.GL_COLOR_ARRAY);
+        gl.glVertexPointer(4,GL2.GL_FLOAT,stride,0);
+        gl.glNormalPointer(GL2.GL_FLOAT,stride,4*4);
+        gl.glTexCoordPointer(3,GL2.GL_FLOAT,stride,7*4);
+        gl.glColorPointer(4,GL2.GL_FLOAT,stride,10*4);
+    }
+
+    /**
+     * Gathers the ranges of vertices which have been packed again since this buffer was last bound, merging any which overlap or neighbour one another, and forgets them.
+     *
+     * @return The ranges, as {first vertex, vertex count} pairs, in order.
+     */
+    private List<int[]> __takeDirtyRanges(){
+        final List<int[]> ranges = new ArrayList<int[]>(this.__dirty_ranges);
+
+        int[] last_range = null;
+        int[] range = null;
+
+
+        this.__dirty_ranges.clear();
+
+        Collections.sort(ranges,new Comparator<int[]>(){
+            public int compare(int[] range_one,int[] range_two){
+                return range_one[0] - range_two[0];
+            }
+        });
+        for(int index = ranges.size() - 1;index >= 0;index--){
+            range = ranges.get(index);
+
+            if(last_range != null && range[0] + range[1] >= last_range[0]){
+                range[1] = Math.max(range[0] + range[1],last_range[0] + last_range[1]) - range[0];
+                ranges.remove(index + 1);
+            }
+            last_range = range;
+        }
+
+        return ranges;
+    }
+
+    /**
+     * Restores the state changed by {@link StrixaVertexBuffer#bind(GL2)}.
+     *
+     * @param gl GL instance this buffer was bound with.
+     */
+    public void unbind(GL2 gl){
+        if(this.__vertex_array_index != null){
+            gl.glBindVertexArray(0);
+        }else{
+            gl.glDisableClientState(GL2.GL_COLOR_ARRAY);
+            gl.glDisableClientState(GL2.GL_TEXTURE_COORD_ARRAY);
+            gl.glDisableClientState(GL2.GL_NORMAL_ARRAY);
+            gl.glDisableClientState(GL2.GL_VERTEX_ARRAY);
+            gl.glBindBuffer(GL2.GL_ELEMENT_ARRAY_BUFFER,0);
+        }
+        gl.glBindBuffer(GL2.GL_ARRAY_BUFFER,0);
+    }
+
+    /**
+     * Brings the vertex and index data up to date.  The ranges of vertices which were packed again without the layout changing are kept, as {first vertex, vertex count} pairs, until the next time this buffer is bound, so that they're uploaded no matter what caused them to be packed.
+     */
+    private void __update(){
+        int[] range = null;
+
+
+        if(this.__layout_dirty || this.__contents_dirty){
+            this.__layout_dirty = false;
+            this.__contents_dirty = false;
+
+            /*With the same layout, the whole buffer can be overwritten rather than reallocated.*/
+            if(!this.__packAll() && this.__vertex_count > 0){
+                this.__dirty_ranges.add(new int[]{0,this.__vertex_count});
+            }
+
+            return;
+        }
+        if(this.__dirty_polygons.isEmpty()){
+            return;
+        }
+
+        for(StrixaPolygon polygon : this.__dirty_polygons){
+            range = this.__polygon_ranges.get(polygon);
+
+            /*If the polygon's points were added or removed, everything after it has moved.*/
+            if(polygon.getPoints().size() != range[1]){
+                if(!this.__packAll() && this.__vertex_count > 0){
+                    this.__dirty_ranges.add(new int[]{0,this.__vertex_count});
+                }
+
+                return;
+            }
+
+            this.__packPolygon(polygon,range[0]);
+            this.__dirty_ranges.add(new int[]{range[0],range[1]});
+        }
+        this.__dirty_polygons.clear();
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Computes the unit normal of the triangle with the given corners, following the counter-clockwise winding GL treats as front facing.
+     */
+    private static void __getFaceNormal(Vertex a,Vertex b,Vertex c,double[] normal){
+        final double ab_x = b.getX() - a.getX();
+        final double ab_y = b.getY() - a.getY();
+        final double ab_z = b.getZ() - a.getZ();
+        final double ac_x = c.getX() - a.getX();
+        final double ac_y = c.getY() - a.getY();
+        final double ac_z = c.getZ() - a.getZ();
+
+        double length = 0;
+
+
+        normal[0] = ab_y*ac_z - ab_z*ac_y;
+        normal[1] = ab_z*ac_x - ab_x*ac_z;
+        normal[2] = ab_x*ac_y - ab_y*ac_x;
+
+        length = Math.sqrt(normal[0]*normal[0] + normal[1]*normal[1] + normal[2]*normal[2]);
+        if(length > 0){
+            normal[0] /= length;
+            normal[1] /= length;
+            normal[2] /= length;
+        }else{
+            normal[0] = 0;
+            normal[1] = 0;
+            normal[2] = 1;
+        }
+    }
+
+    /**
+     * Checks which buffer features the given GL instance provides, remembering the answer for as long as the same instance is used.
+     */
+    private static synchronized void __checkSupport(GL2 gl){
+        if(StrixaVertexBuffer.__checked_gl != gl){
+            StrixaVertexBuffer.__checked_gl = gl;
+            StrixaVertexBuffer.__vertex_buffers_supported = gl.isFunctionAvailable("glGenBuffers") && gl.isFunctionAvailable("glBufferSubData");
+            StrixaVertexBuffer.__vertex_arrays_supported = StrixaVertexBuffer.__vertex_buffers_supported && gl.isFunctionAvailable("glGenVertexArrays");
+        }
+    }
+
+    private static boolean __isVertexArraySupported(GL2 gl){
+        StrixaVertexBuffer.__checkSupport(gl);
+
+        return StrixaVertexBuffer.__vertex_arrays_supported;
+    }
+
+    /**
+     * Boolean check to determine whether the given GL instance supports buffer objects.  Where it doesn't, geometry should be drawn with {@link StrixaVertexBuffer#drawImmediate(GL2)} instead.
+     *
+     * @param gl GL instance to check.
+     *
+     * @return Returns true if buffer objects are supported, and false, otherwise.
+     */
+    public static boolean isSupported(GL2 gl){
+        StrixaVertexBuffer.__checkSupport(gl);
+
+        return StrixaVertexBuffer.__vertex_buffers_supported;
+    }
+    /*End Static Methods*/
+}
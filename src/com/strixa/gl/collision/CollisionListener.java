@@ -0,0 +1,38 @@
+/**
+ * File:  CollisionListener.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.collision;
+
+import com.strixa.gl.Strixa3DElement;
+
+/**
+ * Used when a {@link CollisionWorld} needs to notify a listener about the state of a pair of colliding elements.
+ *
+ * @author Nicholas Rog
+ */
+public interface CollisionListener{
+    /**
+     * Called during the first step in which the two elements are found to be colliding.
+     *
+     * @param element_one First element of the pair.
+     * @param element_two Second element of the pair.
+     */
+    public void onCollisionBegin(Strixa3DElement element_one,Strixa3DElement element_two);
+
+    /**
+     * Called during the first step in which two elements which were previously colliding are no longer colliding.
+     *
+     * @param element_one First element of the pair.
+     * @param element_two Second element of the pair.
+     */
+    public void onCollisionEnd(Strixa3DElement element_one,Strixa3DElement element_two);
+
+    /**
+     * Called during every step after the first in which the two elements are still colliding.
+     *
+     * @param element_one First element of the pair.
+     * @param element_two Second element of the pair.
+     */
+    public void onCollisionPersist(Strixa3DElement element_one,Strixa3DElement element_two);
+}
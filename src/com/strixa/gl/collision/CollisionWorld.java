@@ -0,0 +1,497 @@
+/**
+ * File:  CollisionWorld.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.collision;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.strixa.gl.Strixa3DElement;
+import com.strixa.gl.Strixa3DElement.CollisionDetectionMethod;
+import com.strixa.gl.properties.Cuboid;
+
+/**
+ * Keeps track of a set of {@link Strixa3DElement}s and reports every pair of them which is colliding each time {@link CollisionWorld#step()} is called.<br />
+ * Pairs are found using sweep and prune:  the minimum and maximum of each element's bounding box are kept in a sorted list for each axis, and those lists are re-sorted using an insertion sort every step.  Because elements rarely move far between two steps, the lists are almost always nearly sorted already, which makes a step cost roughly linear in the number of elements.<br />
+ * <strong>Note:</strong>  This class is not thread safe.  Elements should be added, removed and stepped from the same thread, typically from within {@link com.strixa.gl.StrixaGLCanvas#_performGameLogic}.
+ *
+ * @author Nicholas Rog
+ */
+public class CollisionWorld{
+    /**
+     * Pair of elements whose bounding boxes overlap.
+     *
+     * @author Nicholas Rog
+     */
+    public static class Pair{
+        private final Proxy __proxy_one;
+        private final Proxy __proxy_two;
+
+        private boolean __colliding;
+
+
+        /*Begin Constructors*/
+        private Pair(Proxy proxy_one,Proxy proxy_two){
+            this.__proxy_one = proxy_one;
+            this.__proxy_two = proxy_two;
+            this.__colliding = false;
+        }
+        /*End Constructors*/
+
+        /*Begin Getter/Setter Methods*/
+        /**
+         * Gets the first element of this pair.
+         *
+         * @return The first element of this pair.
+         */
+        public Strixa3DElement getElementOne(){
+            return this.__proxy_one.element;
+        }
+
+        /**
+         * Gets the second element of this pair.
+         *
+         * @return The second element of this pair.
+         */
+        public Strixa3DElement getElementTwo(){
+            return this.__proxy_two.element;
+        }
+        /*End Getter/Setter Methods*/
+    }
+
+    /**
+     * Holds an element's cached bounds along with its endpoints in each of the axis lists.
+     */
+    private static class Proxy{
+        public final Strixa3DElement element;
+        public final int             id;
+        public final double[]        max = new double[3];
+        public final double[]        min = new double[3];
+
+
+        /*Begin Constructors*/
+        public Proxy(Strixa3DElement element,int id){
+            this.element = element;
+            this.id = id;
+        }
+        /*End Constructors*/
+
+        /*Begin Other Methods*/
+        /**
+         * Copies the element's current bounding box into this proxy.
+         */
+        public void refresh(){
+            final Cuboid bounding_box = this.element.getBoundingBox();
+
+
+            this.min[0] = bounding_box.getCoordinates().getX();
+            this.min[1] = bounding_box.getCoordinates().getY();
+            this.min[2] = bounding_box.getCoordinates().getZ();
+            this.max[0] = this.min[0] + bounding_box.getWidth();
+            this.max[1] = this.min[1] + bounding_box.getHeight();
+            this.max[2] = this.min[2] + bounding_box.getDepth();
+        }
+
+        public boolean overlaps(Proxy proxy){
+            for(int axis = 0;axis < 3;axis++){
+                if(this.max[axis] < proxy.min[axis] || proxy.max[axis] < this.min[axis]){
+                    return false;
+                }
+            }
+
+            return true;
+        }
+        /*End Other Methods*/
+    }
+
+    /**
+     * One end of a proxy's bounds along a single axis.
+     */
+    private static class Endpoint{
+        public final boolean is_max;
+        public final Proxy   proxy;
+
+
+        /*Begin Constructors*/
+        public Endpoint(Proxy proxy,boolean is_max){
+            this.proxy = proxy;
+            this.is_max = is_max;
+        }
+        /*End Constructors*/
+
+        /*Begin Other Methods*/
+        public double getValue(int axis){
+            if(this.is_max){
+                return this.proxy.max[axis];
+            }else{
+                return this.proxy.min[axis];
+            }
+        }
+        /*End Other Methods*/
+    }
+
+    private final List<CollisionListener>          __collision_listeners = new ArrayList<CollisionListener>();
+    private final List<Pair>                       __ended_pairs = new ArrayList<Pair>();
+    private final Endpoint[][]                     __endpoints = new Endpoint[3][16];
+    private final Map<Long,Pair>                   __pairs = new HashMap<Long,Pair>();
+    private final Map<Strixa3DElement,Proxy>       __proxies = new HashMap<Strixa3DElement,Proxy>();
+
+    private int                      __endpoint_count;
+    private CollisionDetectionMethod __narrowphase_method;
+    private int                      __next_proxy_id;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs an empty collision world which reports pairs whose bounding boxes overlap.
+     */
+    public CollisionWorld(){
+        this(null);
+    }
+
+    /**
+     * Constructs an empty collision world.
+     *
+     * @param narrowphase_method Method passed to {@link Strixa3DElement#isColliding(Strixa3DElement,CollisionDetectionMethod)} to confirm each pair whose bounding boxes overlap.  If this is null, overlapping bounding boxes are reported as collisions without any further test.
+     */
+    public CollisionWorld(CollisionDetectionMethod narrowphase_method){
+        this.__endpoint_count = 0;
+        this.__narrowphase_method = narrowphase_method;
+        this.__next_proxy_id = 0;
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets every pair of elements which was found to be colliding during the last step.
+     *
+     * @return Every pair of elements which was found to be colliding during the last step.
+     */
+    public List<Pair> getCollidingPairs(){
+        final List<Pair> colliding_pairs = new ArrayList<Pair>();
+
+
+        for(Pair pair : this.__pairs.values()){
+            if(pair.__colliding){
+                colliding_pairs.add(pair);
+            }
+        }
+
+        return colliding_pairs;
+    }
+
+    /**
+     * Gets the number of elements registered with this world.
+     *
+     * @return The number of elements registered with this world.
+     */
+    public int getElementCount(){
+        return this.__proxies.size();
+    }
+
+    /**
+     * Gets the method used to confirm pairs whose bounding boxes overlap.
+     *
+     * @return The method used to confirm pairs whose bounding boxes overlap, or null if bounding box overlap alone is reported.
+     */
+    public CollisionDetectionMethod getNarrowphaseMethod(){
+        return this.__narrowphase_method;
+    }
+
+    /**
+     * Sets the method used to confirm pairs whose bounding boxes overlap.
+     *
+     * @param method Method passed to {@link Strixa3DElement#isColliding(Strixa3DElement,CollisionDetectionMethod)}, or null if bounding box overlap alone should be reported.
+     */
+    public void setNarrowphaseMethod(CollisionDetectionMethod method){
+        this.__narrowphase_method = method;
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Adds a {@link CollisionListener} to be notified when pairs begin, persist, or end colliding.
+     *
+     * @param listener Listener requesting to be notified.
+     */
+    public void addCollisionListener(CollisionListener listener){
+        if(!this.__collision_listeners.contains(listener)){
+            this.__collision_listeners.add(listener);
+        }
+    }
+
+    /**
+     * Registers an element with this world.  If the element is already registered, this method does nothing.
+     *
+     * @param element Element to register.
+     */
+    public void addElement(Strixa3DElement element){
+        if(element == null){
+            throw new NullPointerException("Argument 'element' must not be null.");
+        }
+
+        if(this.__proxies.containsKey(element)){
+            return;
+        }
+
+        final Proxy proxy = new Proxy(element,this.__next_proxy_id++);
+
+
+        proxy.refresh();
+        this.__proxies.put(element,proxy);
+
+        /*
+         * The new endpoints are appended after every existing endpoint, which is consistent with the proxy not overlapping anything yet.
+         * Sorting them into place then creates its pairs the same way movement would.
+         */
+        if(this.__endpoint_count + 2 > this.__endpoints[0].length){
+            for(int axis = 0;axis < 3;axis++){
+                final Endpoint[] grown = new Endpoint[this.__endpoints[axis].length * 2];
+
+
+                System.arraycopy(this.__endpoints[axis],0,grown,0,this.__endpoint_count);
+                this.__endpoints[axis] = grown;
+            }
+        }
+        for(int axis = 0;axis < 3;axis++){
+            this.__endpoints[axis][this.__endpoint_count] = new Endpoint(proxy,false);
+            this.__endpoints[axis][this.__endpoint_count + 1] = new Endpoint(proxy,true);
+        }
+        this.__endpoint_count += 2;
+
+        for(int axis = 0;axis < 3;axis++){
+            this._sortAxis(axis);
+        }
+    }
+
+    protected void _alertCollisionListeners(Pair pair,int state){
+        for(int index = 0,end_index = this.__collision_listeners.size() - 1;index <= end_index;index++){
+            switch(state){
+                case -1:
+                    this.__collision_listeners.get(index).onCollisionEnd(pair.getElementOne(),pair.getElementTwo());
+                    break;
+                case 0:
+                    this.__collision_listeners.get(index).onCollisionPersist(pair.getElementOne(),pair.getElementTwo());
+                    break;
+                case 1:
+                    this.__collision_listeners.get(index).onCollisionBegin(pair.getElementOne(),pair.getElementTwo());
+                    break;
+            }
+        }
+    }
+
+    private void __addPair(Proxy proxy_one,Proxy proxy_two){
+        final Long key = CollisionWorld.__getPairKey(proxy_one,proxy_two);
+
+
+        if(!this.__pairs.containsKey(key)){
+            if(proxy_one.id < proxy_two.id){
+                this.__pairs.put(key,new Pair(proxy_one,proxy_two));
+            }else{
+                this.__pairs.put(key,new Pair(proxy_two,proxy_one));
+            }
+        }
+    }
+
+    /**
+     * Check to determine whether the given element is registered with this world.
+     *
+     * @param element Element to check.
+     *
+     * @return Returns true if the element is registered with this world, and false, otherwise.
+     */
+    public boolean containsElement(Strixa3DElement element){
+        return this.__proxies.containsKey(element);
+    }
+
+    /**
+     * Removes the given listener from the update list.
+     *
+     * @param listener Listener to be removed.
+     */
+    public void removeCollisionListener(CollisionListener listener){
+        this.__collision_listeners.remove(listener);
+    }
+
+    /**
+     * Removes an element from this world.  Any pair the element was colliding in will have its end reported immediately.
+     *
+     * @param element Element to remove.
+     */
+    public void removeElement(Strixa3DElement element){
+        final List<Pair> ended_pairs = new ArrayList<Pair>();
+        final Proxy      proxy = this.__proxies.remove(element);
+
+        Iterator<Pair> pair_iterator = null;
+        Pair           pair = null;
+        int            write_index = 0;
+
+
+        if(proxy == null){
+            return;
+        }
+
+        for(int axis = 0;axis < 3;axis++){
+            write_index = 0;
+            for(int read_index = 0;read_index < this.__endpoint_count;read_index++){
+                if(this.__endpoints[axis][read_index].proxy != proxy){
+                    this.__endpoints[axis][write_index++] = this.__endpoints[axis][read_index];
+                }
+            }
+            this.__endpoints[axis][write_index] = null;
+            this.__endpoints[axis][write_index + 1] = null;
+        }
+        this.__endpoint_count -= 2;
+
+        pair_iterator = this.__pairs.values().iterator();
+        while(pair_iterator.hasNext()){
+            pair = pair_iterator.next();
+
+            if(pair.__proxy_one == proxy || pair.__proxy_two == proxy){
+                pair_iterator.remove();
+
+                if(pair.__colliding){
+                    ended_pairs.add(pair);
+                }
+            }
+        }
+
+        /*Listeners are only alerted once the pairs are no longer being iterated, so that they may add or remove elements themselves.*/
+        for(int index = 0,end_index = ended_pairs.size() - 1;index <= end_index;index++){
+            this._alertCollisionListeners(ended_pairs.get(index),-1);
+        }
+    }
+
+    private void __removePair(Proxy proxy_one,Proxy proxy_two){
+        final Pair pair = this.__pairs.remove(CollisionWorld.__getPairKey(proxy_one,proxy_two));
+
+
+        if(pair != null && pair.__colliding){
+            this.__ended_pairs.add(pair);
+        }
+    }
+
+    /**
+     * Sorts a single axis' endpoint list using an insertion sort, adding and removing pairs as endpoints pass one another.
+     *
+     * @param axis Axis to sort, where 0 is X, 1 is Y and 2 is Z.
+     */
+    protected void _sortAxis(int axis){
+        final Endpoint[] endpoints = this.__endpoints[axis];
+
+        Endpoint endpoint = null;
+        Endpoint previous = null;
+        int      position = 0;
+        double   value = 0;
+
+
+        for(int index = 1;index < this.__endpoint_count;index++){
+            endpoint = endpoints[index];
+            value = endpoint.getValue(axis);
+            position = index;
+
+            while(position > 0){
+                previous = endpoints[position - 1];
+
+                /*Minimums sort before maximums of equal value so that touching boxes are considered overlapping.*/
+                if(previous.getValue(axis) < value || (previous.getValue(axis) == value && (!previous.is_max || endpoint.is_max))){
+                    break;
+                }
+
+                if(!endpoint.is_max && previous.is_max){
+                    /*A minimum moved below another box's maximum, so the two may have started overlapping.*/
+                    if(endpoint.proxy.overlaps(previous.proxy)){
+                        this.__addPair(endpoint.proxy,previous.proxy);
+                    }
+                }else if(endpoint.is_max && !previous.is_max){
+                    /*A maximum moved below another box's minimum, so the two can no longer be overlapping.*/
+                    this.__removePair(endpoint.proxy,previous.proxy);
+                }
+
+                endpoints[position] = previous;
+                position--;
+            }
+            endpoints[position] = endpoint;
+        }
+    }
+
+    /**
+     * Updates every registered element's bounds, finds every colliding pair, and notifies this world's {@link CollisionListener}s.<br />
+     * Pairs containing an element which has collision detection disabled are never reported as colliding.  Listeners are only notified once every pair has been tested, so they may add or remove elements from within their callbacks.
+     */
+    public void step(){
+        final List<Pair>      event_pairs = new ArrayList<Pair>();
+        final List<Integer>   event_states = new ArrayList<Integer>();
+        final Iterator<Proxy> proxy_iterator = this.__proxies.values().iterator();
+
+        boolean colliding = false;
+        Pair    pair = null;
+
+
+        while(proxy_iterator.hasNext()){
+            proxy_iterator.next().refresh();
+        }
+
+        for(int axis = 0;axis < 3;axis++){
+            this._sortAxis(axis);
+        }
+
+        for(int index = 0,end_index = this.__ended_pairs.size() - 1;index <= end_index;index++){
+            event_pairs.add(this.__ended_pairs.get(index));
+            event_states.add(-1);
+        }
+        this.__ended_pairs.clear();
+
+        for(Iterator<Pair> pair_iterator = this.__pairs.values().iterator();pair_iterator.hasNext();){
+            pair = pair_iterator.next();
+
+            colliding = pair.getElementOne().isCollisionDetectionEnabled() && pair.getElementTwo().isCollisionDetectionEnabled();
+            if(colliding && this.__narrowphase_method != null){
+                colliding = pair.getElementOne().isColliding(pair.getElementTwo(),this.__narrowphase_method);
+            }
+
+            if(colliding){
+                event_pairs.add(pair);
+                if(pair.__colliding){
+                    event_states.add(0);
+                }else{
+                    pair.__colliding = true;
+                    event_states.add(1);
+                }
+            }else if(pair.__colliding){
+                pair.__colliding = false;
+                event_pairs.add(pair);
+                event_states.add(-1);
+            }
+        }
+
+        /*
+         * Listeners are only alerted once the pairs are no longer being iterated, so that they may add or remove elements themselves.
+         * A begin or persist event is dropped if a listener has already removed its pair, since the removal reported the pair's end.
+         */
+        for(int index = 0,end_index = event_pairs.size() - 1;index <= end_index;index++){
+            pair = event_pairs.get(index);
+
+            if(event_states.get(index) != -1 && this.__pairs.get(CollisionWorld.__getPairKey(pair.__proxy_one,pair.__proxy_two)) != pair){
+                continue;
+            }
+
+            this._alertCollisionListeners(pair,event_states.get(index));
+        }
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    private static Long __getPairKey(Proxy proxy_one,Proxy proxy_two){
+        if(proxy_one.id < proxy_two.id){
+            return ((long)proxy_one.id << 32) | (proxy_two.id & 0xFFFFFFFFL);
+        }else{
+            return ((long)proxy_two.id << 32) | (proxy_one.id & 0xFFFFFFFFL);
+        }
+    }
+    /*End Static Methods*/
+}
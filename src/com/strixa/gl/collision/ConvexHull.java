@@ -0,0 +1,621 @@
+/**
+ * File:  ConvexHull.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.collision;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.strixa.gl.StrixaPolygon;
+import com.strixa.gl.util.Transform;
+import com.strixa.gl.util.Vertex;
+import com.strixa.util.Point3D;
+
+/**
+ * Convex hull of the points of a set of {@link StrixaPolygon}s, computed using the quickhull algorithm.<br />
+ * Hull coordinates are kept relative to the element the polygons belong to, so the hull stays valid while that element moves.  If the points are all coplanar, or there are fewer than four of them, the hull is made up of the points themselves and has no faces.
+ *
+ * @author Nicholas Rog
+ */
+public class ConvexHull{
+    /**
+     * Triangular face of the hull under construction.
+     */
+    private static class Face{
+        public final int           a;
+        public final int           b;
+        public final int           c;
+        public final double        d;
+        public final double[]      normal = new double[3];
+        public final List<Integer> outside_points = new ArrayList<Integer>();
+
+        public boolean removed;
+
+
+        /*Begin Constructors*/
+        public Face(double[] points,int a,int b,int c){
+            final double e1_x = points[b*3] - points[a*3];
+            final double e1_y = points[b*3 + 1] - points[a*3 + 1];
+            final double e1_z = points[b*3 + 2] - points[a*3 + 2];
+            final double e2_x = points[c*3] - points[a*3];
+            final double e2_y = points[c*3 + 1] - points[a*3 + 1];
+            final double e2_z = points[c*3 + 2] - points[a*3 + 2];
+
+            double length = 0;
+
+
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.removed = false;
+
+            this.normal[0] = e1_y*e2_z - e1_z*e2_y;
+            this.normal[1] = e1_z*e2_x - e1_x*e2_z;
+            this.normal[2] = e1_x*e2_y - e1_y*e2_x;
+            length = Math.sqrt(this.normal[0]*this.normal[0] + this.normal[1]*this.normal[1] + this.normal[2]*this.normal[2]);
+            if(length > 0){
+                this.normal[0] /= length;
+                this.normal[1] /= length;
+                this.normal[2] /= length;
+            }
+
+            this.d = -(this.normal[0]*points[a*3] + this.normal[1]*points[a*3 + 1] + this.normal[2]*points[a*3 + 2]);
+        }
+        /*End Constructors*/
+
+        /*Begin Other Methods*/
+        public double getDistance(double[] points,int point){
+            return this.normal[0]*points[point*3] + this.normal[1]*points[point*3 + 1] + this.normal[2]*points[point*3 + 2] + this.d;
+        }
+        /*End Other Methods*/
+    }
+
+    private int[]    __faces;
+    private int[]    __neighbour_offsets;
+    private int[]    __neighbours;
+    private double[] __vertices;
+
+
+    /*Begin Constructors*/
+    /**
+     * Computes the convex hull of the given polygons' points.
+     *
+     * @param polygons Polygons whose points should be enclosed by the hull.
+     */
+    public ConvexHull(List<StrixaPolygon> polygons){
+        this(polygons,null);
+    }
+
+    /**
+     * Computes the convex hull of the given polygons' points, after transforming them.
+     *
+     * @param polygons Polygons whose points should be enclosed by the hull.
+     * @param transform Transform to apply to each point, after the polygon's coordinates have been added.  If this is null, points are used as they are.
+     */
+    public ConvexHull(List<StrixaPolygon> polygons,Transform transform){
+        final double[]  transformed_point = new double[3];
+
+        StrixaPolygon   polygon = null;
+        Point3D<Double> polygon_coordinates = null;
+        List<Vertex>    polygon_points = null;
+        double[]        points = null;
+        int             point_count = 0;
+
+
+        for(int polygon_index = 0,polygon_end_index = polygons.size() - 1;polygon_index <= polygon_end_index;polygon_index++){
+            point_count += polygons.get(polygon_index).getPoints().size();
+        }
+        points = new double[point_count*3];
+        point_count = 0;
+
+        /*Vertices shared between polygons are added more than once, but duplicates never end up on the hull.*/
+        for(int polygon_index = 0,polygon_end_index = polygons.size() - 1;polygon_index <= polygon_end_index;polygon_index++){
+            polygon = polygons.get(polygon_index);
+            polygon_points = polygon.getPoints();
+            polygon_coordinates = polygon.getCoordinates();
+
+            for(int point_index = 0,point_end_index = polygon_points.size() - 1;point_index <= point_end_index;point_index++){
+                points[point_count*3] = polygon_points.get(point_index).getX() + polygon_coordinates.getX();
+                points[point_count*3 + 1] = polygon_points.get(point_index).getY() + polygon_coordinates.getY();
+                points[point_count*3 + 2] = polygon_points.get(point_index).getZ() + polygon_coordinates.getZ();
+                if(transform != null){
+                    transform.transformPoint(points[point_count*3],points[point_count*3 + 1],points[point_count*3 + 2],transformed_point);
+                    System.arraycopy(transformed_point,0,points,point_count*3,3);
+                }
+                point_count++;
+            }
+        }
+
+        this.__compute(points,point_count);
+    }
+
+    /**
+     * Computes the convex hull of the given points.
+     *
+     * @param points Points to enclose, given as consecutive X, Y and Z coordinates.
+     */
+    public ConvexHull(double[] points){
+        this.__compute(points.clone(),points.length/3);
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the number of triangular faces on this hull.
+     *
+     * @return The number of triangular faces on this hull.  This will be 0 if the points the hull was computed from were coplanar.
+     */
+    public int getFaceCount(){
+        return this.__faces.length/3;
+    }
+
+    /**
+     * Gets the indices of the vertices making up the given face.  The vertices are ordered counter-clockwise when viewed from outside of the hull.
+     *
+     * @param face_index Index of the face.
+     * @param indices Three element array which will be filled with the indices of the face's vertices.
+     */
+    public void getFace(int face_index,int[] indices){
+        System.arraycopy(this.__faces,face_index*3,indices,0,3);
+    }
+
+    /**
+     * Gets the number of vertices on this hull.
+     *
+     * @return The number of vertices on this hull.
+     */
+    public int getVertexCount(){
+        return this.__vertices.length/3;
+    }
+
+    /**
+     * Copies the coordinates of the given vertex.
+     *
+     * @param vertex_index Index of the vertex.
+     * @param vertex Three element array which will be filled with the vertex's X, Y and Z coordinates.
+     */
+    public void getVertex(int vertex_index,double[] vertex){
+        System.arraycopy(this.__vertices,vertex_index*3,vertex,0,3);
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    private void __compute(double[] points,int point_count){
+        final int[]      initial = new int[4];
+        final List<Face> faces = new ArrayList<Face>();
+
+        double epsilon = 0;
+        double max_distance = 0;
+
+
+        /*Tolerance scaled to the magnitude of the coordinates, as done by John Lloyd's QuickHull3D.*/
+        for(int axis = 0;axis < 3;axis++){
+            max_distance = 0;
+            for(int point = 0;point < point_count;point++){
+                max_distance = Math.max(max_distance,Math.abs(points[point*3 + axis]));
+            }
+            epsilon += max_distance;
+        }
+        epsilon *= 3 * Math.ulp(1.0);
+
+        if(point_count < 4 || !ConvexHull.__findInitialTetrahedron(points,point_count,epsilon,initial)){
+            this.__faces = new int[0];
+            this.__neighbour_offsets = null;
+            this.__neighbours = null;
+            this.__vertices = new double[point_count*3];
+            System.arraycopy(points,0,this.__vertices,0,point_count*3);
+
+            return;
+        }
+
+        /*Build the initial tetrahedron with each face wound so its normal points away from the fourth vertex.*/
+        faces.add(ConvexHull.__createFace(points,initial[0],initial[1],initial[2],initial[3]));
+        faces.add(ConvexHull.__createFace(points,initial[0],initial[1],initial[3],initial[2]));
+        faces.add(ConvexHull.__createFace(points,initial[0],initial[2],initial[3],initial[1]));
+        faces.add(ConvexHull.__createFace(points,initial[1],initial[2],initial[3],initial[0]));
+
+        for(int point = 0;point < point_count;point++){
+            if(point == initial[0] || point == initial[1] || point == initial[2] || point == initial[3]){
+                continue;
+            }
+
+            ConvexHull.__assignPoint(points,point,faces,0,faces.size(),epsilon);
+        }
+
+        ConvexHull.__expand(points,faces,epsilon);
+        this.__store(points,point_count,faces);
+    }
+
+    /**
+     * Gets the coordinates of the vertex furthest along the given direction.
+     *
+     * @param direction_x X component of the direction.
+     * @param direction_y Y component of the direction.
+     * @param direction_z Z component of the direction.
+     * @param support Three element array which will be filled with the vertex's coordinates.
+     */
+    public void getSupport(double direction_x,double direction_y,double direction_z,double[] support){
+        this.getSupport(direction_x,direction_y,direction_z,0,support);
+    }
+
+    /**
+     * Gets the coordinates of the vertex furthest along the given direction.<br />
+     * When the hull has faces, this climbs from vertex to neighbouring vertex, beginning at the given vertex, which on a convex hull always ends at the furthest vertex.  Passing the result of a query in a similar direction as the starting vertex means only a handful of vertices are visited.
+     *
+     * @param direction_x X component of the direction.
+     * @param direction_y Y component of the direction.
+     * @param direction_z Z component of the direction.
+     * @param start_index Index of the vertex to begin climbing from.
+     * @param support Three element array which will be filled with the vertex's coordinates.
+     *
+     * @return The index of the vertex furthest along the given direction.
+     */
+    public int getSupport(double direction_x,double direction_y,double direction_z,int start_index,double[] support){
+        final double[] vertices = this.__vertices;
+        final int[]    neighbour_offsets = this.__neighbour_offsets;
+        final int[]    neighbours = this.__neighbours;
+
+        double  best = Double.NEGATIVE_INFINITY;
+        int     best_index = 0;
+        double  dot = 0;
+        boolean improved = true;
+        int     neighbour = 0;
+
+
+        if(neighbour_offsets == null){
+            for(int index = 0,end_index = vertices.length/3;index < end_index;index++){
+                dot = vertices[index*3]*direction_x + vertices[index*3 + 1]*direction_y + vertices[index*3 + 2]*direction_z;
+                if(dot > best){
+                    best = dot;
+                    best_index = index;
+                }
+            }
+        }else{
+            best_index = start_index;
+            best = vertices[best_index*3]*direction_x + vertices[best_index*3 + 1]*direction_y + vertices[best_index*3 + 2]*direction_z;
+
+            while(improved){
+                improved = false;
+
+                for(int index = neighbour_offsets[best_index],end_index = neighbour_offsets[best_index + 1];index < end_index;index++){
+                    neighbour = neighbours[index];
+                    dot = vertices[neighbour*3]*direction_x + vertices[neighbour*3 + 1]*direction_y + vertices[neighbour*3 + 2]*direction_z;
+                    if(dot > best){
+                        best = dot;
+                        best_index = neighbour;
+                        improved = true;
+                    }
+                }
+            }
+        }
+
+        support[0] = vertices[best_index*3];
+        support[1] = vertices[best_index*3 + 1];
+        support[2] = vertices[best_index*3 + 2];
+
+        return best_index;
+    }
+
+    private void __store(double[] points,int point_count,List<Face> faces){
+        final int[]      remap = new int[point_count];
+        final List<Face> live_faces = new ArrayList<Face>();
+
+        int  vertex_count = 0;
+        Face face = null;
+
+
+        for(int index = 0;index < point_count;index++){
+            remap[index] = -1;
+        }
+
+        for(int face_index = 0,face_end_index = faces.size() - 1;face_index <= face_end_index;face_index++){
+            face = faces.get(face_index);
+            if(face.removed){
+                continue;
+            }
+
+            live_faces.add(face);
+            if(remap[face.a] == -1){
+                remap[face.a] = vertex_count++;
+            }
+            if(remap[face.b] == -1){
+                remap[face.b] = vertex_count++;
+            }
+            if(remap[face.c] == -1){
+                remap[face.c] = vertex_count++;
+            }
+        }
+
+        this.__vertices = new double[vertex_count*3];
+        for(int index = 0;index < point_count;index++){
+            if(remap[index] != -1){
+                System.arraycopy(points,index*3,this.__vertices,remap[index]*3,3);
+            }
+        }
+
+        this.__faces = new int[live_faces.size()*3];
+        for(int face_index = 0,face_end_index = live_faces.size() - 1;face_index <= face_end_index;face_index++){
+            face = live_faces.get(face_index);
+
+            this.__faces[face_index*3] = remap[face.a];
+            this.__faces[face_index*3 + 1] = remap[face.b];
+            this.__faces[face_index*3 + 2] = remap[face.c];
+        }
+
+        /*Each directed edge of a closed hull belongs to exactly one face, so walking every face's edges lists each vertex's neighbours exactly once.*/
+        this.__neighbour_offsets = new int[vertex_count + 1];
+        this.__neighbours = new int[this.__faces.length];
+        for(int index = 0,end_index = this.__faces.length - 1;index <= end_index;index++){
+            this.__neighbour_offsets[this.__faces[index] + 1]++;
+        }
+        for(int index = 0;index < vertex_count;index++){
+            this.__neighbour_offsets[index + 1] += this.__neighbour_offsets[index];
+        }
+        for(int index = 0;index < vertex_count;index++){
+            remap[index] = this.__neighbour_offsets[index];
+        }
+        for(int face_index = 0,face_end_index = this.__faces.length/3 - 1;face_index <= face_end_index;face_index++){
+            for(int corner = 0;corner < 3;corner++){
+                this.__neighbours[remap[this.__faces[face_index*3 + corner]]++] = this.__faces[face_index*3 + (corner + 1)%3];
+            }
+        }
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Assigns a point to the outside set of the first face, between 'first_face' and 'end_face', which it lies above.
+     *
+     * @return Returns true if the point lies above one of the faces, and false, otherwise.
+     */
+    private static boolean __assignPoint(double[] points,int point,List<Face> faces,int first_face,int end_face,double epsilon){
+        Face face = null;
+
+
+        for(int face_index = first_face;face_index < end_face;face_index++){
+            face = faces.get(face_index);
+
+            if(!face.removed && face.getDistance(points,point) > epsilon){
+                face.outside_points.add(point);
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static Face __createFace(double[] points,int a,int b,int c,int inside_point){
+        Face face = new Face(points,a,b,c);
+
+
+        if(face.getDistance(points,inside_point) > 0){
+            face = new Face(points,a,c,b);
+        }
+
+        return face;
+    }
+
+    /**
+     * Repeatedly adds the furthest outside point of some face to the hull until no face has any points outside of it.<br />
+     * Only newly created faces, which are appended to the list, are ever given outside points, so a single pass over the list is sufficient.
+     */
+    private static void __expand(double[] points,List<Face> faces,double epsilon){
+        final Map<Long,Face> edge_faces = new HashMap<Long,Face>();
+        final List<int[]>    horizon = new ArrayList<int[]>();
+        final List<Face>     visible_faces = new ArrayList<Face>();
+        final List<Integer>  orphaned_points = new ArrayList<Integer>();
+        final int[]          edge = new int[2];
+
+        Face   face = null;
+        Face   neighbour = null;
+        int    eye = 0;
+        double furthest = 0;
+        int    first_new_face = 0;
+
+
+        for(int face_index = 0,face_end_index = faces.size() - 1;face_index <= face_end_index;face_index++){
+            ConvexHull.__putEdges(edge_faces,faces.get(face_index));
+        }
+
+        for(int face_index = 0;face_index < faces.size();face_index++){
+            face = faces.get(face_index);
+            if(face.removed || face.outside_points.isEmpty()){
+                continue;
+            }
+
+            /*The furthest point outside of this face is certain to be on the hull.*/
+            furthest = Double.NEGATIVE_INFINITY;
+            eye = -1;
+            for(int index = 0,end_index = face.outside_points.size() - 1;index <= end_index;index++){
+                if(face.getDistance(points,face.outside_points.get(index)) > furthest){
+                    furthest = face.getDistance(points,face.outside_points.get(index));
+                    eye = face.outside_points.get(index);
+                }
+            }
+
+            /*Every face the eye point can see will be replaced.  These faces are connected, so they're found by spreading outwards from this one.*/
+            visible_faces.clear();
+            visible_faces.add(face);
+            face.removed = true;
+            for(int visible_index = 0;visible_index < visible_faces.size();visible_index++){
+                for(int corner = 0;corner < 3;corner++){
+                    ConvexHull.__getEdge(visible_faces.get(visible_index),corner,edge);
+                    neighbour = edge_faces.get(ConvexHull.__getEdgeKey(edge[1],edge[0]));
+
+                    if(neighbour != null && !neighbour.removed && neighbour.getDistance(points,eye) > epsilon){
+                        neighbour.removed = true;
+                        visible_faces.add(neighbour);
+                    }
+                }
+            }
+
+            /*Edges of visible faces whose neighbour isn't visible form the horizon.*/
+            horizon.clear();
+            orphaned_points.clear();
+            for(int visible_index = 0,visible_end_index = visible_faces.size() - 1;visible_index <= visible_end_index;visible_index++){
+                face = visible_faces.get(visible_index);
+
+                for(int corner = 0;corner < 3;corner++){
+                    ConvexHull.__getEdge(face,corner,edge);
+                    neighbour = edge_faces.get(ConvexHull.__getEdgeKey(edge[1],edge[0]));
+
+                    if(neighbour == null || !neighbour.removed){
+                        horizon.add(new int[]{edge[0],edge[1]});
+                    }
+                }
+
+                orphaned_points.addAll(face.outside_points);
+                face.outside_points.clear();
+            }
+            for(int visible_index = 0,visible_end_index = visible_faces.size() - 1;visible_index <= visible_end_index;visible_index++){
+                face = visible_faces.get(visible_index);
+
+                for(int corner = 0;corner < 3;corner++){
+                    ConvexHull.__getEdge(face,corner,edge);
+                    edge_faces.remove(ConvexHull.__getEdgeKey(edge[0],edge[1]));
+                }
+            }
+
+            first_new_face = faces.size();
+            for(int horizon_index = 0,horizon_end_index = horizon.size() - 1;horizon_index <= horizon_end_index;horizon_index++){
+                face = new Face(points,horizon.get(horizon_index)[0],horizon.get(horizon_index)[1],eye);
+
+                faces.add(face);
+                ConvexHull.__putEdges(edge_faces,face);
+            }
+
+            for(int index = 0,end_index = orphaned_points.size() - 1;index <= end_index;index++){
+                if(orphaned_points.get(index) != eye){
+                    ConvexHull.__assignPoint(points,orphaned_points.get(index),faces,first_new_face,faces.size(),epsilon);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds four points which form a tetrahedron of non-zero volume.
+     *
+     * @return Returns false if the points are all coplanar, and true, otherwise.
+     */
+    private static boolean __findInitialTetrahedron(double[] points,int point_count,double epsilon,int[] initial){
+        final int[] min_points = new int[3];
+        final int[] max_points = new int[3];
+
+        double best = 0;
+        double distance = 0;
+        double line_x = 0;
+        double line_y = 0;
+        double line_z = 0;
+        double normal_x = 0;
+        double normal_y = 0;
+        double normal_z = 0;
+        double length = 0;
+        double cross_x = 0;
+        double cross_y = 0;
+        double cross_z = 0;
+
+
+        /*The two extreme points along the axis with the greatest spread.*/
+        for(int point = 1;point < point_count;point++){
+            for(int axis = 0;axis < 3;axis++){
+                if(points[point*3 + axis] < points[min_points[axis]*3 + axis]){
+                    min_points[axis] = point;
+                }
+                if(points[point*3 + axis] > points[max_points[axis]*3 + axis]){
+                    max_points[axis] = point;
+                }
+            }
+        }
+        best = -1;
+        for(int axis = 0;axis < 3;axis++){
+            distance = points[max_points[axis]*3 + axis] - points[min_points[axis]*3 + axis];
+            if(distance > best){
+                best = distance;
+                initial[0] = min_points[axis];
+                initial[1] = max_points[axis];
+            }
+        }
+        if(best <= epsilon){
+            return false;
+        }
+
+        /*The point furthest from the line between them.*/
+        line_x = points[initial[1]*3] - points[initial[0]*3];
+        line_y = points[initial[1]*3 + 1] - points[initial[0]*3 + 1];
+        line_z = points[initial[1]*3 + 2] - points[initial[0]*3 + 2];
+        best = 0;
+        for(int point = 0;point < point_count;point++){
+            cross_x = line_y*(points[point*3 + 2] - points[initial[0]*3 + 2]) - line_z*(points[point*3 + 1] - points[initial[0]*3 + 1]);
+            cross_y = line_z*(points[point*3] - points[initial[0]*3]) - line_x*(points[point*3 + 2] - points[initial[0]*3 + 2]);
+            cross_z = line_x*(points[point*3 + 1] - points[initial[0]*3 + 1]) - line_y*(points[point*3] - points[initial[0]*3]);
+            distance = cross_x*cross_x + cross_y*cross_y + cross_z*cross_z;
+            if(distance > best){
+                best = distance;
+                initial[2] = point;
+            }
+        }
+        if(Math.sqrt(best) <= epsilon*Math.sqrt(line_x*line_x + line_y*line_y + line_z*line_z)){
+            return false;
+        }
+
+        /*The point furthest from the plane through all three.*/
+        normal_x = line_y*(points[initial[2]*3 + 2] - points[initial[0]*3 + 2]) - line_z*(points[initial[2]*3 + 1] - points[initial[0]*3 + 1]);
+        normal_y = line_z*(points[initial[2]*3] - points[initial[0]*3]) - line_x*(points[initial[2]*3 + 2] - points[initial[0]*3 + 2]);
+        normal_z = line_x*(points[initial[2]*3 + 1] - points[initial[0]*3 + 1]) - line_y*(points[initial[2]*3] - points[initial[0]*3]);
+        length = Math.sqrt(normal_x*normal_x + normal_y*normal_y + normal_z*normal_z);
+        best = 0;
+        for(int point = 0;point < point_count;point++){
+            distance = Math.abs(
+                normal_x*(points[point*3] - points[initial[0]*3])
+                +
+                normal_y*(points[point*3 + 1] - points[initial[0]*3 + 1])
+                +
+                normal_z*(points[point*3 + 2] - points[initial[0]*3 + 2])
+            )/length;
+            if(distance > best){
+                best = distance;
+                initial[3] = point;
+            }
+        }
+        if(best <= epsilon){
+            return false;
+        }
+
+        return true;
+    }
+
+    private static void __getEdge(Face face,int corner,int[] edge){
+        switch(corner){
+            case 0:
+                edge[0] = face.a;
+                edge[1] = face.b;
+
+                break;
+            case 1:
+                edge[0] = face.b;
+                edge[1] = face.c;
+
+                break;
+            default:
+                edge[0] = face.c;
+                edge[1] = face.a;
+
+                break;
+        }
+    }
+
+    private static Long __getEdgeKey(int from,int to){
+        return ((long)from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    private static void __putEdges(Map<Long,Face> edge_faces,Face face){
+        edge_faces.put(ConvexHull.__getEdgeKey(face.a,face.b),face);
+        edge_faces.put(ConvexHull.__getEdgeKey(face.b,face.c),face);
+        edge_faces.put(ConvexHull.__getEdgeKey(face.c,face.a),face);
+    }
+    /*End Static Methods*/
+}
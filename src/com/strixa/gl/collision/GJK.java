@@ -0,0 +1,752 @@
+/**
+ * File:  GJK.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.collision;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.strixa.gl.Strixa3DElement;
+
+/**
+ * Intersection, distance and penetration queries between two {@link ConvexHull}s.<br />
+ * Intersection and distance are found using the Gilbert-Johnson-Keerthi algorithm, which walks a simplex over the Minkowski difference of the two hulls towards the origin.  Penetration depth is found by expanding the final simplex using the expanding polytope algorithm.
+ *
+ * @author Nicholas Rog
+ */
+public class GJK{
+    /**
+     * Describes how far two intersecting hulls overlap.
+     *
+     * @author Nicholas Rog
+     */
+    public static class Penetration{
+        private final double   __depth;
+        private final double[] __normal;
+
+
+        /*Begin Constructors*/
+        /**
+         * Constructs a description of the overlap between two hulls.
+         *
+         * @param depth Distance the second hull must be moved along the normal to stop overlapping the first.
+         * @param normal Unit vector pointing from the first hull towards the second.
+         */
+        public Penetration(double depth,double[] normal){
+            this.__depth = depth;
+            this.__normal = normal.clone();
+        }
+        /*End Constructors*/
+
+        /*Begin Getter/Setter Methods*/
+        /**
+         * Gets the distance the second hull must be moved along the normal to stop overlapping the first.
+         *
+         * @return The distance the second hull must be moved along the normal to stop overlapping the first.
+         */
+        public double getDepth(){
+            return this.__depth;
+        }
+
+        /**
+         * Gets the unit vector pointing from the first hull towards the second, along which the hulls overlap the least.
+         *
+         * @return A three element array containing the normal's X, Y and Z components.
+         */
+        public double[] getNormal(){
+            return this.__normal.clone();
+        }
+        /*End Getter/Setter Methods*/
+    }
+
+    /**
+     * Triangular face of the polytope built by the expanding polytope algorithm.
+     */
+    private static class Face{
+        public final int      a;
+        public final int      b;
+        public final int      c;
+        public final double   distance;
+        public final double[] normal = new double[3];
+
+        public boolean removed;
+
+
+        /*Begin Constructors*/
+        public Face(List<double[]> vertices,int a,int b,int c){
+            final double[] vertex_a = vertices.get(a);
+            final double[] vertex_b = vertices.get(b);
+            final double[] vertex_c = vertices.get(c);
+
+            double length = 0;
+
+
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.removed = false;
+
+            GJK.__cross(vertex_b[0] - vertex_a[0],vertex_b[1] - vertex_a[1],vertex_b[2] - vertex_a[2],vertex_c[0] - vertex_a[0],vertex_c[1] - vertex_a[1],vertex_c[2] - vertex_a[2],this.normal);
+            length = Math.sqrt(GJK.__dot(this.normal,this.normal));
+            if(length > 0){
+                this.normal[0] /= length;
+                this.normal[1] /= length;
+                this.normal[2] /= length;
+                this.distance = GJK.__dot(this.normal,vertex_a);
+            }else{
+                this.distance = Double.POSITIVE_INFINITY;  //A degenerate face can't be the closest one, but is kept to preserve the polytope's topology.
+            }
+        }
+        /*End Constructors*/
+    }
+
+    /**
+     * Up to four points of the Minkowski difference which together enclose the point closest to the origin found so far.
+     */
+    private static class Simplex{
+        public final double[][] points = new double[4][3];
+        public final double[]   weights = new double[4];
+
+        public int count;
+        public int hint_one;
+        public int hint_two;
+
+
+        /*Begin Other Methods*/
+        public void add(double[] point){
+            System.arraycopy(point,0,this.points[this.count],0,3);
+            this.count++;
+        }
+
+        /**
+         * Finds the point on this simplex closest to the origin, and discards any points which aren't needed to describe it.
+         *
+         * @param closest Three element array which will be filled with the closest point.
+         *
+         * @return Returns true if the origin is enclosed by this simplex, and false, otherwise.
+         */
+        public boolean reduce(double[] closest){
+            int kept = 0;
+
+
+            switch(this.count){
+                case 1:
+                    this.weights[0] = 1;
+
+                    break;
+                case 2:
+                    GJK.__getClosestOnSegment(this.points[0],this.points[1],this.weights);
+
+                    break;
+                case 3:
+                    GJK.__getClosestOnTriangle(this.points[0],this.points[1],this.points[2],this.weights);
+
+                    break;
+                case 4:
+                    if(GJK.__getClosestOnTetrahedron(this.points,this.weights)){
+                        return true;
+                    }
+
+                    break;
+            }
+
+            closest[0] = 0;
+            closest[1] = 0;
+            closest[2] = 0;
+            for(int index = 0;index < this.count;index++){
+                if(this.weights[index] <= 0){
+                    continue;
+                }
+
+                closest[0] += this.weights[index]*this.points[index][0];
+                closest[1] += this.weights[index]*this.points[index][1];
+                closest[2] += this.weights[index]*this.points[index][2];
+
+                if(kept != index){
+                    System.arraycopy(this.points[index],0,this.points[kept],0,3);
+                }
+                kept++;
+            }
+            this.count = kept;
+
+            return false;
+        }
+        /*End Other Methods*/
+    }
+
+    /** Relative tolerance used when deciding whether the algorithms have converged. */
+    public static final double EPSILON = 1e-10;
+    /** Maximum number of iterations either algorithm will perform before settling for its current answer. */
+    public static final int MAX_ITERATIONS = 128;
+
+
+    /*Begin Static Methods*/
+    /**
+     * Gets the distance between two hulls.
+     *
+     * @param hull_one First hull.
+     * @param hull_two Second hull.
+     * @param offset_x X offset of the second hull relative to the first.
+     * @param offset_y Y offset of the second hull relative to the first.
+     * @param offset_z Z offset of the second hull relative to the first.
+     *
+     * @return The distance between the closest points of the two hulls, or 0 if they intersect.
+     */
+    public static double getDistance(ConvexHull hull_one,ConvexHull hull_two,double offset_x,double offset_y,double offset_z){
+        return Math.sqrt(GJK.__solve(hull_one,hull_two,offset_x,offset_y,offset_z,new Simplex(),false));
+    }
+
+    /**
+     * Gets the distance between the convex hulls of two elements.
+     *
+     * @param element_one First element.
+     * @param element_two Second element.
+     *
+     * @return The distance between the closest points of the elements' convex hulls, or 0 if they intersect.
+     */
+    public static double getDistance(Strixa3DElement element_one,Strixa3DElement element_two){
+        return GJK.getDistance(
+            element_one.getConvexHull(),
+            element_two.getConvexHull(),
+            element_two.getCoordinates().getX() - element_one.getCoordinates().getX(),
+            element_two.getCoordinates().getY() - element_one.getCoordinates().getY(),
+            element_two.getCoordinates().getZ() - element_one.getCoordinates().getZ()
+        );
+    }
+
+    /**
+     * Determines how far two hulls overlap.
+     *
+     * @param hull_one First hull.
+     * @param hull_two Second hull.
+     * @param offset_x X offset of the second hull relative to the first.
+     * @param offset_y Y offset of the second hull relative to the first.
+     * @param offset_z Z offset of the second hull relative to the first.
+     *
+     * @return A description of the overlap between the two hulls, or null if they don't intersect.
+     */
+    public static Penetration getPenetration(ConvexHull hull_one,ConvexHull hull_two,double offset_x,double offset_y,double offset_z){
+        final Simplex simplex = new Simplex();
+
+
+        if(GJK.__solve(hull_one,hull_two,offset_x,offset_y,offset_z,simplex,true) > 0){
+            return null;
+        }
+
+        return GJK.__expand(hull_one,hull_two,offset_x,offset_y,offset_z,simplex);
+    }
+
+    /**
+     * Determines how far the convex hulls of two elements overlap.
+     *
+     * @param element_one First element.
+     * @param element_two Second element.
+     *
+     * @return A description of the overlap between the elements' convex hulls, or null if they don't intersect.
+     */
+    public static Penetration getPenetration(Strixa3DElement element_one,Strixa3DElement element_two){
+        return GJK.getPenetration(
+            element_one.getConvexHull(),
+            element_two.getConvexHull(),
+            element_two.getCoordinates().getX() - element_one.getCoordinates().getX(),
+            element_two.getCoordinates().getY() - element_one.getCoordinates().getY(),
+            element_two.getCoordinates().getZ() - element_one.getCoordinates().getZ()
+        );
+    }
+
+    /**
+     * Boolean check to determine whether two hulls intersect.  This stops as soon as a separating axis is found, so is cheaper than checking whether {@link GJK#getDistance(ConvexHull,ConvexHull,double,double,double)} is 0.
+     *
+     * @param hull_one First hull.
+     * @param hull_two Second hull.
+     * @param offset_x X offset of the second hull relative to the first.
+     * @param offset_y Y offset of the second hull relative to the first.
+     * @param offset_z Z offset of the second hull relative to the first.
+     *
+     * @return Returns true if the hulls intersect, and false, otherwise.
+     */
+    public static boolean isIntersecting(ConvexHull hull_one,ConvexHull hull_two,double offset_x,double offset_y,double offset_z){
+        return GJK.__solve(hull_one,hull_two,offset_x,offset_y,offset_z,new Simplex(),true) == 0;
+    }
+
+    private static void __cross(double a_x,double a_y,double a_z,double b_x,double b_y,double b_z,double[] result){
+        result[0] = a_y*b_z - a_z*b_y;
+        result[1] = a_z*b_x - a_x*b_z;
+        result[2] = a_x*b_y - a_y*b_x;
+    }
+
+    private static double __dot(double[] a,double[] b){
+        return a[0]*b[0] + a[1]*b[1] + a[2]*b[2];
+    }
+
+    /**
+     * Runs the expanding polytope algorithm, starting with the simplex left behind by a GJK run which found the hulls to intersect.
+     */
+    private static Penetration __expand(ConvexHull hull_one,ConvexHull hull_two,double offset_x,double offset_y,double offset_z,Simplex simplex){
+        final double[]       support = new double[3];
+        final List<double[]> vertices = new ArrayList<double[]>();
+        final List<Face>     faces = new ArrayList<Face>();
+        final Set<Long>      visible_edges = new HashSet<Long>();
+        final List<int[]>    horizon = new ArrayList<int[]>();
+        final List<Face>     visible_faces = new ArrayList<Face>();
+        final double[]       centroid = new double[3];
+
+        Face   closest = null;
+        Face   face = null;
+        double support_distance = 0;
+        int    new_vertex = 0;
+
+
+        if(!GJK.__fillSimplex(hull_one,hull_two,offset_x,offset_y,offset_z,simplex)){
+            /*The Minkowski difference is flat, so the hulls are only touching.*/
+            return new Penetration(0,GJK.__getFlatNormal(simplex));
+        }
+
+        for(int index = 0;index < 4;index++){
+            vertices.add(simplex.points[index].clone());
+            centroid[0] += simplex.points[index][0]/4;
+            centroid[1] += simplex.points[index][1]/4;
+            centroid[2] += simplex.points[index][2]/4;
+        }
+        faces.add(GJK.__createFace(vertices,0,1,2,centroid));
+        faces.add(GJK.__createFace(vertices,0,3,1,centroid));
+        faces.add(GJK.__createFace(vertices,0,2,3,centroid));
+        faces.add(GJK.__createFace(vertices,1,3,2,centroid));
+
+        for(int iteration = 0;iteration < GJK.MAX_ITERATIONS;iteration++){
+            closest = null;
+            for(int face_index = 0,face_end_index = faces.size() - 1;face_index <= face_end_index;face_index++){
+                face = faces.get(face_index);
+
+                if(!face.removed && (closest == null || face.distance < closest.distance)){
+                    closest = face;
+                }
+            }
+
+            GJK.__getSupport(hull_one,hull_two,offset_x,offset_y,offset_z,closest.normal[0],closest.normal[1],closest.normal[2],simplex,support);
+            support_distance = GJK.__dot(closest.normal,support);
+            if(support_distance - closest.distance <= GJK.EPSILON*Math.max(1,Math.abs(support_distance))){
+                break;
+            }
+
+            /*Replace every face the new point can see with faces joining it to the horizon.*/
+            new_vertex = vertices.size();
+            vertices.add(support.clone());
+
+            visible_faces.clear();
+            visible_edges.clear();
+            for(int face_index = 0,face_end_index = faces.size() - 1;face_index <= face_end_index;face_index++){
+                face = faces.get(face_index);
+
+                if(
+                    !face.removed
+                    &&
+                    (
+                        face == closest
+                        ||
+                        face.normal[0]*(support[0] - vertices.get(face.a)[0]) + face.normal[1]*(support[1] - vertices.get(face.a)[1]) + face.normal[2]*(support[2] - vertices.get(face.a)[2]) > 0
+                    )
+                ){
+                    visible_faces.add(face);
+                    visible_edges.add(GJK.__getEdgeKey(face.a,face.b));
+                    visible_edges.add(GJK.__getEdgeKey(face.b,face.c));
+                    visible_edges.add(GJK.__getEdgeKey(face.c,face.a));
+                }
+            }
+
+            horizon.clear();
+            for(int visible_index = 0,visible_end_index = visible_faces.size() - 1;visible_index <= visible_end_index;visible_index++){
+                face = visible_faces.get(visible_index);
+
+                if(!visible_edges.contains(GJK.__getEdgeKey(face.b,face.a))){
+                    horizon.add(new int[]{face.a,face.b});
+                }
+                if(!visible_edges.contains(GJK.__getEdgeKey(face.c,face.b))){
+                    horizon.add(new int[]{face.b,face.c});
+                }
+                if(!visible_edges.contains(GJK.__getEdgeKey(face.a,face.c))){
+                    horizon.add(new int[]{face.c,face.a});
+                }
+
+                face.removed = true;
+            }
+
+            for(int horizon_index = 0,horizon_end_index = horizon.size() - 1;horizon_index <= horizon_end_index;horizon_index++){
+                faces.add(new Face(vertices,horizon.get(horizon_index)[0],horizon.get(horizon_index)[1],new_vertex));
+            }
+        }
+
+        return new Penetration(Math.max(0,closest.distance),closest.normal);
+    }
+
+    private static Face __createFace(List<double[]> vertices,int a,int b,int c,double[] centroid){
+        final double[] vertex_a = vertices.get(a);
+
+        Face face = new Face(vertices,a,b,c);
+
+
+        if(face.normal[0]*(vertex_a[0] - centroid[0]) + face.normal[1]*(vertex_a[1] - centroid[1]) + face.normal[2]*(vertex_a[2] - centroid[2]) < 0){
+            face = new Face(vertices,a,c,b);
+        }
+
+        return face;
+    }
+
+    /**
+     * GJK may finish with fewer than four points when the origin lies on the boundary of the Minkowski difference.  This adds support points until the simplex is a tetrahedron of non-zero volume.
+     *
+     * @return Returns false if the Minkowski difference is flat and no such tetrahedron exists, and true, otherwise.
+     */
+    private static boolean __fillSimplex(ConvexHull hull_one,ConvexHull hull_two,double offset_x,double offset_y,double offset_z,Simplex simplex){
+        final double[][] axes = new double[][]{{1,0,0},{-1,0,0},{0,1,0},{0,-1,0},{0,0,1},{0,0,-1}};
+        final double[]   direction = new double[3];
+        final double[]   support = new double[3];
+        final double[]   edge_one = new double[3];
+        final double[]   edge_two = new double[3];
+
+        double scale = 0;
+
+
+        for(int index = 0;index < simplex.count;index++){
+            scale = Math.max(scale,GJK.__dot(simplex.points[index],simplex.points[index]));
+        }
+        scale = Math.max(1,Math.sqrt(scale))*GJK.EPSILON;
+
+        if(simplex.count == 1){
+            for(int axis_index = 0;axis_index < axes.length && simplex.count == 1;axis_index++){
+                GJK.__getSupport(hull_one,hull_two,offset_x,offset_y,offset_z,axes[axis_index][0],axes[axis_index][1],axes[axis_index][2],simplex,support);
+                if(Math.abs(support[0] - simplex.points[0][0]) + Math.abs(support[1] - simplex.points[0][1]) + Math.abs(support[2] - simplex.points[0][2]) > scale){
+                    simplex.add(support);
+                }
+            }
+        }
+
+        if(simplex.count == 2){
+            edge_one[0] = simplex.points[1][0] - simplex.points[0][0];
+            edge_one[1] = simplex.points[1][1] - simplex.points[0][1];
+            edge_one[2] = simplex.points[1][2] - simplex.points[0][2];
+
+            for(int axis_index = 0;axis_index < axes.length && simplex.count == 2;axis_index++){
+                GJK.__cross(edge_one[0],edge_one[1],edge_one[2],axes[axis_index][0],axes[axis_index][1],axes[axis_index][2],direction);
+                if(GJK.__dot(direction,direction) == 0){
+                    continue;
+                }
+
+                GJK.__getSupport(hull_one,hull_two,offset_x,offset_y,offset_z,direction[0],direction[1],direction[2],simplex,support);
+                GJK.__cross(edge_one[0],edge_one[1],edge_one[2],support[0] - simplex.points[0][0],support[1] - simplex.points[0][1],support[2] - simplex.points[0][2],edge_two);
+                if(Math.sqrt(GJK.__dot(edge_two,edge_two)) > scale*Math.sqrt(GJK.__dot(edge_one,edge_one))){
+                    simplex.add(support);
+                }
+            }
+        }
+
+        if(simplex.count == 3){
+            GJK.__cross(
+                simplex.points[1][0] - simplex.points[0][0],simplex.points[1][1] - simplex.points[0][1],simplex.points[1][2] - simplex.points[0][2],
+                simplex.points[2][0] - simplex.points[0][0],simplex.points[2][1] - simplex.points[0][1],simplex.points[2][2] - simplex.points[0][2],
+                direction
+            );
+            for(int attempt = 0;attempt < 2 && simplex.count == 3;attempt++){
+                GJK.__getSupport(hull_one,hull_two,offset_x,offset_y,offset_z,direction[0],direction[1],direction[2],simplex,support);
+                if(Math.abs(direction[0]*(support[0] - simplex.points[0][0]) + direction[1]*(support[1] - simplex.points[0][1]) + direction[2]*(support[2] - simplex.points[0][2])) > scale*Math.sqrt(GJK.__dot(direction,direction))){
+                    simplex.add(support);
+                }
+
+                direction[0] = -direction[0];
+                direction[1] = -direction[1];
+                direction[2] = -direction[2];
+            }
+        }
+
+        if(simplex.count < 4){
+            return false;
+        }
+
+        GJK.__cross(
+            simplex.points[1][0] - simplex.points[0][0],simplex.points[1][1] - simplex.points[0][1],simplex.points[1][2] - simplex.points[0][2],
+            simplex.points[2][0] - simplex.points[0][0],simplex.points[2][1] - simplex.points[0][1],simplex.points[2][2] - simplex.points[0][2],
+            direction
+        );
+
+        return Math.abs(
+            direction[0]*(simplex.points[3][0] - simplex.points[0][0])
+            +
+            direction[1]*(simplex.points[3][1] - simplex.points[0][1])
+            +
+            direction[2]*(simplex.points[3][2] - simplex.points[0][2])
+        ) > scale*Math.sqrt(GJK.__dot(direction,direction));
+    }
+
+    private static void __getClosestOnSegment(double[] a,double[] b,double[] weights){
+        final double ab_x = b[0] - a[0];
+        final double ab_y = b[1] - a[1];
+        final double ab_z = b[2] - a[2];
+        final double length_squared = ab_x*ab_x + ab_y*ab_y + ab_z*ab_z;
+
+        double t = 0;
+
+
+        if(length_squared > 0){
+            t = -(a[0]*ab_x + a[1]*ab_y + a[2]*ab_z)/length_squared;
+        }
+
+        if(t <= 0){
+            weights[0] = 1;
+            weights[1] = 0;
+        }else if(t >= 1){
+            weights[0] = 0;
+            weights[1] = 1;
+        }else{
+            weights[0] = 1 - t;
+            weights[1] = t;
+        }
+    }
+
+    /**
+     * Finds the point on the tetrahedron closest to the origin, as the closest of the points on the faces the origin lies outside of.
+     *
+     * @return Returns true if the origin lies inside of the tetrahedron, and false, otherwise.
+     */
+    private static boolean __getClosestOnTetrahedron(double[][] points,double[] weights){
+        final int[][]  faces = new int[][]{{0,1,2,3},{0,1,3,2},{0,2,3,1},{1,2,3,0}};
+        final double[] normal = new double[3];
+        final double[] face_weights = new double[3];
+
+        double   best = Double.POSITIVE_INFINITY;
+        double   distance = 0;
+        double   origin_side = 0;
+        double   opposite_side = 0;
+        double[] a = null;
+        double[] b = null;
+        double[] c = null;
+        double   closest_x = 0;
+        double   closest_y = 0;
+        double   closest_z = 0;
+
+
+        for(int face_index = 0;face_index < faces.length;face_index++){
+            a = points[faces[face_index][0]];
+            b = points[faces[face_index][1]];
+            c = points[faces[face_index][2]];
+
+            GJK.__cross(b[0] - a[0],b[1] - a[1],b[2] - a[2],c[0] - a[0],c[1] - a[1],c[2] - a[2],normal);
+            origin_side = -GJK.__dot(normal,a);
+            opposite_side = normal[0]*(points[faces[face_index][3]][0] - a[0]) + normal[1]*(points[faces[face_index][3]][1] - a[1]) + normal[2]*(points[faces[face_index][3]][2] - a[2]);
+            if(origin_side*opposite_side > 0){
+                continue;  //The origin is on the same side of this face as the rest of the tetrahedron.
+            }
+
+            GJK.__getClosestOnTriangle(a,b,c,face_weights);
+            closest_x = face_weights[0]*a[0] + face_weights[1]*b[0] + face_weights[2]*c[0];
+            closest_y = face_weights[0]*a[1] + face_weights[1]*b[1] + face_weights[2]*c[1];
+            closest_z = face_weights[0]*a[2] + face_weights[1]*b[2] + face_weights[2]*c[2];
+            distance = closest_x*closest_x + closest_y*closest_y + closest_z*closest_z;
+            if(distance < best){
+                best = distance;
+
+                weights[faces[face_index][0]] = face_weights[0];
+                weights[faces[face_index][1]] = face_weights[1];
+                weights[faces[face_index][2]] = face_weights[2];
+                weights[faces[face_index][3]] = 0;
+            }
+        }
+
+        return best == Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Finds the barycentric weights of the point on the triangle closest to the origin.  Taken from Ericson's "Real-Time Collision Detection", with a fallback to the triangle's edges when it is degenerate.
+     */
+    private static void __getClosestOnTriangle(double[] a,double[] b,double[] c,double[] weights){
+        final double ab_x = b[0] - a[0];
+        final double ab_y = b[1] - a[1];
+        final double ab_z = b[2] - a[2];
+        final double ac_x = c[0] - a[0];
+        final double ac_y = c[1] - a[1];
+        final double ac_z = c[2] - a[2];
+        final double d1 = -(ab_x*a[0] + ab_y*a[1] + ab_z*a[2]);
+        final double d2 = -(ac_x*a[0] + ac_y*a[1] + ac_z*a[2]);
+        final double d3 = -(ab_x*b[0] + ab_y*b[1] + ab_z*b[2]);
+        final double d4 = -(ac_x*b[0] + ac_y*b[1] + ac_z*b[2]);
+        final double d5 = -(ab_x*c[0] + ab_y*c[1] + ab_z*c[2]);
+        final double d6 = -(ac_x*c[0] + ac_y*c[1] + ac_z*c[2]);
+        final double va = d3*d6 - d5*d4;
+        final double vb = d5*d2 - d1*d6;
+        final double vc = d1*d4 - d3*d2;
+
+        double denominator = 0;
+        double v = 0;
+        double w = 0;
+
+
+        weights[0] = 0;
+        weights[1] = 0;
+        weights[2] = 0;
+
+        if(d1 <= 0 && d2 <= 0){
+            weights[0] = 1;
+        }else if(d3 >= 0 && d4 <= d3){
+            weights[1] = 1;
+        }else if(vc <= 0 && d1 >= 0 && d3 <= 0 && d1 - d3 > 0){
+            v = d1/(d1 - d3);
+            weights[0] = 1 - v;
+            weights[1] = v;
+        }else if(d6 >= 0 && d5 <= d6){
+            weights[2] = 1;
+        }else if(vb <= 0 && d2 >= 0 && d6 <= 0 && d2 - d6 > 0){
+            w = d2/(d2 - d6);
+            weights[0] = 1 - w;
+            weights[2] = w;
+        }else if(va <= 0 && d4 - d3 >= 0 && d5 - d6 >= 0 && (d4 - d3) + (d5 - d6) > 0){
+            w = (d4 - d3)/((d4 - d3) + (d5 - d6));
+            weights[1] = 1 - w;
+            weights[2] = w;
+        }else{
+            denominator = va + vb + vc;
+            if(denominator > 0){
+                v = vb/denominator;
+                w = vc/denominator;
+                weights[0] = 1 - v - w;
+                weights[1] = v;
+                weights[2] = w;
+            }else{
+                GJK.__getClosestOnDegenerateTriangle(a,b,c,weights);
+            }
+        }
+    }
+
+    private static void __getClosestOnDegenerateTriangle(double[] a,double[] b,double[] c,double[] weights){
+        final double[][] edges = new double[][]{a,b,b,c,a,c};
+        final int[][]    edge_vertices = new int[][]{{0,1},{1,2},{0,2}};
+        final double[]   edge_weights = new double[2];
+
+        double best = Double.POSITIVE_INFINITY;
+        double closest_x = 0;
+        double closest_y = 0;
+        double closest_z = 0;
+        double distance = 0;
+
+
+        for(int edge_index = 0;edge_index < 3;edge_index++){
+            GJK.__getClosestOnSegment(edges[edge_index*2],edges[edge_index*2 + 1],edge_weights);
+            closest_x = edge_weights[0]*edges[edge_index*2][0] + edge_weights[1]*edges[edge_index*2 + 1][0];
+            closest_y = edge_weights[0]*edges[edge_index*2][1] + edge_weights[1]*edges[edge_index*2 + 1][1];
+            closest_z = edge_weights[0]*edges[edge_index*2][2] + edge_weights[1]*edges[edge_index*2 + 1][2];
+            distance = closest_x*closest_x + closest_y*closest_y + closest_z*closest_z;
+
+            if(distance < best){
+                best = distance;
+
+                weights[0] = 0;
+                weights[1] = 0;
+                weights[2] = 0;
+                weights[edge_vertices[edge_index][0]] = edge_weights[0];
+                weights[edge_vertices[edge_index][1]] = edge_weights[1];
+            }
+        }
+    }
+
+    private static Long __getEdgeKey(int from,int to){
+        return ((long)from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Picks a normal for a Minkowski difference with no volume, using the plane of the simplex if it has one.
+     */
+    private static double[] __getFlatNormal(Simplex simplex){
+        final double[] normal = new double[]{0,0,1};
+
+        double length = 0;
+
+
+        if(simplex.count >= 3){
+            GJK.__cross(
+                simplex.points[1][0] - simplex.points[0][0],simplex.points[1][1] - simplex.points[0][1],simplex.points[1][2] - simplex.points[0][2],
+                simplex.points[2][0] - simplex.points[0][0],simplex.points[2][1] - simplex.points[0][1],simplex.points[2][2] - simplex.points[0][2],
+                normal
+            );
+            length = Math.sqrt(GJK.__dot(normal,normal));
+            if(length > 0){
+                normal[0] /= length;
+                normal[1] /= length;
+                normal[2] /= length;
+            }else{
+                normal[0] = 0;
+                normal[1] = 0;
+                normal[2] = 1;
+            }
+        }
+
+        return normal;
+    }
+
+    /**
+     * Gets the point of the Minkowski difference (hull one minus hull two) furthest along the given direction.  The simplex records which vertices of each hull were last used, so the next search can begin from them.
+     */
+    private static void __getSupport(ConvexHull hull_one,ConvexHull hull_two,double offset_x,double offset_y,double offset_z,double direction_x,double direction_y,double direction_z,Simplex simplex,double[] support){
+        final double[] support_two = new double[3];
+
+
+        simplex.hint_one = hull_one.getSupport(direction_x,direction_y,direction_z,simplex.hint_one,support);
+        simplex.hint_two = hull_two.getSupport(-direction_x,-direction_y,-direction_z,simplex.hint_two,support_two);
+
+        support[0] -= support_two[0] + offset_x;
+        support[1] -= support_two[1] + offset_y;
+        support[2] -= support_two[2] + offset_z;
+    }
+
+    /**
+     * Runs GJK, leaving the final simplex in 'simplex'.
+     *
+     * @param stop_when_separated If true, returns as soon as a separating axis is found rather than continuing on to find the exact distance.
+     *
+     * @return The squared distance between the hulls, or 0 if they intersect.  When 'stop_when_separated' is true, any positive value only indicates that the hulls don't intersect.
+     */
+    private static double __solve(ConvexHull hull_one,ConvexHull hull_two,double offset_x,double offset_y,double offset_z,Simplex simplex,boolean stop_when_separated){
+        final double[] closest = new double[3];
+        final double[] support = new double[3];
+
+        double closest_squared = 0;
+        double support_dot = 0;
+        double scale = 0;
+
+
+        if(hull_one.getVertexCount() == 0 || hull_two.getVertexCount() == 0){
+            return Double.POSITIVE_INFINITY;
+        }
+
+        GJK.__getSupport(hull_one,hull_two,offset_x,offset_y,offset_z,1,0,0,simplex,support);
+        simplex.count = 0;
+        simplex.add(support);
+        System.arraycopy(support,0,closest,0,3);
+        scale = GJK.__dot(support,support);
+
+        for(int iteration = 0;iteration < GJK.MAX_ITERATIONS;iteration++){
+            closest_squared = GJK.__dot(closest,closest);
+            if(closest_squared <= GJK.EPSILON*GJK.EPSILON*Math.max(1,scale)){
+                return 0;
+            }
+
+            GJK.__getSupport(hull_one,hull_two,offset_x,offset_y,offset_z,-closest[0],-closest[1],-closest[2],simplex,support);
+            support_dot = GJK.__dot(closest,support);
+            if(stop_when_separated && support_dot > 0){
+                return closest_squared;  //The hulls are separated along 'closest'.
+            }
+            if(closest_squared - support_dot <= GJK.EPSILON*closest_squared){
+                return closest_squared;  //No point of the difference is meaningfully closer to the origin.
+            }
+
+            simplex.add(support);
+            scale = Math.max(scale,GJK.__dot(support,support));
+            if(simplex.reduce(closest)){
+                return 0;
+            }
+        }
+
+        return GJK.__dot(closest,closest);
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,263 @@
+/**
+ * File:  PointIndex.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.collision;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.strixa.gl.StrixaPolygon;
+import com.strixa.gl.util.Transform;
+import com.strixa.gl.util.Vertex;
+
+/**
+ * Flat, sorted copy of the distinct vertices of a set of {@link StrixaPolygon}s, used to quickly find whether any of them lie within a box.<br />
+ * Vertices shared between polygons are stored only once.  Points are sorted along the axis over which they are most spread out, so a box query only has to look at the points within the box's extent along that axis.
+ *
+ * @author Nicholas Rog
+ */
+public class PointIndex{
+    private final int      __axis;
+    private final double[] __bounds = new double[6];
+    private final double[] __points;
+
+
+    /*Begin Constructors*/
+    /**
+     * Builds an index over the vertices of the given polygons.  Polygon coordinates are not applied, so points are relative to the element the polygons belong to.
+     *
+     * @param polygons Polygons whose vertices should be indexed.
+     */
+    public PointIndex(List<StrixaPolygon> polygons){
+        this(polygons,null);
+    }
+
+    /**
+     * Builds an index over the vertices of the given polygons, after transforming them.  Polygon coordinates are not applied, so points are relative to the element the polygons belong to.
+     *
+     * @param polygons Polygons whose vertices should be indexed.
+     * @param transform Transform to apply to each vertex.  If this is null, vertices are used as they are.
+     */
+    public PointIndex(List<StrixaPolygon> polygons,Transform transform){
+        final Set<Vertex> unique_vertices = Collections.newSetFromMap(new IdentityHashMap<Vertex,Boolean>());
+        final double[]    transformed_point = new double[3];
+
+        List<Vertex> polygon_points = null;
+        Vertex       vertex = null;
+        double[]     points = null;
+        int          point_count = 0;
+        int          axis = 0;
+
+
+        for(int polygon_index = 0,polygon_end_index = polygons.size() - 1;polygon_index <= polygon_end_index;polygon_index++){
+            unique_vertices.addAll(polygons.get(polygon_index).getPoints());
+        }
+
+        points = new double[unique_vertices.size()*3];
+        for(int polygon_index = 0,polygon_end_index = polygons.size() - 1;polygon_index <= polygon_end_index;polygon_index++){
+            polygon_points = polygons.get(polygon_index).getPoints();
+
+            for(int point_index = 0,point_end_index = polygon_points.size() - 1;point_index <= point_end_index;point_index++){
+                vertex = polygon_points.get(point_index);
+
+                if(unique_vertices.remove(vertex)){
+                    points[point_count*3] = vertex.getX();
+                    points[point_count*3 + 1] = vertex.getY();
+                    points[point_count*3 + 2] = vertex.getZ();
+                    if(transform != null){
+                        transform.transformPoint(vertex.getX(),vertex.getY(),vertex.getZ(),transformed_point);
+                        System.arraycopy(transformed_point,0,points,point_count*3,3);
+                    }
+                    point_count++;
+                }
+            }
+        }
+
+        this.__bounds[0] = this.__bounds[1] = this.__bounds[2] = Double.POSITIVE_INFINITY;
+        this.__bounds[3] = this.__bounds[4] = this.__bounds[5] = Double.NEGATIVE_INFINITY;
+        for(int point = 0;point < point_count;point++){
+            for(int bound_axis = 0;bound_axis < 3;bound_axis++){
+                this.__bounds[bound_axis] = Math.min(this.__bounds[bound_axis],points[point*3 + bound_axis]);
+                this.__bounds[bound_axis + 3] = Math.max(this.__bounds[bound_axis + 3],points[point*3 + bound_axis]);
+            }
+        }
+
+        if(point_count > 0){
+            for(int bound_axis = 1;bound_axis < 3;bound_axis++){
+                if(this.__bounds[bound_axis + 3] - this.__bounds[bound_axis] > this.__bounds[axis + 3] - this.__bounds[axis]){
+                    axis = bound_axis;
+                }
+            }
+
+            PointIndex.__sort(points,axis,0,point_count - 1);
+        }
+
+        this.__axis = axis;
+        this.__points = points;
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the box enclosing every indexed point.
+     *
+     * @param bounds Six element array which will be filled with the minimum X, Y and Z followed by the maximum X, Y and Z.
+     *
+     * @return Returns false if there are no points, and true, otherwise.
+     */
+    public boolean getBounds(double[] bounds){
+        System.arraycopy(this.__bounds,0,bounds,0,6);
+
+        return this.__points.length > 0;
+    }
+
+    /**
+     * Gets the number of distinct points in this index.
+     *
+     * @return The number of distinct points in this index.
+     */
+    public int getPointCount(){
+        return this.__points.length/3;
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Boolean check to determine whether any indexed point, once offset, lies within the given box.  Points on the box's surface are considered to be within it.<br />
+     * Each point is compared as (coordinate + offset) against the box, so results match testing offset copies of the points one at a time.
+     *
+     * @param offset_x Amount to add to each point's X coordinate.
+     * @param offset_y Amount to add to each point's Y coordinate.
+     * @param offset_z Amount to add to each point's Z coordinate.
+     * @param min_x Most negative X coordinate of the box.
+     * @param min_y Most negative Y coordinate of the box.
+     * @param min_z Most negative Z coordinate of the box.
+     * @param max_x Most positive X coordinate of the box.
+     * @param max_y Most positive Y coordinate of the box.
+     * @param max_z Most positive Z coordinate of the box.
+     *
+     * @return Returns true if at least one point lies within the box, and false, otherwise.
+     */
+    public boolean isAnyPointInside(double offset_x,double offset_y,double offset_z,double min_x,double min_y,double min_z,double max_x,double max_y,double max_z){
+        final double[] points = this.__points;
+        final int      axis = this.__axis;
+        final int      point_count = points.length/3;
+        final double[] offsets = new double[]{offset_x,offset_y,offset_z};
+        final double   axis_min = axis == 0 ? min_x : (axis == 1 ? min_y : min_z);
+        final double   axis_max = axis == 0 ? max_x : (axis == 1 ? max_y : max_z);
+        final double   axis_offset = offsets[axis];
+
+        int low = 0;
+        int high = point_count;
+        int middle = 0;
+        double x = 0;
+        double y = 0;
+        double z = 0;
+
+
+        if(
+            point_count == 0
+            ||
+            this.__bounds[3] + offset_x < min_x || this.__bounds[0] + offset_x > max_x
+            ||
+            this.__bounds[4] + offset_y < min_y || this.__bounds[1] + offset_y > max_y
+            ||
+            this.__bounds[5] + offset_z < min_z || this.__bounds[2] + offset_z > max_z
+        ){
+            return false;
+        }
+
+        /*Find the first point which isn't below the box along the sorted axis.*/
+        while(low < high){
+            middle = (low + high) >>> 1;
+
+            if(points[middle*3 + axis] + axis_offset >= axis_min){
+                high = middle;
+            }else{
+                low = middle + 1;
+            }
+        }
+
+        for(int point = low;point < point_count && points[point*3 + axis] + axis_offset <= axis_max;point++){
+            x = points[point*3] + offset_x;
+            y = points[point*3 + 1] + offset_y;
+            z = points[point*3 + 2] + offset_z;
+
+            if(x >= min_x && x <= max_x && y >= min_y && y <= max_y && z >= min_z && z <= max_z){
+                return true;
+            }
+        }
+
+        return false;
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Sorts the points between 'low' and 'high', inclusive, by their coordinate along the given axis.
+     */
+    private static void __sort(double[] points,int axis,int low,int high){
+        double pivot = 0;
+        int    left = 0;
+        int    right = 0;
+        double swap = 0;
+
+
+        while(high - low > 16){
+            pivot = PointIndex.__median(points[low*3 + axis],points[((low + high) >>> 1)*3 + axis],points[high*3 + axis]);
+            left = low;
+            right = high;
+
+            while(left <= right){
+                while(points[left*3 + axis] < pivot){
+                    left++;
+                }
+                while(points[right*3 + axis] > pivot){
+                    right--;
+                }
+
+                if(left <= right){
+                    for(int component = 0;component < 3;component++){
+                        swap = points[left*3 + component];
+                        points[left*3 + component] = points[right*3 + component];
+                        points[right*3 + component] = swap;
+                    }
+
+                    left++;
+                    right--;
+                }
+            }
+
+            /*Recurse into the smaller half so the stack stays shallow.*/
+            if(right - low < high - left){
+                PointIndex.__sort(points,axis,low,right);
+                low = left;
+            }else{
+                PointIndex.__sort(points,axis,left,high);
+                high = right;
+            }
+        }
+
+        for(int index = low + 1;index <= high;index++){
+            for(int other = index;other > low && points[(other - 1)*3 + axis] > points[other*3 + axis];other--){
+                for(int component = 0;component < 3;component++){
+                    swap = points[other*3 + component];
+                    points[other*3 + component] = points[(other - 1)*3 + component];
+                    points[(other - 1)*3 + component] = swap;
+                }
+            }
+        }
+    }
+
+    private static double __median(double a,double b,double c){
+        if(a < b){
+            return b < c ? b : (a < c ? c : a);
+        }else{
+            return a < c ? a : (b < c ? c : b);
+        }
+    }
+    /*End Static Methods*/
+}
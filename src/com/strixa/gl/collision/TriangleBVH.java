@@ -0,0 +1,574 @@
+/**
+ * File:  TriangleBVH.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.collision;
+
+import java.util.List;
+
+import com.strixa.gl.StrixaPolygon;
+import com.strixa.gl.util.Ray;
+import com.strixa.gl.util.Transform;
+import com.strixa.gl.util.Vertex;
+import com.strixa.util.Point3D;
+
+/**
+ * Bounding volume hierarchy over the triangles of a set of {@link StrixaPolygon}s.<br />
+ * Polygons are split into triangle fans, and the triangles are grouped into a binary tree of bounding boxes so that two hierarchies can be tested against one another by only visiting the parts of each whose boxes overlap.<br />
+ * Triangle coordinates are kept relative to the element the polygons belong to, so the hierarchy stays valid while that element moves.
+ *
+ * @author Nicholas Rog
+ */
+public class TriangleBVH{
+    /** Largest number of triangles stored in a single leaf. */
+    public static final int LEAF_SIZE = 4;
+
+    private int[]           __node_child;
+    private double[]        __node_bounds;
+    private int[]           __node_first;
+    private int[]           __node_triangle_count;
+    private int             __node_count;
+    private int[]           __triangle_fan_indices;
+    private StrixaPolygon[] __triangle_polygons;
+    private int             __triangle_count;
+    private double[]        __triangles;
+
+
+    /*Begin Constructors*/
+    /**
+     * Builds a hierarchy over the given polygons.  Polygons with fewer than three points are ignored.
+     *
+     * @param polygons Polygons whose triangles should be added to the hierarchy.
+     */
+    public TriangleBVH(List<StrixaPolygon> polygons){
+        this(polygons,null);
+    }
+
+    /**
+     * Builds a hierarchy over the given polygons, after transforming their points.  Polygons with fewer than three points are ignored.
+     *
+     * @param polygons Polygons whose triangles should be added to the hierarchy.
+     * @param transform Transform to apply to each point, after the polygon's coordinates have been added.  If this is null, points are used as they are.
+     */
+    public TriangleBVH(List<StrixaPolygon> polygons,Transform transform){
+        StrixaPolygon   polygon = null;
+        Point3D<Double> polygon_coordinates = null;
+        List<Vertex>    points = null;
+        int             triangle_count = 0;
+        int             triangle_index = 0;
+
+
+        for(int polygon_index = 0,polygon_end_index = polygons.size() - 1;polygon_index <= polygon_end_index;polygon_index++){
+            triangle_count += Math.max(polygons.get(polygon_index).getPoints().size() - 2,0);
+        }
+
+        this.__triangle_count = triangle_count;
+        this.__triangles = new double[triangle_count * 9];
+        this.__triangle_polygons = new StrixaPolygon[triangle_count];
+        this.__triangle_fan_indices = new int[triangle_count];
+
+        for(int polygon_index = 0,polygon_end_index = polygons.size() - 1;polygon_index <= polygon_end_index;polygon_index++){
+            polygon = polygons.get(polygon_index);
+            points = polygon.getPoints();
+            polygon_coordinates = polygon.getCoordinates();
+
+            for(int point_index = 1,point_end_index = points.size() - 2;point_index <= point_end_index;point_index++){
+                this.__setCorner(triangle_index,0,points.get(0),polygon_coordinates,transform);
+                this.__setCorner(triangle_index,1,points.get(point_index),polygon_coordinates,transform);
+                this.__setCorner(triangle_index,2,points.get(point_index + 1),polygon_coordinates,transform);
+                this.__triangle_polygons[triangle_index] = polygon;
+                this.__triangle_fan_indices[triangle_index] = point_index;
+
+                triangle_index++;
+            }
+        }
+
+        this.__build();
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the box enclosing every triangle in this hierarchy.
+     *
+     * @param bounds Six element array which will be filled with the minimum X, Y and Z followed by the maximum X, Y and Z.
+     *
+     * @return Returns false if this hierarchy contains no triangles, in which case 'bounds' is left untouched, and true, otherwise.
+     */
+    public boolean getBounds(double[] bounds){
+        if(this.__node_count == 0){
+            return false;
+        }
+
+        System.arraycopy(this.__node_bounds,0,bounds,0,6);
+
+        return true;
+    }
+
+    /**
+     * Gets the polygon the given triangle was taken from.
+     *
+     * @param triangle_index Index of the triangle.
+     *
+     * @return The polygon the given triangle was taken from.
+     */
+    public StrixaPolygon getPolygon(int triangle_index){
+        return this.__triangle_polygons[triangle_index];
+    }
+
+    /**
+     * Gets the indices, into its polygon's points, of the given triangle's corners.  Polygons are split into fans, so the first corner is always the polygon's first point.
+     *
+     * @param triangle_index Index of the triangle.
+     * @param indices Three element array which will be filled with the indices of the triangle's corners.
+     */
+    public void getPointIndices(int triangle_index,int[] indices){
+        indices[0] = 0;
+        indices[1] = this.__triangle_fan_indices[triangle_index];
+        indices[2] = this.__triangle_fan_indices[triangle_index] + 1;
+    }
+
+    /**
+     * Copies the corners of the given triangle.
+     *
+     * @param triangle_index Index of the triangle.
+     * @param corners Nine element array which will be filled with the X, Y and Z coordinates of each of the triangle's corners.
+     */
+    public void getTriangle(int triangle_index,double[] corners){
+        System.arraycopy(this.__triangles,triangle_index * 9,corners,0,9);
+    }
+
+    /**
+     * Gets the number of triangles in this hierarchy.
+     *
+     * @return The number of triangles in this hierarchy.
+     */
+    public int getTriangleCount(){
+        return this.__triangle_count;
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    private void __build(){
+        final int[] order = new int[this.__triangle_count];
+        final double[] centroids = new double[this.__triangle_count * 3];
+        final double[] triangles = this.__triangles;
+        final StrixaPolygon[] triangle_polygons = this.__triangle_polygons;
+        final int[] triangle_fan_indices = this.__triangle_fan_indices;
+
+
+        this.__node_count = 0;
+        if(this.__triangle_count == 0){
+            return;
+        }
+
+        for(int triangle_index = 0;triangle_index < this.__triangle_count;triangle_index++){
+            order[triangle_index] = triangle_index;
+            for(int axis = 0;axis < 3;axis++){
+                centroids[triangle_index*3 + axis] = (
+                    triangles[triangle_index*9 + axis]
+                    +
+                    triangles[triangle_index*9 + 3 + axis]
+                    +
+                    triangles[triangle_index*9 + 6 + axis]
+                )/3;
+            }
+        }
+
+        this.__node_bounds = new double[this.__triangle_count * 2 * 6];
+        this.__node_child = new int[this.__triangle_count * 2];
+        this.__node_first = new int[this.__triangle_count * 2];
+        this.__node_triangle_count = new int[this.__triangle_count * 2];
+
+        this.__node_count = 1;
+        this.__buildNode(0,order,centroids,0,this.__triangle_count);
+
+        /*Store the triangles in leaf order, so each leaf refers to a contiguous range.*/
+        this.__triangles = new double[triangles.length];
+        this.__triangle_polygons = new StrixaPolygon[triangle_polygons.length];
+        this.__triangle_fan_indices = new int[triangle_fan_indices.length];
+        for(int index = 0;index < this.__triangle_count;index++){
+            System.arraycopy(triangles,order[index]*9,this.__triangles,index*9,9);
+            this.__triangle_polygons[index] = triangle_polygons[order[index]];
+            this.__triangle_fan_indices[index] = triangle_fan_indices[order[index]];
+        }
+    }
+
+    private void __buildNode(int node,int[] order,double[] centroids,int start,int end){
+        final int    offset = node*6;
+
+        double[] centroid_bounds = null;
+        int      axis = 0;
+        int      middle = 0;
+
+
+        /*Bounds of the node*/
+        for(int axis_index = 0;axis_index < 3;axis_index++){
+            this.__node_bounds[offset + axis_index] = Double.POSITIVE_INFINITY;
+            this.__node_bounds[offset + 3 + axis_index] = Double.NEGATIVE_INFINITY;
+        }
+        for(int index = start;index < end;index++){
+            for(int corner = 0;corner < 3;corner++){
+                for(int axis_index = 0;axis_index < 3;axis_index++){
+                    this.__node_bounds[offset + axis_index] = Math.min(this.__node_bounds[offset + axis_index],this.__triangles[order[index]*9 + corner*3 + axis_index]);
+                    this.__node_bounds[offset + 3 + axis_index] = Math.max(this.__node_bounds[offset + 3 + axis_index],this.__triangles[order[index]*9 + corner*3 + axis_index]);
+                }
+            }
+        }
+
+        if(end - start <= TriangleBVH.LEAF_SIZE){
+            this.__node_first[node] = start;
+            this.__node_triangle_count[node] = end - start;
+
+            return;
+        }
+
+        /*Split at the median centroid along the axis the centroids are most spread out on.*/
+        centroid_bounds = new double[]{
+            Double.POSITIVE_INFINITY,Double.POSITIVE_INFINITY,Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY,Double.NEGATIVE_INFINITY,Double.NEGATIVE_INFINITY
+        };
+        for(int index = start;index < end;index++){
+            for(int axis_index = 0;axis_index < 3;axis_index++){
+                centroid_bounds[axis_index] = Math.min(centroid_bounds[axis_index],centroids[order[index]*3 + axis_index]);
+                centroid_bounds[3 + axis_index] = Math.max(centroid_bounds[3 + axis_index],centroids[order[index]*3 + axis_index]);
+            }
+        }
+        if(centroid_bounds[4] - centroid_bounds[1] > centroid_bounds[3] - centroid_bounds[0]){
+            axis = 1;
+        }
+        if(centroid_bounds[5] - centroid_bounds[2] > centroid_bounds[3 + axis] - centroid_bounds[axis]){
+            axis = 2;
+        }
+
+        middle = (start + end)/2;
+        TriangleBVH.__select(order,centroids,axis,start,end - 1,middle);
+
+        this.__node_triangle_count[node] = 0;
+        this.__node_child[node] = this.__node_count;
+        this.__node_count += 2;
+
+        this.__buildNode(this.__node_child[node],order,centroids,start,middle);
+        this.__buildNode(this.__node_child[node] + 1,order,centroids,middle,end);
+    }
+
+    /**
+     * Determines whether any triangle in this hierarchy intersects any triangle in the given hierarchy.
+     *
+     * @param bvh Hierarchy to test against.
+     * @param offset_x Amount the given hierarchy's triangles are shifted along the X axis relative to this one's.
+     * @param offset_y Amount the given hierarchy's triangles are shifted along the Y axis relative to this one's.
+     * @param offset_z Amount the given hierarchy's triangles are shifted along the Z axis relative to this one's.
+     *
+     * @return Returns true if any two triangles intersect, and false, otherwise.
+     */
+    public boolean isColliding(TriangleBVH bvh,double offset_x,double offset_y,double offset_z){
+        final double[] triangle_one = new double[9];
+        final double[] triangle_two = new double[9];
+
+        int[] stack = null;
+        int   stack_size = 0;
+        int   node_one = 0;
+        int   node_two = 0;
+
+
+        if(this.__node_count == 0 || bvh.__node_count == 0){
+            return false;
+        }
+
+        stack = new int[64];
+        stack[stack_size++] = 0;
+        stack[stack_size++] = 0;
+        while(stack_size > 0){
+            node_two = stack[--stack_size];
+            node_one = stack[--stack_size];
+
+            if(!this.__overlaps(node_one,bvh,node_two,offset_x,offset_y,offset_z)){
+                continue;
+            }
+
+            if(this.__node_triangle_count[node_one] > 0 && bvh.__node_triangle_count[node_two] > 0){
+                for(int index_one = this.__node_first[node_one],end_one = index_one + this.__node_triangle_count[node_one];index_one < end_one;index_one++){
+                    System.arraycopy(this.__triangles,index_one*9,triangle_one,0,9);
+
+                    for(int index_two = bvh.__node_first[node_two],end_two = index_two + bvh.__node_triangle_count[node_two];index_two < end_two;index_two++){
+                        for(int corner = 0;corner < 3;corner++){
+                            triangle_two[corner*3] = bvh.__triangles[index_two*9 + corner*3] + offset_x;
+                            triangle_two[corner*3 + 1] = bvh.__triangles[index_two*9 + corner*3 + 1] + offset_y;
+                            triangle_two[corner*3 + 2] = bvh.__triangles[index_two*9 + corner*3 + 2] + offset_z;
+                        }
+
+                        if(TriangleIntersection.isIntersecting(triangle_one,triangle_two)){
+                            return true;
+                        }
+                    }
+                }
+
+                continue;
+            }
+
+            if(stack_size + 4 > stack.length){
+                final int[] grown = new int[stack.length * 2];
+
+
+                System.arraycopy(stack,0,grown,0,stack_size);
+                stack = grown;
+            }
+
+            /*Descend into whichever node is an inner node, preferring the larger of the two.*/
+            if(bvh.__node_triangle_count[node_two] > 0 || (this.__node_triangle_count[node_one] == 0 && this.__getVolume(node_one) >= bvh.__getVolume(node_two))){
+                stack[stack_size++] = this.__node_child[node_one];
+                stack[stack_size++] = node_two;
+                stack[stack_size++] = this.__node_child[node_one] + 1;
+                stack[stack_size++] = node_two;
+            }else{
+                stack[stack_size++] = node_one;
+                stack[stack_size++] = bvh.__node_child[node_two];
+                stack[stack_size++] = node_one;
+                stack[stack_size++] = bvh.__node_child[node_two] + 1;
+            }
+        }
+
+        return false;
+    }
+
+    private double __getVolume(int node){
+        final int offset = node*6;
+
+
+        return
+            (this.__node_bounds[offset + 3] - this.__node_bounds[offset])
+            *
+            (this.__node_bounds[offset + 4] - this.__node_bounds[offset + 1])
+            *
+            (this.__node_bounds[offset + 5] - this.__node_bounds[offset + 2]);
+    }
+
+    private boolean __overlaps(int node_one,TriangleBVH bvh,int node_two,double offset_x,double offset_y,double offset_z){
+        final double[] bounds_one = this.__node_bounds;
+        final double[] bounds_two = bvh.__node_bounds;
+        final int      offset_one = node_one*6;
+        final int      offset_two = node_two*6;
+
+
+        return
+            bounds_one[offset_one] <= bounds_two[offset_two + 3] + offset_x && bounds_two[offset_two] + offset_x <= bounds_one[offset_one + 3]
+            &&
+            bounds_one[offset_one + 1] <= bounds_two[offset_two + 4] + offset_y && bounds_two[offset_two + 1] + offset_y <= bounds_one[offset_one + 4]
+            &&
+            bounds_one[offset_one + 2] <= bounds_two[offset_two + 5] + offset_z && bounds_two[offset_two + 2] + offset_z <= bounds_one[offset_one + 5];
+    }
+
+    /**
+     * Finds the closest triangle hit by the given ray.  Triangles are hit from either side.<br />
+     * Nodes are visited nearest first, and any node the ray enters further away than the closest hit found so far is skipped.
+     *
+     * @param ray Ray to cast, relative to the same origin as this hierarchy's triangles.
+     * @param max_distance Furthest distance along the ray which should be considered.
+     * @param hit Three element array which will be filled with the distance to the hit, followed by the barycentric weights of the triangle's second and third corners.
+     *
+     * @return The index of the closest triangle hit, or -1 if no triangle was hit within 'max_distance'.
+     */
+    public int raycast(Ray ray,double max_distance,double[] hit){
+        final double[] node_bounds = this.__node_bounds;
+        final double[] triangles = this.__triangles;
+        final double   origin_x = ray.getOriginX();
+        final double   origin_y = ray.getOriginY();
+        final double   origin_z = ray.getOriginZ();
+        final double   direction_x = ray.getDirectionX();
+        final double   direction_y = ray.getDirectionY();
+        final double   direction_z = ray.getDirectionZ();
+
+        int[]    stack = null;
+        double[] stack_distances = null;
+        int      stack_size = 0;
+        int      node = 0;
+        int      first_child = 0;
+        double   first_distance = 0;
+        double   second_distance = 0;
+        double   best = max_distance;
+        int      best_triangle = -1;
+        int      offset = 0;
+        double   edge_one_x = 0;
+        double   edge_one_y = 0;
+        double   edge_one_z = 0;
+        double   edge_two_x = 0;
+        double   edge_two_y = 0;
+        double   edge_two_z = 0;
+        double   p_x = 0;
+        double   p_y = 0;
+        double   p_z = 0;
+        double   q_x = 0;
+        double   q_y = 0;
+        double   q_z = 0;
+        double   s_x = 0;
+        double   s_y = 0;
+        double   s_z = 0;
+        double   determinant = 0;
+        double   u = 0;
+        double   v = 0;
+        double   distance = 0;
+
+
+        if(this.__node_count == 0 || ray.getBoxEntryDistance(node_bounds[0],node_bounds[1],node_bounds[2],node_bounds[3],node_bounds[4],node_bounds[5],best) == Double.POSITIVE_INFINITY){
+            return -1;
+        }
+
+        stack = new int[64];
+        stack_distances = new double[64];
+        stack[stack_size] = 0;
+        stack_distances[stack_size++] = 0;
+        while(stack_size > 0){
+            stack_size--;
+            node = stack[stack_size];
+            if(stack_distances[stack_size] > best){
+                continue;
+            }
+
+            if(this.__node_triangle_count[node] > 0){
+                /*Moller-Trumbore*/
+                for(int index = this.__node_first[node],end_index = index + this.__node_triangle_count[node];index < end_index;index++){
+                    offset = index*9;
+                    edge_one_x = triangles[offset + 3] - triangles[offset];
+                    edge_one_y = triangles[offset + 4] - triangles[offset + 1];
+                    edge_one_z = triangles[offset + 5] - triangles[offset + 2];
+                    edge_two_x = triangles[offset + 6] - triangles[offset];
+                    edge_two_y = triangles[offset + 7] - triangles[offset + 1];
+                    edge_two_z = triangles[offset + 8] - triangles[offset + 2];
+
+                    p_x = direction_y*edge_two_z - direction_z*edge_two_y;
+                    p_y = direction_z*edge_two_x - direction_x*edge_two_z;
+                    p_z = direction_x*edge_two_y - direction_y*edge_two_x;
+                    determinant = edge_one_x*p_x + edge_one_y*p_y + edge_one_z*p_z;
+                    if(determinant == 0){
+                        continue;  //The ray runs parallel to the triangle.
+                    }
+
+                    s_x = origin_x - triangles[offset];
+                    s_y = origin_y - triangles[offset + 1];
+                    s_z = origin_z - triangles[offset + 2];
+                    u = (s_x*p_x + s_y*p_y + s_z*p_z)/determinant;
+                    if(u < 0 || u > 1){
+                        continue;
+                    }
+
+                    q_x = s_y*edge_one_z - s_z*edge_one_y;
+                    q_y = s_z*edge_one_x - s_x*edge_one_z;
+                    q_z = s_x*edge_one_y - s_y*edge_one_x;
+                    v = (direction_x*q_x + direction_y*q_y + direction_z*q_z)/determinant;
+                    if(v < 0 || u + v > 1){
+                        continue;
+                    }
+
+                    distance = (edge_two_x*q_x + edge_two_y*q_y + edge_two_z*q_z)/determinant;
+                    if(distance >= 0 && distance <= best){
+                        best = distance;
+                        best_triangle = index;
+                        hit[0] = distance;
+                        hit[1] = u;
+                        hit[2] = v;
+                    }
+                }
+
+                continue;
+            }
+
+            if(stack_size + 2 > stack.length){
+                final int[]    grown = new int[stack.length * 2];
+                final double[] grown_distances = new double[stack.length * 2];
+
+
+                System.arraycopy(stack,0,grown,0,stack_size);
+                System.arraycopy(stack_distances,0,grown_distances,0,stack_size);
+                stack = grown;
+                stack_distances = grown_distances;
+            }
+
+            /*Push the further child first so the nearer one is visited first.  Children the ray misses aren't pushed at all.*/
+            first_child = this.__node_child[node];
+            offset = first_child*6;
+            first_distance = ray.getBoxEntryDistance(node_bounds[offset],node_bounds[offset + 1],node_bounds[offset + 2],node_bounds[offset + 3],node_bounds[offset + 4],node_bounds[offset + 5],best);
+            offset += 6;
+            second_distance = ray.getBoxEntryDistance(node_bounds[offset],node_bounds[offset + 1],node_bounds[offset + 2],node_bounds[offset + 3],node_bounds[offset + 4],node_bounds[offset + 5],best);
+
+            if(first_distance <= second_distance){
+                if(second_distance != Double.POSITIVE_INFINITY){
+                    stack[stack_size] = first_child + 1;
+                    stack_distances[stack_size++] = second_distance;
+                }
+                if(first_distance != Double.POSITIVE_INFINITY){
+                    stack[stack_size] = first_child;
+                    stack_distances[stack_size++] = first_distance;
+                }
+            }else{
+                if(first_distance != Double.POSITIVE_INFINITY){
+                    stack[stack_size] = first_child;
+                    stack_distances[stack_size++] = first_distance;
+                }
+                stack[stack_size] = first_child + 1;
+                stack_distances[stack_size++] = second_distance;
+            }
+        }
+
+        return best_triangle;
+    }
+
+    private void __setCorner(int triangle_index,int corner,Vertex point,Point3D<Double> polygon_coordinates,Transform transform){
+        final int      offset = triangle_index*9 + corner*3;
+        final double[] corner_point = new double[3];
+
+
+        corner_point[0] = point.getX() + polygon_coordinates.getX();
+        corner_point[1] = point.getY() + polygon_coordinates.getY();
+        corner_point[2] = point.getZ() + polygon_coordinates.getZ();
+        if(transform != null){
+            transform.transformPoint(corner_point[0],corner_point[1],corner_point[2],corner_point);
+        }
+
+        System.arraycopy(corner_point,0,this.__triangles,offset,3);
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Partially sorts 'order' between 'left' and 'right', inclusive, so that the triangle at index 'k' is the one which would be there if the range were fully sorted by centroid along the given axis.
+     */
+    private static void __select(int[] order,double[] centroids,int axis,int left,int right,int k){
+        double pivot = 0;
+        int    temp = 0;
+        int    i = 0;
+        int    j = 0;
+
+
+        while(left < right){
+            pivot = centroids[order[(left + right) >>> 1]*3 + axis];
+            i = left;
+            j = right;
+
+            while(i <= j){
+                while(centroids[order[i]*3 + axis] < pivot){
+                    i++;
+                }
+                while(centroids[order[j]*3 + axis] > pivot){
+                    j--;
+                }
+                if(i <= j){
+                    temp = order[i];
+                    order[i] = order[j];
+                    order[j] = temp;
+                    i++;
+                    j--;
+                }
+            }
+
+            if(k <= j){
+                right = j;
+            }else if(k >= i){
+                left = i;
+            }else{
+                return;
+            }
+        }
+    }
+    /*End Static Methods*/
+}
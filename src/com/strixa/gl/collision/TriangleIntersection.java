@@ -0,0 +1,308 @@
+/**
+ * File:  TriangleIntersection.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.collision;
+
+/**
+ * Exact intersection test between two triangles, following Tomas Möller's interval overlap method.<br />
+ * Each triangle is given as a nine element array holding the X, Y and Z coordinates of its first, second and third corner, in that order.
+ *
+ * @author Nicholas Rog
+ */
+public class TriangleIntersection{
+    /** Signed distances smaller than this are treated as lying on the plane. */
+    public static final double EPSILON = 1e-9;
+
+
+    /*Begin Static Methods*/
+    private static double __dot(double[] vector,double[] point,int point_index){
+        return vector[0]*point[point_index] + vector[1]*point[point_index + 1] + vector[2]*point[point_index + 2];
+    }
+
+    private static boolean __edgeAgainstTriangleEdges(double[] v,int v_index_one,int v_index_two,double[] u,int i0,int i1){
+        final double a_x = v[v_index_two + i0] - v[v_index_one + i0];
+        final double a_y = v[v_index_two + i1] - v[v_index_one + i1];
+
+
+        return
+            TriangleIntersection.__edgeEdgeTest(v,v_index_one,u,0,3,a_x,a_y,i0,i1)
+            ||
+            TriangleIntersection.__edgeEdgeTest(v,v_index_one,u,3,6,a_x,a_y,i0,i1)
+            ||
+            TriangleIntersection.__edgeEdgeTest(v,v_index_one,u,6,0,a_x,a_y,i0,i1);
+    }
+
+    private static boolean __edgeEdgeTest(double[] v,int v_index,double[] u,int u_index_one,int u_index_two,double a_x,double a_y,int i0,int i1){
+        final double b_x = u[u_index_one + i0] - u[u_index_two + i0];
+        final double b_y = u[u_index_one + i1] - u[u_index_two + i1];
+        final double c_x = v[v_index + i0] - u[u_index_one + i0];
+        final double c_y = v[v_index + i1] - u[u_index_one + i1];
+        final double f = a_y*b_x - a_x*b_y;
+        final double d = b_y*c_x - b_x*c_y;
+
+        double e = 0;
+
+
+        if((f > 0 && d >= 0 && d <= f) || (f < 0 && d <= 0 && d >= f)){
+            e = a_x*c_y - a_y*c_x;
+            if(f > 0){
+                if(e >= 0 && e <= f){
+                    return true;
+                }
+            }else{
+                if(e <= 0 && e >= f){
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Determines whether two triangles lying in the same plane overlap.
+     */
+    private static boolean __isCoplanarIntersecting(double[] normal,double[] v,double[] u){
+        final double a_x = Math.abs(normal[0]);
+        final double a_y = Math.abs(normal[1]);
+        final double a_z = Math.abs(normal[2]);
+
+        int i0 = 0;
+        int i1 = 0;
+
+
+        /*Project onto the axis aligned plane which maximizes the triangles' area.*/
+        if(a_x > a_y){
+            if(a_x > a_z){
+                i0 = 1;
+                i1 = 2;
+            }else{
+                i0 = 0;
+                i1 = 1;
+            }
+        }else{
+            if(a_z > a_y){
+                i0 = 0;
+                i1 = 1;
+            }else{
+                i0 = 0;
+                i1 = 2;
+            }
+        }
+
+        if(
+            TriangleIntersection.__edgeAgainstTriangleEdges(v,0,3,u,i0,i1)
+            ||
+            TriangleIntersection.__edgeAgainstTriangleEdges(v,3,6,u,i0,i1)
+            ||
+            TriangleIntersection.__edgeAgainstTriangleEdges(v,6,0,u,i0,i1)
+        ){
+            return true;
+        }
+
+        return TriangleIntersection.__isPointInTriangle(v,0,u,i0,i1) || TriangleIntersection.__isPointInTriangle(u,0,v,i0,i1);
+    }
+
+    /**
+     * Determines whether two triangles intersect.  Triangles which only touch are considered to be intersecting.
+     *
+     * @param v Corners of the first triangle.
+     * @param u Corners of the second triangle.
+     *
+     * @return Returns true if the triangles intersect, and false, otherwise.
+     */
+    public static boolean isIntersecting(double[] v,double[] u){
+        final double[] normal_one = new double[3];
+        final double[] normal_two = new double[3];
+        final double[] interval_one = new double[5];
+        final double[] interval_two = new double[5];
+
+        double d1 = 0;
+        double d2 = 0;
+        double du0 = 0;
+        double du1 = 0;
+        double du2 = 0;
+        double dv0 = 0;
+        double dv1 = 0;
+        double dv2 = 0;
+        double direction_x = 0;
+        double direction_y = 0;
+        double direction_z = 0;
+        double max = 0;
+        int    index = 0;
+        double xx = 0;
+        double yy = 0;
+        double xxyy = 0;
+        double temp = 0;
+        double isect_one_a = 0;
+        double isect_one_b = 0;
+        double isect_two_a = 0;
+        double isect_two_b = 0;
+
+
+        /*Plane of the first triangle, and the second triangle's corners' distances to it.*/
+        TriangleIntersection.__normal(v,normal_one);
+        d1 = -TriangleIntersection.__dot(normal_one,v,0);
+
+        du0 = TriangleIntersection.__dot(normal_one,u,0) + d1;
+        du1 = TriangleIntersection.__dot(normal_one,u,3) + d1;
+        du2 = TriangleIntersection.__dot(normal_one,u,6) + d1;
+        if(Math.abs(du0) < TriangleIntersection.EPSILON){
+            du0 = 0;
+        }
+        if(Math.abs(du1) < TriangleIntersection.EPSILON){
+            du1 = 0;
+        }
+        if(Math.abs(du2) < TriangleIntersection.EPSILON){
+            du2 = 0;
+        }
+        if(du0*du1 > 0 && du0*du2 > 0){
+            return false;  //Every corner of the second triangle lies on the same side of the first triangle's plane.
+        }
+
+        /*Plane of the second triangle, and the first triangle's corners' distances to it.*/
+        TriangleIntersection.__normal(u,normal_two);
+        d2 = -TriangleIntersection.__dot(normal_two,u,0);
+
+        dv0 = TriangleIntersection.__dot(normal_two,v,0) + d2;
+        dv1 = TriangleIntersection.__dot(normal_two,v,3) + d2;
+        dv2 = TriangleIntersection.__dot(normal_two,v,6) + d2;
+        if(Math.abs(dv0) < TriangleIntersection.EPSILON){
+            dv0 = 0;
+        }
+        if(Math.abs(dv1) < TriangleIntersection.EPSILON){
+            dv1 = 0;
+        }
+        if(Math.abs(dv2) < TriangleIntersection.EPSILON){
+            dv2 = 0;
+        }
+        if(dv0*dv1 > 0 && dv0*dv2 > 0){
+            return false;
+        }
+
+        /*Project onto the largest component of the line where the two planes intersect.*/
+        direction_x = normal_one[1]*normal_two[2] - normal_one[2]*normal_two[1];
+        direction_y = normal_one[2]*normal_two[0] - normal_one[0]*normal_two[2];
+        direction_z = normal_one[0]*normal_two[1] - normal_one[1]*normal_two[0];
+
+        max = Math.abs(direction_x);
+        index = 0;
+        if(Math.abs(direction_y) > max){
+            max = Math.abs(direction_y);
+            index = 1;
+        }
+        if(Math.abs(direction_z) > max){
+            index = 2;
+        }
+
+        if(!TriangleIntersection.__computeIntervals(v[index],v[3 + index],v[6 + index],dv0,dv1,dv2,interval_one)){
+            return TriangleIntersection.__isCoplanarIntersecting(normal_one,v,u);
+        }
+        if(!TriangleIntersection.__computeIntervals(u[index],u[3 + index],u[6 + index],du0,du1,du2,interval_two)){
+            return TriangleIntersection.__isCoplanarIntersecting(normal_one,v,u);
+        }
+
+        xx = interval_one[3]*interval_one[4];
+        yy = interval_two[3]*interval_two[4];
+        xxyy = xx*yy;
+
+        temp = interval_one[0]*xxyy;
+        isect_one_a = temp + interval_one[1]*interval_one[4]*yy;
+        isect_one_b = temp + interval_one[2]*interval_one[3]*yy;
+
+        temp = interval_two[0]*xxyy;
+        isect_two_a = temp + interval_two[1]*xx*interval_two[4];
+        isect_two_b = temp + interval_two[2]*xx*interval_two[3];
+
+        if(isect_one_a > isect_one_b){
+            temp = isect_one_a;
+            isect_one_a = isect_one_b;
+            isect_one_b = temp;
+        }
+        if(isect_two_a > isect_two_b){
+            temp = isect_two_a;
+            isect_two_a = isect_two_b;
+            isect_two_b = temp;
+        }
+
+        if(isect_one_b < isect_two_a || isect_two_b < isect_one_a){
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes the parameters of the interval a triangle covers along the planes' intersection line.
+     *
+     * @return Returns false if the triangles are coplanar, and true, otherwise.
+     */
+    private static boolean __computeIntervals(double vv0,double vv1,double vv2,double d0,double d1,double d2,double[] interval){
+        if(d0*d1 > 0){
+            TriangleIntersection.__setInterval(interval,vv2,(vv0 - vv2)*d2,(vv1 - vv2)*d2,d2 - d0,d2 - d1);
+        }else if(d0*d2 > 0){
+            TriangleIntersection.__setInterval(interval,vv1,(vv0 - vv1)*d1,(vv2 - vv1)*d1,d1 - d0,d1 - d2);
+        }else if(d1*d2 > 0 || d0 != 0){
+            TriangleIntersection.__setInterval(interval,vv0,(vv1 - vv0)*d0,(vv2 - vv0)*d0,d0 - d1,d0 - d2);
+        }else if(d1 != 0){
+            TriangleIntersection.__setInterval(interval,vv1,(vv0 - vv1)*d1,(vv2 - vv1)*d1,d1 - d0,d1 - d2);
+        }else if(d2 != 0){
+            TriangleIntersection.__setInterval(interval,vv2,(vv0 - vv2)*d2,(vv1 - vv2)*d2,d2 - d0,d2 - d1);
+        }else{
+            return false;
+        }
+
+        return true;
+    }
+
+    private static boolean __isPointInTriangle(double[] point,int point_index,double[] u,int i0,int i1){
+        double a = 0;
+        double b = 0;
+        double c = 0;
+        double d0 = 0;
+        double d1 = 0;
+        double d2 = 0;
+
+
+        a = u[3 + i1] - u[i1];
+        b = -(u[3 + i0] - u[i0]);
+        c = -a*u[i0] - b*u[i1];
+        d0 = a*point[point_index + i0] + b*point[point_index + i1] + c;
+
+        a = u[6 + i1] - u[3 + i1];
+        b = -(u[6 + i0] - u[3 + i0]);
+        c = -a*u[3 + i0] - b*u[3 + i1];
+        d1 = a*point[point_index + i0] + b*point[point_index + i1] + c;
+
+        a = u[i1] - u[6 + i1];
+        b = -(u[i0] - u[6 + i0]);
+        c = -a*u[6 + i0] - b*u[6 + i1];
+        d2 = a*point[point_index + i0] + b*point[point_index + i1] + c;
+
+        return d0*d1 > 0 && d0*d2 > 0;
+    }
+
+    private static void __normal(double[] triangle,double[] normal){
+        final double e1_x = triangle[3] - triangle[0];
+        final double e1_y = triangle[4] - triangle[1];
+        final double e1_z = triangle[5] - triangle[2];
+        final double e2_x = triangle[6] - triangle[0];
+        final double e2_y = triangle[7] - triangle[1];
+        final double e2_z = triangle[8] - triangle[2];
+
+
+        normal[0] = e1_y*e2_z - e1_z*e2_y;
+        normal[1] = e1_z*e2_x - e1_x*e2_z;
+        normal[2] = e1_x*e2_y - e1_y*e2_x;
+    }
+
+    private static void __setInterval(double[] interval,double a,double b,double c,double x0,double x1){
+        interval[0] = a;
+        interval[1] = b;
+        interval[2] = c;
+        interval[3] = x0;
+        interval[4] = x1;
+    }
+    /*End Static Methods*/
+}
@@ -73,6 +73,25 @@ public class Cuboid{
     /*End Getter/Setter Methods*/
     
     /*Begin Other Essential Methods*/
+    /**
+     * Boolean check to determine whether any part of the given cuboid lies within this cuboid.
+     * 
+     * @param cuboid Cuboid to check.
+     * 
+     * @return Method returns true if the two cuboids overlap or touch, and false, otherwise.
+     */
+    public boolean intersects(Cuboid cuboid){
+        final Point3D<Double> coordinates = cuboid.getCoordinates();
+        
+        
+        return
+            coordinates.getX() <= this.__coordinates.getX() + this.getWidth() && this.__coordinates.getX() <= coordinates.getX() + cuboid.getWidth()
+            &&
+            coordinates.getY() <= this.__coordinates.getY() + this.getHeight() && this.__coordinates.getY() <= coordinates.getY() + cuboid.getHeight()
+            &&
+            coordinates.getZ() <= this.__coordinates.getZ() + this.getDepth() && this.__coordinates.getZ() <= coordinates.getZ() + cuboid.getDepth();
+    }
+    
     /**
      * Boolean check to determine whether a point exists within this cuboid or not.
      * 
@@ -86,7 +105,7 @@ public class Cuboid{
             &&
             point.getY() > this.__coordinates.getY() && point.getY() < (this.__coordinates.getY() + this.getHeight())
             &&
-            point.getZ() > this.__coordinates.getY() && point.getZ() < (this.__coordinates.getZ() + this.getDepth())
+            point.getZ() > this.__coordinates.getZ() && point.getZ() < (this.__coordinates.getZ() + this.getDepth())
         ){
             return true;
         }else{
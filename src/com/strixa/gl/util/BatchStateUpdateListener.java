@@ -0,0 +1,21 @@
+/**
+ * File:  BatchStateUpdateListener.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.util;
+
+import com.strixa.gl.Strixa3DElement;
+
+/**
+ * Used when a class needs to be told that something deciding how a {@link Strixa3DElement} is batched has changed.
+ *
+ * @author Nicholas Rog
+ */
+public interface BatchStateUpdateListener{
+    /**
+     * Called after an element's static flag, material, occluder setting, or visibility has changed.
+     *
+     * @param element Element which has changed.
+     */
+    public void onBatchStateUpdate(Strixa3DElement element);
+}
@@ -0,0 +1,21 @@
+/**
+ * File:  BoundingBoxUpdateListener.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.util;
+
+import com.strixa.gl.Strixa3DElement;
+
+/**
+ * Used when a class needs to be told that a {@link Strixa3DElement}'s bounding box has changed.
+ *
+ * @author Nicholas Rog
+ */
+public interface BoundingBoxUpdateListener{
+    /**
+     * Called after an element's bounding box has been regenerated.
+     *
+     * @param element Element whose bounding box has changed.
+     */
+    public void onBoundingBoxUpdate(Strixa3DElement element);
+}
@@ -0,0 +1,391 @@
+/**
+ * File:  Frustum.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.util;
+
+import java.util.Arrays;
+
+import com.strixa.gl.properties.Cuboid;
+
+/**
+ * Describes a volume bounded by six planes, such as the volume a camera can see.<br />
+ * Each plane is stored as (a,b,c,d) where a point (x,y,z) is on the inner side of the plane when ax + by + cz + d is not negative.
+ *
+ * @author Nicholas Rog
+ */
+public class Frustum{
+    /**
+     * Describes how a box relates to a frustum.
+     *
+     * @author Nicholas Rog
+     */
+    public enum Containment{
+        /** The box is entirely inside of the frustum. */
+        INSIDE,
+        /** The box is partially inside of the frustum. */
+        INTERSECTING,
+        /** The box is entirely outside of the frustum. */
+        OUTSIDE
+    }
+
+    /** Number of planes bounding a frustum. */
+    public static final int PLANE_COUNT = 6;
+    /** Mask in which the bit for every plane is set. */
+    public static final int ALL_PLANES = (1 << Frustum.PLANE_COUNT) - 1;
+    /** Index of the left plane of a frustum created by {@link Frustum#setPerspective}. */
+    public static final int LEFT_PLANE = 0;
+    /** Index of the right plane of a frustum created by {@link Frustum#setPerspective}. */
+    public static final int RIGHT_PLANE = 1;
+    /** Index of the bottom plane of a frustum created by {@link Frustum#setPerspective}. */
+    public static final int BOTTOM_PLANE = 2;
+    /** Index of the top plane of a frustum created by {@link Frustum#setPerspective}. */
+    public static final int TOP_PLANE = 3;
+    /** Index of the near plane of a frustum created by {@link Frustum#setPerspective}. */
+    public static final int NEAR_PLANE = 4;
+    /** Index of the far plane of a frustum created by {@link Frustum#setPerspective}. */
+    public static final int FAR_PLANE = 5;
+
+    private final double[]   __bounds = new double[6];
+    private final double[][] __planes = new double[Frustum.PLANE_COUNT][4];
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs a frustum whose planes all accept every point.
+     */
+    public Frustum(){
+        for(int plane_index = 0;plane_index < Frustum.PLANE_COUNT;plane_index++){
+            this.setPlane(plane_index,0,0,0,1);
+        }
+    }
+
+    /**
+     * Constructs a copy of the given frustum.
+     *
+     * @param copy Frustum whose planes should be copied.
+     */
+    public Frustum(Frustum copy){
+        for(int plane_index = 0;plane_index < Frustum.PLANE_COUNT;plane_index++){
+            System.arraycopy(copy.__planes[plane_index],0,this.__planes[plane_index],0,4);
+        }
+        System.arraycopy(copy.__bounds,0,this.__bounds,0,6);
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the smallest axis aligned box which encloses this frustum.  This is only known for frustums created by {@link Frustum#setPerspective}; for any other frustum, the box is infinite.
+     *
+     * @return A six element array containing the box's minimum X, Y and Z coordinates followed by its maximum X, Y and Z coordinates.
+     */
+    public double[] getBounds(){
+        final double[] bounds = new double[6];
+
+
+        System.arraycopy(this.__bounds,0,bounds,0,6);
+
+        return bounds;
+    }
+
+    /**
+     * Gets a copy of the requested plane.
+     *
+     * @param plane_index Index of the plane, between 0 and {@link Frustum#PLANE_COUNT} - 1.
+     *
+     * @return The plane as a four element array containing a, b, c and d.
+     */
+    public double[] getPlane(int plane_index){
+        final double[] plane = new double[4];
+
+
+        System.arraycopy(this.__planes[plane_index],0,plane,0,4);
+
+        return plane;
+    }
+
+    /**
+     * Sets this frustum to the volume seen through a perspective projection, as set up by calling gluPerspective and then gluLookAt with the same arguments.<br />
+     * The planes are stored in the order given by {@link Frustum#LEFT_PLANE} through {@link Frustum#FAR_PLANE}.
+     *
+     * @param field_of_view Vertical field of view, in degrees.
+     * @param aspect_ratio Ratio of the width of the view to its height.
+     * @param near_distance Distance from the eye to the near plane.
+     * @param far_distance Distance from the eye to the far plane.
+     * @param eye_x X coordinate of the eye.
+     * @param eye_y Y coordinate of the eye.
+     * @param eye_z Z coordinate of the eye.
+     * @param center_x X coordinate of the point being looked at.
+     * @param center_y Y coordinate of the point being looked at.
+     * @param center_z Z coordinate of the point being looked at.
+     * @param up_x X component of the up direction.
+     * @param up_y Y component of the up direction.
+     * @param up_z Z component of the up direction.
+     *
+     * @throws IllegalArgumentException Thrown if argument 'near_distance' is not greater than 0, if argument 'far_distance' is not greater than argument 'near_distance', or if the eye and the point being looked at are the same.
+     */
+    public void setPerspective(double field_of_view,double aspect_ratio,double near_distance,double far_distance,double eye_x,double eye_y,double eye_z,double center_x,double center_y,double center_z,double up_x,double up_y,double up_z){
+        final double tangent_y = Math.tan(Math.toRadians(field_of_view/2));
+        final double tangent_x = tangent_y*aspect_ratio;
+        final double[] bounds = new double[6];
+        final double[] forward = new double[]{center_x - eye_x,center_y - eye_y,center_z - eye_z};
+        final double[] side = new double[3];
+        final double[] up = new double[3];
+
+        double corner_x = 0;
+        double corner_y = 0;
+        double corner_z = 0;
+        double distance = 0;
+        double length = 0;
+        double side_scale = 0;
+        double up_scale = 0;
+
+
+        /*Begin Parameter Verification*/
+        if(near_distance <= 0){
+            throw new IllegalArgumentException("Argument 'near_distance' must be greater than 0.");
+        }
+        if(far_distance <= near_distance){
+            throw new IllegalArgumentException("Argument 'far_distance' must be greater than argument 'near_distance'.");
+        }
+
+        length = Math.sqrt(forward[0]*forward[0] + forward[1]*forward[1] + forward[2]*forward[2]);
+        if(length == 0){
+            throw new IllegalArgumentException("Arguments 'center_x', 'center_y', and 'center_z' must describe a point other than the eye.");
+        }
+        /*End Parameter Verification*/
+
+        /*Build the same basis gluLookAt does.*/
+        forward[0] /= length;
+        forward[1] /= length;
+        forward[2] /= length;
+
+        Frustum.__cross(forward,up_x,up_y,up_z,side);
+        length = Math.sqrt(side[0]*side[0] + side[1]*side[1] + side[2]*side[2]);
+        if(length == 0){
+            /*The up direction is parallel to the view, so any side direction will do.  Use the axis least aligned with the view.*/
+            if(Math.abs(forward[0]) <= Math.abs(forward[1]) && Math.abs(forward[0]) <= Math.abs(forward[2])){
+                Frustum.__cross(forward,1,0,0,side);
+            }else if(Math.abs(forward[1]) <= Math.abs(forward[2])){
+                Frustum.__cross(forward,0,1,0,side);
+            }else{
+                Frustum.__cross(forward,0,0,1,side);
+            }
+            length = Math.sqrt(side[0]*side[0] + side[1]*side[1] + side[2]*side[2]);
+        }
+        side[0] /= length;
+        side[1] /= length;
+        side[2] /= length;
+
+        Frustum.__cross(side,forward[0],forward[1],forward[2],up);
+
+        /*Each side plane contains the eye, and its inward normal leans from the edge of the view towards its centre.*/
+        this.__setPlaneThrough(Frustum.LEFT_PLANE,tangent_x*forward[0] + side[0],tangent_x*forward[1] + side[1],tangent_x*forward[2] + side[2],eye_x,eye_y,eye_z);
+        this.__setPlaneThrough(Frustum.RIGHT_PLANE,tangent_x*forward[0] - side[0],tangent_x*forward[1] - side[1],tangent_x*forward[2] - side[2],eye_x,eye_y,eye_z);
+        this.__setPlaneThrough(Frustum.BOTTOM_PLANE,tangent_y*forward[0] + up[0],tangent_y*forward[1] + up[1],tangent_y*forward[2] + up[2],eye_x,eye_y,eye_z);
+        this.__setPlaneThrough(Frustum.TOP_PLANE,tangent_y*forward[0] - up[0],tangent_y*forward[1] - up[1],tangent_y*forward[2] - up[2],eye_x,eye_y,eye_z);
+        this.__setPlaneThrough(Frustum.NEAR_PLANE,forward[0],forward[1],forward[2],eye_x + forward[0]*near_distance,eye_y + forward[1]*near_distance,eye_z + forward[2]*near_distance);
+        this.__setPlaneThrough(Frustum.FAR_PLANE,-forward[0],-forward[1],-forward[2],eye_x + forward[0]*far_distance,eye_y + forward[1]*far_distance,eye_z + forward[2]*far_distance);
+
+        /*The frustum's bounds are those of its eight corners.*/
+        Arrays.fill(bounds,0,3,Double.POSITIVE_INFINITY);
+        Arrays.fill(bounds,3,6,Double.NEGATIVE_INFINITY);
+        for(int corner_index = 0;corner_index < 8;corner_index++){
+            distance = (corner_index & 0x4) == 0 ? near_distance : far_distance;
+            side_scale = ((corner_index & 0x1) == 0 ? -tangent_x : tangent_x)*distance;
+            up_scale = ((corner_index & 0x2) == 0 ? -tangent_y : tangent_y)*distance;
+
+            corner_x = eye_x + forward[0]*distance + side[0]*side_scale + up[0]*up_scale;
+            corner_y = eye_y + forward[1]*distance + side[1]*side_scale + up[1]*up_scale;
+            corner_z = eye_z + forward[2]*distance + side[2]*side_scale + up[2]*up_scale;
+
+            bounds[0] = Math.min(bounds[0],corner_x);
+            bounds[1] = Math.min(bounds[1],corner_y);
+            bounds[2] = Math.min(bounds[2],corner_z);
+            bounds[3] = Math.max(bounds[3],corner_x);
+            bounds[4] = Math.max(bounds[4],corner_y);
+            bounds[5] = Math.max(bounds[5],corner_z);
+        }
+        System.arraycopy(bounds,0,this.__bounds,0,6);
+    }
+
+    /**
+     * Sets one of this frustum's planes.  The plane will be normalized so that (a,b,c) has a length of one.<br />
+     * As the planes may no longer describe a perspective projection, the bounds of this frustum become infinite.
+     *
+     * @param plane_index Index of the plane, between 0 and {@link Frustum#PLANE_COUNT} - 1.
+     * @param a X component of the plane's inward facing normal.
+     * @param b Y component of the plane's inward facing normal.
+     * @param c Z component of the plane's inward facing normal.
+     * @param d Distance term of the plane.
+     *
+     * @throws IndexOutOfBoundsException Thrown if argument 'plane_index' is less than 0 or not less than {@link Frustum#PLANE_COUNT}.
+     */
+    public void setPlane(int plane_index,double a,double b,double c,double d){
+        final double length = Math.sqrt(a*a + b*b + c*c);
+        final double[] plane = this.__planes[plane_index];
+
+
+        if(length == 0){
+            plane[0] = 0;
+            plane[1] = 0;
+            plane[2] = 0;
+            plane[3] = d;
+        }else{
+            plane[0] = a/length;
+            plane[1] = b/length;
+            plane[2] = c/length;
+            plane[3] = d/length;
+        }
+
+        Arrays.fill(this.__bounds,0,3,Double.NEGATIVE_INFINITY);
+        Arrays.fill(this.__bounds,3,6,Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Sets one of this frustum's planes to the plane with the given normal which passes through the given point.
+     */
+    private void __setPlaneThrough(int plane_index,double a,double b,double c,double x,double y,double z){
+        this.setPlane(plane_index,a,b,c,-(a*x + b*y + c*z));
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Determines how the given box relates to this frustum.<br />
+     * For each plane, only the corner of the box furthest along the plane's normal (the positive vertex) and the corner furthest against it (the negative vertex) are tested.
+     *
+     * @param min_x Most negative X coordinate of the box.
+     * @param min_y Most negative Y coordinate of the box.
+     * @param min_z Most negative Z coordinate of the box.
+     * @param max_x Most positive X coordinate of the box.
+     * @param max_y Most positive Y coordinate of the box.
+     * @param max_z Most positive Z coordinate of the box.
+     *
+     * @return Returns how the box relates to this frustum.
+     */
+    public Containment classifyBox(double min_x,double min_y,double min_z,double max_x,double max_y,double max_z){
+        Containment containment = Containment.INSIDE;
+        double[]    plane = null;
+
+
+        for(int plane_index = 0;plane_index < Frustum.PLANE_COUNT;plane_index++){
+            plane = this.__planes[plane_index];
+
+            if(Frustum._getPositiveVertexDistance(plane,min_x,min_y,min_z,max_x,max_y,max_z) < 0){
+                return Containment.OUTSIDE;
+            }
+            if(Frustum._getNegativeVertexDistance(plane,min_x,min_y,min_z,max_x,max_y,max_z) < 0){
+                containment = Containment.INTERSECTING;
+            }
+        }
+
+        return containment;
+    }
+
+    /**
+     * Determines how the given box relates to this frustum.
+     *
+     * @param box Box to test.
+     *
+     * @return Returns how the box relates to this frustum.
+     */
+    public Containment classifyBox(Cuboid box){
+        final double min_x = box.getCoordinates().getX();
+        final double min_y = box.getCoordinates().getY();
+        final double min_z = box.getCoordinates().getZ();
+
+
+        return this.classifyBox(min_x,min_y,min_z,min_x + box.getWidth(),min_y + box.getHeight(),min_z + box.getDepth());
+    }
+
+    /**
+     * Determines whether the given box is outside of this frustum, testing only some of its planes.<br />
+     * The planes are tested starting with 'first_plane', so passing the plane which rejected a box during the previous frame will usually reject it again with a single test.  The mask returned for a box may be passed when testing anything it contains, as nothing inside the box can cross a plane the box is entirely inside of.
+     *
+     * @param min_x Most negative X coordinate of the box.
+     * @param min_y Most negative Y coordinate of the box.
+     * @param min_z Most negative Z coordinate of the box.
+     * @param max_x Most positive X coordinate of the box.
+     * @param max_y Most positive Y coordinate of the box.
+     * @param max_z Most positive Z coordinate of the box.
+     * @param plane_mask Mask of the planes to test, where plane N is tested if bit (1 &lt;&lt; N) is set.  Use {@link Frustum#ALL_PLANES} to test every plane.
+     * @param first_plane Index of the plane to test first, between 0 and {@link Frustum#PLANE_COUNT} - 1.
+     *
+     * @return If the box is outside of this frustum, returns (-(plane index) - 1), where plane index is the index of the plane which rejected it.  Otherwise, returns the mask of the tested planes the box crosses, which will be 0 if the box is entirely inside of this frustum.
+     */
+    public int cullBox(double min_x,double min_y,double min_z,double max_x,double max_y,double max_z,int plane_mask,int first_plane){
+        double[] plane = null;
+        int      plane_index = 0;
+        int      crossed_mask = 0;
+
+
+        for(int offset = 0;offset < Frustum.PLANE_COUNT;offset++){
+            plane_index = (first_plane + offset) % Frustum.PLANE_COUNT;
+            if((plane_mask & (1 << plane_index)) == 0){
+                continue;
+            }
+
+            plane = this.__planes[plane_index];
+            if(Frustum._getPositiveVertexDistance(plane,min_x,min_y,min_z,max_x,max_y,max_z) < 0){
+                return -plane_index - 1;
+            }
+            if(Frustum._getNegativeVertexDistance(plane,min_x,min_y,min_z,max_x,max_y,max_z) < 0){
+                crossed_mask |= 1 << plane_index;
+            }
+        }
+
+        return crossed_mask;
+    }
+
+    /**
+     * Boolean check to determine whether any part of the given box is inside of this frustum.
+     *
+     * @param box Box to test.
+     *
+     * @return Returns true if any part of the box may be inside of this frustum, and false, otherwise.
+     */
+    public boolean isBoxVisible(Cuboid box){
+        return this.classifyBox(box) != Containment.OUTSIDE;
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Sets 'result' to the cross product of 'vector' and (x,y,z).
+     */
+    private static void __cross(double[] vector,double x,double y,double z,double[] result){
+        result[0] = vector[1]*z - vector[2]*y;
+        result[1] = vector[2]*x - vector[0]*z;
+        result[2] = vector[0]*y - vector[1]*x;
+    }
+
+    /**
+     * Gets the signed distance from the plane to the corner of the box which lies furthest against its normal.
+     */
+    protected static double _getNegativeVertexDistance(double[] plane,double min_x,double min_y,double min_z,double max_x,double max_y,double max_z){
+        return
+            plane[0] * (plane[0] >= 0 ? min_x : max_x)
+            +
+            plane[1] * (plane[1] >= 0 ? min_y : max_y)
+            +
+            plane[2] * (plane[2] >= 0 ? min_z : max_z)
+            +
+            plane[3];
+    }
+
+    /**
+     * Gets the signed distance from the plane to the corner of the box which lies furthest along its normal.
+     */
+    protected static double _getPositiveVertexDistance(double[] plane,double min_x,double min_y,double min_z,double max_x,double max_y,double max_z){
+        return
+            plane[0] * (plane[0] >= 0 ? max_x : min_x)
+            +
+            plane[1] * (plane[1] >= 0 ? max_y : min_y)
+            +
+            plane[2] * (plane[2] >= 0 ? max_z : min_z)
+            +
+            plane[3];
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,158 @@
+/**
+ * File:  MipmapGenerator.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.util;
+
+/**
+ * Builds the chain of ever smaller images which a mipmapped texture samples from, on the CPU.<br />
+ * Each level is half the width and height of the level above it, and each of its pixels is the average of the two to nine pixels of the level above which it covers.  Colors are stored in sRGB, which isn't linear, so they're converted to linear values before being averaged and converted back afterwards.  Averaging the stored values directly would make every level darker than the one above it.  Colors are also weighted by their alpha, so that fully transparent pixels don't bleed their color into their neighbours.
+ *
+ * @author Nicholas Rog
+ */
+public class MipmapGenerator{
+    private static final int     __LINEAR_TO_SRGB_SIZE = 4096;
+
+    private static final float[] __srgb_to_linear = new float[256];
+    private static final int[]   __linear_to_srgb = new int[MipmapGenerator.__LINEAR_TO_SRGB_SIZE];
+
+
+    static{
+        double value = 0;
+
+
+        for(int index = 0,end_index = 255;index <= end_index;index++){
+            value = index/255.0;
+            MipmapGenerator.__srgb_to_linear[index] = (float)(value <= .04045 ? value/12.92 : Math.pow((value + .055)/1.055,2.4));
+        }
+
+        for(int index = 0,end_index = MipmapGenerator.__LINEAR_TO_SRGB_SIZE - 1;index <= end_index;index++){
+            value = (double)index/end_index;
+            value = value <= .0031308 ? value*12.92 : 1.055*Math.pow(value,1/2.4) - .055;
+            MipmapGenerator.__linear_to_srgb[index] = (int)Math.round(value*255);
+        }
+    }
+
+    /*Begin Static Methods*/
+    /**
+     * Builds the full chain of levels for the given image, down to a single pixel.
+     *
+     * @param pixels Pixels of the image, as ARGB values in rows from top to bottom.  This array becomes the first level, and isn't modified.
+     * @param width Width of the image.
+     * @param height Height of the image.
+     *
+     * @return The levels, starting with the given pixels.  Level n has a width of width &gt;&gt; n and a height of height &gt;&gt; n, neither of which is ever less than 1.
+     *
+     * @throws IllegalArgumentException Thrown if 'pixels' is null, if 'width' or 'height' is less than 1, or if 'pixels' doesn't have exactly width*height elements.
+     */
+    public static int[][] generate(int[] pixels,int width,int height){
+        final int[][] levels;
+
+        int level_width = width;
+        int level_height = height;
+
+
+        /*Begin Parameter Verification*/
+        if(pixels == null){
+            throw new IllegalArgumentException("Argument 'pixels' must not be null.");
+        }
+
+        if(width < 1 || height < 1){
+            throw new IllegalArgumentException("Arguments 'width' and 'height' must be greater than 0.");
+        }
+
+        if(pixels.length != width*height){
+            throw new IllegalArgumentException("Argument 'pixels' must have exactly width*height elements.");
+        }
+        /*End Parameter Verification*/
+
+        levels = new int[MipmapGenerator.getLevelCount(width,height)][];
+        levels[0] = pixels;
+        for(int level = 1,end_level = levels.length - 1;level <= end_level;level++){
+            levels[level] = MipmapGenerator.__downsample(levels[level - 1],level_width,level_height);
+            level_width = Math.max(1,level_width >> 1);
+            level_height = Math.max(1,level_height >> 1);
+        }
+
+        return levels;
+    }
+
+    /**
+     * Gets the number of levels a full chain for an image of the given size has, including the image itself.
+     *
+     * @param width Width of the image.
+     * @param height Height of the image.
+     *
+     * @return The number of levels.
+     */
+    public static int getLevelCount(int width,int height){
+        return 32 - Integer.numberOfLeadingZeros(Math.max(width,height));
+    }
+
+    /**
+     * Builds the level below the given one.  When a side has an odd length, the last pixel of the smaller level covers three pixels of the larger one, so that no pixel is left out.
+     */
+    private static int[] __downsample(int[] source,int width,int height){
+        final int   target_width = Math.max(1,width >> 1);
+        final int   target_height = Math.max(1,height >> 1);
+        final int[] target = new int[target_width*target_height];
+
+        int   first_x = 0;
+        int   first_y = 0;
+        int   last_x = 0;
+        int   last_y = 0;
+        int   pixel = 0;
+        float alpha = 0;
+        float alpha_sum = 0;
+        float red_sum = 0;
+        float green_sum = 0;
+        float blue_sum = 0;
+        float count = 0;
+
+
+        for(int y = 0,end_y = target_height - 1;y <= end_y;y++){
+            first_y = y*height/target_height;
+            last_y = (y + 1)*height/target_height - 1;
+
+            for(int x = 0,end_x = target_width - 1;x <= end_x;x++){
+                first_x = x*width/target_width;
+                last_x = (x + 1)*width/target_width - 1;
+
+                alpha_sum = 0;
+                red_sum = 0;
+                green_sum = 0;
+                blue_sum = 0;
+                count = 0;
+                for(int source_y = first_y;source_y <= last_y;source_y++){
+                    for(int source_x = first_x;source_x <= last_x;source_x++){
+                        pixel = source[source_y*width + source_x];
+                        alpha = (pixel >>> 24)/255f;
+
+                        alpha_sum += alpha;
+                        red_sum += MipmapGenerator.__srgb_to_linear[pixel >> 16 & 0xFF]*alpha;
+                        green_sum += MipmapGenerator.__srgb_to_linear[pixel >> 8 & 0xFF]*alpha;
+                        blue_sum += MipmapGenerator.__srgb_to_linear[pixel & 0xFF]*alpha;
+                        count++;
+                    }
+                }
+
+                if(alpha_sum > 0){
+                    target[y*target_width + x] =
+                        Math.round(alpha_sum/count*255) << 24
+                        | MipmapGenerator.__toSrgb(red_sum/alpha_sum) << 16
+                        | MipmapGenerator.__toSrgb(green_sum/alpha_sum) << 8
+                        | MipmapGenerator.__toSrgb(blue_sum/alpha_sum);
+                }else{
+                    target[y*target_width + x] = source[first_y*width + first_x] & 0x00FFFFFF;
+                }
+            }
+        }
+
+        return target;
+    }
+
+    private static int __toSrgb(float linear){
+        return MipmapGenerator.__linear_to_srgb[(int)(Math.min(Math.max(linear,0),1)*(MipmapGenerator.__LINEAR_TO_SRGB_SIZE - 1) + .5f)];
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,762 @@
+/**
+ * File:  OcclusionBuffer.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.strixa.gl.Strixa3DElement;
+import com.strixa.gl.collision.TriangleBVH;
+import com.strixa.gl.properties.Cuboid;
+import com.strixa.util.Point3D;
+
+/**
+ * Low resolution depth buffer which is rendered on the CPU, and used to find boxes which are hidden behind the triangles drawn into it.<br />
+ * Each frame, the projection is set with {@link OcclusionBuffer#setPerspective}, the buffer is cleared, large elements which hide much of the scene are added as occluders, and {@link OcclusionBuffer#rasterize()} is called.  The screen is split into tiles which are rasterized in parallel, and a hierarchy of ever coarser buffers is then built, each holding the furthest depth of the four texels beneath it, so that testing a box only ever needs to read a few texels.<br />
+ * Depths are stored as the reciprocal of each pixel's distance along the view direction, as that varies linearly across the screen and keeps its precision when the near plane is very close.<br />
+ * As the buffer has a low resolution, gaps between occluders which are narrower than one of its pixels are treated as closed.
+ *
+ * @author Nicholas Rog
+ */
+public class OcclusionBuffer{
+    /** Width and height, in pixels, of the tiles the buffer is split into for rasterization. */
+    public static final int TILE_SIZE = 32;
+
+    private final int           __height;
+    private final int[]         __level_heights;
+    private final int[]         __level_widths;
+    private final float[][]     __levels;
+    private final double[]      __matrix = new double[16];
+    private final AtomicInteger __next_tile = new AtomicInteger();
+    private final int           __thread_count;
+    private final int[][]       __tile_triangles;
+    private final int[]         __tile_triangle_counts;
+    private final int           __tiles_across;
+    private final int           __tiles_down;
+    private final int           __width;
+
+    private ExecutorService __executor;
+    private double          __near_distance;
+    private int             __triangle_count;
+    private float[]         __triangles = new float[9*64];
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs a buffer of the given size which is rasterized using one thread for each available processor.
+     *
+     * @param width Width of the buffer, in pixels.
+     * @param height Height of the buffer, in pixels.
+     */
+    public OcclusionBuffer(int width,int height){
+        this(width,height,Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a buffer of the given size.
+     *
+     * @param width Width of the buffer, in pixels.
+     * @param height Height of the buffer, in pixels.
+     * @param thread_count Number of threads to rasterize with.  If this is 1, rasterization is done entirely on the calling thread.
+     *
+     * @throws IllegalArgumentException Thrown if any of the arguments are less than 1.
+     */
+    public OcclusionBuffer(int width,int height,int thread_count){
+        int level_count = 1;
+        int level_height = height;
+        int level_width = width;
+
+
+        /*Begin Parameter Verification*/
+        if(width < 1){
+            throw new IllegalArgumentException("Argument 'width' must be greater than 0.");
+        }
+        if(height < 1){
+            throw new IllegalArgumentException("Argument 'height' must be greater than 0.");
+        }
+        if(thread_count < 1){
+            throw new IllegalArgumentException("Argument 'thread_count' must be greater than 0.");
+        }
+        /*End Parameter Verification*/
+
+        this.__width = width;
+        this.__height = height;
+        this.__thread_count = thread_count;
+
+        this.__tiles_across = (width + OcclusionBuffer.TILE_SIZE - 1)/OcclusionBuffer.TILE_SIZE;
+        this.__tiles_down = (height + OcclusionBuffer.TILE_SIZE - 1)/OcclusionBuffer.TILE_SIZE;
+        this.__tile_triangles = new int[this.__tiles_across*this.__tiles_down][16];
+        this.__tile_triangle_counts = new int[this.__tiles_across*this.__tiles_down];
+
+        while(level_width > 1 || level_height > 1){
+            level_width = (level_width + 1)/2;
+            level_height = (level_height + 1)/2;
+            level_count++;
+        }
+
+        this.__levels = new float[level_count][];
+        this.__level_widths = new int[level_count];
+        this.__level_heights = new int[level_count];
+        level_width = width;
+        level_height = height;
+        for(int level = 0;level < level_count;level++){
+            this.__levels[level] = new float[level_width*level_height];
+            this.__level_widths[level] = level_width;
+            this.__level_heights[level] = level_height;
+
+            level_width = (level_width + 1)/2;
+            level_height = (level_height + 1)/2;
+        }
+
+        this.setPerspective(45,(double)width/height,1,0,0,0,0,0,1,0,1,0);
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the distance, along the view direction, to the nearest occluder drawn at the given pixel.  This is only meaningful after {@link OcclusionBuffer#rasterize()} has been called.
+     *
+     * @param x X coordinate of the pixel, from the left edge.
+     * @param y Y coordinate of the pixel, from the bottom edge.
+     *
+     * @return The distance to the nearest occluder drawn at the given pixel, or positive infinity if no occluder covers it.
+     */
+    public double getDepth(int x,int y){
+        final float reciprocal_depth = this.__levels[0][y*this.__width + x];
+
+
+        if(reciprocal_depth <= 0){
+            return Double.POSITIVE_INFINITY;
+        }
+
+        return 1/reciprocal_depth;
+    }
+
+    /**
+     * Gets the height of this buffer.
+     *
+     * @return The height of this buffer, in pixels.
+     */
+    public int getHeight(){
+        return this.__height;
+    }
+
+    /**
+     * Gets the number of occluder triangles which will be drawn by the next call to {@link OcclusionBuffer#rasterize()}, after those which can't be seen have been discarded.
+     *
+     * @return The number of occluder triangles waiting to be drawn.
+     */
+    public int getTriangleCount(){
+        return this.__triangle_count;
+    }
+
+    /**
+     * Gets the width of this buffer.
+     *
+     * @return The width of this buffer, in pixels.
+     */
+    public int getWidth(){
+        return this.__width;
+    }
+
+    /**
+     * Sets the projection occluders are drawn and boxes are tested with, as set up by calling gluPerspective and then gluLookAt with the same arguments.<br />
+     * This should be called before any occluders are added for the frame.
+     *
+     * @param field_of_view Vertical field of view, in degrees.
+     * @param aspect_ratio Ratio of the width of the view to its height.
+     * @param near_distance Distance from the eye to the near plane.  The far plane doesn't affect which boxes are hidden, so it isn't needed.
+     * @param eye_x X coordinate of the eye.
+     * @param eye_y Y coordinate of the eye.
+     * @param eye_z Z coordinate of the eye.
+     * @param center_x X coordinate of the point being looked at.
+     * @param center_y Y coordinate of the point being looked at.
+     * @param center_z Z coordinate of the point being looked at.
+     * @param up_x X component of the up direction.
+     * @param up_y Y component of the up direction.
+     * @param up_z Z component of the up direction.
+     *
+     * @throws IllegalArgumentException Thrown if argument 'near_distance' is not greater than 0, or if the eye and the point being looked at are the same.
+     */
+    public void setPerspective(double field_of_view,double aspect_ratio,double near_distance,double eye_x,double eye_y,double eye_z,double center_x,double center_y,double center_z,double up_x,double up_y,double up_z){
+        final double cotangent = 1/Math.tan(Math.toRadians(field_of_view/2));
+        final double[] forward = new double[]{center_x - eye_x,center_y - eye_y,center_z - eye_z};
+        final double[] side = new double[3];
+        final double[] up = new double[3];
+
+        double length = 0;
+
+
+        /*Begin Parameter Verification*/
+        if(near_distance <= 0){
+            throw new IllegalArgumentException("Argument 'near_distance' must be greater than 0.");
+        }
+
+        length = Math.sqrt(forward[0]*forward[0] + forward[1]*forward[1] + forward[2]*forward[2]);
+        if(length == 0){
+            throw new IllegalArgumentException("Arguments 'center_x', 'center_y', and 'center_z' must describe a point other than the eye.");
+        }
+        /*End Parameter Verification*/
+
+        forward[0] /= length;
+        forward[1] /= length;
+        forward[2] /= length;
+
+        side[0] = forward[1]*up_z - forward[2]*up_y;
+        side[1] = forward[2]*up_x - forward[0]*up_z;
+        side[2] = forward[0]*up_y - forward[1]*up_x;
+        length = Math.sqrt(side[0]*side[0] + side[1]*side[1] + side[2]*side[2]);
+        if(length == 0){
+            /*The up direction is parallel to the view, so any side direction will do.*/
+            side[0] = Math.abs(forward[0]) < 0.9 ? 0 : -forward[2];
+            side[1] = Math.abs(forward[0]) < 0.9 ? forward[2] : 0;
+            side[2] = Math.abs(forward[0]) < 0.9 ? -forward[1] : forward[0];
+            length = Math.sqrt(side[0]*side[0] + side[1]*side[1] + side[2]*side[2]);
+        }
+        side[0] /= length;
+        side[1] /= length;
+        side[2] /= length;
+
+        up[0] = side[1]*forward[2] - side[2]*forward[1];
+        up[1] = side[2]*forward[0] - side[0]*forward[2];
+        up[2] = side[0]*forward[1] - side[1]*forward[0];
+
+        /*Only the clip space X, Y and W are needed, so the rows producing them are kept in column-major order, with the Z row left empty.*/
+        Arrays.fill(this.__matrix,0);
+        for(int axis = 0;axis < 3;axis++){
+            this.__matrix[axis*4] = cotangent/aspect_ratio*side[axis];
+            this.__matrix[axis*4 + 1] = cotangent*up[axis];
+            this.__matrix[axis*4 + 3] = forward[axis];
+        }
+        this.__matrix[12] = -cotangent/aspect_ratio*(side[0]*eye_x + side[1]*eye_y + side[2]*eye_z);
+        this.__matrix[13] = -cotangent*(up[0]*eye_x + up[1]*eye_y + up[2]*eye_z);
+        this.__matrix[15] = -(forward[0]*eye_x + forward[1]*eye_y + forward[2]*eye_z);
+
+        this.__near_distance = near_distance;
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Adds the triangles of the given element to the occluders which will be drawn by the next call to {@link OcclusionBuffer#rasterize()}.  Triangles which are entirely off screen or behind the eye are discarded immediately.
+     *
+     * @param element Element to add as an occluder.  The element should be solid, as anything behind any of its triangles may be culled.
+     */
+    public void addOccluder(Strixa3DElement element){
+        final Point3D<Double> coordinates = element.getCoordinates();
+        final double[]        corners = new double[9];
+        final TriangleBVH     triangle_bvh = element.getTriangleBVH();
+
+
+        for(int triangle_index = 0,end_index = triangle_bvh.getTriangleCount() - 1;triangle_index <= end_index;triangle_index++){
+            triangle_bvh.getTriangle(triangle_index,corners);
+            for(int corner_index = 0;corner_index < 3;corner_index++){
+                corners[corner_index*3] += coordinates.getX();
+                corners[corner_index*3 + 1] += coordinates.getY();
+                corners[corner_index*3 + 2] += coordinates.getZ();
+            }
+
+            this.addTriangle(corners);
+        }
+    }
+
+    /**
+     * Converts three clip space corners to screen space and queues the resulting triangle in every tile it overlaps.
+     */
+    private void __addScreenTriangle(double[] clipped,int index_one,int index_two,int index_three){
+        final int[] indices = new int[]{index_one,index_two,index_three};
+        final int   triangle_index = this.__triangle_count;
+
+        float[] triangle = null;
+        double  area = 0;
+        double  max_x = Double.NEGATIVE_INFINITY;
+        double  max_y = Double.NEGATIVE_INFINITY;
+        double  min_x = Double.POSITIVE_INFINITY;
+        double  min_y = Double.POSITIVE_INFINITY;
+        double  w = 0;
+        int     offset = triangle_index*9;
+        int     tile_index = 0;
+
+
+        if(this.__triangles.length < offset + 9){
+            this.__triangles = Arrays.copyOf(this.__triangles,this.__triangles.length*2);
+        }
+        triangle = this.__triangles;
+
+        for(int corner_index = 0;corner_index < 3;corner_index++){
+            w = clipped[indices[corner_index]*3 + 2];
+            triangle[offset + corner_index*3] = (float)((clipped[indices[corner_index]*3]/w*0.5 + 0.5)*this.__width);
+            triangle[offset + corner_index*3 + 1] = (float)((clipped[indices[corner_index]*3 + 1]/w*0.5 + 0.5)*this.__height);
+            triangle[offset + corner_index*3 + 2] = (float)(1/w);
+
+            min_x = Math.min(min_x,triangle[offset + corner_index*3]);
+            min_y = Math.min(min_y,triangle[offset + corner_index*3 + 1]);
+            max_x = Math.max(max_x,triangle[offset + corner_index*3]);
+            max_y = Math.max(max_y,triangle[offset + corner_index*3 + 1]);
+        }
+
+        /*Keep every triangle wound counter-clockwise, so the rasterizer only needs to handle one winding.*/
+        area = (triangle[offset + 3] - triangle[offset])*(triangle[offset + 7] - triangle[offset + 1]) - (triangle[offset + 4] - triangle[offset + 1])*(triangle[offset + 6] - triangle[offset]);
+        if(area == 0){
+            return;
+        }else if(area < 0){
+            for(int component = 0;component < 3;component++){
+                w = triangle[offset + 3 + component];
+                triangle[offset + 3 + component] = triangle[offset + 6 + component];
+                triangle[offset + 6 + component] = (float)w;
+            }
+        }
+
+        min_x = Math.max(min_x,0);
+        min_y = Math.max(min_y,0);
+        max_x = Math.min(max_x,this.__width - 1);
+        max_y = Math.min(max_y,this.__height - 1);
+        if(min_x > max_x || min_y > max_y){
+            return;
+        }
+
+        this.__triangle_count++;
+        for(int tile_y = (int)min_y/OcclusionBuffer.TILE_SIZE,end_tile_y = (int)max_y/OcclusionBuffer.TILE_SIZE;tile_y <= end_tile_y;tile_y++){
+            for(int tile_x = (int)min_x/OcclusionBuffer.TILE_SIZE,end_tile_x = (int)max_x/OcclusionBuffer.TILE_SIZE;tile_x <= end_tile_x;tile_x++){
+                tile_index = tile_y*this.__tiles_across + tile_x;
+
+                if(this.__tile_triangles[tile_index].length == this.__tile_triangle_counts[tile_index]){
+                    this.__tile_triangles[tile_index] = Arrays.copyOf(this.__tile_triangles[tile_index],this.__tile_triangle_counts[tile_index]*2);
+                }
+                this.__tile_triangles[tile_index][this.__tile_triangle_counts[tile_index]++] = triangle_index;
+            }
+        }
+    }
+
+    /**
+     * Adds a single triangle to the occluders which will be drawn by the next call to {@link OcclusionBuffer#rasterize()}.
+     *
+     * @param corners Nine element array containing the X, Y and Z coordinates of each of the triangle's corners, in world coordinates.
+     */
+    public void addTriangle(double[] corners){
+        final double[] clipped = new double[12];
+        final double   near_distance = this.__near_distance;
+        final double[] projected = new double[9];
+
+        int    clipped_count = 0;
+        int    next_index = 0;
+        double next_w = 0;
+        double t = 0;
+        double this_w = 0;
+
+
+        /*Project each corner, keeping clip space X, Y and W.*/
+        for(int corner_index = 0;corner_index < 3;corner_index++){
+            this.__project(corners[corner_index*3],corners[corner_index*3 + 1],corners[corner_index*3 + 2],projected,corner_index*3);
+        }
+
+        /*Quickly discard triangles entirely beyond one of the side planes or behind the near plane.*/
+        if(
+            (projected[0] > projected[2] && projected[3] > projected[5] && projected[6] > projected[8])
+            ||
+            (projected[0] < -projected[2] && projected[3] < -projected[5] && projected[6] < -projected[8])
+            ||
+            (projected[1] > projected[2] && projected[4] > projected[5] && projected[7] > projected[8])
+            ||
+            (projected[1] < -projected[2] && projected[4] < -projected[5] && projected[7] < -projected[8])
+            ||
+            (projected[2] < near_distance && projected[5] < near_distance && projected[8] < near_distance)
+        ){
+            return;
+        }
+
+        /*Clip against the near plane, which can leave up to four corners.*/
+        for(int corner_index = 0;corner_index < 3;corner_index++){
+            next_index = (corner_index + 1)%3;
+            this_w = projected[corner_index*3 + 2];
+            next_w = projected[next_index*3 + 2];
+
+            if(this_w >= near_distance){
+                System.arraycopy(projected,corner_index*3,clipped,clipped_count*3,3);
+                clipped_count++;
+            }
+            if((this_w >= near_distance) != (next_w >= near_distance)){
+                t = (near_distance - this_w)/(next_w - this_w);
+                clipped[clipped_count*3] = projected[corner_index*3] + (projected[next_index*3] - projected[corner_index*3])*t;
+                clipped[clipped_count*3 + 1] = projected[corner_index*3 + 1] + (projected[next_index*3 + 1] - projected[corner_index*3 + 1])*t;
+                clipped[clipped_count*3 + 2] = near_distance;
+                clipped_count++;
+            }
+        }
+
+        for(int corner_index = 1,end_index = clipped_count - 2;corner_index <= end_index;corner_index++){
+            this.__addScreenTriangle(clipped,0,corner_index,corner_index + 1);
+        }
+    }
+
+    /**
+     * Builds each level of the depth hierarchy from the level beneath it.  Each texel holds the furthest of the depths of the (up to) four texels beneath it, so a box nearer than a texel's depth can't be hidden anywhere within that texel.
+     */
+    private void __buildHierarchy(){
+        float[] below = null;
+        int     below_height = 0;
+        int     below_width = 0;
+        float[] current = null;
+        int     current_height = 0;
+        int     current_width = 0;
+        int     next_x = 0;
+        int     next_y = 0;
+
+
+        for(int level = 1;level < this.__levels.length;level++){
+            below = this.__levels[level - 1];
+            below_width = this.__level_widths[level - 1];
+            below_height = this.__level_heights[level - 1];
+            current = this.__levels[level];
+            current_width = this.__level_widths[level];
+            current_height = this.__level_heights[level];
+
+            for(int texel_y = 0;texel_y < current_height;texel_y++){
+                next_y = Math.min(texel_y*2 + 1,below_height - 1);
+
+                for(int texel_x = 0;texel_x < current_width;texel_x++){
+                    next_x = Math.min(texel_x*2 + 1,below_width - 1);
+
+                    current[texel_y*current_width + texel_x] = Math.min(
+                        Math.min(below[texel_y*2*below_width + texel_x*2],below[texel_y*2*below_width + next_x]),
+                        Math.min(below[next_y*below_width + texel_x*2],below[next_y*below_width + next_x])
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every occluder, and empties the buffer.
+     */
+    public void clear(){
+        this.__triangle_count = 0;
+        Arrays.fill(this.__tile_triangle_counts,0);
+        for(int level = 0;level < this.__levels.length;level++){
+            Arrays.fill(this.__levels[level],0);
+        }
+    }
+
+    /**
+     * Stops the threads this buffer rasterizes with.  The buffer may still be used afterwards, in which case new threads will be started.
+     */
+    public synchronized void dispose(){
+        if(this.__executor != null){
+            this.__executor.shutdown();
+            this.__executor = null;
+        }
+    }
+
+    /**
+     * Gets the pool of threads tiles are rasterized with, starting it if necessary.  The threads are daemons, so a buffer which is never disposed of won't keep the application running.
+     */
+    private synchronized ExecutorService __getExecutor(){
+        if(this.__executor == null){
+            this.__executor = Executors.newFixedThreadPool(this.__thread_count,new ThreadFactory(){
+                public Thread newThread(Runnable runnable){
+                    final Thread thread = new Thread(runnable,"OcclusionBuffer rasterizer thread");
+
+
+                    thread.setDaemon(true);
+
+                    return thread;
+                }
+            });
+        }
+
+        return this.__executor;
+    }
+
+    /**
+     * Boolean check to determine whether any part of the given box may be seen past the occluders drawn by the last call to {@link OcclusionBuffer#rasterize()}.<br />
+     * Boxes which reach behind the near plane, or which lie off screen, are always considered visible, as deciding what is outside of the view is left to the view frustum.
+     *
+     * @param min_x Most negative X coordinate of the box.
+     * @param min_y Most negative Y coordinate of the box.
+     * @param min_z Most negative Z coordinate of the box.
+     * @param max_x Most positive X coordinate of the box.
+     * @param max_y Most positive Y coordinate of the box.
+     * @param max_z Most positive Z coordinate of the box.
+     *
+     * @return Returns false if the box is certainly hidden, and true, otherwise.
+     */
+    public boolean isBoxVisible(double min_x,double min_y,double min_z,double max_x,double max_y,double max_z){
+        final double[] projected = new double[3];
+
+        double  nearest_reciprocal_depth = 0;
+        double  screen_max_x = Double.NEGATIVE_INFINITY;
+        double  screen_max_y = Double.NEGATIVE_INFINITY;
+        double  screen_min_x = Double.POSITIVE_INFINITY;
+        double  screen_min_y = Double.POSITIVE_INFINITY;
+        float[] level_depths = null;
+        int     end_pixel_x = 0;
+        int     end_pixel_y = 0;
+        int     level = 0;
+        int     level_width = 0;
+        int     pixel_x = 0;
+        int     pixel_y = 0;
+
+
+        for(int corner_index = 0;corner_index < 8;corner_index++){
+            this.__project(
+                (corner_index & 0x1) == 0 ? min_x : max_x,
+                (corner_index & 0x2) == 0 ? min_y : max_y,
+                (corner_index & 0x4) == 0 ? min_z : max_z,
+                projected,
+                0
+            );
+            if(projected[2] < this.__near_distance){
+                return true;
+            }
+
+            screen_min_x = Math.min(screen_min_x,(projected[0]/projected[2]*0.5 + 0.5)*this.__width);
+            screen_min_y = Math.min(screen_min_y,(projected[1]/projected[2]*0.5 + 0.5)*this.__height);
+            screen_max_x = Math.max(screen_max_x,(projected[0]/projected[2]*0.5 + 0.5)*this.__width);
+            screen_max_y = Math.max(screen_max_y,(projected[1]/projected[2]*0.5 + 0.5)*this.__height);
+            nearest_reciprocal_depth = Math.max(nearest_reciprocal_depth,1/projected[2]);
+        }
+
+        if(screen_max_x < 0 || screen_max_y < 0 || screen_min_x >= this.__width || screen_min_y >= this.__height){
+            return true;
+        }
+
+        pixel_x = (int)Math.max(screen_min_x,0);
+        pixel_y = (int)Math.max(screen_min_y,0);
+        end_pixel_x = (int)Math.min(screen_max_x,this.__width - 1);
+        end_pixel_y = (int)Math.min(screen_max_y,this.__height - 1);
+
+        /*Use the finest level at which the box's rectangle covers no more than two texels in each direction.*/
+        while(level < this.__levels.length - 1 && ((end_pixel_x >> level) - (pixel_x >> level) > 1 || (end_pixel_y >> level) - (pixel_y >> level) > 1)){
+            level++;
+        }
+        level_depths = this.__levels[level];
+        level_width = this.__level_widths[level];
+
+        for(int texel_y = pixel_y >> level,end_texel_y = end_pixel_y >> level;texel_y <= end_texel_y;texel_y++){
+            for(int texel_x = pixel_x >> level,end_texel_x = end_pixel_x >> level;texel_x <= end_texel_x;texel_x++){
+                if(level_depths[texel_y*level_width + texel_x] <= nearest_reciprocal_depth){
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Boolean check to determine whether any part of the given element's bounding box may be seen past the occluders drawn by the last call to {@link OcclusionBuffer#rasterize()}.
+     *
+     * @param element Element to test.
+     *
+     * @return Returns false if the element is certainly hidden, and true, otherwise.
+     */
+    public boolean isVisible(Strixa3DElement element){
+        final Cuboid          bounding_box = element.getBoundingBox();
+        final Point3D<Double> coordinates = bounding_box.getCoordinates();
+
+
+        return this.isBoxVisible(
+            coordinates.getX(),
+            coordinates.getY(),
+            coordinates.getZ(),
+            coordinates.getX() + bounding_box.getWidth(),
+            coordinates.getY() + bounding_box.getHeight(),
+            coordinates.getZ() + bounding_box.getDepth()
+        );
+    }
+
+    /**
+     * Projects a point, storing its clip space X, Y and W at the given offset.
+     */
+    private void __project(double x,double y,double z,double[] projected,int offset){
+        final double[] matrix = this.__matrix;
+
+
+        projected[offset] = matrix[0]*x + matrix[4]*y + matrix[8]*z + matrix[12];
+        projected[offset + 1] = matrix[1]*x + matrix[5]*y + matrix[9]*z + matrix[13];
+        projected[offset + 2] = matrix[3]*x + matrix[7]*y + matrix[11]*z + matrix[15];
+    }
+
+    /**
+     * Draws every occluder added since the buffer was last cleared, and then rebuilds the depth hierarchy used to test boxes.  Tiles are shared out between this buffer's threads.  If the calling thread is interrupted, every tile is still drawn before this returns, and the thread's interrupt status is kept.
+     */
+    public void rasterize(){
+        final List<Callable<Object>> workers = new ArrayList<Callable<Object>>();
+        final List<Future<Object>>   results = new ArrayList<Future<Object>>();
+        final int                    tile_count = this.__tiles_across*this.__tiles_down;
+
+        Throwable failure = null;
+        boolean   finished = false;
+        boolean   interrupted = false;
+
+
+        this.__next_tile.set(0);
+        if(this.__thread_count == 1 || tile_count == 1){
+            this.__rasterizeTiles();
+        }else{
+            for(int index = 0,end_index = Math.min(this.__thread_count,tile_count) - 1;index <= end_index;index++){
+                workers.add(new Callable<Object>(){
+                    public Object call(){
+                        OcclusionBuffer.this.__rasterizeTiles();
+
+                        return null;
+                    }
+                });
+            }
+
+            for(int index = 0,end_index = workers.size() - 1;index <= end_index;index++){
+                results.add(this.__getExecutor().submit(workers.get(index)));
+            }
+
+            /*
+             * Workers don't stop when the calling thread is interrupted, and every one of them must finish writing depths before the
+             * hierarchy is built from them, or before the buffer is cleared for the next frame.  They're waited for with the interrupt
+             * flag cleared, and the flag is restored once they're done.
+             */
+            interrupted = Thread.interrupted();
+            for(int index = 0,end_index = results.size() - 1;index <= end_index;index++){
+                finished = false;
+                while(!finished){
+                    try{
+                        results.get(index).get();
+                        finished = true;
+                    }catch(InterruptedException e){
+                        interrupted = true;
+                    }catch(ExecutionException e){
+                        if(failure == null){
+                            failure = e.getCause();
+                        }
+                        finished = true;
+                    }
+                }
+            }
+            if(interrupted){
+                Thread.currentThread().interrupt();
+            }
+
+            if(failure != null){
+                throw new RuntimeException("Occluder rasterization failed.",failure);
+            }
+        }
+
+        this.__buildHierarchy();
+    }
+
+    /**
+     * Draws every triangle queued in the given tile, keeping the nearest depth at each pixel.  Pixels are covered when their centres are inside of a triangle.<br />
+     * The edge functions and depth are linear across the screen, so they're stepped from one pixel to the next rather than being evaluated at each.
+     */
+    private void __rasterizeTile(int tile_index){
+        final float[] depths = this.__levels[0];
+        final int[]   triangle_indices = this.__tile_triangles[tile_index];
+        final float[] triangles = this.__triangles;
+        final int     tile_min_x = (tile_index%this.__tiles_across)*OcclusionBuffer.TILE_SIZE;
+        final int     tile_min_y = (tile_index/this.__tiles_across)*OcclusionBuffer.TILE_SIZE;
+        final int     tile_max_x = Math.min(tile_min_x + OcclusionBuffer.TILE_SIZE,this.__width) - 1;
+        final int     tile_max_y = Math.min(tile_min_y + OcclusionBuffer.TILE_SIZE,this.__height) - 1;
+
+        double  area = 0;
+        double  depth = 0;
+        double  depth_step = 0;
+        double  edge_one = 0;
+        double  edge_one_step = 0;
+        double  edge_three = 0;
+        double  edge_three_step = 0;
+        double  edge_two = 0;
+        double  edge_two_step = 0;
+        boolean entered = false;
+        int     offset = 0;
+        int     pixel_index = 0;
+        int     start_x = 0;
+        int     end_x = 0;
+        double  sample_x = 0;
+        double  sample_y = 0;
+        float   x1 = 0;
+        float   x2 = 0;
+        float   x3 = 0;
+        float   y1 = 0;
+        float   y2 = 0;
+        float   y3 = 0;
+        float   z1 = 0;
+        float   z2 = 0;
+        float   z3 = 0;
+
+
+        for(int index = 0,end_index = this.__tile_triangle_counts[tile_index] - 1;index <= end_index;index++){
+            offset = triangle_indices[index]*9;
+            x1 = triangles[offset];
+            y1 = triangles[offset + 1];
+            z1 = triangles[offset + 2];
+            x2 = triangles[offset + 3];
+            y2 = triangles[offset + 4];
+            z2 = triangles[offset + 5];
+            x3 = triangles[offset + 6];
+            y3 = triangles[offset + 7];
+            z3 = triangles[offset + 8];
+            area = (x2 - x1)*(y3 - y1) - (y2 - y1)*(x3 - x1);
+
+            edge_one_step = y2 - y3;
+            edge_two_step = y3 - y1;
+            edge_three_step = y1 - y2;
+            depth_step = (edge_one_step*z1 + edge_two_step*z2 + edge_three_step*z3)/area;
+
+            start_x = Math.max(tile_min_x,(int)Math.min(x1,Math.min(x2,x3)));
+            end_x = Math.min(tile_max_x,(int)Math.max(x1,Math.max(x2,x3)));
+            sample_x = start_x + 0.5;
+
+            for(int pixel_y = Math.max(tile_min_y,(int)Math.min(y1,Math.min(y2,y3))),end_pixel_y = Math.min(tile_max_y,(int)Math.max(y1,Math.max(y2,y3)));pixel_y <= end_pixel_y;pixel_y++){
+                sample_y = pixel_y + 0.5;
+
+                edge_one = (x3 - x2)*(sample_y - y2) - (y3 - y2)*(sample_x - x2);
+                edge_two = (x1 - x3)*(sample_y - y3) - (y1 - y3)*(sample_x - x3);
+                edge_three = (x2 - x1)*(sample_y - y1) - (y2 - y1)*(sample_x - x1);
+                depth = (edge_one*z1 + edge_two*z2 + edge_three*z3)/area;
+                pixel_index = pixel_y*this.__width + start_x;
+                entered = false;
+
+                for(int pixel_x = start_x;pixel_x <= end_x;pixel_x++){
+                    if(edge_one >= 0 && edge_two >= 0 && edge_three >= 0){
+                        entered = true;
+                        if(depth > depths[pixel_index]){
+                            depths[pixel_index] = (float)depth;
+                        }
+                    }else if(entered){
+                        /*Triangles are convex, so once a row has left one it won't enter it again.*/
+                        break;
+                    }
+
+                    edge_one += edge_one_step;
+                    edge_two += edge_two_step;
+                    edge_three += edge_three_step;
+                    depth += depth_step;
+                    pixel_index++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Rasterizes tiles until none are left.  Several threads may call this at once, as each tile is only ever taken by one of them.
+     */
+    private void __rasterizeTiles(){
+        final int tile_count = this.__tiles_across*this.__tiles_down;
+
+        int tile_index = 0;
+
+
+        while((tile_index = this.__next_tile.getAndIncrement()) < tile_count){
+            this.__rasterizeTile(tile_index);
+        }
+    }
+    /*End Other Methods*/
+}
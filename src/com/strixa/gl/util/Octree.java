@@ -0,0 +1,686 @@
+/**
+ * File:  Octree.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import com.strixa.gl.Strixa3DElement;
+import com.strixa.gl.StrixaGLContext;
+import com.strixa.gl.properties.Cuboid;
+import com.strixa.util.Point3D;
+
+/**
+ * Loose octree which partitions a set of {@link Strixa3DElement}s by their bounding boxes.<br />
+ * Every node's bounds are loosened to twice the size of the cell it covers, which allows each element to be stored in exactly one node chosen from its size and center.  An element only needs to be moved to another node once its bounding box leaves the loose bounds of the node it's stored in, so elements which move only a little, or not at all, cost nothing to keep up to date.<br />
+ * Elements tell the octree when their bounding box changes, and the octree defers the work of moving them until {@link Octree#update()} is called.
+ *
+ * @author Nicholas Rog
+ */
+public class Octree implements BoundingBoxUpdateListener{
+    /**
+     * Single cell of the octree.
+     */
+    private static class Node{
+        public final double                center_x;
+        public final double                center_y;
+        public final double                center_z;
+        public final int                   depth;
+        public final List<Strixa3DElement> elements = new ArrayList<Strixa3DElement>();
+        public final double                half_size;
+        public final Node                  parent;
+
+        public Node[] children;
+        public int    culling_plane;
+        public int    subtree_count;
+
+
+        /*Begin Constructors*/
+        public Node(Node parent,double center_x,double center_y,double center_z,double half_size,int depth){
+            this.parent = parent;
+            this.center_x = center_x;
+            this.center_y = center_y;
+            this.center_z = center_z;
+            this.half_size = half_size;
+            this.depth = depth;
+            this.subtree_count = 0;
+        }
+        /*End Constructors*/
+
+        /*Begin Other Methods*/
+        /**
+         * Gets the child whose cell contains the given point, creating it if it doesn't exist yet.
+         */
+        public Node getChild(double x,double y,double z){
+            final double child_half_size = this.half_size/2;
+
+            int child_index = 0;
+
+
+            if(this.children == null){
+                this.children = new Node[8];
+            }
+
+            if(x >= this.center_x){
+                child_index |= 0x1;
+            }
+            if(y >= this.center_y){
+                child_index |= 0x2;
+            }
+            if(z >= this.center_z){
+                child_index |= 0x4;
+            }
+
+            if(this.children[child_index] == null){
+                this.children[child_index] = new Node(
+                    this,
+                    this.center_x + ((child_index & 0x1) == 0 ? -child_half_size : child_half_size),
+                    this.center_y + ((child_index & 0x2) == 0 ? -child_half_size : child_half_size),
+                    this.center_z + ((child_index & 0x4) == 0 ? -child_half_size : child_half_size),
+                    child_half_size,
+                    this.depth + 1
+                );
+            }
+
+            return this.children[child_index];
+        }
+
+        /**
+         * Boolean check to determine whether the given box lies completely within this node's loose bounds.
+         */
+        public boolean looselyContains(double[] bounds){
+            final double loose_half_size = this.half_size * Octree.LOOSENESS;
+
+
+            return
+                bounds[0] >= this.center_x - loose_half_size && bounds[3] <= this.center_x + loose_half_size
+                &&
+                bounds[1] >= this.center_y - loose_half_size && bounds[4] <= this.center_y + loose_half_size
+                &&
+                bounds[2] >= this.center_z - loose_half_size && bounds[5] <= this.center_z + loose_half_size;
+        }
+        /*End Other Methods*/
+    }
+
+    /**
+     * Entry in the nearest neighbour search queue.  Holds either a node or an element.
+     */
+    private static class SearchEntry implements Comparable<SearchEntry>{
+        public final double          distance;
+        public final Strixa3DElement element;
+        public final Node            node;
+
+
+        /*Begin Constructors*/
+        public SearchEntry(Node node,Strixa3DElement element,double distance){
+            this.node = node;
+            this.element = element;
+            this.distance = distance;
+        }
+        /*End Constructors*/
+
+        /*Begin Other Methods*/
+        public int compareTo(SearchEntry entry){
+            return Double.compare(this.distance,entry.distance);
+        }
+        /*End Other Methods*/
+    }
+
+    /** Factor by which each node's bounds are enlarged. */
+    public static final double LOOSENESS = 2.0;
+
+    private final Map<Strixa3DElement,Node> __element_nodes = new HashMap<Strixa3DElement,Node>();
+    private final List<Strixa3DElement>     __outside_elements = new ArrayList<Strixa3DElement>();
+    private final Set<Strixa3DElement>      __pending_elements = new LinkedHashSet<Strixa3DElement>();
+
+    private int  __max_depth;
+    private Node __root;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs an octree covering the given area with a maximum depth of 8.
+     *
+     * @param bounds Area the octree should cover.  Elements outside of this area may still be added, but won't benefit from the partitioning.
+     */
+    public Octree(Cuboid bounds){
+        this(bounds,8);
+    }
+
+    /**
+     * Constructs an octree covering the given area.
+     *
+     * @param bounds Area the octree should cover.  Elements outside of this area may still be added, but won't benefit from the partitioning.
+     * @param max_depth Maximum number of levels below the root node.
+     *
+     * @throws IllegalArgumentException Thrown if argument 'max_depth' is negative.
+     */
+    public Octree(Cuboid bounds,int max_depth){
+        if(bounds == null){
+            throw new NullPointerException("Argument 'bounds' must not be null.");
+        }
+        if(max_depth < 0){
+            throw new IllegalArgumentException("Argument 'max_depth' must not be negative.");
+        }
+
+        this.__max_depth = max_depth;
+        this.__root = new Node(
+            null,
+            bounds.getCoordinates().getX() + bounds.getWidth()/2,
+            bounds.getCoordinates().getY() + bounds.getHeight()/2,
+            bounds.getCoordinates().getZ() + bounds.getDepth()/2,
+            Math.max(bounds.getWidth(),Math.max(bounds.getHeight(),bounds.getDepth()))/2,
+            0
+        );
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the number of elements in this octree.
+     *
+     * @return The number of elements in this octree.
+     */
+    public int getElementCount(){
+        return this.__element_nodes.size() + this.__outside_elements.size();
+    }
+
+    /**
+     * Gets the maximum number of levels below the root node.
+     *
+     * @return The maximum number of levels below the root node.
+     */
+    public int getMaxDepth(){
+        return this.__max_depth;
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Adds an element to this octree.  If the element already exists within this octree, it will not be added again.
+     *
+     * @param element Element to be added.
+     */
+    public void add(Strixa3DElement element){
+        if(element == null){
+            throw new NullPointerException("Argument 'element' must not be null.");
+        }
+
+        if(this.contains(element)){
+            return;
+        }
+
+        this.__insert(element,Octree._getBounds(element));
+        element.addBoundingBoxUpdateListener(this);
+    }
+
+    private static void __addSubtree(Node node,List<Strixa3DElement> results){
+        results.addAll(node.elements);
+
+        if(node.children != null){
+            for(int child_index = 0;child_index < 8;child_index++){
+                if(node.children[child_index] != null && node.children[child_index].subtree_count > 0){
+                    Octree.__addSubtree(node.children[child_index],results);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check to determine if the given element is in this octree.
+     *
+     * @param element Element to check for.
+     *
+     * @return Returns true if the element is in this octree, and false, otherwise.
+     */
+    public boolean contains(Strixa3DElement element){
+        return this.__element_nodes.containsKey(element) || this.__outside_elements.contains(element);
+    }
+
+    /**
+     * Gets the element whose bounding box is closest to the given point.
+     *
+     * @param point Point to search from.
+     *
+     * @return The element closest to the given point, or null if this octree is empty.
+     */
+    public Strixa3DElement getNearest(Point3D<Double> point){
+        final List<Strixa3DElement> nearest = this.getNearest(point,1);
+
+
+        if(nearest.isEmpty()){
+            return null;
+        }else{
+            return nearest.get(0);
+        }
+    }
+
+    /**
+     * Gets the elements whose bounding boxes are closest to the given point, ordered from closest to furthest.<br />
+     * Nodes are visited closest first, and the search stops as soon as the requested number of elements has been found, so only the part of the tree near the point is examined.
+     *
+     * @param point Point to search from.
+     * @param count Maximum number of elements to return.
+     *
+     * @return The elements closest to the given point.  This will contain fewer than 'count' elements only if the octree contains fewer than 'count' elements.
+     */
+    public List<Strixa3DElement> getNearest(Point3D<Double> point,int count){
+        final PriorityQueue<SearchEntry> queue = new PriorityQueue<SearchEntry>();
+        final List<Strixa3DElement>      results = new ArrayList<Strixa3DElement>(Math.max(count,0));
+        final double                     x = point.getX();
+        final double                     y = point.getY();
+        final double                     z = point.getZ();
+
+        SearchEntry entry = null;
+        Node        node = null;
+
+
+        this.update();
+
+        for(int index = 0,end_index = this.__outside_elements.size() - 1;index <= end_index;index++){
+            queue.add(new SearchEntry(null,this.__outside_elements.get(index),Octree._getDistanceSquared(Octree._getBounds(this.__outside_elements.get(index)),x,y,z)));
+        }
+        if(this.__root.subtree_count > 0){
+            queue.add(new SearchEntry(this.__root,null,Octree._getDistanceSquared(Octree.__getLooseBounds(this.__root),x,y,z)));
+        }
+
+        while(results.size() < count && !queue.isEmpty()){
+            entry = queue.poll();
+
+            if(entry.element != null){
+                results.add(entry.element);
+
+                continue;
+            }
+
+            node = entry.node;
+            for(int index = 0,end_index = node.elements.size() - 1;index <= end_index;index++){
+                queue.add(new SearchEntry(null,node.elements.get(index),Octree._getDistanceSquared(Octree._getBounds(node.elements.get(index)),x,y,z)));
+            }
+            if(node.children != null){
+                for(int child_index = 0;child_index < 8;child_index++){
+                    if(node.children[child_index] != null && node.children[child_index].subtree_count > 0){
+                        queue.add(new SearchEntry(node.children[child_index],null,Octree._getDistanceSquared(Octree.__getLooseBounds(node.children[child_index]),x,y,z)));
+                    }
+                }
+            }
+        }
+
+        return results;
+    }
+
+    private void __insert(Strixa3DElement element,double[] bounds){
+        final double center_x = (bounds[0] + bounds[3])/2;
+        final double center_y = (bounds[1] + bounds[4])/2;
+        final double center_z = (bounds[2] + bounds[5])/2;
+        final double radius = Math.max(bounds[3] - bounds[0],Math.max(bounds[4] - bounds[1],bounds[5] - bounds[2]))/2;
+
+        Node node = this.__root;
+
+
+        if(!node.looselyContains(bounds)){
+            this.__outside_elements.add(element);
+
+            return;
+        }
+
+        /*
+         * An element whose radius is no larger than a child's cell half size, and whose center lies within that child's cell, always fits within the child's loose bounds.
+         * Only descend while the center is within the root's cell, as that's what guarantees the first step holds.
+         */
+        if(
+            Math.abs(center_x - node.center_x) <= node.half_size
+            &&
+            Math.abs(center_y - node.center_y) <= node.half_size
+            &&
+            Math.abs(center_z - node.center_z) <= node.half_size
+        ){
+            while(node.depth < this.__max_depth && radius <= node.half_size/2){
+                node = node.getChild(center_x,center_y,center_z);
+            }
+        }
+
+        node.elements.add(element);
+        this.__element_nodes.put(element,node);
+        for(Node ancestor = node;ancestor != null;ancestor = ancestor.parent){
+            ancestor.subtree_count++;
+        }
+    }
+
+    public void onBoundingBoxUpdate(Strixa3DElement element){
+        synchronized(this.__pending_elements){
+            this.__pending_elements.add(element);
+        }
+    }
+
+    /**
+     * Finds every element whose bounding box is at least partially inside of the given frustum.<br />
+     * Nodes which are entirely inside of the frustum have their whole subtree added without testing any further, and everything inside of a node is only tested against the planes the node crosses.  Each node and element remembers the plane which last rejected it, and tests that plane first during the next query.
+     *
+     * @param frustum Frustum to search.
+     * @param results List to which each element found will be added.
+     */
+    public void query(Frustum frustum,List<Strixa3DElement> results){
+        this.update();
+
+        for(int index = 0,end_index = this.__outside_elements.size() - 1;index <= end_index;index++){
+            if(this.__outside_elements.get(index).isInFrustum(frustum,Frustum.ALL_PLANES)){
+                results.add(this.__outside_elements.get(index));
+            }
+        }
+
+        if(this.__root.subtree_count > 0){
+            this.__queryFrustum(this.__root,frustum,Frustum.ALL_PLANES,results);
+        }
+    }
+
+    /**
+     * Finds every element whose bounding box overlaps the given area.
+     *
+     * @param range Area to search.
+     * @param results List to which each element found will be added.
+     */
+    public void query(Cuboid range,List<Strixa3DElement> results){
+        final double[] range_bounds = new double[]{
+            range.getCoordinates().getX(),
+            range.getCoordinates().getY(),
+            range.getCoordinates().getZ(),
+            range.getCoordinates().getX() + range.getWidth(),
+            range.getCoordinates().getY() + range.getHeight(),
+            range.getCoordinates().getZ() + range.getDepth()
+        };
+
+
+        this.update();
+
+        for(int index = 0,end_index = this.__outside_elements.size() - 1;index <= end_index;index++){
+            if(Octree._overlaps(range_bounds,Octree._getBounds(this.__outside_elements.get(index)))){
+                results.add(this.__outside_elements.get(index));
+            }
+        }
+
+        if(this.__root.subtree_count > 0){
+            this.__queryRange(this.__root,range_bounds,results);
+        }
+    }
+
+    private void __queryFrustum(Node node,Frustum frustum,int plane_mask,List<Strixa3DElement> results){
+        final double[] loose_bounds = Octree.__getLooseBounds(node);
+        final int      crossed_mask = frustum.cullBox(loose_bounds[0],loose_bounds[1],loose_bounds[2],loose_bounds[3],loose_bounds[4],loose_bounds[5],plane_mask,node.culling_plane);
+
+
+        if(crossed_mask < 0){
+            node.culling_plane = -crossed_mask - 1;
+
+            return;
+        }else if(crossed_mask == 0){
+            Octree.__addSubtree(node,results);
+
+            return;
+        }
+
+        for(int index = 0,end_index = node.elements.size() - 1;index <= end_index;index++){
+            if(node.elements.get(index).isInFrustum(frustum,crossed_mask)){
+                results.add(node.elements.get(index));
+            }
+        }
+
+        if(node.children != null){
+            for(int child_index = 0;child_index < 8;child_index++){
+                if(node.children[child_index] != null && node.children[child_index].subtree_count > 0){
+                    this.__queryFrustum(node.children[child_index],frustum,crossed_mask,results);
+                }
+            }
+        }
+    }
+
+    private void __queryRange(Node node,double[] range_bounds,List<Strixa3DElement> results){
+        final double[] loose_bounds = Octree.__getLooseBounds(node);
+
+
+        if(!Octree._overlaps(range_bounds,loose_bounds)){
+            return;
+        }
+
+        if(
+            loose_bounds[0] >= range_bounds[0] && loose_bounds[3] <= range_bounds[3]
+            &&
+            loose_bounds[1] >= range_bounds[1] && loose_bounds[4] <= range_bounds[4]
+            &&
+            loose_bounds[2] >= range_bounds[2] && loose_bounds[5] <= range_bounds[5]
+        ){
+            Octree.__addSubtree(node,results);
+
+            return;
+        }
+
+        for(int index = 0,end_index = node.elements.size() - 1;index <= end_index;index++){
+            if(Octree._overlaps(range_bounds,Octree._getBounds(node.elements.get(index)))){
+                results.add(node.elements.get(index));
+            }
+        }
+
+        if(node.children != null){
+            for(int child_index = 0;child_index < 8;child_index++){
+                if(node.children[child_index] != null && node.children[child_index].subtree_count > 0){
+                    this.__queryRange(node.children[child_index],range_bounds,results);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds where the given ray first hits any element in this octree.<br />
+     * Nodes are visited in the order the ray enters their loose bounds, and the search stops once the next node begins further away than the closest hit found so far, so only the elements along the start of the ray are tested.
+     *
+     * @param ray Ray to cast.
+     * @param max_distance Furthest distance along the ray which should be considered.
+     * @param context If not null, elements which aren't visible in this context are ignored.
+     *
+     * @return A description of the closest hit, or null if the ray doesn't hit any element within 'max_distance'.
+     */
+    public RayHit raycast(Ray ray,double max_distance,StrixaGLContext context){
+        final PriorityQueue<SearchEntry> queue = new PriorityQueue<SearchEntry>();
+
+        RayHit      best = null;
+        RayHit      hit = null;
+        double      best_distance = max_distance;
+        double      distance = 0;
+        SearchEntry entry = null;
+        Node        node = null;
+        Node        child = null;
+
+
+        this.update();
+
+        for(int index = 0,end_index = this.__outside_elements.size() - 1;index <= end_index;index++){
+            hit = Octree.__raycastElement(this.__outside_elements.get(index),ray,best_distance,context);
+            if(hit != null){
+                best = hit;
+                best_distance = hit.getDistance();
+            }
+        }
+
+        if(this.__root.subtree_count > 0){
+            distance = ray.getBoxEntryDistance(Octree.__getLooseBounds(this.__root),best_distance);
+            if(distance != Double.POSITIVE_INFINITY){
+                queue.add(new SearchEntry(this.__root,null,distance));
+            }
+        }
+
+        while(!queue.isEmpty()){
+            entry = queue.poll();
+            if(entry.distance > best_distance){
+                break;
+            }
+
+            node = entry.node;
+            for(int index = 0,end_index = node.elements.size() - 1;index <= end_index;index++){
+                hit = Octree.__raycastElement(node.elements.get(index),ray,best_distance,context);
+                if(hit != null){
+                    best = hit;
+                    best_distance = hit.getDistance();
+                }
+            }
+
+            if(node.children != null){
+                for(int child_index = 0;child_index < 8;child_index++){
+                    child = node.children[child_index];
+
+                    if(child != null && child.subtree_count > 0){
+                        distance = ray.getBoxEntryDistance(Octree.__getLooseBounds(child),best_distance);
+                        if(distance != Double.POSITIVE_INFINITY){
+                            queue.add(new SearchEntry(child,null,distance));
+                        }
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Removes an element from this octree.
+     *
+     * @param element Element to be removed.
+     */
+    public void remove(Strixa3DElement element){
+        if(!this.contains(element)){
+            return;
+        }
+
+        this.__unlink(element);
+        element.removeBoundingBoxUpdateListener(this);
+
+        synchronized(this.__pending_elements){
+            this.__pending_elements.remove(element);
+        }
+    }
+
+    private void __unlink(Strixa3DElement element){
+        final Node node = this.__element_nodes.remove(element);
+
+
+        if(node == null){
+            this.__outside_elements.remove(element);
+
+            return;
+        }
+
+        node.elements.remove(element);
+        for(Node ancestor = node;ancestor != null;ancestor = ancestor.parent){
+            ancestor.subtree_count--;
+        }
+    }
+
+    /**
+     * Moves every element whose bounding box has changed since the last update and which no longer fits within the loose bounds of the node it's stored in.<br />
+     * <strong>Note:</strong>  The query methods call this automatically.
+     */
+    public void update(){
+        Strixa3DElement[] pending_elements = null;
+        double[]          bounds = null;
+        Node              node = null;
+
+
+        synchronized(this.__pending_elements){
+            if(this.__pending_elements.isEmpty()){
+                return;
+            }
+
+            pending_elements = this.__pending_elements.toArray(new Strixa3DElement[this.__pending_elements.size()]);
+            this.__pending_elements.clear();
+        }
+
+        for(int index = 0;index < pending_elements.length;index++){
+            bounds = Octree._getBounds(pending_elements[index]);
+            node = this.__element_nodes.get(pending_elements[index]);
+
+            if(node != null && node.looselyContains(bounds)){
+                continue;
+            }
+
+            if(node != null || this.__outside_elements.contains(pending_elements[index])){
+                this.__unlink(pending_elements[index]);
+                this.__insert(pending_elements[index],bounds);
+            }
+        }
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Gets the given element's bounding box as an array containing its minimum X, Y and Z followed by its maximum X, Y and Z.
+     */
+    protected static double[] _getBounds(Strixa3DElement element){
+        final Cuboid bounding_box = element.getBoundingBox();
+        final double min_x = bounding_box.getCoordinates().getX();
+        final double min_y = bounding_box.getCoordinates().getY();
+        final double min_z = bounding_box.getCoordinates().getZ();
+
+
+        return new double[]{
+            min_x,
+            min_y,
+            min_z,
+            min_x + bounding_box.getWidth(),
+            min_y + bounding_box.getHeight(),
+            min_z + bounding_box.getDepth()
+        };
+    }
+
+    protected static double _getDistanceSquared(double[] bounds,double x,double y,double z){
+        final double delta_x = Math.max(Math.max(bounds[0] - x,0),x - bounds[3]);
+        final double delta_y = Math.max(Math.max(bounds[1] - y,0),y - bounds[4]);
+        final double delta_z = Math.max(Math.max(bounds[2] - z,0),z - bounds[5]);
+
+
+        return delta_x*delta_x + delta_y*delta_y + delta_z*delta_z;
+    }
+
+    private static double[] __getLooseBounds(Node node){
+        final double loose_half_size = node.half_size * Octree.LOOSENESS;
+
+
+        return new double[]{
+            node.center_x - loose_half_size,
+            node.center_y - loose_half_size,
+            node.center_z - loose_half_size,
+            node.center_x + loose_half_size,
+            node.center_y + loose_half_size,
+            node.center_z + loose_half_size
+        };
+    }
+
+    protected static boolean _overlaps(double[] bounds_one,double[] bounds_two){
+        return
+            bounds_one[0] <= bounds_two[3] && bounds_two[0] <= bounds_one[3]
+            &&
+            bounds_one[1] <= bounds_two[4] && bounds_two[1] <= bounds_one[4]
+            &&
+            bounds_one[2] <= bounds_two[5] && bounds_two[2] <= bounds_one[5];
+    }
+
+    /**
+     * Casts the ray against a single element.  Visibility is only checked once the element has been hit, as the ray test rejects most elements more cheaply.
+     */
+    private static RayHit __raycastElement(Strixa3DElement element,Ray ray,double max_distance,StrixaGLContext context){
+        final RayHit hit = element.raycast(ray,max_distance);
+
+
+        if(hit != null && context != null && !element.isVisible(context)){
+            return null;
+        }
+
+        return hit;
+    }
+    /*End Static Methods*/
+}
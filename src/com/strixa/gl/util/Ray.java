@@ -0,0 +1,216 @@
+/**
+ * File:  Ray.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.util;
+
+import com.strixa.util.Point3D;
+
+/**
+ * Half-line starting at an origin and extending forever in one direction.  The direction is always stored with a length of one, so distances along the ray are in world units.
+ *
+ * @author Nicholas Rog
+ */
+public class Ray{
+    private final double __direction_x;
+    private final double __direction_y;
+    private final double __direction_z;
+    private final double __inverse_direction_x;
+    private final double __inverse_direction_y;
+    private final double __inverse_direction_z;
+    private final double __origin_x;
+    private final double __origin_y;
+    private final double __origin_z;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs a ray from its origin and direction.
+     *
+     * @param origin_x X coordinate of the ray's origin.
+     * @param origin_y Y coordinate of the ray's origin.
+     * @param origin_z Z coordinate of the ray's origin.
+     * @param direction_x X component of the ray's direction.
+     * @param direction_y Y component of the ray's direction.
+     * @param direction_z Z component of the ray's direction.
+     *
+     * @throws IllegalArgumentException Thrown if the direction has a length of zero.
+     */
+    public Ray(double origin_x,double origin_y,double origin_z,double direction_x,double direction_y,double direction_z){
+        final double length = Math.sqrt(direction_x*direction_x + direction_y*direction_y + direction_z*direction_z);
+
+
+        if(length == 0 || Double.isNaN(length)){
+            throw new IllegalArgumentException("Argument 'direction' must have a non-zero length.");
+        }
+
+        this.__origin_x = origin_x;
+        this.__origin_y = origin_y;
+        this.__origin_z = origin_z;
+        this.__direction_x = direction_x/length;
+        this.__direction_y = direction_y/length;
+        this.__direction_z = direction_z/length;
+        this.__inverse_direction_x = 1/this.__direction_x;
+        this.__inverse_direction_y = 1/this.__direction_y;
+        this.__inverse_direction_z = 1/this.__direction_z;
+    }
+
+    /**
+     * Constructs a ray from its origin and direction.
+     *
+     * @param origin Point the ray starts at.
+     * @param direction Direction the ray extends in.
+     *
+     * @throws IllegalArgumentException Thrown if the direction has a length of zero.
+     */
+    public Ray(Point3D<Double> origin,Point3D<Double> direction){
+        this(origin.getX(),origin.getY(),origin.getZ(),direction.getX(),direction.getY(),direction.getZ());
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the direction this ray extends in.
+     *
+     * @return A copy of this ray's direction, with a length of one.
+     */
+    public Point3D<Double> getDirection(){
+        return new Point3D<Double>(this.__direction_x,this.__direction_y,this.__direction_z);
+    }
+
+    /**
+     * Gets the X component of this ray's direction.
+     *
+     * @return The X component of this ray's direction, which has a length of one.
+     */
+    public double getDirectionX(){
+        return this.__direction_x;
+    }
+
+    /**
+     * Gets the Y component of this ray's direction.
+     *
+     * @return The Y component of this ray's direction, which has a length of one.
+     */
+    public double getDirectionY(){
+        return this.__direction_y;
+    }
+
+    /**
+     * Gets the Z component of this ray's direction.
+     *
+     * @return The Z component of this ray's direction, which has a length of one.
+     */
+    public double getDirectionZ(){
+        return this.__direction_z;
+    }
+
+    /**
+     * Gets the point this ray starts at.
+     *
+     * @return A copy of this ray's origin.
+     */
+    public Point3D<Double> getOrigin(){
+        return new Point3D<Double>(this.__origin_x,this.__origin_y,this.__origin_z);
+    }
+
+    /**
+     * Gets the X coordinate of the point this ray starts at.
+     *
+     * @return The X coordinate of this ray's origin.
+     */
+    public double getOriginX(){
+        return this.__origin_x;
+    }
+
+    /**
+     * Gets the Y coordinate of the point this ray starts at.
+     *
+     * @return The Y coordinate of this ray's origin.
+     */
+    public double getOriginY(){
+        return this.__origin_y;
+    }
+
+    /**
+     * Gets the Z coordinate of the point this ray starts at.
+     *
+     * @return The Z coordinate of this ray's origin.
+     */
+    public double getOriginZ(){
+        return this.__origin_z;
+    }
+
+    /**
+     * Gets the point which lies the given distance along this ray.
+     *
+     * @param distance Distance from this ray's origin.
+     *
+     * @return The point which lies the given distance along this ray.
+     */
+    public Point3D<Double> getPoint(double distance){
+        return new Point3D<Double>(
+            this.__origin_x + this.__direction_x*distance,
+            this.__origin_y + this.__direction_y*distance,
+            this.__origin_z + this.__direction_z*distance
+        );
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Gets the distance along this ray at which it enters the given box, using the slab method.
+     *
+     * @param bounds Six element array containing the box's minimum X, Y and Z followed by its maximum X, Y and Z.
+     * @param max_distance Furthest distance along the ray which should be considered.
+     *
+     * @return The distance at which this ray enters the box, which is 0 if the ray starts inside of it, or Double.POSITIVE_INFINITY if the ray doesn't reach the box within 'max_distance'.
+     */
+    public double getBoxEntryDistance(double[] bounds,double max_distance){
+        return this.getBoxEntryDistance(bounds[0],bounds[1],bounds[2],bounds[3],bounds[4],bounds[5],max_distance);
+    }
+
+    /**
+     * Gets the distance along this ray at which it enters the given box, using the slab method.
+     *
+     * @param min_x Most negative X coordinate of the box.
+     * @param min_y Most negative Y coordinate of the box.
+     * @param min_z Most negative Z coordinate of the box.
+     * @param max_x Most positive X coordinate of the box.
+     * @param max_y Most positive Y coordinate of the box.
+     * @param max_z Most positive Z coordinate of the box.
+     * @param max_distance Furthest distance along the ray which should be considered.
+     *
+     * @return The distance at which this ray enters the box, which is 0 if the ray starts inside of it, or Double.POSITIVE_INFINITY if the ray doesn't reach the box within 'max_distance'.
+     */
+    public double getBoxEntryDistance(double min_x,double min_y,double min_z,double max_x,double max_y,double max_z,double max_distance){
+        double near = 0;
+        double far = max_distance;
+        double t1 = 0;
+        double t2 = 0;
+
+
+        t1 = (min_x - this.__origin_x)*this.__inverse_direction_x;
+        t2 = (max_x - this.__origin_x)*this.__inverse_direction_x;
+        near = Math.max(near,Math.min(t1,t2));
+        far = Math.min(far,Math.max(t1,t2));
+
+        t1 = (min_y - this.__origin_y)*this.__inverse_direction_y;
+        t2 = (max_y - this.__origin_y)*this.__inverse_direction_y;
+        near = Math.max(near,Math.min(t1,t2));
+        far = Math.min(far,Math.max(t1,t2));
+
+        t1 = (min_z - this.__origin_z)*this.__inverse_direction_z;
+        t2 = (max_z - this.__origin_z)*this.__inverse_direction_z;
+        near = Math.max(near,Math.min(t1,t2));
+        far = Math.min(far,Math.max(t1,t2));
+
+        /*A direction component of zero gives NaN when the origin lies on the slab's boundary.  Math.min and Math.max pass NaN along, so treat that as a miss.*/
+        if(near > far || Double.isNaN(near) || Double.isNaN(far)){
+            return Double.POSITIVE_INFINITY;
+        }
+
+        return near;
+    }
+    /*End Other Methods*/
+}
@@ -0,0 +1,102 @@
+/**
+ * File:  RayHit.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.util;
+
+import com.strixa.gl.Strixa3DElement;
+import com.strixa.gl.StrixaPolygon;
+import com.strixa.util.Point3D;
+
+/**
+ * Describes where a {@link Ray} first hits a {@link Strixa3DElement}.<br />
+ * Polygons are hit as triangle fans, so the hit is described by the three points of the polygon making up the triangle which was hit, along with the barycentric weights of each.
+ *
+ * @author Nicholas Rog
+ */
+public class RayHit{
+    private final double[]        __barycentric_coordinates;
+    private final double          __distance;
+    private final Strixa3DElement __element;
+    private final Point3D<Double> __point;
+    private final int[]           __point_indices;
+    private final StrixaPolygon   __polygon;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs a description of a ray hit.
+     *
+     * @param element Element which was hit.
+     * @param polygon Polygon of the element which was hit.
+     * @param point_indices Indices, into the polygon's points, of the three corners of the triangle which was hit.
+     * @param barycentric_coordinates Weights of each of the three corners which, summed, give the point which was hit.
+     * @param distance Distance along the ray to the point which was hit.
+     * @param point Point which was hit.
+     */
+    public RayHit(Strixa3DElement element,StrixaPolygon polygon,int[] point_indices,double[] barycentric_coordinates,double distance,Point3D<Double> point){
+        this.__element = element;
+        this.__polygon = polygon;
+        this.__point_indices = point_indices.clone();
+        this.__barycentric_coordinates = barycentric_coordinates.clone();
+        this.__distance = distance;
+        this.__point = point;
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the weights of each corner of the triangle which was hit.  These sum to one, and are in the same order as {@link RayHit#getPointIndices()}.
+     *
+     * @return A three element array containing the weight of each corner.
+     */
+    public double[] getBarycentricCoordinates(){
+        return this.__barycentric_coordinates.clone();
+    }
+
+    /**
+     * Gets the distance along the ray to the point which was hit.
+     *
+     * @return The distance along the ray to the point which was hit.
+     */
+    public double getDistance(){
+        return this.__distance;
+    }
+
+    /**
+     * Gets the element which was hit.
+     *
+     * @return The element which was hit.
+     */
+    public Strixa3DElement getElement(){
+        return this.__element;
+    }
+
+    /**
+     * Gets the point which was hit, in world coordinates.
+     *
+     * @return The point which was hit.
+     */
+    public Point3D<Double> getPoint(){
+        return this.__point;
+    }
+
+    /**
+     * Gets the indices, into the hit polygon's points, of the three corners of the triangle which was hit.
+     *
+     * @return A three element array containing the indices of the triangle's corners.
+     */
+    public int[] getPointIndices(){
+        return this.__point_indices.clone();
+    }
+
+    /**
+     * Gets the polygon which was hit.
+     *
+     * @return The polygon which was hit.
+     */
+    public StrixaPolygon getPolygon(){
+        return this.__polygon;
+    }
+    /*End Getter/Setter Methods*/
+}
@@ -0,0 +1,345 @@
+/**
+ * File:  Transform.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.gl.util;
+
+import com.strixa.math.StrixaMath;
+import com.strixa.util.Point3D;
+
+/**
+ * Rotation and uniform scale applied about a pivot point.<br />
+ * A point p is transformed to pivot + scale*R*(p - pivot), where R is the accumulated rotation.  Because the scale is uniform and R is orthonormal, the transform can always be inverted and never skews.
+ *
+ * @author Nicholas Rog
+ */
+public class Transform{
+    private final double[] __rotation = new double[]{
+        1,0,0,
+        0,1,0,
+        0,0,1
+    };
+
+    private boolean __identity;
+    private double  __pivot_x;
+    private double  __pivot_y;
+    private double  __pivot_z;
+    private double  __scale;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs a transform which leaves every point where it is.
+     */
+    public Transform(){
+        this.__identity = true;
+        this.__scale = 1;
+    }
+
+    /**
+     * Constructs a copy of the given transform.
+     *
+     * @param copy Transform to be copied.
+     */
+    public Transform(Transform copy){
+        System.arraycopy(copy.__rotation,0,this.__rotation,0,9);
+        this.__identity = copy.__identity;
+        this.__pivot_x = copy.__pivot_x;
+        this.__pivot_y = copy.__pivot_y;
+        this.__pivot_z = copy.__pivot_z;
+        this.__scale = copy.__scale;
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets this transform as a 4x4 matrix, in the column-major order expected by glMultMatrixd.
+     *
+     * @param matrix Sixteen element array which will be filled with the matrix.
+     */
+    public void getMatrix(double[] matrix){
+        final double[] rotation = this.__rotation;
+        final double   scale = this.__scale;
+
+
+        for(int column = 0;column < 3;column++){
+            for(int row = 0;row < 3;row++){
+                matrix[column*4 + row] = scale*rotation[row*3 + column];
+            }
+            matrix[column*4 + 3] = 0;
+        }
+
+        matrix[12] = this.__pivot_x - (matrix[0]*this.__pivot_x + matrix[4]*this.__pivot_y + matrix[8]*this.__pivot_z);
+        matrix[13] = this.__pivot_y - (matrix[1]*this.__pivot_x + matrix[5]*this.__pivot_y + matrix[9]*this.__pivot_z);
+        matrix[14] = this.__pivot_z - (matrix[2]*this.__pivot_x + matrix[6]*this.__pivot_y + matrix[10]*this.__pivot_z);
+        matrix[15] = 1;
+    }
+
+    /**
+     * Gets the point this transform rotates and scales about.
+     *
+     * @return A copy of this transform's pivot.
+     */
+    public Point3D<Double> getPivot(){
+        return new Point3D<Double>(this.__pivot_x,this.__pivot_y,this.__pivot_z);
+    }
+
+    /**
+     * Sets the point this transform rotates and scales about.
+     *
+     * @param x X coordinate of the pivot.
+     * @param y Y coordinate of the pivot.
+     * @param z Z coordinate of the pivot.
+     */
+    public void setPivot(double x,double y,double z){
+        this.__pivot_x = x;
+        this.__pivot_y = y;
+        this.__pivot_z = z;
+    }
+
+    /**
+     * Gets this transform's accumulated rotation.
+     *
+     * @param rotation Nine element array which will be filled with the rotation matrix, in row-major order.
+     */
+    public void getRotation(double[] rotation){
+        System.arraycopy(this.__rotation,0,rotation,0,9);
+    }
+
+    /**
+     * Gets this transform's accumulated uniform scale.
+     *
+     * @return This transform's accumulated scale, where 1 indicates no scaling.
+     */
+    public double getScale(){
+        return this.__scale;
+    }
+
+    /**
+     * Sets this transform's scale, replacing any scaling which has been accumulated.
+     *
+     * @param scale New scale, where 1 indicates no scaling.
+     *
+     * @throws IllegalArgumentException Thrown if argument 'scale' is not greater than 0.
+     */
+    public void setScale(double scale){
+        if(!(scale > 0) || Double.isInfinite(scale)){
+            throw new IllegalArgumentException("Argument 'scale' must be greater than 0.");
+        }
+
+        this.__scale = scale;
+        this.__identity = false;
+    }
+
+    /**
+     * Boolean check to determine whether this transform has been rotated or scaled since it was constructed or last reset.
+     *
+     * @return Returns true if this transform has not been changed, and false, otherwise.
+     */
+    public boolean isIdentity(){
+        return this.__identity;
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Discards all rotation and scaling.  The pivot is left as it is.
+     */
+    public void reset(){
+        final double[] rotation = this.__rotation;
+
+
+        for(int index = 0;index < 9;index++){
+            rotation[index] = index % 4 == 0 ? 1 : 0;
+        }
+
+        this.__identity = true;
+        this.__scale = 1;
+    }
+
+    /**
+     * Rotates this transform a certain number of degrees on the given axis.  The rotation is applied after any rotation which has already been accumulated, and matches the rotation performed by {@link StrixaMath#rotate(Point3D,Point3D,double,int)}.
+     *
+     * @param degrees Number of degrees to rotate.
+     * @param axis Axis to rotate around.  You can bitwise OR the axis together to rotate around multiple axis.
+     */
+    public void rotate(double degrees,int axis){
+        final double   radians = (degrees*Math.PI)/180;
+        final double   cos = Math.cos(radians);
+        final double   sin = Math.sin(radians);
+        final double[] rotation = this.__rotation;
+        final double[] step = new double[]{
+            1,0,0,
+            0,1,0,
+            0,0,1
+        };
+        final double[] result = new double[9];
+
+
+        if((axis & StrixaMath.AXIS_X) > 0){
+            Transform.__multiply(step,new double[]{
+                1,0,0,
+                0,cos,-sin,
+                0,sin,cos
+            },result);
+            System.arraycopy(result,0,step,0,9);
+        }
+        if((axis & StrixaMath.AXIS_Y) > 0){
+            Transform.__multiply(step,new double[]{
+                cos,0,sin,
+                0,1,0,
+                -sin,0,cos
+            },result);
+            System.arraycopy(result,0,step,0,9);
+        }
+        if((axis & StrixaMath.AXIS_Z) > 0){
+            Transform.__multiply(step,new double[]{
+                cos,-sin,0,
+                sin,cos,0,
+                0,0,1
+            },result);
+            System.arraycopy(result,0,step,0,9);
+        }
+
+        Transform.__multiply(step,rotation,result);
+        System.arraycopy(result,0,rotation,0,9);
+        Transform.__orthonormalize(rotation);
+
+        this.__identity = false;
+    }
+
+    /**
+     * Scales this transform by the given amount, on top of any scaling which has already been accumulated.
+     *
+     * @param scaling_amount Amount to scale, where 1 indicates no scaling.
+     *
+     * @throws IllegalArgumentException Thrown if argument 'scaling_amount' is not greater than 0.
+     */
+    public void scale(double scaling_amount){
+        if(!(scaling_amount > 0) || Double.isInfinite(scaling_amount)){
+            throw new IllegalArgumentException("Argument 'scaling_amount' must be greater than 0.");
+        }
+
+        this.setScale(this.__scale*scaling_amount);
+    }
+
+    /**
+     * Computes the box which encloses the given box after it has been transformed.
+     *
+     * @param min_x Most negative X coordinate of the box.
+     * @param min_y Most negative Y coordinate of the box.
+     * @param min_z Most negative Z coordinate of the box.
+     * @param max_x Most positive X coordinate of the box.
+     * @param max_y Most positive Y coordinate of the box.
+     * @param max_z Most positive Z coordinate of the box.
+     * @param bounds Six element array which will be filled with the minimum X, Y and Z followed by the maximum X, Y and Z of the transformed box.
+     */
+    public void transformBox(double min_x,double min_y,double min_z,double max_x,double max_y,double max_z,double[] bounds){
+        final double[] rotation = this.__rotation;
+        final double   scale = this.__scale;
+        final double   extent_x = (max_x - min_x)/2;
+        final double   extent_y = (max_y - min_y)/2;
+        final double   extent_z = (max_z - min_z)/2;
+
+        double extent = 0;
+
+
+        this.transformPoint(min_x + extent_x,min_y + extent_y,min_z + extent_z,bounds);
+        for(int axis = 2;axis >= 0;axis--){
+            extent = scale*(
+                Math.abs(rotation[axis*3])*extent_x
+                +
+                Math.abs(rotation[axis*3 + 1])*extent_y
+                +
+                Math.abs(rotation[axis*3 + 2])*extent_z
+            );
+
+            bounds[axis + 3] = bounds[axis] + extent;
+            bounds[axis] = bounds[axis] - extent;
+        }
+    }
+
+    /**
+     * Rotates the given direction by this transform.  Scale and pivot are ignored, so directions keep their length.
+     *
+     * @param x X component of the direction.
+     * @param y Y component of the direction.
+     * @param z Z component of the direction.
+     * @param direction Three element array which will be filled with the rotated direction.
+     */
+    public void transformDirection(double x,double y,double z,double[] direction){
+        final double[] rotation = this.__rotation;
+
+
+        direction[0] = rotation[0]*x + rotation[1]*y + rotation[2]*z;
+        direction[1] = rotation[3]*x + rotation[4]*y + rotation[5]*z;
+        direction[2] = rotation[6]*x + rotation[7]*y + rotation[8]*z;
+    }
+
+    /**
+     * Transforms the given point.
+     *
+     * @param x X coordinate of the point.
+     * @param y Y coordinate of the point.
+     * @param z Z coordinate of the point.
+     * @param point Three element array which will be filled with the transformed point.
+     */
+    public void transformPoint(double x,double y,double z,double[] point){
+        final double[] rotation = this.__rotation;
+        final double   scale = this.__scale;
+        final double   relative_x = x - this.__pivot_x;
+        final double   relative_y = y - this.__pivot_y;
+        final double   relative_z = z - this.__pivot_z;
+
+
+        point[0] = this.__pivot_x + scale*(rotation[0]*relative_x + rotation[1]*relative_y + rotation[2]*relative_z);
+        point[1] = this.__pivot_y + scale*(rotation[3]*relative_x + rotation[4]*relative_y + rotation[5]*relative_z);
+        point[2] = this.__pivot_z + scale*(rotation[6]*relative_x + rotation[7]*relative_y + rotation[8]*relative_z);
+    }
+    /*End Other Methods*/
+
+    /*Begin Static Methods*/
+    /**
+     * Multiplies two row-major 3x3 matrices, storing left*right in 'result'.
+     */
+    private static void __multiply(double[] left,double[] right,double[] result){
+        for(int row = 0;row < 3;row++){
+            for(int column = 0;column < 3;column++){
+                result[row*3 + column] =
+                    left[row*3]*right[column]
+                    +
+                    left[row*3 + 1]*right[3 + column]
+                    +
+                    left[row*3 + 2]*right[6 + column];
+            }
+        }
+    }
+
+    /**
+     * Removes the rounding error which builds up when many rotations are accumulated, so that the rows of the matrix stay unit length and perpendicular to one another.
+     */
+    private static void __orthonormalize(double[] rotation){
+        double dot = 0;
+        double length = 0;
+
+
+        length = Math.sqrt(rotation[0]*rotation[0] + rotation[1]*rotation[1] + rotation[2]*rotation[2]);
+        rotation[0] /= length;
+        rotation[1] /= length;
+        rotation[2] /= length;
+
+        dot = rotation[0]*rotation[3] + rotation[1]*rotation[4] + rotation[2]*rotation[5];
+        rotation[3] -= dot*rotation[0];
+        rotation[4] -= dot*rotation[1];
+        rotation[5] -= dot*rotation[2];
+        length = Math.sqrt(rotation[3]*rotation[3] + rotation[4]*rotation[4] + rotation[5]*rotation[5]);
+        rotation[3] /= length;
+        rotation[4] /= length;
+        rotation[5] /= length;
+
+        rotation[6] = rotation[1]*rotation[5] - rotation[2]*rotation[4];
+        rotation[7] = rotation[2]*rotation[3] - rotation[0]*rotation[5];
+        rotation[8] = rotation[0]*rotation[4] - rotation[1]*rotation[3];
+    }
+    /*End Static Methods*/
+}
@@ -0,0 +1,96 @@
+/**
+ * File:  TripleBuffer.java
+ * Date of Creation:  Oct 19, 2026
+ */
+package com.strixa.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Passes values from a single producing thread to a single consuming thread without either ever waiting on the other.<br />
+ * Three buffers are shared between the threads.  The producer fills the write buffer and publishes it, which swaps it with the middle buffer.  The consumer updates, which swaps the read buffer with the middle buffer if something has been published since its last update.  Neither thread ever touches a buffer the other one holds, so the buffers may be mutable objects which are reused indefinitely, and the consumer always sees the most recently published buffer, skipping any published in between its updates.
+ *
+ * @author Nicholas Rog
+ */
+public class TripleBuffer<T>{
+    private static final int __INDEX_MASK = 0x3;
+    private static final int __PUBLISHED = 0x4;
+
+    private final Object[]      __buffers;
+    private final AtomicInteger __middle = new AtomicInteger(1);
+
+    private int __read_index = 2;
+    private int __write_index = 0;
+
+
+    /*Begin Constructors*/
+    /**
+     * Constructs a triple buffer which shares the given buffers.  The consumer starts out holding the third buffer, so it should hold whatever the consumer should see until the first buffer is published.
+     *
+     * @param first First buffer, which the producer starts out holding.
+     * @param second Second buffer.
+     * @param third Third buffer, which the consumer starts out holding.
+     *
+     * @throws IllegalArgumentException Thrown if any of the buffers are null, or if any of them are the same object.
+     */
+    public TripleBuffer(T first,T second,T third){
+        /*Begin Parameter Verification*/
+        if(first == null || second == null || third == null){
+            throw new IllegalArgumentException("Arguments 'first', 'second', and 'third' must not be null.");
+        }
+
+        if(first == second || first == third || second == third){
+            throw new IllegalArgumentException("Arguments 'first', 'second', and 'third' must be distinct objects.");
+        }
+        /*End Parameter Verification*/
+
+        this.__buffers = new Object[]{first,second,third};
+    }
+    /*End Constructors*/
+
+    /*Begin Getter/Setter Methods*/
+    /**
+     * Gets the buffer the consumer currently holds.  This must only be called from the consuming thread.
+     *
+     * @return The buffer the consumer currently holds.
+     */
+    @SuppressWarnings("unchecked")
+    public T getReadBuffer(){
+        return (T)this.__buffers[this.__read_index];
+    }
+
+    /**
+     * Gets the buffer the producer currently holds.  This must only be called from the producing thread.
+     *
+     * @return The buffer the producer currently holds.
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer(){
+        return (T)this.__buffers[this.__write_index];
+    }
+    /*End Getter/Setter Methods*/
+
+    /*Begin Other Methods*/
+    /**
+     * Publishes the write buffer, and gives the producer a new buffer to write to.  The new buffer holds whatever was last written to it, which may be very stale.  This must only be called from the producing thread.
+     */
+    public void publish(){
+        this.__write_index = this.__middle.getAndSet(this.__write_index | TripleBuffer.__PUBLISHED) & TripleBuffer.__INDEX_MASK;
+    }
+
+    /**
+     * Swaps the read buffer for the most recently published buffer, if a buffer has been published since the last update.  This must only be called from the consuming thread.
+     *
+     * @return True if the read buffer was swapped, or false if nothing new has been published.
+     */
+    public boolean update(){
+        if((this.__middle.get() & TripleBuffer.__PUBLISHED) == 0){
+            return false;
+        }
+
+        this.__read_index = this.__middle.getAndSet(this.__read_index) & TripleBuffer.__INDEX_MASK;
+
+        return true;
+    }
+    /*End Other Methods*/
+}